@@ -0,0 +1,111 @@
+package io.gaboja9.mockstock.domain.orders.book;
+
+import io.gaboja9.mockstock.domain.orders.entity.OrderType;
+import io.gaboja9.mockstock.domain.trades.entity.TradeType;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 체결가 하나당 스톱 주문 발동 판단 비용: 감시가 색인({@link StopTriggerBook}) vs 감시 중인 주문을 모두 훑는 방식.
+ *
+ * <p>한 종목에 {@code armed} 건의 스톱(매도/매수 스톱 절반, 추적 매도 스톱 절반)을 걸어 두고 체결가를 69000~71000 에서 무작위로 움직인다.
+ * 체결가마다 바로 아래에 매도 스톱을 하나씩 더 걸어 가격이 내리면 몇 건씩 발동하게 한다.
+ *
+ * <p>실행: {@code ./gradlew jmh -PjmhIncludes=StopTriggerBookBenchmark}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StopTriggerBookBenchmark {
+
+    private static final String STOCK_CODE = "005930";
+
+    @Param({"1000", "100000"})
+    public int armed;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+    private StopTriggerBook book;
+    private int price;
+    private long nextOrderId;
+
+    // 비교용: 감시 중인 주문과 추적 스톱의 고점을 배열로 들고 체결가마다 모두 확인한다
+    private final List<StopOrderEntry> scanned = new ArrayList<>();
+    private int[] highs;
+
+    @Setup
+    public void setUp() {
+        book = new StopTriggerBook(STOCK_CODE);
+        price = 70_000;
+        highs = new int[armed];
+        for (int i = 0; i < armed; i++) {
+            StopOrderEntry entry;
+            if (i % 4 == 0) {
+                entry = entry(OrderType.STOP, TradeType.SELL, 60_000 + random.nextInt(9_000), 0);
+            } else if (i % 4 == 1) {
+                entry = entry(OrderType.STOP, TradeType.BUY, 71_010 + random.nextInt(9_000), 0);
+            } else {
+                int gap = 3_000 + random.nextInt(7_000);
+                entry = entry(OrderType.TRAILING_STOP, TradeType.SELL, price - gap, gap);
+            }
+            book.add(entry);
+            scanned.add(entry);
+            highs[i] = price;
+        }
+    }
+
+    private StopOrderEntry entry(OrderType orderType, TradeType tradeType, int stopPrice, int gap) {
+        return new StopOrderEntry(
+                nextOrderId++, 1L, STOCK_CODE, orderType, tradeType, stopPrice, gap);
+    }
+
+    private int nextPrice() {
+        price = Math.clamp(price + (random.nextInt(21) - 10) * 10, 69_000, 71_000);
+        return price;
+    }
+
+    @Benchmark
+    public int triggerIndex() {
+        int currentPrice = nextPrice();
+        int triggered = book.pollTriggered(currentPrice).size();
+        book.add(entry(OrderType.STOP, TradeType.SELL, currentPrice - 10, 0));
+        return triggered;
+    }
+
+    @Benchmark
+    public int fullScan() {
+        int currentPrice = nextPrice();
+        int triggered = 0;
+        for (int i = 0; i < highs.length; i++) {
+            StopOrderEntry entry = scanned.get(i);
+            if (entry.isTrailing()) {
+                highs[i] = Math.max(highs[i], currentPrice);
+                if (currentPrice <= highs[i] - entry.trailingGap()) {
+                    triggered++;
+                }
+            } else if (entry.tradeType() == TradeType.SELL
+                    ? currentPrice <= entry.stopPrice()
+                    : currentPrice >= entry.stopPrice()) {
+                triggered++;
+            }
+        }
+        return triggered;
+    }
+}
@@ -0,0 +1,182 @@
+package io.gaboja9.mockstock.domain.orders.mailbox;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 같은 종목을 동시에 주문하는 회원 수에 따른 주문 처리량.
+ *
+ * <p>한 번 호출에 {@value #ORDERS} 건의 주문을 {@code workers} 명의 서로 다른 회원이 나눠 같은 종목으로 넣는다. 회원은 봇처럼 자기 주문을
+ * 한꺼번에 넣고 결과를 기다린다. 주문 한 건은 DB 왕복을 흉내 낸 대기({@code dbMicros})와 약간의 CPU 작업을 하고, 트랜잭션 커밋은 {@code
+ * commitMicros} 만큼 걸린다.
+ *
+ * <ul>
+ *   <li>{@code stock}: 예전 종목별 {@code Semaphore(1)} - 회원 수와 상관없이 한 줄, 주문마다 커밋
+ *   <li>{@code mailbox}: {@link MemberCommandQueue} - 회원끼리 나란히, 쌓인 주문은 한 트랜잭션으로 묶어 커밋
+ * </ul>
+ *
+ * <p>실행: {@code ./gradlew jmh -PjmhIncludes=OrderLockingBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class OrderLockingBenchmark {
+
+    private static final int ORDERS = 256;
+    private static final String STOCK_CODE = "005930";
+
+    @Param({"1", "4", "16", "64"})
+    public int workers;
+
+    @Param({"stock", "mailbox"})
+    public String locking;
+
+    @Param({"100"})
+    public long dbMicros;
+
+    @Param({"500"})
+    public long commitMicros;
+
+    private final ConcurrentHashMap<String, Semaphore> stockSemaphores = new ConcurrentHashMap<>();
+    private TransactionTemplate transactionTemplate;
+    private MemberCommandQueue memberCommandQueue;
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        transactionTemplate =
+                new TransactionTemplate(new SimulatedTransactionManager(commitMicros));
+        // 흉내 낸 트랜잭션은 커넥션을 쓰지 않으므로 동시 트랜잭션 수를 묶지 않는다
+        memberCommandQueue =
+                new MemberCommandQueue(
+                        executor,
+                        transactionTemplate,
+                        new SimpleMeterRegistry(),
+                        32,
+                        Integer.MAX_VALUE,
+                        0,
+                        30_000);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public void orders(Blackhole bh) throws Exception {
+        int perWorker = ORDERS / workers;
+        List<Future<?>> futures = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            long memberId = 10_000L + w;
+            futures.add(
+                    executor.submit(
+                            () -> {
+                                if ("mailbox".equals(locking)) {
+                                    bh.consume(mailboxOrders(memberId, perWorker));
+                                } else {
+                                    for (int i = 0; i < perWorker; i++) {
+                                        bh.consume(stockOrder(memberId));
+                                    }
+                                }
+                            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    private long settle(long memberId) {
+        LockSupport.parkNanos(dbMicros * 1_000);
+        Blackhole.consumeCPU(500);
+        return memberId;
+    }
+
+    private long mailboxOrders(long memberId, int count) {
+        List<CompletableFuture<Long>> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            results.add(memberCommandQueue.submit(memberId, afterCommit -> settle(memberId)));
+        }
+        long sum = 0;
+        for (CompletableFuture<Long> result : results) {
+            sum += result.join();
+        }
+        return sum;
+    }
+
+    private long stockOrder(long memberId) {
+        Semaphore semaphore = stockSemaphores.computeIfAbsent(STOCK_CODE, k -> new Semaphore(1));
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        try {
+            return transactionTemplate.execute(status -> settle(memberId));
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    // 커밋에 시간이 걸리는 것만 흉내 내는 트랜잭션 매니저
+    private static final class SimulatedTransactionManager
+            extends AbstractPlatformTransactionManager {
+
+        private final long commitMicros;
+
+        SimulatedTransactionManager(long commitMicros) {
+            this.commitMicros = commitMicros;
+        }
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {}
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            LockSupport.parkNanos(commitMicros * 1_000);
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {}
+    }
+}
@@ -0,0 +1,224 @@
+package io.gaboja9.mockstock.domain.ranks.service;
+
+import io.gaboja9.mockstock.domain.ranks.dto.HoldingRow;
+import io.gaboja9.mockstock.domain.ranks.dto.MemberRankingRow;
+import io.gaboja9.mockstock.domain.ranks.dto.RanksDto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 전체 랭킹 계산 비교 (H2, 회원 10만 명 / 보유 종목 100만 건 / 결제 20만 건): 회원마다 결제·보유 종목을 조회하는 기존 방식(2N+1) vs 집계·스트리밍
+ * 조회 3번 + 병렬 계산.
+ *
+ * <p>두 방식 모두 같은 JDBC 연결과 같은 현재가 맵을 쓰므로 차이는 조회 방식과 계산 분산에서만 나온다.
+ *
+ * <p>실행: {@code ./gradlew jmh -PjmhIncludes=RankingCalculationBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class RankingCalculationBenchmark {
+
+    private static final int MEMBERS = 100_000;
+    private static final int HOLDINGS_PER_MEMBER = 10;
+    private static final int PAYMENTS_PER_MEMBER = 2;
+    private static final int STOCKS = 200;
+
+    private Connection connection;
+    private Map<String, Integer> prices;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:ranking;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(
+                    "CREATE TABLE members (id BIGINT PRIMARY KEY, nickname VARCHAR(50),"
+                            + " cash_balance INT, bankruptcy_cnt INT)");
+            statement.execute(
+                    "CREATE TABLE payment_history (id BIGINT PRIMARY KEY, member_id BIGINT,"
+                            + " amount INT, status VARCHAR(20))");
+            statement.execute(
+                    "CREATE TABLE portfolios (id BIGINT PRIMARY KEY, members_id BIGINT,"
+                            + " stock_code VARCHAR(10), quantity INT)");
+            statement.execute("CREATE INDEX idx_payment_member ON payment_history (member_id)");
+            statement.execute("CREATE INDEX idx_portfolio_member ON portfolios (members_id)");
+
+            statement.execute(
+                    "INSERT INTO members SELECT x, CONCAT('회원', x),"
+                            + " MOD(x * 7919, 30000000), MOD(x, 3) FROM SYSTEM_RANGE(1, "
+                            + MEMBERS
+                            + ")");
+            statement.execute(
+                    "INSERT INTO payment_history SELECT x, MOD(x, "
+                            + MEMBERS
+                            + ") + 1, 1000000,"
+                            + " CASE WHEN MOD(x, 2) = 0 THEN 'APPROVED' ELSE 'READY' END"
+                            + " FROM SYSTEM_RANGE(1, "
+                            + MEMBERS * PAYMENTS_PER_MEMBER
+                            + ")");
+            statement.execute(
+                    "INSERT INTO portfolios SELECT x, MOD(x, "
+                            + MEMBERS
+                            + ") + 1, LPAD(MOD(x * 31, "
+                            + STOCKS
+                            + "), 6, '0'), MOD(x, 100) + 1"
+                            + " FROM SYSTEM_RANGE(1, "
+                            + MEMBERS * HOLDINGS_PER_MEMBER
+                            + ")");
+        }
+
+        prices = new HashMap<>();
+        for (int i = 0; i < STOCKS; i++) {
+            prices.put(String.format("%06d", i), 10_000 + i * 500);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public List<RanksDto> perMemberQueries() throws SQLException {
+        List<RanksDto> ranks = new ArrayList<>(MEMBERS);
+        try (PreparedStatement payments =
+                        connection.prepareStatement(
+                                "SELECT amount FROM payment_history"
+                                        + " WHERE member_id = ? AND status = 'APPROVED'");
+                PreparedStatement portfolios =
+                        connection.prepareStatement(
+                                "SELECT stock_code, quantity FROM portfolios"
+                                        + " WHERE members_id = ?")) {
+            for (MemberRankingRow member : loadMembers()) {
+                long totalCharge = 0;
+                payments.setLong(1, member.memberId());
+                try (ResultSet rs = payments.executeQuery()) {
+                    while (rs.next()) {
+                        totalCharge += rs.getInt(1);
+                    }
+                }
+
+                long stockValue = 0;
+                portfolios.setLong(1, member.memberId());
+                try (ResultSet rs = portfolios.executeQuery()) {
+                    while (rs.next()) {
+                        stockValue += (long) rs.getInt(2) * prices.get(rs.getString(1));
+                    }
+                }
+                ranks.add(RankingCalculator.toRanksDto(member, totalCharge, stockValue));
+            }
+        }
+        return ranks;
+    }
+
+    @Benchmark
+    public List<RanksDto> setBasedQueries() throws SQLException {
+        List<MemberRankingRow> members = loadMembers();
+
+        Map<Long, Long> charges = new HashMap<>(members.size() * 2);
+        try (Statement statement = connection.createStatement();
+                ResultSet rs =
+                        statement.executeQuery(
+                                "SELECT member_id, SUM(amount) FROM payment_history"
+                                        + " WHERE status = 'APPROVED' GROUP BY member_id")) {
+            while (rs.next()) {
+                charges.put(rs.getLong(1), rs.getLong(2));
+            }
+        }
+
+        Map<Long, Long> stockValues;
+        try (Statement statement = connection.createStatement()) {
+            statement.setFetchSize(1000);
+            try (ResultSet rs =
+                    statement.executeQuery(
+                            "SELECT members_id, stock_code, quantity FROM portfolios"
+                                    + " WHERE quantity > 0")) {
+                stockValues = RankingCalculator.sumStockValues(holdings(rs), prices::get);
+            }
+        }
+
+        return RankingCalculator.toRanks(members, charges, stockValues);
+    }
+
+    private List<MemberRankingRow> loadMembers() throws SQLException {
+        List<MemberRankingRow> members = new ArrayList<>(MEMBERS);
+        try (Statement statement = connection.createStatement();
+                ResultSet rs =
+                        statement.executeQuery(
+                                "SELECT id, nickname, cash_balance, bankruptcy_cnt FROM members")) {
+            while (rs.next()) {
+                members.add(
+                        new MemberRankingRow(
+                                rs.getLong(1), rs.getString(2), rs.getInt(3), rs.getInt(4)));
+            }
+        }
+        return members;
+    }
+
+    // Spring Data 의 Stream 조회처럼 커서를 한 행씩 HoldingRow 로 흘려보낸다
+    private static Stream<HoldingRow> holdings(ResultSet rs) {
+        Iterator<HoldingRow> iterator =
+                new Iterator<>() {
+                    private Boolean hasNext;
+
+                    @Override
+                    public boolean hasNext() {
+                        if (hasNext == null) {
+                            try {
+                                hasNext = rs.next();
+                            } catch (SQLException e) {
+                                throw new IllegalStateException(e);
+                            }
+                        }
+                        return hasNext;
+                    }
+
+                    @Override
+                    public HoldingRow next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        hasNext = null;
+                        try {
+                            return new HoldingRow(rs.getLong(1), rs.getString(2), rs.getInt(3));
+                        } catch (SQLException e) {
+                            throw new IllegalStateException(e);
+                        }
+                    }
+                };
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false);
+    }
+}
@@ -0,0 +1,107 @@
+package io.gaboja9.mockstock.global.websocket.journal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 체결 저널 기록/재생 비용.
+ *
+ * <p>{@code append} 는 체결 한 건 기록 (gc 프로파일러로 체결당 할당이 없는지 본다). {@code replayDay} 는 100만 건짜리 하루치 파일을
+ * 처음부터 끝까지 읽는다.
+ *
+ * <p>실행: {@code ./gradlew jmh -PjmhIncludes=TickJournalBenchmark -PjmhProfilers=gc}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TickJournalBenchmark {
+
+    private static final int DAY_TICKS = 1_000_000;
+    private static final String[] CODES = {"005930", "000660", "035720", "035420", "051910"};
+    private static final LocalDate DAY = LocalDate.of(2025, 7, 1);
+
+    private Path appendDir;
+    private Path replayDir;
+    private TickJournal journal;
+    private long receivedAt;
+    private int sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        receivedAt = DAY.atTime(9, 0).atZone(ZoneId.of("Asia/Seoul")).toInstant().toEpochMilli();
+        replayDir = Files.createTempDirectory("journal-replay");
+        TickJournal day = new TickJournal(replayDir.toString(), 64, new SimpleMeterRegistry());
+        for (int i = 0; i < DAY_TICKS; i++) {
+            day.append(CODES[i % CODES.length], 90000, receivedAt + i, 70_000 + i % 100, 1, i);
+        }
+        day.close();
+    }
+
+    // 반복마다 새 파일 (2초 동안 기록해도 2GB 를 넘지 않는다)
+    @Setup(Level.Iteration)
+    public void openJournal() throws IOException {
+        appendDir = Files.createTempDirectory("journal-append");
+        journal = new TickJournal(appendDir.toString(), 2047, new SimpleMeterRegistry());
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeJournal() throws IOException {
+        journal.close();
+        delete(appendDir);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        delete(replayDir);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void append() {
+        int i = sequence++;
+        journal.append(CODES[i % CODES.length], 90000, receivedAt, 70_000 + (i & 127), 1, i);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @OperationsPerInvocation(DAY_TICKS)
+    public long replayDay(Blackhole blackhole) throws IOException {
+        try (TickJournalReader reader = TickJournalReader.open(replayDir, DAY)) {
+            return reader.replay(
+                    (code, time, at, price, volume, cumulative) -> blackhole.consume(price));
+        }
+    }
+
+    private static void delete(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package io.gaboja9.mockstock.global.websocket.mapper;
+
+import io.gaboja9.mockstock.global.websocket.dto.StockPriceDto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * H0STCNT0 프레임 파싱 비교: 기존 split + StockPriceMapper vs HantuTickParser.
+ *
+ * <p>실행: {@code ./gradlew jmh -PjmhIncludes=HantuTickParserBenchmark -PjmhProfilers=gc}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HantuTickParserBenchmark {
+
+    private static final String RECORD =
+            "005930^093354^71900^5^-100^-0.14^72023.83^72100^72400^71700^71900^71800^1^3052507"
+                    + "^219853241700^5105^6937^1832^84.90^1366314^1159996^1^0.39^20.28^090020^5"
+                    + "^-200^090820^5^-500^092619^2^200^20230612^20^N^65945^216924^1118750"
+                    + "^2199206^0.05^2424142^125.92^0^0^71900";
+
+    private String frame;
+    private HantuTickParser parser;
+
+    @Setup
+    public void setUp() {
+        frame = "0|H0STCNT0|001|" + RECORD;
+        parser = new HantuTickParser();
+    }
+
+    @Benchmark
+    public StockPriceDto splitAndMapper() {
+        String[] parts = frame.split("\\|");
+        String[] fields = parts[3].split("\\^");
+        return StockPriceMapper.parseStockPriceData(fields);
+    }
+
+    @Benchmark
+    public StockPriceDto parserToDto() {
+        StockPriceDto[] holder = new StockPriceDto[1];
+        parser.parse(frame, record -> holder[0] = StockPriceMapper.toStockPriceDto(record));
+        return holder[0];
+    }
+
+    /** DTO 를 만들지 않고 원시값만 읽는 경우 (캔들/호가창처럼 값만 필요한 소비자) */
+    @Benchmark
+    public void parserPrimitives(Blackhole bh) {
+        parser.parse(
+                frame,
+                record -> {
+                    bh.consume(record.stockCode());
+                    bh.consume(record.currentPrice());
+                    bh.consume(record.dayOverDayPercent());
+                    bh.consume(record.highPrice());
+                    bh.consume(record.lowPrice());
+                    bh.consume(record.tradeVolume());
+                    bh.consume(record.cumulativeVolume());
+                });
+    }
+}
@@ -0,0 +1,88 @@
+package io.gaboja9.mockstock.global.websocket.service;
+
+import io.gaboja9.mockstock.global.websocket.dto.StocksCandleDto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 분봉 갱신 비교: 체결마다 불변 StocksCandleDto 를 새로 만드는 기존 방식 vs 원시 타입 누적기 제자리 갱신.
+ *
+ * <p>실행: {@code ./gradlew jmh -PjmhIncludes=CandleUpdateBenchmark -PjmhProfilers=gc}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CandleUpdateBenchmark {
+
+    private static final int SYMBOLS = 200;
+    private static final long CANDLE_TIME = 1_751_331_600_000L;
+
+    private String[] stockCodes;
+    private int cursor;
+    private long price;
+
+    // 기존 방식: 분봉 맵 + 별도 락 맵
+    private final Map<String, StocksCandleDto> currentCandles = new ConcurrentHashMap<>();
+    private final Map<String, Object> stockLocks = new ConcurrentHashMap<>();
+
+    // 누적기 방식: 종목당 슬롯 하나가 락과 상태를 겸한다
+    private final Map<String, CandleAccumulator> accumulators = new ConcurrentHashMap<>();
+
+    @Setup
+    public void setUp() {
+        stockCodes = new String[SYMBOLS];
+        for (int i = 0; i < SYMBOLS; i++) {
+            String code = String.format("%06d", i * 37);
+            stockCodes[i] = code;
+            currentCandles.put(code, StocksCandleDto.createNew(code, CANDLE_TIME, 70000, 1));
+            CandleAccumulator accumulator = new CandleAccumulator();
+            accumulator.start(CANDLE_TIME, 70000, 1);
+            accumulators.put(code, accumulator);
+        }
+    }
+
+    private String nextCode() {
+        int i = cursor++;
+        if (cursor == SYMBOLS) {
+            cursor = 0;
+        }
+        price = 69_000 + (price + 7) % 2_000;
+        return stockCodes[i];
+    }
+
+    @Benchmark
+    public StocksCandleDto immutableBuilder() {
+        String code = nextCode();
+        synchronized (stockLocks.computeIfAbsent(code, k -> new Object())) {
+            StocksCandleDto updated = currentCandles.get(code).updateWith(price, 3);
+            currentCandles.put(code, updated);
+            return updated;
+        }
+    }
+
+    @Benchmark
+    public CandleAccumulator primitiveAccumulator() {
+        String code = nextCode();
+        CandleAccumulator accumulator = accumulators.get(code);
+        synchronized (accumulator) {
+            accumulator.add(price, 3);
+        }
+        return accumulator;
+    }
+}
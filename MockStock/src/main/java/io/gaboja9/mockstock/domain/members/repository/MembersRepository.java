@@ -1,6 +1,7 @@
 package io.gaboja9.mockstock.domain.members.repository;
 
 import io.gaboja9.mockstock.domain.members.entity.Members;
+import io.gaboja9.mockstock.domain.ranks.dto.MemberRankingRow;
 
 import jakarta.persistence.LockModeType;
 
@@ -9,6 +10,7 @@ import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface MembersRepository extends JpaRepository<Members, Long> {
@@ -17,4 +19,9 @@ public interface MembersRepository extends JpaRepository<Members, Long> {
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT m FROM Members m WHERE m.id = :id")
     Optional<Members> findByIdWithLock(@Param("id") Long id);
+
+    @Query(
+            "SELECT new io.gaboja9.mockstock.domain.ranks.dto.MemberRankingRow("
+                    + "m.id, m.nickname, m.cashBalance, m.bankruptcyCnt) FROM Members m")
+    List<MemberRankingRow> findAllRankingRows();
 }
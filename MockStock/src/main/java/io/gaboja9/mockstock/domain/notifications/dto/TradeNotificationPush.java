@@ -0,0 +1,4 @@
+package io.gaboja9.mockstock.domain.notifications.dto;
+
+// 메일 저장이 커밋된 뒤 실시간으로 보낼 매매 알림
+public record TradeNotificationPush(Long memberId, NotificationDto notification) {}
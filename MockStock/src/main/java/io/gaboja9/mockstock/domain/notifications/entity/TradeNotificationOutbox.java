@@ -0,0 +1,64 @@
+package io.gaboja9.mockstock.domain.notifications.entity;
+
+import io.gaboja9.mockstock.domain.trades.entity.TradeType;
+import io.gaboja9.mockstock.global.common.BaseEntity;
+
+import jakarta.persistence.*;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 체결 트랜잭션이 남기는 매매 알림 이벤트(transactional outbox).
+ *
+ * <p>주문 경로는 이 행 하나만 INSERT 하고, 알림 설정 조회/메일 저장/실시간 발송은 커밋 이후 {@code TradeNotificationDispatcher} 가
+ * 묶어서 처리한 뒤 행을 지운다. {@code claimToken}/{@code lockedUntil} 은 여러 노드의 발송기가 같은 행을 동시에 가져가지 않게 하는
+ * 임대(lease)이고, 발송이 실패하면 임대가 끝난 뒤 다시 가져간다.
+ */
+@Getter
+@Entity
+@Table(name = "trade_notification_outbox")
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class TradeNotificationOutbox extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long memberId;
+
+    private String stockCode;
+
+    private String stockName;
+
+    @Enumerated(EnumType.STRING)
+    private TradeType tradeType;
+
+    private int quantity;
+
+    private int price;
+
+    private int attempts;
+
+    private String claimToken;
+
+    private LocalDateTime lockedUntil;
+
+    public TradeNotificationOutbox(
+            Long memberId,
+            String stockCode,
+            String stockName,
+            TradeType tradeType,
+            int quantity,
+            int price) {
+        this.memberId = memberId;
+        this.stockCode = stockCode;
+        this.stockName = stockName;
+        this.tradeType = tradeType;
+        this.quantity = quantity;
+        this.price = price;
+    }
+}
@@ -0,0 +1,210 @@
+package io.gaboja9.mockstock.domain.notifications.outbox;
+
+import io.gaboja9.mockstock.domain.notifications.dto.TradeNotificationPush;
+import io.gaboja9.mockstock.domain.notifications.entity.TradeNotificationOutbox;
+import io.gaboja9.mockstock.domain.notifications.repository.TradeNotificationOutboxRepository;
+import io.gaboja9.mockstock.domain.notifications.service.NotificationsService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 매매 알림 아웃박스를 비우는 발송기.
+ *
+ * <p>가상 스레드 하나가 체결 커밋 직후의 {@link #wakeUp()} 신호나 {@code poll-ms} 주기로 깨어나, 아웃박스 행을 최대 {@code
+ * batch-size} 개씩 임대해 간다. 한 묶음의 메일은 한 트랜잭션에서 저장되고 아웃박스 행도 함께 지워지며, 실시간 알림은 그 커밋 뒤에 보낸다.
+ *
+ * <p>묶음 저장이 실패하면 행을 하나씩 다시 처리해 문제 있는 행만 남긴다. 남은 행은 임대({@code lease-ms})가 끝난 뒤 다시 가져가고, {@code
+ * max-attempts} 번 실패한 행은 더 가져가지 않고 테이블에 남겨 둔다. 다른 노드의 발송기와는 임대로 나눠 가지며, 행은 임대 토큰이 그대로일 때만 지우고 아니면
+ * 저장한 메일도 롤백하므로 같은 알림을 두 번 저장하지 않는다.
+ */
+@Component
+@Slf4j
+public class TradeNotificationDispatcher {
+
+    private final TradeNotificationOutboxRepository outboxRepository;
+    private final NotificationsService notificationsService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long pollMs;
+    private final long leaseMs;
+    private final int maxAttempts;
+    private final Semaphore signal = new Semaphore(0);
+    private final Thread worker;
+
+    private final DistributionSummary dispatchedBatchSize;
+    private final Counter failures;
+
+    private volatile boolean running = true;
+
+    public TradeNotificationDispatcher(
+            TradeNotificationOutboxRepository outboxRepository,
+            NotificationsService notificationsService,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${notifications.outbox.batch-size:200}") int batchSize,
+            @Value("${notifications.outbox.poll-ms:1000}") long pollMs,
+            @Value("${notifications.outbox.lease-ms:10000}") long leaseMs,
+            @Value("${notifications.outbox.max-attempts:5}") int maxAttempts) {
+        this.outboxRepository = outboxRepository;
+        this.notificationsService = notificationsService;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = Math.max(1, batchSize);
+        this.pollMs = pollMs;
+        this.leaseMs = leaseMs;
+        this.maxAttempts = maxAttempts;
+        this.dispatchedBatchSize =
+                DistributionSummary.builder("notifications.outbox.batch.size")
+                        .description("한 번에 저장하고 보낸 매매 알림 수")
+                        .register(meterRegistry);
+        this.failures =
+                Counter.builder("notifications.outbox.failed")
+                        .description("저장에 실패해 다음 임대 때 다시 보낼 매매 알림 수")
+                        .register(meterRegistry);
+        this.worker = Thread.ofVirtual().name("trade-notification-dispatcher").start(this::loop);
+    }
+
+    /** 체결이 커밋된 뒤 불러 발송기를 바로 깨운다. */
+    public void wakeUp() {
+        if (signal.availablePermits() == 0) {
+            signal.release();
+        }
+    }
+
+    private void loop() {
+        while (running) {
+            try {
+                signal.tryAcquire(pollMs, TimeUnit.MILLISECONDS);
+                signal.drainPermits();
+                while (running && dispatchBatch() == batchSize) {
+                    // 가득 찬 묶음이면 밀린 알림이 더 있다
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("매매 알림 아웃박스 처리 중 오류", e);
+            }
+        }
+    }
+
+    /**
+     * 아웃박스에서 한 묶음을 임대해 메일로 저장하고 실시간 알림을 보낸다.
+     *
+     * @return 임대한 알림 수
+     */
+    int dispatchBatch() {
+        List<TradeNotificationOutbox> events = claim();
+        if (events.isEmpty()) {
+            return 0;
+        }
+        if (!deliver(events) && events.size() > 1) {
+            log.debug("매매 알림 묶음 저장 실패로 하나씩 다시 처리. size={}", events.size());
+            for (TradeNotificationOutbox event : events) {
+                deliver(List.of(event));
+            }
+        }
+        return events.size();
+    }
+
+    private List<TradeNotificationOutbox> claim() {
+        LocalDateTime now = LocalDateTime.now();
+        String claimToken = UUID.randomUUID().toString();
+        return transactionTemplate.execute(
+                status -> {
+                    List<Long> ids =
+                            outboxRepository.findDispatchableIds(
+                                    maxAttempts, now, PageRequest.of(0, batchSize));
+                    if (ids.isEmpty()) {
+                        return List.of();
+                    }
+                    outboxRepository.claim(
+                            ids,
+                            claimToken,
+                            now.plus(leaseMs, ChronoUnit.MILLIS),
+                            maxAttempts,
+                            now);
+                    return outboxRepository.findByClaimTokenOrderById(claimToken);
+                });
+    }
+
+    private boolean deliver(List<TradeNotificationOutbox> events) {
+        List<TradeNotificationPush> pushes;
+        try {
+            pushes =
+                    transactionTemplate.execute(
+                            status -> {
+                                List<TradeNotificationPush> saved =
+                                        notificationsService.saveTradeMails(events);
+                                deleteClaimed(events);
+                                return saved;
+                            });
+        } catch (LeaseLostException e) {
+            // 다른 노드가 이미 가져갔으므로 저장한 메일은 롤백하고 그쪽에 맡긴다
+            log.info("매매 알림 임대를 잃어 발송을 넘깁니다. {}", e.getMessage());
+            return true;
+        } catch (RuntimeException e) {
+            if (events.size() == 1) {
+                failures.increment();
+                TradeNotificationOutbox event = events.get(0);
+                if (event.getAttempts() >= maxAttempts) {
+                    log.error(
+                            "매매 알림 저장을 {}번 실패해 포기합니다. outboxId={}, 사용자: {}",
+                            event.getAttempts(),
+                            event.getId(),
+                            event.getMemberId(),
+                            e);
+                } else {
+                    log.warn(
+                            "매매 알림 저장 실패, {}ms 뒤 다시 시도합니다. outboxId={}, 사용자: {}",
+                            leaseMs,
+                            event.getId(),
+                            event.getMemberId(),
+                            e);
+                }
+            }
+            return false;
+        }
+        dispatchedBatchSize.record(events.size());
+        notificationsService.pushTradeNotifications(pushes);
+        return true;
+    }
+
+    /** 이 노드가 아직 임대 중인 행만 지운다. 하나라도 못 지웠으면 임대를 잃은 것이므로 예외로 트랜잭션을 롤백한다. */
+    private void deleteClaimed(List<TradeNotificationOutbox> events) {
+        List<Long> ids = events.stream().map(TradeNotificationOutbox::getId).toList();
+        int deleted = outboxRepository.deleteClaimed(ids, events.get(0).getClaimToken());
+        if (deleted != ids.size()) {
+            throw new LeaseLostException(
+                    "임대 " + ids.size() + "건 중 " + deleted + "건만 남아 있음. outboxIds=" + ids);
+        }
+    }
+
+    private static final class LeaseLostException extends RuntimeException {
+        LeaseLostException(String message) {
+            super(message);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        worker.interrupt();
+    }
+}
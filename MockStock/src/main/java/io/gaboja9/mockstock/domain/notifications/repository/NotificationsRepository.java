@@ -3,9 +3,19 @@ package io.gaboja9.mockstock.domain.notifications.repository;
 import io.gaboja9.mockstock.domain.notifications.entity.Notifications;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface NotificationsRepository extends JpaRepository<Notifications, Long> {
     Optional<Notifications> findByMembersId(Long memberId);
+
+    @Query(
+            "SELECT n.members.id FROM Notifications n "
+                    + "WHERE n.members.id IN :memberIds AND n.tradeNotificationEnabled = false")
+    List<Long> findTradeNotificationDisabledMemberIds(
+            @Param("memberIds") Collection<Long> memberIds);
 }
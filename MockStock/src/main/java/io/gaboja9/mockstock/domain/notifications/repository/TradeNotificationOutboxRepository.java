@@ -0,0 +1,52 @@
+package io.gaboja9.mockstock.domain.notifications.repository;
+
+import io.gaboja9.mockstock.domain.notifications.entity.TradeNotificationOutbox;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface TradeNotificationOutboxRepository
+        extends JpaRepository<TradeNotificationOutbox, Long> {
+
+    @Query(
+            "SELECT o.id FROM TradeNotificationOutbox o "
+                    + "WHERE o.attempts < :maxAttempts "
+                    + "AND (o.lockedUntil IS NULL OR o.lockedUntil < :now) "
+                    + "ORDER BY o.id")
+    List<Long> findDispatchableIds(
+            @Param("maxAttempts") int maxAttempts,
+            @Param("now") LocalDateTime now,
+            Pageable pageable);
+
+    // 조건을 다시 확인하므로 다른 노드가 먼저 가져간 행은 건너뛴다
+    @Modifying(clearAutomatically = true)
+    @Query(
+            "UPDATE TradeNotificationOutbox o "
+                    + "SET o.claimToken = :claimToken, o.lockedUntil = :lockedUntil, "
+                    + "o.attempts = o.attempts + 1 "
+                    + "WHERE o.id IN :ids "
+                    + "AND o.attempts < :maxAttempts "
+                    + "AND (o.lockedUntil IS NULL OR o.lockedUntil < :now)")
+    int claim(
+            @Param("ids") Collection<Long> ids,
+            @Param("claimToken") String claimToken,
+            @Param("lockedUntil") LocalDateTime lockedUntil,
+            @Param("maxAttempts") int maxAttempts,
+            @Param("now") LocalDateTime now);
+
+    List<TradeNotificationOutbox> findByClaimTokenOrderById(String claimToken);
+
+    // 임대가 끝나 다른 노드가 다시 가져간 행은 토큰이 달라 지워지지 않는다
+    @Modifying(clearAutomatically = true)
+    @Query(
+            "DELETE FROM TradeNotificationOutbox o "
+                    + "WHERE o.id IN :ids AND o.claimToken = :claimToken")
+    int deleteClaimed(@Param("ids") Collection<Long> ids, @Param("claimToken") String claimToken);
+}
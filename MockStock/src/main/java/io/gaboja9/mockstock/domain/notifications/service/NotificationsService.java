@@ -7,17 +7,20 @@ import io.gaboja9.mockstock.domain.members.repository.MembersRepository;
 import io.gaboja9.mockstock.domain.notifications.dto.MarketNotificationDataDto;
 import io.gaboja9.mockstock.domain.notifications.dto.NotificationDto;
 import io.gaboja9.mockstock.domain.notifications.dto.TradeNotificationDataDto;
+import io.gaboja9.mockstock.domain.notifications.dto.TradeNotificationPush;
 import io.gaboja9.mockstock.domain.notifications.entity.Notifications;
+import io.gaboja9.mockstock.domain.notifications.entity.TradeNotificationOutbox;
 import io.gaboja9.mockstock.domain.notifications.enums.MarketStatus;
 import io.gaboja9.mockstock.domain.notifications.enums.NotificationEventType;
 import io.gaboja9.mockstock.domain.notifications.enums.NotificationType;
 import io.gaboja9.mockstock.domain.notifications.repository.NotificationsRepository;
+import io.gaboja9.mockstock.domain.notifications.repository.TradeNotificationOutboxRepository;
 import io.gaboja9.mockstock.domain.trades.entity.TradeType;
+import io.gaboja9.mockstock.global.websocket.relay.StompMessageRelay;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
 import java.text.NumberFormat;
@@ -25,9 +28,14 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -37,40 +45,75 @@ public class NotificationsService {
     private final NotificationsRepository notificationsRepository;
     private final MembersRepository membersRepository;
     private final MailsRepository mailsRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final TradeNotificationOutboxRepository tradeNotificationOutboxRepository;
+    // 사용자가 다른 노드에 접속해 있어도 알림이 가도록 릴레이로 보낸다
+    private final StompMessageRelay messageRelay;
 
     // 매매 알림
-    // 1. 매매 완료시 메일 발송
-    public void sendTradeNotification(
+    // 1. 체결 트랜잭션 안에서 알림 이벤트만 아웃박스에 남긴다 (메일 저장과 실시간 발송은 커밋 이후 발송기가 묶어서 한다)
+    public void enqueueTradeNotification(
             Long memberId,
             String stockCode,
             String stockName,
             TradeType tradeType,
             int quantity,
             int price) {
+        tradeNotificationOutboxRepository.save(
+                new TradeNotificationOutbox(
+                        memberId, stockCode, stockName, tradeType, quantity, price));
+    }
 
-        if (!tradeNotificationEnabled(memberId)) {
-            log.debug("사용자 {}의 매매 알림이 비활성화되어 있습니다.", memberId);
-            return;
-        }
-
-        Optional<Members> member = membersRepository.findById(memberId);
-
-        String subject = createTradeSubject(stockName, tradeType, quantity, price);
-        String content = createTradeContent(stockCode, stockName, tradeType, quantity, price);
+    // 2. 아웃박스 이벤트 묶음을 메일로 저장하고, 커밋 뒤 실시간으로 보낼 알림을 돌려준다
+    public List<TradeNotificationPush> saveTradeMails(List<TradeNotificationOutbox> events) {
+        Set<Long> memberIds =
+                events.stream()
+                        .map(TradeNotificationOutbox::getMemberId)
+                        .collect(Collectors.toSet());
+        Set<Long> disabled =
+                new HashSet<>(
+                        notificationsRepository.findTradeNotificationDisabledMemberIds(memberIds));
+        memberIds.removeAll(disabled);
+        Map<Long, Members> members =
+                membersRepository.findAllById(memberIds).stream()
+                        .collect(Collectors.toMap(Members::getId, Function.identity()));
+
+        List<Mails> mails = new ArrayList<>(events.size());
+        List<TradeNotificationPush> pushes = new ArrayList<>(events.size());
+        for (TradeNotificationOutbox event : events) {
+            Long memberId = event.getMemberId();
+            if (disabled.contains(memberId)) {
+                log.debug("사용자 {}의 매매 알림이 비활성화되어 있습니다.", memberId);
+                continue;
+            }
+            Members member = members.get(memberId);
+            if (member == null) {
+                log.warn("매매 알림을 받을 사용자가 없습니다. memberId={}", memberId);
+                continue;
+            }
 
-        Mails mail = new Mails(subject, content, true, null, member.get());
-        mailsRepository.save(mail);
+            String subject =
+                    createTradeSubject(
+                            event.getStockName(),
+                            event.getTradeType(),
+                            event.getQuantity(),
+                            event.getPrice());
+            String content =
+                    createTradeContent(
+                            event.getStockCode(),
+                            event.getStockName(),
+                            event.getTradeType(),
+                            event.getQuantity(),
+                            event.getPrice());
+            mails.add(new Mails(subject, content, true, null, member));
 
-        try {
             TradeNotificationDataDto tradeData =
                     TradeNotificationDataDto.builder()
-                            .stockCode(stockCode)
-                            .stockName(stockName)
-                            .tradeType(tradeType)
-                            .quantity(quantity)
-                            .price(price)
-                            .totalAmount(price * quantity)
+                            .stockCode(event.getStockCode())
+                            .stockName(event.getStockName())
+                            .tradeType(event.getTradeType())
+                            .quantity(event.getQuantity())
+                            .price(event.getPrice())
+                            .totalAmount(event.getPrice() * event.getQuantity())
                             .build();
 
             NotificationDto notification =
@@ -78,31 +121,35 @@ public class NotificationsService {
                             .type(NotificationEventType.TRADE)
                             .title(subject)
                             .message(content)
-                            .timestamp(LocalDateTime.now())
+                            .timestamp(
+                                    event.getCreatedAt() != null
+                                            ? event.getCreatedAt()
+                                            : LocalDateTime.now())
                             .data(tradeData)
                             .build();
-
-            messagingTemplate.convertAndSendToUser(
-                    String.valueOf(memberId), "/queue/notifications", notification);
-
-            log.info(
-                    "실시간 알림 발송 완료 - 사용자: {}, 종목: {}, 타입: {}",
-                    memberId,
-                    stockName,
-                    tradeType.name());
-        } catch (Exception e) {
-            log.error("실시간 알림 발송 실패 - 사용자: {}, 종목: {}", memberId, stockName, e);
+            pushes.add(new TradeNotificationPush(memberId, notification));
         }
 
-        log.info("매매 알림 발송 완료 - 사용자: {}, 종목: {}, 타입: {}", memberId, stockName, tradeType.name());
+        mailsRepository.saveAll(mails);
+        return pushes;
     }
 
-    // 2. 사용자의 매매 알림 설정 확인
-    private boolean tradeNotificationEnabled(Long memberId) {
-        return notificationsRepository
-                .findByMembersId(memberId)
-                .map(Notifications::isTradeNotificationEnabled)
-                .orElse(true);
+    // 2-1. 저장이 커밋된 매매 알림을 실시간으로 보낸다 (메일함에 이미 남았으므로 실패해도 다시 보내지 않는다)
+    public void pushTradeNotifications(List<TradeNotificationPush> pushes) {
+        for (TradeNotificationPush push : pushes) {
+            try {
+                messageRelay.convertAndSendToUser(
+                        String.valueOf(push.memberId()),
+                        "/queue/notifications",
+                        push.notification());
+            } catch (Exception e) {
+                log.error(
+                        "실시간 알림 발송 실패 - 사용자: {}, 제목: {}",
+                        push.memberId(),
+                        push.notification().getTitle(),
+                        e);
+            }
+        }
     }
 
     // 3. 매매 알림 제목 생성
@@ -169,7 +216,7 @@ public class NotificationsService {
                                 .data(marketData)
                                 .build();
 
-                messagingTemplate.convertAndSendToUser(
+                messageRelay.convertAndSendToUser(
                         String.valueOf(member.getId()), "/queue/notifications", notification);
 
                 sentCount++;
@@ -214,7 +261,7 @@ public class NotificationsService {
                                 .data(marketData)
                                 .build();
 
-                messagingTemplate.convertAndSendToUser(
+                messageRelay.convertAndSendToUser(
                         String.valueOf(member.getId()), "/queue/notifications", notification);
 
                 sentCount++;
@@ -0,0 +1,108 @@
+package io.gaboja9.mockstock.domain.orders.book;
+
+import io.gaboja9.mockstock.domain.trades.entity.TradeType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * 종목별 지정가 주문 호가창.
+ *
+ * <p>매수는 가격 내림차순, 매도는 가격 오름차순으로 정렬되며 같은 가격 안에서는 주문 ID(접수 순서) 순으로 체결 우선권을 가진다. 체결가가 들어오면 한도를 넘어선
+ * 가격대만 꺼내므로 대기 주문 수와 무관하게 조건을 만족한 주문만 처리된다.
+ */
+public class LimitOrderBook {
+
+    private final String stockCode;
+
+    // 가격 -> (주문 ID -> 주문)
+    private final NavigableMap<Integer, NavigableMap<Long, OrderBookEntry>> bids =
+            new TreeMap<>(Collections.reverseOrder());
+    private final NavigableMap<Integer, NavigableMap<Long, OrderBookEntry>> asks = new TreeMap<>();
+
+    private final Map<Long, OrderBookEntry> entries = new HashMap<>();
+
+    public LimitOrderBook(String stockCode) {
+        this.stockCode = stockCode;
+    }
+
+    public String getStockCode() {
+        return stockCode;
+    }
+
+    public synchronized void add(OrderBookEntry entry) {
+        OrderBookEntry previous = entries.put(entry.orderId(), entry);
+        if (previous != null) {
+            removeFromLevel(previous);
+        }
+        sideOf(entry.tradeType())
+                .computeIfAbsent(entry.price(), p -> new TreeMap<>())
+                .put(entry.orderId(), entry);
+    }
+
+    public synchronized boolean remove(Long orderId) {
+        OrderBookEntry entry = entries.remove(orderId);
+        if (entry == null) {
+            return false;
+        }
+        removeFromLevel(entry);
+        return true;
+    }
+
+    /** 현재가로 체결 가능한 주문을 우선순위대로 꺼낸다. 꺼낸 주문은 호가창에서 제거된다. */
+    public synchronized List<OrderBookEntry> pollCrossed(int currentPrice) {
+        if (entries.isEmpty()) {
+            return List.of();
+        }
+
+        List<OrderBookEntry> crossed = new ArrayList<>();
+        // 매수: 지정가 >= 현재가
+        drain(bids.headMap(currentPrice, true), crossed);
+        // 매도: 지정가 <= 현재가
+        drain(asks.headMap(currentPrice, true), crossed);
+        return crossed;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    private void drain(
+            NavigableMap<Integer, NavigableMap<Long, OrderBookEntry>> levels,
+            List<OrderBookEntry> out) {
+        Iterator<NavigableMap<Long, OrderBookEntry>> it = levels.values().iterator();
+        while (it.hasNext()) {
+            for (OrderBookEntry entry : it.next().values()) {
+                entries.remove(entry.orderId());
+                out.add(entry);
+            }
+            it.remove();
+        }
+    }
+
+    private void removeFromLevel(OrderBookEntry entry) {
+        NavigableMap<Integer, NavigableMap<Long, OrderBookEntry>> side = sideOf(entry.tradeType());
+        NavigableMap<Long, OrderBookEntry> level = side.get(entry.price());
+        if (level == null) {
+            return;
+        }
+        level.remove(entry.orderId());
+        if (level.isEmpty()) {
+            side.remove(entry.price());
+        }
+    }
+
+    private NavigableMap<Integer, NavigableMap<Long, OrderBookEntry>> sideOf(TradeType tradeType) {
+        return tradeType == TradeType.BUY ? bids : asks;
+    }
+}
@@ -0,0 +1,18 @@
+package io.gaboja9.mockstock.domain.orders.book;
+
+import io.gaboja9.mockstock.domain.orders.entity.Orders;
+import io.gaboja9.mockstock.domain.trades.entity.TradeType;
+
+/** 호가창에 대기 중인 지정가 주문 (체결 판단에 필요한 값만 보관) */
+public record OrderBookEntry(
+        Long orderId, Long memberId, String stockCode, TradeType tradeType, int price) {
+
+    public static OrderBookEntry from(Orders order) {
+        return new OrderBookEntry(
+                order.getId(),
+                order.getMembers().getId(),
+                order.getStockCode(),
+                order.getTradeType(),
+                order.getPrice());
+    }
+}
@@ -0,0 +1,39 @@
+package io.gaboja9.mockstock.domain.orders.book;
+
+import io.gaboja9.mockstock.domain.orders.entity.OrderType;
+import io.gaboja9.mockstock.domain.orders.entity.Orders;
+import io.gaboja9.mockstock.domain.trades.entity.TradeType;
+
+/**
+ * 감시 중인 스톱 주문 (발동 판단에 필요한 값만 보관). 추적 스톱의 {@code stopPrice} 는 등록 시점의 감시가이고, 발동해 꺼낼 때 그때까지 따라간 감시가로
+ * 바뀐다.
+ */
+public record StopOrderEntry(
+        Long orderId,
+        Long memberId,
+        String stockCode,
+        OrderType orderType,
+        TradeType tradeType,
+        int stopPrice,
+        int trailingGap) {
+
+    public static StopOrderEntry from(Orders order) {
+        return new StopOrderEntry(
+                order.getId(),
+                order.getMembers().getId(),
+                order.getStockCode(),
+                order.getOrderType(),
+                order.getTradeType(),
+                order.getStopPrice(),
+                order.getTrailingGap() == null ? 0 : order.getTrailingGap());
+    }
+
+    public boolean isTrailing() {
+        return orderType == OrderType.TRAILING_STOP;
+    }
+
+    public StopOrderEntry withStopPrice(int stopPrice) {
+        return new StopOrderEntry(
+                orderId, memberId, stockCode, orderType, tradeType, stopPrice, trailingGap);
+    }
+}
@@ -0,0 +1,301 @@
+package io.gaboja9.mockstock.domain.orders.book;
+
+import io.gaboja9.mockstock.domain.trades.entity.TradeType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 종목별 스톱 주문 감시가 색인.
+ *
+ * <p>매도 스톱은 체결가가 감시가 이하로, 매수 스톱은 이상으로 움직이면 발동한다. 매수 쪽은 가격 부호를 뒤집어 보관하므로 네 묶음 모두 "키 >= 체결가 키" 인 구간만
+ * 꺼내면 된다. 남아 있는 감시가는 항상 직전 체결가 기준으로 아직 닿지 않은 쪽에 있으므로, 꺼내는 구간은 곧 직전 체결가와 이번 체결가 사이를 지나친 가격대이고 체결가
+ * 하나에 O(log n + k) 로 끝난다.
+ *
+ * <p>추적 스톱은 고점(매수는 저점)이 같은 주문끼리 묶는다. 가격이 오르면 새 고점 아래의 묶음들만 하나로 합치고(작은 쪽을 큰 쪽으로 옮긴다), 묶음마다 가장 먼저 닿을
+ * 감시가(고점 - 최소 간격) 순으로 정렬해 두어 발동한 묶음만 들여다본다.
+ */
+public class StopTriggerBook {
+
+    private final String stockCode;
+
+    private final FixedStops sellStops = new FixedStops(1);
+    private final FixedStops buyStops = new FixedStops(-1);
+    private final TrailingStops sellTrailingStops = new TrailingStops(1);
+    private final TrailingStops buyTrailingStops = new TrailingStops(-1);
+
+    private final Map<Long, StopOrderEntry> entries = new HashMap<>();
+
+    public StopTriggerBook(String stockCode) {
+        this.stockCode = stockCode;
+    }
+
+    public String getStockCode() {
+        return stockCode;
+    }
+
+    public synchronized void add(StopOrderEntry entry) {
+        StopOrderEntry previous = entries.put(entry.orderId(), entry);
+        if (previous != null) {
+            sideOf(previous).remove(previous);
+        }
+        sideOf(entry).add(entry);
+    }
+
+    public synchronized boolean remove(Long orderId) {
+        StopOrderEntry entry = entries.remove(orderId);
+        if (entry == null) {
+            return false;
+        }
+        sideOf(entry).remove(entry);
+        return true;
+    }
+
+    /** 체결가로 발동한 스톱 주문을 꺼낸다. 꺼낸 주문은 색인에서 제거되고, 추적 스톱은 발동 시점의 감시가를 담아 돌려준다. */
+    public synchronized List<StopOrderEntry> pollTriggered(int currentPrice) {
+        if (entries.isEmpty()) {
+            return List.of();
+        }
+
+        List<StopOrderEntry> triggered = new ArrayList<>();
+        sellStops.pollTriggered(currentPrice, triggered);
+        buyStops.pollTriggered(currentPrice, triggered);
+        sellTrailingStops.pollTriggered(currentPrice, triggered);
+        buyTrailingStops.pollTriggered(currentPrice, triggered);
+        for (StopOrderEntry entry : triggered) {
+            entries.remove(entry.orderId());
+        }
+        return triggered;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    private Side sideOf(StopOrderEntry entry) {
+        if (entry.isTrailing()) {
+            return entry.tradeType() == TradeType.BUY ? buyTrailingStops : sellTrailingStops;
+        }
+        return entry.tradeType() == TradeType.BUY ? buyStops : sellStops;
+    }
+
+    private interface Side {
+
+        void add(StopOrderEntry entry);
+
+        void remove(StopOrderEntry entry);
+
+        void pollTriggered(int currentPrice, List<StopOrderEntry> out);
+    }
+
+    /** 감시가가 고정된 스톱/스톱 지정가. 키는 {@code sign * 감시가} 이다. */
+    private static final class FixedStops implements Side {
+
+        private final int sign;
+
+        // 키 -> (주문 ID -> 주문)
+        private final NavigableMap<Integer, NavigableMap<Long, StopOrderEntry>> levels =
+                new TreeMap<>();
+
+        FixedStops(int sign) {
+            this.sign = sign;
+        }
+
+        @Override
+        public void add(StopOrderEntry entry) {
+            levels.computeIfAbsent(sign * entry.stopPrice(), k -> new TreeMap<>())
+                    .put(entry.orderId(), entry);
+        }
+
+        @Override
+        public void remove(StopOrderEntry entry) {
+            int key = sign * entry.stopPrice();
+            NavigableMap<Long, StopOrderEntry> level = levels.get(key);
+            if (level == null) {
+                return;
+            }
+            level.remove(entry.orderId());
+            if (level.isEmpty()) {
+                levels.remove(key);
+            }
+        }
+
+        // 직전 체결가에 가까운(먼저 지나친) 감시가부터 꺼낸다
+        @Override
+        public void pollTriggered(int currentPrice, List<StopOrderEntry> out) {
+            Iterator<NavigableMap<Long, StopOrderEntry>> it =
+                    levels.tailMap(sign * currentPrice, true).descendingMap().values().iterator();
+            while (it.hasNext()) {
+                out.addAll(it.next().values());
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * 추적 스톱. 키 공간에서 고점은 {@code max(sign * 체결가)} 이고 {@code sign * 체결가 <= 고점 - 간격} 이면 발동한다. 매도는 고점에서
+     * 간격만큼, 매수는 저점에서 간격만큼 되돌 때 발동하는 셈이다.
+     */
+    private static final class TrailingStops implements Side {
+
+        private final int sign;
+
+        // 고점 -> 그 고점을 공유하는 주문 묶음
+        private final NavigableMap<Integer, Group> groups = new TreeMap<>();
+        // 묶음마다 가장 먼저 닿을 감시가 순. 고점은 묶음마다 다르므로 순서가 겹치지 않는다
+        private final NavigableSet<Group> byTrigger =
+                new TreeSet<>(
+                        Comparator.comparingInt(Group::trigger).thenComparingInt(g -> g.high));
+        private final Map<Long, Group> owners = new HashMap<>();
+
+        TrailingStops(int sign) {
+            this.sign = sign;
+        }
+
+        @Override
+        public void add(StopOrderEntry entry) {
+            int high = sign * entry.stopPrice() + entry.trailingGap();
+            Group group = groups.get(high);
+            if (group == null) {
+                group = new Group(high);
+                groups.put(high, group);
+            } else {
+                byTrigger.remove(group);
+            }
+            group.put(entry);
+            owners.put(entry.orderId(), group);
+            byTrigger.add(group);
+        }
+
+        @Override
+        public void remove(StopOrderEntry entry) {
+            Group group = owners.remove(entry.orderId());
+            if (group == null) {
+                return;
+            }
+            byTrigger.remove(group);
+            group.remove(entry);
+            if (group.isEmpty()) {
+                groups.remove(group.high);
+            } else {
+                byTrigger.add(group);
+            }
+        }
+
+        @Override
+        public void pollTriggered(int currentPrice, List<StopOrderEntry> out) {
+            if (groups.isEmpty()) {
+                return;
+            }
+            int key = sign * currentPrice;
+            raiseHigh(key);
+
+            while (!byTrigger.isEmpty() && byTrigger.last().trigger() >= key) {
+                Group group = byTrigger.pollLast();
+                Iterator<Map.Entry<Integer, NavigableMap<Long, StopOrderEntry>>> it =
+                        group.byGap.headMap(group.high - key, true).entrySet().iterator();
+                while (it.hasNext()) {
+                    Map.Entry<Integer, NavigableMap<Long, StopOrderEntry>> level = it.next();
+                    int stopPrice = sign * (group.high - level.getKey());
+                    for (StopOrderEntry entry : level.getValue().values()) {
+                        owners.remove(entry.orderId());
+                        out.add(entry.withStopPrice(stopPrice));
+                    }
+                    group.size -= level.getValue().size();
+                    it.remove();
+                }
+                if (group.isEmpty()) {
+                    groups.remove(group.high);
+                } else {
+                    byTrigger.add(group);
+                }
+            }
+        }
+
+        // 새 고점보다 낮은 묶음을 모두 새 고점 하나로 합친다. 합칠 때마다 묶음 수가 줄어드므로 나눠 보면 싸다
+        private void raiseHigh(int key) {
+            NavigableMap<Integer, Group> below = groups.headMap(key, false);
+            if (below.isEmpty()) {
+                return;
+            }
+            Group merged = groups.remove(key);
+            if (merged != null) {
+                byTrigger.remove(merged);
+            }
+            Iterator<Group> it = below.values().iterator();
+            while (it.hasNext()) {
+                Group group = it.next();
+                it.remove();
+                byTrigger.remove(group);
+                merged = merged == null ? group : merge(merged, group);
+            }
+            merged.high = key;
+            groups.put(key, merged);
+            byTrigger.add(merged);
+        }
+
+        private Group merge(Group a, Group b) {
+            Group large = a.size >= b.size ? a : b;
+            Group small = large == a ? b : a;
+            for (NavigableMap<Long, StopOrderEntry> level : small.byGap.values()) {
+                for (StopOrderEntry entry : level.values()) {
+                    large.put(entry);
+                    owners.put(entry.orderId(), large);
+                }
+            }
+            return large;
+        }
+    }
+
+    private static final class Group {
+
+        private int high;
+        private int size;
+        // 간격 -> (주문 ID -> 주문)
+        private final NavigableMap<Integer, NavigableMap<Long, StopOrderEntry>> byGap =
+                new TreeMap<>();
+
+        Group(int high) {
+            this.high = high;
+        }
+
+        int trigger() {
+            return high - byGap.firstKey();
+        }
+
+        void put(StopOrderEntry entry) {
+            if (byGap.computeIfAbsent(entry.trailingGap(), g -> new TreeMap<>())
+                            .put(entry.orderId(), entry)
+                    == null) {
+                size++;
+            }
+        }
+
+        void remove(StopOrderEntry entry) {
+            NavigableMap<Long, StopOrderEntry> level = byGap.get(entry.trailingGap());
+            if (level == null || level.remove(entry.orderId()) == null) {
+                return;
+            }
+            size--;
+            if (level.isEmpty()) {
+                byGap.remove(entry.trailingGap());
+            }
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package io.gaboja9.mockstock.domain.orders.controller;
 import io.gaboja9.mockstock.domain.auth.dto.MembersDetails;
 import io.gaboja9.mockstock.domain.orders.dto.request.OrdersLimitTypeRequestDto;
 import io.gaboja9.mockstock.domain.orders.dto.request.OrdersMarketTypeRequestDto;
+import io.gaboja9.mockstock.domain.orders.dto.request.OrdersStopTypeRequestDto;
 import io.gaboja9.mockstock.domain.orders.dto.response.OrderResponseDto;
 import io.gaboja9.mockstock.domain.orders.service.OrdersService;
 
@@ -72,4 +73,28 @@ public class OrdersController implements OrdersControllerSpec {
 
         return ResponseEntity.status(HttpStatus.CREATED).body(responseDto);
     }
+
+    @PostMapping("/stop/buy")
+    public ResponseEntity<OrderResponseDto> executeStopBuy(
+            @Valid @RequestBody OrdersStopTypeRequestDto requestDto,
+            @AuthenticationPrincipal MembersDetails membersDetails) {
+
+        Long id = membersDetails.getId();
+
+        OrderResponseDto responseDto = ordersService.executeStopBuyOrders(id, requestDto);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(responseDto);
+    }
+
+    @PostMapping("/stop/sell")
+    public ResponseEntity<OrderResponseDto> executeStopSell(
+            @Valid @RequestBody OrdersStopTypeRequestDto requestDto,
+            @AuthenticationPrincipal MembersDetails membersDetails) {
+
+        Long id = membersDetails.getId();
+
+        OrderResponseDto responseDto = ordersService.executeStopSellOrders(id, requestDto);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(responseDto);
+    }
 }
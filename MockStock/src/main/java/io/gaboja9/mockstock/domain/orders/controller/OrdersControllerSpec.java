@@ -3,6 +3,7 @@ package io.gaboja9.mockstock.domain.orders.controller;
 import io.gaboja9.mockstock.domain.auth.dto.MembersDetails;
 import io.gaboja9.mockstock.domain.orders.dto.request.OrdersLimitTypeRequestDto;
 import io.gaboja9.mockstock.domain.orders.dto.request.OrdersMarketTypeRequestDto;
+import io.gaboja9.mockstock.domain.orders.dto.request.OrdersStopTypeRequestDto;
 import io.gaboja9.mockstock.domain.orders.dto.response.OrderResponseDto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -97,4 +98,42 @@ public interface OrdersControllerSpec {
     ResponseEntity<OrderResponseDto> executeLimitSell(
             @Valid @RequestBody OrdersLimitTypeRequestDto requestDto,
             @AuthenticationPrincipal MembersDetails membersDetails);
+
+    @Operation(
+            summary = "주식을 스톱 주문으로 매수합니다.",
+            description = "감시가(추적 스톱은 저점 + 간격) 이상으로 체결가가 오르면 매수하는 스톱, 스톱 지정가, 추적 스톱 주문을 등록합니다.",
+            responses =
+                    @ApiResponse(
+                            responseCode = "201",
+                            description = "등록 결과와 감시가를 보여줍니다.",
+                            content =
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema =
+                                                    @Schema(
+                                                            implementation =
+                                                                    OrderResponseDto.class))))
+    @PostMapping("/stop/buy")
+    ResponseEntity<OrderResponseDto> executeStopBuy(
+            @Valid @RequestBody OrdersStopTypeRequestDto requestDto,
+            @AuthenticationPrincipal MembersDetails membersDetails);
+
+    @Operation(
+            summary = "주식을 스톱 주문으로 매도합니다.",
+            description = "감시가(추적 스톱은 고점 - 간격) 이하로 체결가가 내리면 매도하는 스톱, 스톱 지정가, 추적 스톱 주문을 등록합니다.",
+            responses =
+                    @ApiResponse(
+                            responseCode = "201",
+                            description = "등록 결과와 감시가를 보여줍니다.",
+                            content =
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema =
+                                                    @Schema(
+                                                            implementation =
+                                                                    OrderResponseDto.class))))
+    @PostMapping("/stop/sell")
+    ResponseEntity<OrderResponseDto> executeStopSell(
+            @Valid @RequestBody OrdersStopTypeRequestDto requestDto,
+            @AuthenticationPrincipal MembersDetails membersDetails);
 }
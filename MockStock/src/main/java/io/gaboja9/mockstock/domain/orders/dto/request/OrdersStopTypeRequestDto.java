@@ -0,0 +1,40 @@
+package io.gaboja9.mockstock.domain.orders.dto.request;
+
+import io.gaboja9.mockstock.domain.orders.entity.OrderType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class OrdersStopTypeRequestDto {
+
+    @NotBlank
+    @Schema(description = "매수/매도할 주식 코드")
+    private String stockCode;
+
+    @NotBlank
+    @Schema(description = "매수/매도할 주식 이름")
+    private String stockName;
+
+    @NotNull
+    @Schema(description = "매수/매도 수량")
+    private int quantity;
+
+    @NotNull
+    @Schema(description = "스톱 주문 유형 (STOP, STOP_LIMIT, TRAILING_STOP)")
+    private OrderType orderType;
+
+    @Schema(description = "감시가. STOP, STOP_LIMIT 에서 사용")
+    private int stopPrice;
+
+    @Schema(description = "발동 후 지정가. STOP_LIMIT 에서 사용")
+    private int price;
+
+    @Schema(description = "고점(매수는 저점) 대비 간격. TRAILING_STOP 에서 사용")
+    private int trailingGap;
+}
@@ -2,5 +2,8 @@ package io.gaboja9.mockstock.domain.orders.entity;
 
 public enum OrderType {
     MARKET,
-    LIMIT
+    LIMIT,
+    STOP, // 감시가에 닿으면 시장가로 체결
+    STOP_LIMIT, // 감시가에 닿으면 지정가 주문으로 전환
+    TRAILING_STOP // 고점(매수는 저점)에서 간격만큼 되돌면 시장가로 체결
 }
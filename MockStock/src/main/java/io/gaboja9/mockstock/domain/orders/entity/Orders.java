@@ -30,7 +30,7 @@ public class Orders extends BaseEntity {
     private String stockName;
 
     @Enumerated(EnumType.STRING)
-    private OrderType orderType; // MARKET, LIMIT
+    private OrderType orderType; // MARKET, LIMIT, STOP, STOP_LIMIT, TRAILING_STOP
 
     @Enumerated(EnumType.STRING)
     private TradeType tradeType; // BUY, SELL
@@ -38,6 +38,12 @@ public class Orders extends BaseEntity {
     private int quantity;
     private int price; // 지정가인 경우 사용
 
+    private Integer stopPrice; // 스톱 주문의 감시가. 추적 스톱은 발동 시점의 감시가로 갱신된다
+
+    private Integer trailingGap; // 추적 스톱의 고점(매수는 저점) 대비 간격
+
+    private LocalDateTime triggeredAt; // 스톱 지정가가 지정가 주문으로 전환된 시각
+
     @Enumerated(EnumType.STRING)
     private OrderStatus status; // PENDING, EXECUTED, CANCELLED
 
@@ -65,11 +71,42 @@ public class Orders extends BaseEntity {
         this.status = OrderStatus.PENDING;
     }
 
+    public Orders(
+            String stockCode,
+            String stockName,
+            OrderType orderType,
+            TradeType tradeType,
+            int quantity,
+            int price,
+            int stopPrice,
+            int trailingGap,
+            Members members) {
+        this(stockCode, stockName, orderType, tradeType, quantity, price, members);
+        this.stopPrice = stopPrice;
+        this.trailingGap = trailingGap;
+    }
+
+    /** 감시가에 닿은 스톱 주문을 발동 상태로 바꾼다. */
+    public void trigger(int stopPrice) {
+        this.stopPrice = stopPrice;
+        this.triggeredAt = LocalDateTime.now();
+    }
+
+    public boolean isTriggered() {
+        return triggeredAt != null;
+    }
+
     public void execute() {
         this.status = OrderStatus.EXECUTED;
         this.executedAt = LocalDateTime.now();
     }
 
+    /** 주문 시점에 가격이 정해지지 않은 주문(스톱, 추적 스톱)을 체결가로 체결한다. */
+    public void execute(int executedPrice) {
+        this.price = executedPrice;
+        execute();
+    }
+
     public void cancel() {
         this.status = OrderStatus.CANCELLED;
     }
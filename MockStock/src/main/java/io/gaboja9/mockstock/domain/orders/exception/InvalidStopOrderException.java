@@ -0,0 +1,11 @@
+package io.gaboja9.mockstock.domain.orders.exception;
+
+import io.gaboja9.mockstock.global.exception.BaseException;
+import io.gaboja9.mockstock.global.exception.ErrorCode;
+
+public class InvalidStopOrderException extends BaseException {
+
+    public InvalidStopOrderException(String message) {
+        super(ErrorCode.INVALID_STOP_ORDER, message);
+    }
+}
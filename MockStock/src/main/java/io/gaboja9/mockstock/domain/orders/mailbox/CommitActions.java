@@ -0,0 +1,32 @@
+package io.gaboja9.mockstock.domain.orders.mailbox;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** 한 배치 트랜잭션이 커밋된 뒤 순서대로 실행할 후속 작업 */
+@Slf4j
+public final class CommitActions {
+
+    private final List<Runnable> actions = new ArrayList<>();
+
+    public void add(Runnable action) {
+        actions.add(action);
+    }
+
+    void runAll() {
+        for (Runnable action : actions) {
+            try {
+                action.run();
+            } catch (Exception e) {
+                log.error("커밋 후속 작업 실패", e);
+            }
+        }
+        actions.clear();
+    }
+
+    void clear() {
+        actions.clear();
+    }
+}
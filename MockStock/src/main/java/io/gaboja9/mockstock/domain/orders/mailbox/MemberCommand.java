@@ -0,0 +1,11 @@
+package io.gaboja9.mockstock.domain.orders.mailbox;
+
+/** 회원 한 명의 현금/포트폴리오/주문 상태를 바꾸는 명령. {@link MemberCommandQueue} 가 회원별로 한 번에 하나씩 트랜잭션 안에서 실행한다. */
+@FunctionalInterface
+public interface MemberCommand<T> {
+
+    /**
+     * @param afterCommit 커밋이 끝난 뒤에 할 일(알림 등)을 등록한다. 트랜잭션이 롤백되면 버려진다.
+     */
+    T apply(CommitActions afterCommit);
+}
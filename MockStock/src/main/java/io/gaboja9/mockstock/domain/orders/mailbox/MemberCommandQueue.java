@@ -0,0 +1,274 @@
+package io.gaboja9.mockstock.domain.orders.mailbox;
+
+import io.gaboja9.mockstock.domain.orders.exception.OrderProcessingInterruptedException;
+import io.gaboja9.mockstock.domain.orders.exception.OrderProcessingTimeoutException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 회원별 단일 작성자(single-writer) 명령 큐.
+ *
+ * <p>회원마다 메일박스가 하나 있고, 명령이 들어오면 가상 스레드 하나가 메일박스를 비울 때까지 순서대로 실행한다. 같은 회원의 명령은 이 노드 안에서 겹치지 않으므로 회원
+ * 행 잠금을 서로 기다릴 일이 없고, 서로 다른 회원의 메일박스는 나란히 돈다. 메일박스는 JVM 하나 안에서만 줄을 세우므로 다른 노드와는 명령들이 잡는 회원/주문 행
+ * 잠금으로 겹치지 않게 한다. 봇처럼 주문이 몰리는 회원은 쌓인 명령을 최대 {@code max-batch} 개씩 한 트랜잭션으로 묶어 커밋 횟수를 줄인다. 배치 중 하나가
+ * 실패하면 배치 전체를 롤백하고 명령을 하나씩 다시 실행해 실패한 명령만 실패로 돌려준다.
+ *
+ * <p>트랜잭션을 연 메일박스는 커밋까지 커넥션을 하나씩 쥐고 있으므로, 메일박스가 직접 여는 트랜잭션은 동시에 커넥션 풀 크기에서 {@code
+ * reserved-connections} 개를 뺀 수까지만 돈다. 남겨 둔 커넥션으로 조회 요청 등은 메일박스가 몰려도 멈추지 않는다.
+ *
+ * <p>메일박스는 명령을 모두 비우고 내려올 때 지운다. 다음 명령이 오면 새로 만든다.
+ */
+@Component
+@Slf4j
+public class MemberCommandQueue {
+
+    private final Map<Long, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxBatch;
+    private final Semaphore transactionPermits;
+    private final long timeoutMs;
+
+    private final DistributionSummary batchSize;
+    private final Counter batchRetries;
+
+    public MemberCommandQueue(
+            ExecutorService virtualThreadExecutor,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${orders.mailbox.max-batch:32}") int maxBatch,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize,
+            @Value("${orders.mailbox.reserved-connections:2}") int reservedConnections,
+            @Value("${orders.mailbox.timeout-ms:30000}") long timeoutMs) {
+        this.executor = virtualThreadExecutor;
+        this.transactionTemplate = transactionTemplate;
+        this.maxBatch = Math.max(1, maxBatch);
+        this.transactionPermits =
+                new Semaphore(Math.max(1, connectionPoolSize - Math.max(0, reservedConnections)));
+        this.timeoutMs = timeoutMs;
+        this.batchSize =
+                DistributionSummary.builder("orders.mailbox.batch.size")
+                        .description("한 트랜잭션으로 묶어 실행한 회원 명령 수")
+                        .register(meterRegistry);
+        this.batchRetries =
+                Counter.builder("orders.mailbox.batch.retried")
+                        .description("실패해서 명령을 하나씩 다시 실행한 배치 수")
+                        .register(meterRegistry);
+        Gauge.builder("orders.mailbox.members", mailboxes, Map::size)
+                .description("처리할 명령이 남아 메일박스가 있는 회원 수")
+                .register(meterRegistry);
+    }
+
+    /** 명령을 회원 메일박스에 넣는다. 결과는 커밋 이후에 완료된다. */
+    public <T> CompletableFuture<T> submit(Long memberId, MemberCommand<T> command) {
+        return enqueue(memberId, command).future;
+    }
+
+    /**
+     * 명령을 넣고 커밋될 때까지 기다린다. 제한 시간 안에 실행을 시작하지 못하면 명령을 취소하고 예외를 던진다. 이미 실행 중이면 같은 제한 시간만큼 더 기다린 뒤에도
+     * 끝나지 않으면 예외를 던진다(이 경우 명령은 뒤늦게 커밋될 수 있다).
+     *
+     * @throws OrderProcessingTimeoutException 제한 시간 안에 실행을 시작하지 못했거나 끝나지 않은 경우
+     */
+    public <T> T execute(Long memberId, MemberCommand<T> command) {
+        Pending<T> pending = enqueue(memberId, command);
+        try {
+            try {
+                return pending.future.get(timeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (pending.cancel()) {
+                    throw new OrderProcessingTimeoutException();
+                }
+                return awaitRunning(pending);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OrderProcessingInterruptedException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private <T> T awaitRunning(Pending<T> pending) throws InterruptedException, ExecutionException {
+        try {
+            return pending.future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("실행 중인 회원 명령이 제한 시간 안에 끝나지 않음. timeoutMs={}", timeoutMs);
+            throw new OrderProcessingTimeoutException();
+        }
+    }
+
+    private <T> Pending<T> enqueue(Long memberId, MemberCommand<T> command) {
+        Pending<T> pending = new Pending<>(command);
+        // 넣기와 메일박스 정리가 같은 키 락 안에서 일어나야 지워지는 메일박스에 명령이 남지 않는다
+        Mailbox mailbox =
+                mailboxes.compute(
+                        memberId,
+                        (id, existing) -> {
+                            Mailbox target = existing == null ? new Mailbox(id) : existing;
+                            target.queue.offer(pending);
+                            return target;
+                        });
+        mailbox.scheduleIfIdle();
+        return pending;
+    }
+
+    private final class Mailbox implements Runnable {
+
+        private final Long memberId;
+        private final ConcurrentLinkedQueue<Pending<?>> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        Mailbox(Long memberId) {
+            this.memberId = memberId;
+        }
+
+        private void scheduleIfIdle() {
+            if (scheduled.compareAndSet(false, true)) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                List<Pending<?>> batch = new ArrayList<>(maxBatch);
+                while (true) {
+                    Pending<?> next;
+                    while (batch.size() < maxBatch && (next = queue.poll()) != null) {
+                        if (next.start()) {
+                            batch.add(next);
+                        }
+                    }
+                    if (batch.isEmpty()) {
+                        break;
+                    }
+                    runInOwnTransaction(batch);
+                    batch.clear();
+                }
+            } catch (Throwable t) {
+                log.error("회원 명령 큐 처리 중 오류. memberId={}", memberId, t);
+            } finally {
+                scheduled.set(false);
+                // 비우고 내려오는 사이에 들어온 명령
+                if (!queue.isEmpty()) {
+                    scheduleIfIdle();
+                } else {
+                    mailboxes.computeIfPresent(
+                            memberId,
+                            (id, mailbox) ->
+                                    mailbox == this && queue.isEmpty() && !scheduled.get()
+                                            ? null
+                                            : mailbox);
+                }
+            }
+        }
+
+        private void runInOwnTransaction(List<Pending<?>> batch) {
+            CommitActions afterCommit = new CommitActions();
+            try {
+                withTransactionPermit(
+                        () ->
+                                transactionTemplate.executeWithoutResult(
+                                        status -> applyAll(batch, afterCommit)));
+            } catch (RuntimeException | Error e) {
+                afterCommit.clear();
+                if (batch.size() == 1) {
+                    batch.get(0).fail(e);
+                    return;
+                }
+                batchRetries.increment();
+                log.debug("배치 실패로 명령을 하나씩 다시 실행. memberId={}, size={}", memberId, batch.size());
+                for (Pending<?> pending : batch) {
+                    runInOwnTransaction(List.of(pending));
+                }
+                return;
+            }
+            completeAll(batch, afterCommit);
+        }
+
+        private void applyAll(List<Pending<?>> batch, CommitActions afterCommit) {
+            for (Pending<?> pending : batch) {
+                pending.apply(afterCommit);
+            }
+        }
+
+        private void completeAll(List<Pending<?>> batch, CommitActions afterCommit) {
+            batchSize.record(batch.size());
+            for (Pending<?> pending : batch) {
+                pending.complete();
+            }
+            afterCommit.runAll();
+        }
+
+        private void withTransactionPermit(Runnable work) {
+            transactionPermits.acquireUninterruptibly();
+            try {
+                work.run();
+            } finally {
+                transactionPermits.release();
+            }
+        }
+    }
+
+    private static final class Pending<T> {
+
+        private static final int QUEUED = 0;
+        private static final int RUNNING = 1;
+        private static final int CANCELLED = 2;
+
+        private final MemberCommand<T> command;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+        private T result;
+
+        Pending(MemberCommand<T> command) {
+            this.command = command;
+        }
+
+        boolean start() {
+            return state.compareAndSet(QUEUED, RUNNING);
+        }
+
+        boolean cancel() {
+            return state.compareAndSet(QUEUED, CANCELLED);
+        }
+
+        void apply(CommitActions afterCommit) {
+            result = command.apply(afterCommit);
+        }
+
+        void complete() {
+            future.complete(result);
+        }
+
+        void fail(Throwable t) {
+            future.completeExceptionally(t);
+        }
+    }
+}
@@ -4,19 +4,25 @@ import io.gaboja9.mockstock.domain.orders.entity.OrderStatus;
 import io.gaboja9.mockstock.domain.orders.entity.OrderType;
 import io.gaboja9.mockstock.domain.orders.entity.Orders;
 
+import jakarta.persistence.LockModeType;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface OrdersRepository extends JpaRepository<Orders, Long> {
 
+    // 여러 노드가 같은 주문을 체결하려 할 수 있으므로 행을 잠그고 상태를 다시 확인한다
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT o FROM Orders o JOIN FETCH o.members WHERE o.id = :id")
-    Optional<Orders> findByIdWithMember(@Param("id") Long id);
+    Optional<Orders> findByIdWithMemberForUpdate(@Param("id") Long id);
 
     @Query(
             "SELECT o FROM Orders o JOIN FETCH o.members WHERE o.status = :status AND o.orderType ="
@@ -24,5 +30,20 @@ public interface OrdersRepository extends JpaRepository<Orders, Long> {
     List<Orders> findByStatusAndOrderTypeOrderByCreatedAtAsc(
             @Param("status") OrderStatus status, @Param("orderType") OrderType orderType);
 
+    // 아직 감시가에 닿지 않은 스톱 주문
+    @Query(
+            "SELECT o FROM Orders o JOIN FETCH o.members WHERE o.status = :status AND o.orderType"
+                    + " IN :orderTypes AND o.triggeredAt IS NULL ORDER BY o.createdAt ASC")
+    List<Orders> findArmedByStatusAndOrderTypeIn(
+            @Param("status") OrderStatus status,
+            @Param("orderTypes") Collection<OrderType> orderTypes);
+
+    // 발동해 지정가 주문으로 전환된 스톱 지정가 주문
+    @Query(
+            "SELECT o FROM Orders o JOIN FETCH o.members WHERE o.status = :status AND o.orderType ="
+                    + " :orderType AND o.triggeredAt IS NOT NULL ORDER BY o.createdAt ASC")
+    List<Orders> findTriggeredByStatusAndOrderType(
+            @Param("status") OrderStatus status, @Param("orderType") OrderType orderType);
+
     void deleteByMembersId(Long memberId);
 }
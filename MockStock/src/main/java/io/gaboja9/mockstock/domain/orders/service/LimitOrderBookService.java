@@ -0,0 +1,106 @@
+package io.gaboja9.mockstock.domain.orders.service;
+
+import io.gaboja9.mockstock.domain.orders.book.LimitOrderBook;
+import io.gaboja9.mockstock.domain.orders.book.OrderBookEntry;
+import io.gaboja9.mockstock.domain.orders.entity.Orders;
+import io.gaboja9.mockstock.global.websocket.cluster.OrderBookForwarder;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** 종목별 지정가 호가창 보관소. DB 조회 없이 체결가 기준으로 체결 대상 주문을 찾는다. */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LimitOrderBookService {
+
+    private final Map<String, LimitOrderBook> books = new ConcurrentHashMap<>();
+
+    // OrderBookForwarder 가 이 서비스를 참조하므로 처음 쓸 때 꺼낸다
+    private final ObjectProvider<OrderBookForwarder> orderBookForwarderProvider;
+
+    private LimitOrderBook getBook(String stockCode) {
+        return books.computeIfAbsent(stockCode, LimitOrderBook::new);
+    }
+
+    /** 대기 주문 등록. 트랜잭션 안이라면 커밋 이후에 호가창에 올린다. */
+    public void register(Orders order) {
+        OrderBookEntry entry = OrderBookEntry.from(order);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            publish(entry);
+                        }
+                    });
+            return;
+        }
+        publish(entry);
+    }
+
+    // 클러스터 모드에서는 리더만 체결가로 판단하므로 팔로워가 받은 주문은 리더의 호가창에 올린다
+    private void publish(OrderBookEntry entry) {
+        if (!orderBookForwarderProvider.getObject().forwardToLeader(entry)) {
+            add(entry);
+        }
+    }
+
+    public void add(OrderBookEntry entry) {
+        getBook(entry.stockCode()).add(entry);
+    }
+
+    public void remove(String stockCode, Long orderId) {
+        LimitOrderBook book = books.get(stockCode);
+        if (book != null) {
+            book.remove(orderId);
+        }
+    }
+
+    /** 현재가로 체결 조건을 만족한 주문을 호가창에서 꺼낸다. */
+    public List<OrderBookEntry> pollCrossed(String stockCode, int currentPrice) {
+        LimitOrderBook book = books.get(stockCode);
+        if (book == null) {
+            return List.of();
+        }
+        return book.pollCrossed(currentPrice);
+    }
+
+    public void loadAll(List<Orders> pendingOrders) {
+        pendingOrders.forEach(order -> add(OrderBookEntry.from(order)));
+        log.info("지정가 호가창 적재 완료. 종목 수={}, 주문 수={}", books.size(), pendingOrders.size());
+    }
+
+    /** 대기 주문이 남아 있는 종목 코드 */
+    public Set<String> restingStockCodes() {
+        Set<String> stockCodes = new HashSet<>();
+        books.forEach(
+                (stockCode, book) -> {
+                    if (!book.isEmpty()) {
+                        stockCodes.add(stockCode);
+                    }
+                });
+        return stockCodes;
+    }
+
+    /** 리더가 바뀔 때 비운다. */
+    public void clear() {
+        books.clear();
+    }
+
+    public int size() {
+        return books.values().stream().mapToInt(LimitOrderBook::size).sum();
+    }
+}
@@ -1,33 +1,31 @@
 package io.gaboja9.mockstock.domain.orders.service;
 
 import io.gaboja9.mockstock.domain.members.entity.Members;
+import io.gaboja9.mockstock.domain.members.exception.NotFoundMemberException;
+import io.gaboja9.mockstock.domain.members.repository.MembersRepository;
+import io.gaboja9.mockstock.domain.notifications.outbox.TradeNotificationDispatcher;
 import io.gaboja9.mockstock.domain.notifications.service.NotificationsService;
+import io.gaboja9.mockstock.domain.orders.book.OrderBookEntry;
 import io.gaboja9.mockstock.domain.orders.entity.OrderStatus;
 import io.gaboja9.mockstock.domain.orders.entity.Orders;
-import io.gaboja9.mockstock.domain.orders.exception.NotFoundOrderException;
+import io.gaboja9.mockstock.domain.orders.mailbox.CommitActions;
+import io.gaboja9.mockstock.domain.orders.mailbox.MemberCommandQueue;
 import io.gaboja9.mockstock.domain.orders.repository.OrdersRepository;
 import io.gaboja9.mockstock.domain.portfolios.entity.Portfolios;
-import io.gaboja9.mockstock.domain.portfolios.exception.NotFoundPortfolioException;
 import io.gaboja9.mockstock.domain.portfolios.repository.PortfoliosRepository;
 import io.gaboja9.mockstock.domain.portfolios.service.PortfoliosService;
 import io.gaboja9.mockstock.domain.trades.entity.TradeType;
 import io.gaboja9.mockstock.domain.trades.entity.Trades;
 import io.gaboja9.mockstock.domain.trades.repository.TradesRepository;
-import io.gaboja9.mockstock.global.websocket.HantuWebSocketHandler;
-import io.gaboja9.mockstock.global.websocket.dto.StockPriceDto;
+import io.gaboja9.mockstock.global.websocket.price.LatestPriceRegistry;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Semaphore;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
 
 @Component
 @RequiredArgsConstructor
@@ -35,49 +33,57 @@ import java.util.concurrent.TimeUnit;
 public class LimitOrdersExecutor {
 
     private final OrdersRepository ordersRepository;
-    private final HantuWebSocketHandler hantuWebSocketHandler;
+    private final MembersRepository membersRepository;
+    private final LatestPriceRegistry latestPriceRegistry;
     private final TradesRepository tradesRepository;
     private final PortfoliosService portfoliosService;
     private final NotificationsService notificationsService;
+    private final TradeNotificationDispatcher tradeNotificationDispatcher;
     private final PortfoliosRepository portfoliosRepository;
 
-    // Virtual Thread 환경에서는 단순한 Semaphore 기반 동시성 제어가 더 효율적
-    private final ConcurrentHashMap<String, Semaphore> memberSemaphores = new ConcurrentHashMap<>();
-
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void processIndividualOrder(Orders order) {
-        try {
-            Orders currentOrder =
-                    ordersRepository
-                            .findByIdWithMember(order.getId())
-                            .orElseThrow(NotFoundOrderException::new);
-
-            if (currentOrder.getStatus() != OrderStatus.PENDING) {
-                log.debug(
-                        "이미 처리된 주문입니다. orderId={}, status={}",
-                        order.getId(),
-                        currentOrder.getStatus());
-                return;
-            }
+    private final MemberCommandQueue memberCommandQueue;
+
+    /**
+     * 호가창에서 꺼낸 지정가 주문을 주문자의 메일박스에 넣어 체결을 시도한다. 같은 회원의 다른 주문과 겹치지 않고, 한 체결가에 여러 주문이 걸리면 한 트랜잭션으로 묶여
+     * 처리된다.
+     *
+     * @return 주문이 더 이상 대기 상태가 아니면 true (체결/취소/삭제), 다시 호가창에 올려야 하면 false
+     */
+    public CompletableFuture<Boolean> submit(OrderBookEntry entry) {
+        return memberCommandQueue.submit(
+                entry.memberId(),
+                afterCommit -> processIndividualOrder(entry.orderId(), afterCommit));
+    }
 
-            StockPriceDto price = hantuWebSocketHandler.getLatestPrice(order.getStockCode());
-            if (price == null) {
-                log.warn(
-                        "실시간 가격 정보 없음. orderId={}, stockCode={}",
-                        order.getId(),
-                        order.getStockCode());
-                return;
-            }
+    boolean processIndividualOrder(Long orderId, CommitActions afterCommit) {
+        Optional<Orders> found = ordersRepository.findByIdWithMemberForUpdate(orderId);
+        if (found.isEmpty()) {
+            log.debug("삭제된 주문입니다. orderId={}", orderId);
+            return true;
+        }
+        Orders currentOrder = found.get();
 
-            int currentPrice = price.getCurrentPrice();
-            boolean shouldExecute = shouldExecuteOrder(currentOrder, currentPrice);
+        // 잠근 뒤에 확인하므로 다른 노드가 먼저 체결한 주문은 여기서 걸러진다
+        if (currentOrder.getStatus() != OrderStatus.PENDING) {
+            log.debug("이미 처리된 주문입니다. orderId={}, status={}", orderId, currentOrder.getStatus());
+            return true;
+        }
 
-            if (shouldExecute) {
-                executeOrderWithSemaphore(currentOrder, currentPrice);
-            }
-        } catch (Exception e) {
-            log.error("주문 처리 중 오류 발생 {}: {}", order.getId(), e.getMessage(), e);
+        int currentPrice = latestPriceRegistry.price(currentOrder.getStockCode());
+        if (currentPrice == LatestPriceRegistry.NO_PRICE) {
+            log.warn(
+                    "실시간 가격 정보 없음. orderId={}, stockCode={}", orderId, currentOrder.getStockCode());
+            return false;
+        }
+
+        // 메일박스에서 기다리는 사이 가격이 되돌아갔을 수 있다
+        if (!shouldExecuteOrder(currentOrder, currentPrice)) {
+            log.debug("가격 재확인 후 조건 불만족으로 주문 보류. orderId={}", orderId);
+            return false;
         }
+
+        executeOrder(currentOrder, currentPrice, afterCommit);
+        return currentOrder.getStatus() != OrderStatus.PENDING;
     }
 
     private boolean shouldExecuteOrder(Orders order, int currentPrice) {
@@ -89,53 +95,19 @@ public class LimitOrdersExecutor {
         return false;
     }
 
-    private void executeOrderWithSemaphore(Orders order, int executionPrice) {
-        String memberKey = "member_" + order.getMembers().getId();
-        Semaphore semaphore = memberSemaphores.computeIfAbsent(memberKey, k -> new Semaphore(1));
-
-        try {
-            // Virtual Thread는 블로킹에 강하므로 타임아웃을 길게 설정
-            if (semaphore.tryAcquire(30, TimeUnit.SECONDS)) {
-                try {
-                    // 가격 재확인
-                    StockPriceDto refreshed =
-                            hantuWebSocketHandler.getLatestPrice(order.getStockCode());
-                    if (refreshed == null) {
-                        return;
-                    }
-
-                    int currentPrice = refreshed.getCurrentPrice();
-                    if (!shouldExecuteOrder(order, currentPrice)) {
-                        log.debug("가격 재확인 후 조건 불만족으로 주문 보류. orderId={}", order.getId());
-                        return;
-                    }
-
-                    executeOrder(order, executionPrice);
-                } finally {
-                    semaphore.release();
-                }
-            } else {
-                log.warn("세마포어 획득 타임아웃. orderId={}", order.getId());
-            }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            log.error("주문 실행 중 인터럽트 발생: orderId={}", order.getId(), e);
-        } catch (Exception e) {
-            log.error("주문 실행 중 오류 발생: orderId={}", order.getId(), e);
-        }
-    }
+    private void executeOrder(Orders order, int executionPrice, CommitActions afterCommit) {
+        Members member = lockMember(order);
 
-    private void executeOrder(Orders order, int executionPrice) {
         if (order.getTradeType() == TradeType.SELL) {
             Optional<Portfolios> optionalPortfolio =
                     portfoliosRepository.findByMembersIdAndStockCodeWithLock(
-                            order.getMembers().getId(), order.getStockCode());
+                            member.getId(), order.getStockCode());
 
             if (optionalPortfolio.isEmpty()) {
                 order.cancel();
                 ordersRepository.save(order);
                 log.warn("보유중인 주식이 없어서 주문 취소. orderId={}", order.getId());
-                throw new NotFoundPortfolioException();
+                return;
             }
 
             Portfolios portfolio = optionalPortfolio.get();
@@ -150,7 +122,6 @@ public class LimitOrdersExecutor {
 
         order.execute();
         ordersRepository.save(order);
-        Members member = order.getMembers();
 
         Trades trade =
                 new Trades(
@@ -181,22 +152,14 @@ public class LimitOrdersExecutor {
                     member.getId(), order.getStockCode(), order.getQuantity());
         }
 
-        try {
-            notificationsService.sendTradeNotification(
-                    member.getId(),
-                    order.getStockCode(),
-                    order.getStockName(),
-                    order.getTradeType(),
-                    order.getQuantity(),
-                    executionPrice);
-        } catch (Exception e) {
-            log.error(
-                    "지정가 {} 알림 발송 실패 - 사용자: {}, 종목: {}",
-                    order.getTradeType(),
-                    member.getId(),
-                    order.getStockCode(),
-                    e);
-        }
+        notificationsService.enqueueTradeNotification(
+                member.getId(),
+                order.getStockCode(),
+                order.getStockName(),
+                order.getTradeType(),
+                order.getQuantity(),
+                executionPrice);
+        afterCommit.add(tradeNotificationDispatcher::wakeUp);
 
         log.info(
                 "주문 체결 완료. orderId={}, type={}, price={}, quantity={}",
@@ -206,15 +169,11 @@ public class LimitOrdersExecutor {
                 order.getQuantity());
     }
 
-    @Scheduled(fixedDelay = 300000)
-    public void cleanupSemaphores() {
-        // 사용하지 않는 세마포어 정리 로직
-        memberSemaphores
-                .entrySet()
-                .removeIf(
-                        entry ->
-                                entry.getValue().availablePermits() == 1
-                                        && !entry.getValue().hasQueuedThreads());
-        log.debug("세마포어 정리 완료. 현재 크기: {}", memberSemaphores.size());
+    // 메일박스는 한 JVM 안에서만 회원 작업을 줄 세우므로, 다른 노드의 주문과는 시장가 주문처럼 회원 행 잠금으로 겹치지 않게 한다
+    private Members lockMember(Orders order) {
+        Long memberId = order.getMembers().getId();
+        return membersRepository
+                .findByIdWithLock(memberId)
+                .orElseThrow(() -> new NotFoundMemberException(memberId));
     }
 }
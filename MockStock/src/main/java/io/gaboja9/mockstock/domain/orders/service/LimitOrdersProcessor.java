@@ -1,18 +1,22 @@
 package io.gaboja9.mockstock.domain.orders.service;
 
+import io.gaboja9.mockstock.domain.orders.book.OrderBookEntry;
 import io.gaboja9.mockstock.domain.orders.entity.OrderStatus;
 import io.gaboja9.mockstock.domain.orders.entity.OrderType;
 import io.gaboja9.mockstock.domain.orders.entity.Orders;
 import io.gaboja9.mockstock.domain.orders.repository.OrdersRepository;
+import io.gaboja9.mockstock.global.websocket.cluster.MarketDataLeadership;
+import io.gaboja9.mockstock.global.websocket.cluster.MarketDataLeadershipChangedEvent;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.*;
 
 @Component
 @RequiredArgsConstructor
@@ -21,52 +25,71 @@ public class LimitOrdersProcessor {
 
     private final OrdersRepository ordersRepository;
     private final OrdersService ordersService;
-    private final ExecutorService virtualThreadExecutor;
     private final LimitOrdersExecutor limitOrdersExecutor;
+    private final LimitOrderBookService limitOrderBookService;
+    private final MarketDataLeadership leadership;
 
-    @Scheduled(fixedDelay = 1000)
-    public void processLimitOrders() {
-        if (!ordersService.openKoreanMarket()) return;
-
-        List<Orders> pendingOrders =
-                ordersRepository.findByStatusAndOrderTypeOrderByCreatedAtAsc(
-                        OrderStatus.PENDING, OrderType.LIMIT);
-
-        if (pendingOrders.isEmpty()) {
+    /**
+     * 기동 시 한 번만 대기 주문을 읽어 호가창을 만든다. 이후에는 주문 접수/체결 시점에 호가창이 갱신된다. 발동해 지정가로 전환된 스톱 지정가 주문도 함께 올린다.
+     * 클러스터 모드에서는 리더가 될 때 읽는다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPendingOrders() {
+        if (leadership.isClustered()) {
             return;
         }
+        load();
+    }
 
-        List<CompletableFuture<Void>> futures =
-                pendingOrders.stream()
-                        .map(
-                                order ->
-                                        CompletableFuture.runAsync(
-                                                () ->
-                                                        limitOrdersExecutor.processIndividualOrder(
-                                                                order),
-                                                virtualThreadExecutor))
-                        .toList();
+    /** 새 리더는 DB 에서 호가창을 다시 만들고, 내려온 노드는 호가창을 비운다. 죽은 리더가 들고 있던 주문도 여기서 이어받는다. */
+    @EventListener
+    public void onLeadershipChanged(MarketDataLeadershipChangedEvent event) {
+        limitOrderBookService.clear();
+        if (event.leader()) {
+            load();
+        }
+    }
 
-        try {
-            // 모든 작업 완료 대기 (타임아웃 30초)
-            CompletableFuture<Void> allOf =
-                    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    private void load() {
+        List<Orders> pendingOrders =
+                new ArrayList<>(
+                        ordersRepository.findByStatusAndOrderTypeOrderByCreatedAtAsc(
+                                OrderStatus.PENDING, OrderType.LIMIT));
+        pendingOrders.addAll(
+                ordersRepository.findTriggeredByStatusAndOrderType(
+                        OrderStatus.PENDING, OrderType.STOP_LIMIT));
 
-            allOf.get(30, TimeUnit.SECONDS);
+        limitOrderBookService.loadAll(pendingOrders);
+    }
 
-            log.debug("처리된 주문 수: {}", futures.size());
+    /** 체결가 수신 시 호출. 지정가 조건을 만족한 주문만 꺼내 체결을 시도한다. 클러스터 모드에서는 리더만 판단한다. */
+    public void onTick(String stockCode, int currentPrice) {
+        if (!leadership.isLeader() || !ordersService.openKoreanMarket()) return;
 
-        } catch (TimeoutException e) {
-            log.warn("주문 처리 타임아웃 발생. 처리 중인 주문이 있을 수 있습니다.", e);
-            // 타임아웃이 발생해도 실행 중인 작업들은 계속 진행됨
-        } catch (ExecutionException e) {
-            log.error("주문 처리 중 오류 발생", e.getCause());
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            log.error("주문 처리 중 인터럽트 발생", e);
+        List<OrderBookEntry> crossed = limitOrderBookService.pollCrossed(stockCode, currentPrice);
+        if (crossed.isEmpty()) {
+            return;
+        }
 
-            // 실행 중인 모든 작업 취소 시도
-            futures.forEach(future -> future.cancel(true));
+        for (OrderBookEntry entry : crossed) {
+            execute(entry);
         }
+
+        log.debug("체결 대상 주문 수: {}, stockCode={}", crossed.size(), stockCode);
+    }
+
+    private void execute(OrderBookEntry entry) {
+        limitOrdersExecutor
+                .submit(entry)
+                .whenComplete(
+                        (completed, e) -> {
+                            if (e != null) {
+                                log.error("주문 처리 중 오류 발생. orderId={}", entry.orderId(), e);
+                            }
+                            // 체결되지 않은 주문은 다음 체결가에서 다시 판단하도록 호가창에 되돌린다.
+                            if (!Boolean.TRUE.equals(completed)) {
+                                limitOrderBookService.add(entry);
+                            }
+                        });
     }
 }
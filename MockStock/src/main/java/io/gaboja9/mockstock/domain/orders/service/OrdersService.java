@@ -3,13 +3,17 @@ package io.gaboja9.mockstock.domain.orders.service;
 import io.gaboja9.mockstock.domain.members.entity.Members;
 import io.gaboja9.mockstock.domain.members.exception.NotFoundMemberException;
 import io.gaboja9.mockstock.domain.members.repository.MembersRepository;
+import io.gaboja9.mockstock.domain.notifications.outbox.TradeNotificationDispatcher;
 import io.gaboja9.mockstock.domain.notifications.service.NotificationsService;
 import io.gaboja9.mockstock.domain.orders.dto.request.OrdersLimitTypeRequestDto;
 import io.gaboja9.mockstock.domain.orders.dto.request.OrdersMarketTypeRequestDto;
+import io.gaboja9.mockstock.domain.orders.dto.request.OrdersStopTypeRequestDto;
 import io.gaboja9.mockstock.domain.orders.dto.response.OrderResponseDto;
 import io.gaboja9.mockstock.domain.orders.entity.OrderType;
 import io.gaboja9.mockstock.domain.orders.entity.Orders;
 import io.gaboja9.mockstock.domain.orders.exception.*;
+import io.gaboja9.mockstock.domain.orders.mailbox.MemberCommand;
+import io.gaboja9.mockstock.domain.orders.mailbox.MemberCommandQueue;
 import io.gaboja9.mockstock.domain.orders.repository.OrdersRepository;
 import io.gaboja9.mockstock.domain.portfolios.entity.Portfolios;
 import io.gaboja9.mockstock.domain.portfolios.exception.NotFoundPortfolioException;
@@ -18,8 +22,7 @@ import io.gaboja9.mockstock.domain.portfolios.service.PortfoliosService;
 import io.gaboja9.mockstock.domain.trades.entity.TradeType;
 import io.gaboja9.mockstock.domain.trades.entity.Trades;
 import io.gaboja9.mockstock.domain.trades.repository.TradesRepository;
-import io.gaboja9.mockstock.global.websocket.HantuWebSocketHandler;
-import io.gaboja9.mockstock.global.websocket.dto.StockPriceDto;
+import io.gaboja9.mockstock.global.websocket.price.LatestPriceRegistry;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -31,10 +34,6 @@ import java.time.DayOfWeek;
 import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Semaphore;
-import java.util.concurrent.TimeUnit;
-import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -46,42 +45,26 @@ public class OrdersService {
     private final TradesRepository tradesRepository;
     private final PortfoliosService portfoliosService;
     private final PortfoliosRepository portfoliosRepository;
-    private final HantuWebSocketHandler hantuWebSocketHandler;
+    private final LatestPriceRegistry latestPriceRegistry;
     private final NotificationsService notificationsService;
+    private final TradeNotificationDispatcher tradeNotificationDispatcher;
+    private final LimitOrderBookService limitOrderBookService;
+    private final StopOrderBookService stopOrderBookService;
 
-    private final ConcurrentHashMap<String, Semaphore> stockSemaphores = new ConcurrentHashMap<>();
+    private final MemberCommandQueue memberCommandQueue;
 
-    private Semaphore getStockSemaphore(String stockCode) {
-        return stockSemaphores.computeIfAbsent(stockCode, k -> new Semaphore(1));
-    }
-
-    private <T> T executeWithStockSemaphore(String stockCode, Supplier<T> task) {
-        Semaphore semaphore = getStockSemaphore(stockCode);
-
-        try {
-            if (semaphore.tryAcquire(30, TimeUnit.SECONDS)) {
-                try {
-                    if (!openKoreanMarket()) {
-                        throw new NotOpenKoreanMarketException();
-                    }
-                    return task.get();
-                } finally {
-                    semaphore.release();
-                }
-            } else {
-                throw new OrderProcessingTimeoutException();
-            }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new OrderProcessingInterruptedException();
+    // 회원 메일박스에서 트랜잭션 안에 실행하고 커밋될 때까지 기다린다. 다른 회원의 주문은 같은 종목이어도 나란히 실행된다.
+    private <T> T executeInMemberQueue(Long memberId, MemberCommand<T> command) {
+        if (!openKoreanMarket()) {
+            throw new NotOpenKoreanMarketException();
         }
+        return memberCommandQueue.execute(memberId, command);
     }
 
-    @Transactional
     public OrderResponseDto executeMarketBuyOrders(Long memberId, OrdersMarketTypeRequestDto dto) {
-        return executeWithStockSemaphore(
-                dto.getStockCode(),
-                () -> {
+        return executeInMemberQueue(
+                memberId,
+                afterCommit -> {
                     Members findMember =
                             membersRepository
                                     .findByIdWithLock(memberId)
@@ -133,18 +116,10 @@ public class OrdersService {
                     portfoliosService.updateForBuy(
                             memberId, stockCode, stockName, quantity, currentPrice);
 
-                    // 시장가 매수 알림 발송
-                    try {
-                        notificationsService.sendTradeNotification(
-                                memberId,
-                                stockCode,
-                                stockName,
-                                TradeType.BUY,
-                                quantity,
-                                currentPrice);
-                    } catch (Exception e) {
-                        log.error("시장가 매수 알림 발송 실패 - 사용자: {}, 종목: {}", memberId, stockName, e);
-                    }
+                    // 시장가 매수 알림은 아웃박스에 남기고 커밋 뒤 발송기를 깨운다
+                    notificationsService.enqueueTradeNotification(
+                            memberId, stockCode, stockName, TradeType.BUY, quantity, currentPrice);
+                    afterCommit.add(tradeNotificationDispatcher::wakeUp);
 
                     log.info(
                             "시장가 매수 완료. memberId={}, stockCode={}, quantity={}, price={}",
@@ -161,11 +136,10 @@ public class OrdersService {
                 });
     }
 
-    @Transactional
     public OrderResponseDto executeMarketSellOrders(Long memberId, OrdersMarketTypeRequestDto dto) {
-        return executeWithStockSemaphore(
-                dto.getStockCode(),
-                () -> {
+        return executeInMemberQueue(
+                memberId,
+                afterCommit -> {
                     Members findMember =
                             membersRepository
                                     .findByIdWithLock(memberId)
@@ -220,18 +194,10 @@ public class OrdersService {
 
                     findMember.setCashBalance(findMember.getCashBalance() + totalAmount);
 
-                    // 시장가 매도 알림 발송
-                    try {
-                        notificationsService.sendTradeNotification(
-                                memberId,
-                                stockCode,
-                                stockName,
-                                TradeType.SELL,
-                                quantity,
-                                currentPrice);
-                    } catch (Exception e) {
-                        log.error("시장가 매도 알림 발송 실패 - 사용자: {}, 종목: {}", memberId, stockName, e);
-                    }
+                    // 시장가 매도 알림은 아웃박스에 남기고 커밋 뒤 발송기를 깨운다
+                    notificationsService.enqueueTradeNotification(
+                            memberId, stockCode, stockName, TradeType.SELL, quantity, currentPrice);
+                    afterCommit.add(tradeNotificationDispatcher::wakeUp);
 
                     log.info(
                             "시장가 매도 완료. memberId={}, stockCode={}, quantity={}, price={}",
@@ -248,11 +214,10 @@ public class OrdersService {
                 });
     }
 
-    @Transactional
     public OrderResponseDto executeLimitBuyOrders(Long memberId, OrdersLimitTypeRequestDto dto) {
-        return executeWithStockSemaphore(
-                dto.getStockCode(),
-                () -> {
+        return executeInMemberQueue(
+                memberId,
+                afterCommit -> {
                     Members findMember =
                             membersRepository
                                     .findByIdWithLock(memberId)
@@ -309,18 +274,15 @@ public class OrdersService {
                         portfoliosService.updateForBuy(
                                 memberId, stockCode, stockName, quantity, currentPrice);
 
-                        // 지정가 매수 알림 발송
-                        try {
-                            notificationsService.sendTradeNotification(
-                                    memberId,
-                                    stockCode,
-                                    stockName,
-                                    TradeType.BUY,
-                                    quantity,
-                                    currentPrice);
-                        } catch (Exception e) {
-                            log.error("지정가 매수 알림 발송 실패 - 사용자: {}, 종목: {}", memberId, stockName, e);
-                        }
+                        // 지정가 매수 알림은 아웃박스에 남기고 커밋 뒤 발송기를 깨운다
+                        notificationsService.enqueueTradeNotification(
+                                memberId,
+                                stockCode,
+                                stockName,
+                                TradeType.BUY,
+                                quantity,
+                                currentPrice);
+                        afterCommit.add(tradeNotificationDispatcher::wakeUp);
 
                         log.info(
                                 "지정가 매수 즉시 체결. memberId={}, stockCode={}, limitPrice={},"
@@ -339,6 +301,7 @@ public class OrdersService {
                     } else {
                         // 대기 주문으로 등록
                         ordersRepository.save(order);
+                        limitOrderBookService.register(order);
                         findMember.setCashBalance(findMember.getCashBalance() - totalAmount);
 
                         log.info(
@@ -359,11 +322,10 @@ public class OrdersService {
                 });
     }
 
-    @Transactional
     public OrderResponseDto executeLimitSellOrders(Long memberId, OrdersLimitTypeRequestDto dto) {
-        return executeWithStockSemaphore(
-                dto.getStockCode(),
-                () -> {
+        return executeInMemberQueue(
+                memberId,
+                afterCommit -> {
                     Members findMember =
                             membersRepository
                                     .findByIdWithLock(memberId)
@@ -421,18 +383,15 @@ public class OrdersService {
 
                         portfoliosService.updateForSell(memberId, stockCode, quantity);
 
-                        // 지정가 매도 알림 발송
-                        try {
-                            notificationsService.sendTradeNotification(
-                                    memberId,
-                                    stockCode,
-                                    stockName,
-                                    TradeType.SELL,
-                                    quantity,
-                                    currentPrice);
-                        } catch (Exception e) {
-                            log.error("지정가 매도 알림 발송 실패 - 사용자: {}, 종목: {}", memberId, stockName, e);
-                        }
+                        // 지정가 매도 알림은 아웃박스에 남기고 커밋 뒤 발송기를 깨운다
+                        notificationsService.enqueueTradeNotification(
+                                memberId,
+                                stockCode,
+                                stockName,
+                                TradeType.SELL,
+                                quantity,
+                                currentPrice);
+                        afterCommit.add(tradeNotificationDispatcher::wakeUp);
 
                         log.info(
                                 "지정가 매도 즉시 체결. memberId={}, stockCode={}, limitPrice={},"
@@ -450,6 +409,7 @@ public class OrdersService {
                                 .build();
                     } else {
                         ordersRepository.save(order);
+                        limitOrderBookService.register(order);
 
                         log.info(
                                 "지정가 매도 주문 대기. memberId={}, stockCode={}, limitPrice={},"
@@ -469,19 +429,173 @@ public class OrdersService {
                 });
     }
 
+    public OrderResponseDto executeStopBuyOrders(Long memberId, OrdersStopTypeRequestDto dto) {
+        return executeInMemberQueue(
+                memberId,
+                afterCommit -> {
+                    Members findMember =
+                            membersRepository
+                                    .findByIdWithLock(memberId)
+                                    .orElseThrow(() -> new NotFoundMemberException(memberId));
+
+                    String stockCode = dto.getStockCode();
+                    String stockName = dto.getStockName();
+                    OrderType orderType = dto.getOrderType();
+                    int quantity = dto.getQuantity();
+                    int cashBalance = findMember.getCashBalance();
+
+                    Integer currentPrice = getCurrentPriceOrNull(stockCode);
+                    if (currentPrice == null) {
+                        return OrderResponseDto.builder()
+                                .executed(false)
+                                .message("스톱 매수 실패: 현재 가격 정보를 불러올 수 없습니다.")
+                                .build();
+                    }
+
+                    int stopPrice = resolveStopPrice(dto, TradeType.BUY, currentPrice);
+
+                    // 스톱 지정가는 지정가 매수처럼 현금을 묶어 두고, 시장가로 체결되는 나머지는 감시가 기준으로 잔액만 확인한다
+                    boolean stopLimit = orderType == OrderType.STOP_LIMIT;
+                    int requiredAmount = (stopLimit ? dto.getPrice() : stopPrice) * quantity;
+                    if (cashBalance < requiredAmount) {
+                        throw new NotEnoughCashException(cashBalance);
+                    }
+
+                    Orders order = newStopOrder(dto, TradeType.BUY, stopPrice, findMember);
+                    ordersRepository.save(order);
+                    stopOrderBookService.register(order);
+                    if (stopLimit) {
+                        findMember.setCashBalance(cashBalance - requiredAmount);
+                    }
+
+                    log.info(
+                            "스톱 매수 주문 감시 시작. memberId={}, stockCode={}, orderType={},"
+                                    + " stopPrice={}, currentPrice={}, quantity={}",
+                            memberId,
+                            stockCode,
+                            orderType,
+                            stopPrice,
+                            currentPrice,
+                            quantity);
+
+                    return OrderResponseDto.builder()
+                            .executed(false)
+                            .message("스톱 매수 주문 감시중")
+                            .price(stopPrice)
+                            .build();
+                });
+    }
+
+    public OrderResponseDto executeStopSellOrders(Long memberId, OrdersStopTypeRequestDto dto) {
+        return executeInMemberQueue(
+                memberId,
+                afterCommit -> {
+                    Members findMember =
+                            membersRepository
+                                    .findByIdWithLock(memberId)
+                                    .orElseThrow(() -> new NotFoundMemberException(memberId));
+
+                    String stockCode = dto.getStockCode();
+                    int quantity = dto.getQuantity();
+
+                    Portfolios portfolio =
+                            portfoliosRepository
+                                    .findByMembersIdAndStockCodeWithLock(memberId, stockCode)
+                                    .orElseThrow(NotFoundPortfolioException::new);
+
+                    if (portfolio.getQuantity() < quantity) {
+                        throw new InvalidSellQuantityException(quantity);
+                    }
+
+                    Integer currentPrice = getCurrentPriceOrNull(stockCode);
+                    if (currentPrice == null) {
+                        return OrderResponseDto.builder()
+                                .executed(false)
+                                .message("스톱 매도 실패: 현재 가격 정보를 불러올 수 없습니다.")
+                                .build();
+                    }
+
+                    int stopPrice = resolveStopPrice(dto, TradeType.SELL, currentPrice);
+
+                    Orders order = newStopOrder(dto, TradeType.SELL, stopPrice, findMember);
+                    ordersRepository.save(order);
+                    stopOrderBookService.register(order);
+
+                    log.info(
+                            "스톱 매도 주문 감시 시작. memberId={}, stockCode={}, orderType={},"
+                                    + " stopPrice={}, currentPrice={}, quantity={}",
+                            memberId,
+                            stockCode,
+                            dto.getOrderType(),
+                            stopPrice,
+                            currentPrice,
+                            quantity);
+
+                    return OrderResponseDto.builder()
+                            .executed(false)
+                            .message("스톱 매도 주문 감시중")
+                            .price(stopPrice)
+                            .build();
+                });
+    }
+
+    // 이미 닿은 감시가는 받지 않는다. 추적 스톱은 현재가에서 간격만큼 떨어진 곳에서 감시를 시작한다
+    private int resolveStopPrice(
+            OrdersStopTypeRequestDto dto, TradeType tradeType, int currentPrice) {
+        OrderType orderType = dto.getOrderType();
+        if (orderType == OrderType.TRAILING_STOP) {
+            int trailingGap = dto.getTrailingGap();
+            if (trailingGap <= 0 || (tradeType == TradeType.SELL && trailingGap >= currentPrice)) {
+                throw new InvalidStopOrderException("추적 간격은 0보다 크고 현재가보다 작아야 합니다.");
+            }
+            return tradeType == TradeType.BUY
+                    ? currentPrice + trailingGap
+                    : currentPrice - trailingGap;
+        }
+        if (orderType != OrderType.STOP && orderType != OrderType.STOP_LIMIT) {
+            throw new InvalidStopOrderException("스톱 주문 유형이 아닙니다: " + orderType);
+        }
+        if (orderType == OrderType.STOP_LIMIT && dto.getPrice() <= 0) {
+            throw new InvalidStopOrderException("스톱 지정가 주문은 지정가가 필요합니다.");
+        }
+
+        int stopPrice = dto.getStopPrice();
+        boolean reached =
+                tradeType == TradeType.BUY ? currentPrice >= stopPrice : currentPrice <= stopPrice;
+        if (stopPrice <= 0 || reached) {
+            throw new InvalidStopOrderException("감시가가 올바르지 않거나 이미 닿았습니다. 현재가: " + currentPrice);
+        }
+        return stopPrice;
+    }
+
+    private Orders newStopOrder(
+            OrdersStopTypeRequestDto dto, TradeType tradeType, int stopPrice, Members member) {
+        OrderType orderType = dto.getOrderType();
+        return new Orders(
+                dto.getStockCode(),
+                dto.getStockName(),
+                orderType,
+                tradeType,
+                dto.getQuantity(),
+                orderType == OrderType.STOP_LIMIT ? dto.getPrice() : 0,
+                stopPrice,
+                orderType == OrderType.TRAILING_STOP ? dto.getTrailingGap() : 0,
+                member);
+    }
+
     private Integer getCurrentPriceOrNull(String stockCode) {
-        StockPriceDto stockPrice = hantuWebSocketHandler.getLatestPrice(stockCode);
+        int currentPrice = latestPriceRegistry.price(stockCode);
         /*        int randomFluctuation = ThreadLocalRandom.current().nextInt(-20, 21) * 50;
         StockPriceDto stockPrice =
                 StockPriceDto.builder()
                         .stockCode("005930")
                         .currentPrice(70000 + randomFluctuation)
                         .build();*/
-        if (stockPrice == null) {
+        if (currentPrice == LatestPriceRegistry.NO_PRICE) {
             log.warn("현재 가격 정보를 불러올 수 없습니다: {}", stockCode);
             return null;
         }
-        return stockPrice.getCurrentPrice();
+        return currentPrice;
     }
 
     @Transactional
@@ -0,0 +1,106 @@
+package io.gaboja9.mockstock.domain.orders.service;
+
+import io.gaboja9.mockstock.domain.orders.book.StopOrderEntry;
+import io.gaboja9.mockstock.domain.orders.book.StopTriggerBook;
+import io.gaboja9.mockstock.domain.orders.entity.Orders;
+import io.gaboja9.mockstock.global.websocket.cluster.OrderBookForwarder;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** 종목별 스톱 주문 감시가 색인 보관소. DB 조회 없이 체결가 기준으로 발동한 주문을 찾는다. */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StopOrderBookService {
+
+    private final Map<String, StopTriggerBook> books = new ConcurrentHashMap<>();
+
+    // OrderBookForwarder 가 이 서비스를 참조하므로 처음 쓸 때 꺼낸다
+    private final ObjectProvider<OrderBookForwarder> orderBookForwarderProvider;
+
+    private StopTriggerBook getBook(String stockCode) {
+        return books.computeIfAbsent(stockCode, StopTriggerBook::new);
+    }
+
+    /** 스톱 주문 등록. 트랜잭션 안이라면 커밋 이후에 색인에 올린다. */
+    public void register(Orders order) {
+        StopOrderEntry entry = StopOrderEntry.from(order);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            publish(entry);
+                        }
+                    });
+            return;
+        }
+        publish(entry);
+    }
+
+    // 클러스터 모드에서는 리더만 체결가로 판단하므로 팔로워가 받은 주문은 리더의 색인에 올린다
+    private void publish(StopOrderEntry entry) {
+        if (!orderBookForwarderProvider.getObject().forwardToLeader(entry)) {
+            add(entry);
+        }
+    }
+
+    public void add(StopOrderEntry entry) {
+        getBook(entry.stockCode()).add(entry);
+    }
+
+    public void remove(String stockCode, Long orderId) {
+        StopTriggerBook book = books.get(stockCode);
+        if (book != null) {
+            book.remove(orderId);
+        }
+    }
+
+    /** 현재가로 발동한 스톱 주문을 색인에서 꺼낸다. */
+    public List<StopOrderEntry> pollTriggered(String stockCode, int currentPrice) {
+        StopTriggerBook book = books.get(stockCode);
+        if (book == null) {
+            return List.of();
+        }
+        return book.pollTriggered(currentPrice);
+    }
+
+    public void loadAll(List<Orders> armedOrders) {
+        armedOrders.forEach(order -> add(StopOrderEntry.from(order)));
+        log.info("스톱 주문 색인 적재 완료. 종목 수={}, 주문 수={}", books.size(), armedOrders.size());
+    }
+
+    /** 감시 중인 스톱 주문이 남아 있는 종목 코드 */
+    public Set<String> armedStockCodes() {
+        Set<String> stockCodes = new HashSet<>();
+        books.forEach(
+                (stockCode, book) -> {
+                    if (!book.isEmpty()) {
+                        stockCodes.add(stockCode);
+                    }
+                });
+        return stockCodes;
+    }
+
+    /** 리더가 바뀔 때 비운다. */
+    public void clear() {
+        books.clear();
+    }
+
+    public int size() {
+        return books.values().stream().mapToInt(StopTriggerBook::size).sum();
+    }
+}
@@ -0,0 +1,173 @@
+package io.gaboja9.mockstock.domain.orders.service;
+
+import io.gaboja9.mockstock.domain.members.entity.Members;
+import io.gaboja9.mockstock.domain.members.exception.NotFoundMemberException;
+import io.gaboja9.mockstock.domain.members.repository.MembersRepository;
+import io.gaboja9.mockstock.domain.notifications.outbox.TradeNotificationDispatcher;
+import io.gaboja9.mockstock.domain.notifications.service.NotificationsService;
+import io.gaboja9.mockstock.domain.orders.book.StopOrderEntry;
+import io.gaboja9.mockstock.domain.orders.entity.OrderStatus;
+import io.gaboja9.mockstock.domain.orders.entity.OrderType;
+import io.gaboja9.mockstock.domain.orders.entity.Orders;
+import io.gaboja9.mockstock.domain.orders.mailbox.CommitActions;
+import io.gaboja9.mockstock.domain.orders.mailbox.MemberCommandQueue;
+import io.gaboja9.mockstock.domain.orders.repository.OrdersRepository;
+import io.gaboja9.mockstock.domain.portfolios.entity.Portfolios;
+import io.gaboja9.mockstock.domain.portfolios.repository.PortfoliosRepository;
+import io.gaboja9.mockstock.domain.portfolios.service.PortfoliosService;
+import io.gaboja9.mockstock.domain.trades.entity.TradeType;
+import io.gaboja9.mockstock.domain.trades.entity.Trades;
+import io.gaboja9.mockstock.domain.trades.repository.TradesRepository;
+import io.gaboja9.mockstock.global.websocket.price.LatestPriceRegistry;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StopOrdersExecutor {
+
+    private final OrdersRepository ordersRepository;
+    private final MembersRepository membersRepository;
+    private final LatestPriceRegistry latestPriceRegistry;
+    private final TradesRepository tradesRepository;
+    private final PortfoliosService portfoliosService;
+    private final NotificationsService notificationsService;
+    private final TradeNotificationDispatcher tradeNotificationDispatcher;
+    private final PortfoliosRepository portfoliosRepository;
+    private final LimitOrderBookService limitOrderBookService;
+
+    private final MemberCommandQueue memberCommandQueue;
+
+    /**
+     * 발동한 스톱 주문을 주문자의 메일박스에 넣어 처리한다. 스톱과 추적 스톱은 현재가로 체결하고, 스톱 지정가는 지정가 주문으로 바꿔 호가창에 올린다. 발동한 주문은
+     * 가격이 되돌아가도 다시 감시하지 않는다.
+     *
+     * @return 주문이 더 이상 감시 대상이 아니면 true (체결/전환/취소/삭제), 다시 색인에 올려야 하면 false
+     */
+    public CompletableFuture<Boolean> submit(StopOrderEntry entry) {
+        return memberCommandQueue.submit(
+                entry.memberId(), afterCommit -> processTriggeredOrder(entry, afterCommit));
+    }
+
+    boolean processTriggeredOrder(StopOrderEntry entry, CommitActions afterCommit) {
+        Optional<Orders> found = ordersRepository.findByIdWithMemberForUpdate(entry.orderId());
+        if (found.isEmpty()) {
+            log.debug("삭제된 주문입니다. orderId={}", entry.orderId());
+            return true;
+        }
+        Orders order = found.get();
+
+        // 잠근 뒤에 확인하므로 다른 노드가 먼저 발동시킨 주문은 여기서 걸러진다
+        if (order.getStatus() != OrderStatus.PENDING || order.isTriggered()) {
+            log.debug("이미 처리된 주문입니다. orderId={}, status={}", order.getId(), order.getStatus());
+            return true;
+        }
+
+        int currentPrice = latestPriceRegistry.price(order.getStockCode());
+        if (currentPrice == LatestPriceRegistry.NO_PRICE) {
+            log.warn("실시간 가격 정보 없음. orderId={}, stockCode={}", order.getId(), order.getStockCode());
+            return false;
+        }
+
+        order.trigger(entry.stopPrice());
+
+        if (order.getOrderType() == OrderType.STOP_LIMIT) {
+            ordersRepository.save(order);
+            limitOrderBookService.register(order);
+            log.info(
+                    "스톱 지정가 발동, 지정가 주문으로 전환. orderId={}, stopPrice={}, limitPrice={},"
+                            + " currentPrice={}",
+                    order.getId(),
+                    entry.stopPrice(),
+                    order.getPrice(),
+                    currentPrice);
+            return true;
+        }
+
+        executeOrder(order, currentPrice, afterCommit);
+        return true;
+    }
+
+    private void executeOrder(Orders order, int executionPrice, CommitActions afterCommit) {
+        Members member = lockMember(order);
+        int amount = executionPrice * order.getQuantity();
+
+        if (order.getTradeType() == TradeType.SELL) {
+            Optional<Portfolios> optionalPortfolio =
+                    portfoliosRepository.findByMembersIdAndStockCodeWithLock(
+                            member.getId(), order.getStockCode());
+
+            if (optionalPortfolio.isEmpty()
+                    || optionalPortfolio.get().getQuantity() < order.getQuantity()) {
+                order.cancel();
+                ordersRepository.save(order);
+                log.warn("보유 수량 부족으로 스톱 주문 취소. orderId={}", order.getId());
+                return;
+            }
+        } else if (member.getCashBalance() < amount) {
+            // 스톱 매수는 체결가를 미리 알 수 없어 현금을 묶어 두지 않으므로 발동 시점에 확인한다
+            order.cancel();
+            ordersRepository.save(order);
+            log.warn("잔액 부족으로 스톱 주문 취소. orderId={}", order.getId());
+            return;
+        }
+
+        order.execute(executionPrice);
+        ordersRepository.save(order);
+
+        Trades trade =
+                new Trades(
+                        order.getStockCode(),
+                        order.getStockName(),
+                        order.getTradeType(),
+                        order.getQuantity(),
+                        executionPrice,
+                        member);
+        tradesRepository.save(trade);
+
+        if (order.getTradeType() == TradeType.BUY) {
+            member.setCashBalance(member.getCashBalance() - amount);
+            portfoliosService.updateForBuy(
+                    member.getId(),
+                    order.getStockCode(),
+                    order.getStockName(),
+                    order.getQuantity(),
+                    executionPrice);
+        } else {
+            member.setCashBalance(member.getCashBalance() + amount);
+            portfoliosService.updateForSell(
+                    member.getId(), order.getStockCode(), order.getQuantity());
+        }
+
+        notificationsService.enqueueTradeNotification(
+                member.getId(),
+                order.getStockCode(),
+                order.getStockName(),
+                order.getTradeType(),
+                order.getQuantity(),
+                executionPrice);
+        afterCommit.add(tradeNotificationDispatcher::wakeUp);
+
+        log.info(
+                "스톱 주문 체결 완료. orderId={}, orderType={}, stopPrice={}, executedPrice={}",
+                order.getId(),
+                order.getOrderType(),
+                order.getStopPrice(),
+                executionPrice);
+    }
+
+    // 메일박스는 한 JVM 안에서만 회원 작업을 줄 세우므로, 다른 노드의 주문과는 시장가 주문처럼 회원 행 잠금으로 겹치지 않게 한다
+    private Members lockMember(Orders order) {
+        Long memberId = order.getMembers().getId();
+        return membersRepository
+                .findByIdWithLock(memberId)
+                .orElseThrow(() -> new NotFoundMemberException(memberId));
+    }
+}
@@ -0,0 +1,94 @@
+package io.gaboja9.mockstock.domain.orders.service;
+
+import io.gaboja9.mockstock.domain.orders.book.StopOrderEntry;
+import io.gaboja9.mockstock.domain.orders.entity.OrderStatus;
+import io.gaboja9.mockstock.domain.orders.entity.OrderType;
+import io.gaboja9.mockstock.domain.orders.entity.Orders;
+import io.gaboja9.mockstock.domain.orders.repository.OrdersRepository;
+import io.gaboja9.mockstock.global.websocket.cluster.MarketDataLeadership;
+import io.gaboja9.mockstock.global.websocket.cluster.MarketDataLeadershipChangedEvent;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StopOrdersProcessor {
+
+    private static final List<OrderType> STOP_ORDER_TYPES =
+            List.of(OrderType.STOP, OrderType.STOP_LIMIT, OrderType.TRAILING_STOP);
+
+    private final OrdersRepository ordersRepository;
+    private final OrdersService ordersService;
+    private final StopOrdersExecutor stopOrdersExecutor;
+    private final StopOrderBookService stopOrderBookService;
+    private final MarketDataLeadership leadership;
+
+    /**
+     * 기동 시 한 번만 감시 중인 스톱 주문을 읽어 색인을 만든다. 이후에는 주문 접수/발동 시점에만 색인이 갱신된다. 추적 스톱은 마지막으로 저장된 감시가에서 다시
+     * 따라가기 시작한다. 클러스터 모드에서는 리더가 될 때 읽는다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadArmedOrders() {
+        if (leadership.isClustered()) {
+            return;
+        }
+        load();
+    }
+
+    /** 새 리더는 DB 에서 색인을 다시 만들고, 내려온 노드는 색인을 비운다. */
+    @EventListener
+    public void onLeadershipChanged(MarketDataLeadershipChangedEvent event) {
+        stopOrderBookService.clear();
+        if (event.leader()) {
+            load();
+        }
+    }
+
+    private void load() {
+        List<Orders> armedOrders =
+                ordersRepository.findArmedByStatusAndOrderTypeIn(
+                        OrderStatus.PENDING, STOP_ORDER_TYPES);
+
+        stopOrderBookService.loadAll(armedOrders);
+    }
+
+    /** 체결가 수신 시 호출. 직전 체결가와 이번 체결가 사이에서 발동한 스톱 주문만 꺼내 처리한다. 클러스터 모드에서는 리더만 판단한다. */
+    public void onTick(String stockCode, int currentPrice) {
+        if (!leadership.isLeader() || !ordersService.openKoreanMarket()) return;
+
+        List<StopOrderEntry> triggered =
+                stopOrderBookService.pollTriggered(stockCode, currentPrice);
+        if (triggered.isEmpty()) {
+            return;
+        }
+
+        for (StopOrderEntry entry : triggered) {
+            execute(entry);
+        }
+
+        log.debug("발동한 스톱 주문 수: {}, stockCode={}", triggered.size(), stockCode);
+    }
+
+    private void execute(StopOrderEntry entry) {
+        stopOrdersExecutor
+                .submit(entry)
+                .whenComplete(
+                        (completed, e) -> {
+                            if (e != null) {
+                                log.error("스톱 주문 처리 중 오류 발생. orderId={}", entry.orderId(), e);
+                            }
+                            // 처리하지 못한 주문은 발동 시점의 감시가로 다시 올려 다음 체결가에서 판단한다.
+                            if (!Boolean.TRUE.equals(completed)) {
+                                stopOrderBookService.add(entry);
+                            }
+                        });
+    }
+}
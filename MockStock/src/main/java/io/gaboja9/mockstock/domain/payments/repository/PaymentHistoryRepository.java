@@ -2,6 +2,7 @@ package io.gaboja9.mockstock.domain.payments.repository;
 
 import io.gaboja9.mockstock.domain.payments.entity.PaymentHistory;
 import io.gaboja9.mockstock.domain.payments.entity.PaymentStatus;
+import io.gaboja9.mockstock.domain.ranks.dto.MemberAmountRow;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -51,4 +52,10 @@ public interface PaymentHistoryRepository extends JpaRepository<PaymentHistory,
 
     @Query("SELECT COUNT(ph) FROM PaymentHistory ph " + "WHERE ph.members.id = :memberId")
     Integer countTotalByMemberId(Long memberId);
+
+    @Query(
+            "SELECT new io.gaboja9.mockstock.domain.ranks.dto.MemberAmountRow("
+                    + "ph.members.id, SUM(ph.amount)) FROM PaymentHistory ph "
+                    + "WHERE ph.status = :status GROUP BY ph.members.id")
+    List<MemberAmountRow> sumAmountGroupByMemberIdAndStatus(@Param("status") PaymentStatus status);
 }
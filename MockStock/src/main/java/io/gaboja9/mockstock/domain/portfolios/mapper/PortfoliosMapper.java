@@ -2,31 +2,27 @@ package io.gaboja9.mockstock.domain.portfolios.mapper;
 
 import io.gaboja9.mockstock.domain.portfolios.dto.response.PortfolioResponseDto;
 import io.gaboja9.mockstock.domain.portfolios.entity.Portfolios;
-import io.gaboja9.mockstock.global.websocket.HantuWebSocketHandler;
-import io.gaboja9.mockstock.global.websocket.dto.StockPriceDto;
+import io.gaboja9.mockstock.global.websocket.price.LatestPriceRegistry;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.stereotype.Component;
 
-import java.util.Optional;
-
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class PortfoliosMapper {
 
-    private final HantuWebSocketHandler hantuWebSocketHandler;
+    private final LatestPriceRegistry latestPriceRegistry;
 
     public PortfolioResponseDto toDto(Portfolios p) {
         int quantity = p.getQuantity();
         int avgPrice = p.getAvgPrice();
 
-        Optional<StockPriceDto> optionalPrice =
-                Optional.ofNullable(hantuWebSocketHandler.getLatestPrice(p.getStockCode()));
+        int currentPrice = latestPriceRegistry.price(p.getStockCode());
 
-        if (optionalPrice.isEmpty()) {
+        if (currentPrice == LatestPriceRegistry.NO_PRICE) {
             log.warn("실시간 가격 정보 없음 - stockCode={}", p.getStockCode());
 
             return PortfolioResponseDto.builder()
@@ -41,8 +37,6 @@ public class PortfoliosMapper {
                     .build();
         }
 
-        int currentPrice = optionalPrice.get().getCurrentPrice();
-
         int evaluationAmount = currentPrice * quantity;
         int profit = (currentPrice - avgPrice) * quantity;
         int investment = avgPrice * quantity;
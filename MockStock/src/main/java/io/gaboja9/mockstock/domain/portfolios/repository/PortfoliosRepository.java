@@ -1,17 +1,23 @@
 package io.gaboja9.mockstock.domain.portfolios.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
 import io.gaboja9.mockstock.domain.portfolios.entity.Portfolios;
+import io.gaboja9.mockstock.domain.ranks.dto.HoldingRow;
 
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PortfoliosRepository extends JpaRepository<Portfolios, Long> {
@@ -24,4 +30,15 @@ public interface PortfoliosRepository extends JpaRepository<Portfolios, Long> {
     @Query("SELECT p FROM Portfolios p WHERE p.members.id = :memberId AND p.stockCode = :stockCode")
     Optional<Portfolios> findByMembersIdAndStockCodeWithLock(
             @Param("memberId") Long memberId, @Param("stockCode") String stockCode);
+
+    /** 전체 보유 종목을 커서로 흘려 읽는다. 호출 측 트랜잭션 안에서 닫아야 한다. */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query(
+            "SELECT new io.gaboja9.mockstock.domain.ranks.dto.HoldingRow("
+                    + "p.members.id, p.stockCode, p.quantity) FROM Portfolios p "
+                    + "WHERE p.quantity > 0")
+    Stream<HoldingRow> streamAllHoldings();
+
+    @Query("SELECT DISTINCT p.stockCode FROM Portfolios p WHERE p.quantity > 0")
+    List<String> findHeldStockCodes();
 }
@@ -0,0 +1,4 @@
+package io.gaboja9.mockstock.domain.ranks.dto;
+
+/** 회원 보유 종목 한 건 (종목코드, 수량) */
+public record HoldingRow(Long memberId, String stockCode, int quantity) {}
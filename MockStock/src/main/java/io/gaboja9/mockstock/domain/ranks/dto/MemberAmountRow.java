@@ -0,0 +1,4 @@
+package io.gaboja9.mockstock.domain.ranks.dto;
+
+/** 회원별 합계 금액 조회 결과 */
+public record MemberAmountRow(Long memberId, long amount) {}
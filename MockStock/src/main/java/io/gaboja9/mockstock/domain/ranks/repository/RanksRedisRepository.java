@@ -0,0 +1,179 @@
+package io.gaboja9.mockstock.domain.ranks.repository;
+
+import io.gaboja9.mockstock.domain.ranks.dto.RanksDto;
+import io.gaboja9.mockstock.domain.ranks.entity.RanksType;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 랭킹 저장소 (Redis).
+ *
+ * <p>랭킹 종류마다 memberId 를 점수 순으로 담은 ZSET 을 두고, 회원별 랭킹 정보는 공용 HASH 에 한 번만 저장한다. 페이지는 ZREVRANGE, 내 순위는
+ * ZREVRANK 로 조회하므로 요청마다 전체 목록을 읽지 않는다. 갱신은 임시 키에 모두 쓴 뒤 MULTI 안에서 RENAME 으로 한꺼번에 교체해, 조회 중에 반쯤 바뀐
+ * 랭킹이 보이지 않는다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RanksRedisRepository {
+
+    private static final String RANKING_KEY_PREFIX = "ranking:z:";
+    private static final String MEMBERS_KEY = "ranking:members";
+    private static final String STAGING_SUFFIX = ":staging";
+    private static final Duration TTL = Duration.ofDays(7);
+    private static final int WRITE_CHUNK = 5_000;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    /** 전체 랭킹 교체 */
+    public void replaceAll(List<RanksDto> allRanks) {
+        if (allRanks.isEmpty()) {
+            List<String> keys = new ArrayList<>();
+            for (RanksType type : RanksType.values()) {
+                keys.add(rankingKey(type));
+            }
+            keys.add(MEMBERS_KEY);
+            redisTemplate.delete(keys);
+            return;
+        }
+
+        Map<String, String> staged = new LinkedHashMap<>();
+        for (RanksType type : RanksType.values()) {
+            String staging = rankingKey(type) + STAGING_SUFFIX;
+            stringRedisTemplate.delete(staging);
+            writeScores(staging, allRanks, type);
+            staged.put(staging, rankingKey(type));
+        }
+
+        String membersStaging = MEMBERS_KEY + STAGING_SUFFIX;
+        redisTemplate.delete(membersStaging);
+        writeMembers(membersStaging, allRanks);
+        staged.put(membersStaging, MEMBERS_KEY);
+
+        redisTemplate.execute(
+                new SessionCallback<List<Object>>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public List<Object> execute(RedisOperations operations)
+                            throws DataAccessException {
+                        RedisOperations<String, Object> ops = operations;
+                        ops.multi();
+                        staged.forEach(
+                                (staging, live) -> {
+                                    ops.rename(staging, live);
+                                    ops.expire(live, TTL);
+                                });
+                        return ops.exec();
+                    }
+                });
+    }
+
+    public long count(RanksType type) {
+        Long size = stringRedisTemplate.opsForZSet().zCard(rankingKey(type));
+        return size == null ? 0 : size;
+    }
+
+    /** 순위 start ~ end (0부터, end 포함) 회원. 순위 값이 채워져 있다. */
+    public List<RanksDto> findRange(RanksType type, long start, long end) {
+        Set<String> memberIds =
+                stringRedisTemplate.opsForZSet().reverseRange(rankingKey(type), start, end);
+        if (memberIds == null || memberIds.isEmpty()) {
+            return List.of();
+        }
+
+        List<Object> fields = new ArrayList<>(memberIds);
+        List<Object> details = redisTemplate.opsForHash().multiGet(MEMBERS_KEY, fields);
+
+        List<RanksDto> result = new ArrayList<>(details.size());
+        long rank = start + 1;
+        for (Object detail : details) {
+            if (detail instanceof RanksDto ranksDto) {
+                ranksDto.setRank((int) rank);
+                result.add(ranksDto);
+            }
+            rank++;
+        }
+        return result;
+    }
+
+    public Optional<RanksDto> findByMemberId(RanksType type, Long memberId) {
+        String member = String.valueOf(memberId);
+        Long index = stringRedisTemplate.opsForZSet().reverseRank(rankingKey(type), member);
+        if (index == null) {
+            return Optional.empty();
+        }
+
+        Object detail = redisTemplate.opsForHash().get(MEMBERS_KEY, member);
+        if (!(detail instanceof RanksDto ranksDto)) {
+            return Optional.empty();
+        }
+        ranksDto.setRank((int) (index + 1));
+        return Optional.of(ranksDto);
+    }
+
+    public Optional<Integer> findRank(RanksType type, Long memberId) {
+        Long index =
+                stringRedisTemplate
+                        .opsForZSet()
+                        .reverseRank(rankingKey(type), String.valueOf(memberId));
+        return Optional.ofNullable(index).map(i -> (int) (i + 1));
+    }
+
+    private void writeScores(String key, List<RanksDto> allRanks, RanksType type) {
+        for (int from = 0; from < allRanks.size(); from += WRITE_CHUNK) {
+            List<RanksDto> chunk =
+                    allRanks.subList(from, Math.min(allRanks.size(), from + WRITE_CHUNK));
+            Set<TypedTuple<String>> tuples = new HashSet<>(chunk.size() * 2);
+            for (RanksDto ranksDto : chunk) {
+                tuples.add(
+                        new DefaultTypedTuple<>(
+                                String.valueOf(ranksDto.getMemberId()), score(ranksDto, type)));
+            }
+            stringRedisTemplate.opsForZSet().add(key, tuples);
+        }
+    }
+
+    private void writeMembers(String key, List<RanksDto> allRanks) {
+        for (int from = 0; from < allRanks.size(); from += WRITE_CHUNK) {
+            List<RanksDto> chunk =
+                    allRanks.subList(from, Math.min(allRanks.size(), from + WRITE_CHUNK));
+            Map<String, RanksDto> fields = new HashMap<>(chunk.size() * 2);
+            for (RanksDto ranksDto : chunk) {
+                fields.put(String.valueOf(ranksDto.getMemberId()), ranksDto);
+            }
+            redisTemplate.opsForHash().putAll(key, fields);
+        }
+    }
+
+    static double score(RanksDto ranksDto, RanksType type) {
+        return switch (type) {
+            case RETURN_RATE -> ranksDto.getReturnRate();
+            case PROFIT -> ranksDto.getTotalProfit();
+            case ASSET -> ranksDto.getTotalAsset();
+            case BANKRUPTCY -> ranksDto.getBankruptcyCount();
+        };
+    }
+
+    private static String rankingKey(RanksType type) {
+        return RANKING_KEY_PREFIX + type.name().toLowerCase();
+    }
+}
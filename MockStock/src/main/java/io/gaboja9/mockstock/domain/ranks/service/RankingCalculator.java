@@ -0,0 +1,130 @@
+package io.gaboja9.mockstock.domain.ranks.service;
+
+import io.gaboja9.mockstock.domain.members.repository.MembersRepository;
+import io.gaboja9.mockstock.domain.payments.entity.PaymentStatus;
+import io.gaboja9.mockstock.domain.payments.repository.PaymentHistoryRepository;
+import io.gaboja9.mockstock.domain.portfolios.repository.PortfoliosRepository;
+import io.gaboja9.mockstock.domain.ranks.dto.HoldingRow;
+import io.gaboja9.mockstock.domain.ranks.dto.MemberAmountRow;
+import io.gaboja9.mockstock.domain.ranks.dto.MemberRankingRow;
+import io.gaboja9.mockstock.domain.ranks.dto.RanksDto;
+import io.gaboja9.mockstock.global.websocket.price.LatestPriceRegistry;
+import io.gaboja9.mockstock.global.websocket.price.PriceSnapshot;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+
+/**
+ * 전체 회원 랭킹 지표 계산.
+ *
+ * <p>회원마다 결제/보유 종목을 따로 조회하지 않고, 회원 목록, 회원별 충전 합계(GROUP BY), 전체 보유 종목(스트리밍) 세 번의 조회로 끝낸다. 보유 종목은 계산
+ * 시작 시점의 종목별 현재가 한 벌로 평가하고, 회원별 지표 계산은 여러 코어에 나눠 돌린다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RankingCalculator {
+
+    static final long BASIC_AMOUNT = 30_000_000;
+
+    private final MembersRepository membersRepository;
+    private final PaymentHistoryRepository paymentHistoryRepository;
+    private final PortfoliosRepository portfoliosRepository;
+    private final LatestPriceRegistry latestPriceRegistry;
+
+    @Transactional(readOnly = true)
+    public List<RanksDto> calculateAll() {
+        List<MemberRankingRow> members = membersRepository.findAllRankingRows();
+
+        Map<Long, Long> charges = new HashMap<>(members.size() * 2);
+        for (MemberAmountRow row :
+                paymentHistoryRepository.sumAmountGroupByMemberIdAndStatus(
+                        PaymentStatus.APPROVED)) {
+            charges.put(row.memberId(), row.amount());
+        }
+
+        PriceSnapshot snapshot = latestPriceRegistry.snapshot();
+        Map<String, Integer> fallbackPrices = new HashMap<>();
+        Map<Long, Long> stockValues;
+        try (Stream<HoldingRow> holdings = portfoliosRepository.streamAllHoldings()) {
+            stockValues =
+                    sumStockValues(
+                            holdings,
+                            stockCode -> {
+                                int price = snapshot.price(stockCode);
+                                return price != LatestPriceRegistry.NO_PRICE
+                                        ? price
+                                        : fallbackPrices.computeIfAbsent(
+                                                stockCode, this::getFallbackPrice);
+                            });
+        }
+        log.debug("랭킹 계산 - 회원 {}명, 시세 없는 종목 {}개", members.size(), fallbackPrices.size());
+
+        return toRanks(members, charges, stockValues);
+    }
+
+    /** 회원별 보유 주식 평가액 합계 */
+    static Map<Long, Long> sumStockValues(
+            Stream<HoldingRow> holdings, ToIntFunction<String> priceOf) {
+        Map<Long, Long> stockValues = new HashMap<>();
+        holdings.forEach(
+                holding ->
+                        stockValues.merge(
+                                holding.memberId(),
+                                (long) holding.quantity() * priceOf.applyAsInt(holding.stockCode()),
+                                Long::sum));
+        return stockValues;
+    }
+
+    static List<RanksDto> toRanks(
+            List<MemberRankingRow> members, Map<Long, Long> charges, Map<Long, Long> stockValues) {
+        return members.parallelStream()
+                .map(
+                        member ->
+                                toRanksDto(
+                                        member,
+                                        charges.getOrDefault(member.memberId(), 0L),
+                                        stockValues.getOrDefault(member.memberId(), 0L)))
+                .toList();
+    }
+
+    static RanksDto toRanksDto(MemberRankingRow member, long totalCharge, long stockValue) {
+        // 총 투자원금 (기본금 + 충전금), 총 자산 (현금 + 보유 주식)
+        long totalInvestment = BASIC_AMOUNT + totalCharge;
+        long totalAsset = member.cashBalance() + stockValue;
+        long totalProfit = totalAsset - totalInvestment;
+
+        double returnRate =
+                totalInvestment > 0 ? ((double) totalProfit / totalInvestment) * 100 : 0.0;
+
+        return RanksDto.builder()
+                .memberId(member.memberId())
+                .nickname(member.nickname())
+                .returnRate(Math.round(returnRate * 100.0) / 100.0) // 소수점 2자리
+                .totalProfit(totalProfit)
+                .bankruptcyCount(member.bankruptcyCnt())
+                .totalAsset(totalAsset)
+                .totalInvestment(totalInvestment)
+                .build();
+    }
+
+    // 가짜 가격 생성 메서드
+    private int getFallbackPrice(String stockCode) {
+        log.warn("현재 가격 정보를 불러올 수 없습니다: {}", stockCode);
+        // 주식 코드를 기반으로 일관된 가짜 가격 생성
+        int hash = stockCode.hashCode();
+        int basePrice = Math.abs(hash % 100000) + 10000; // 10,000 ~ 109,999 범위
+
+        log.debug("주식 {} 가짜 가격 사용: {}", stockCode, basePrice);
+        return basePrice;
+    }
+}
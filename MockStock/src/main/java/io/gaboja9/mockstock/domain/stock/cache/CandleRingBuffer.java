@@ -0,0 +1,274 @@
+package io.gaboja9.mockstock.domain.stock.cache;
+
+import io.gaboja9.mockstock.domain.stock.measurement.MinuteStockPrice;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 한 종목의 최근 분봉을 시간 순으로 담는 고정 크기 링 버퍼.
+ *
+ * <p>필드마다 원시 타입 배열(컬럼)로 저장하고, 조회할 때만 {@link MinuteStockPrice} 로 변환한다. 조회 결과가 버퍼 범위를 벗어나면 {@link
+ * Optional#empty()} 를 돌려주어 호출하는 쪽이 InfluxDB 로 넘어가게 한다.
+ */
+final class CandleRingBuffer {
+
+    private final String stockCode;
+    private final int capacity;
+    private final long[] times;
+    private final long[] opens;
+    private final long[] highs;
+    private final long[] lows;
+    private final long[] closes;
+    private final long[] volumes;
+
+    // 가장 오래된 항목 위치
+    private int head;
+    private int size;
+    // 버퍼보다 오래된 분봉이 저장소에 없다 (워밍 결과가 용량보다 적었고 그 뒤로 밀려난 항목도 없음)
+    private boolean complete;
+
+    CandleRingBuffer(String stockCode, int capacity) {
+        this.stockCode = stockCode;
+        this.capacity = capacity;
+        this.times = new long[capacity];
+        this.opens = new long[capacity];
+        this.highs = new long[capacity];
+        this.lows = new long[capacity];
+        this.closes = new long[capacity];
+        this.volumes = new long[capacity];
+    }
+
+    /** 분봉 추가. 같은 시각이면 덮어쓰고, 마지막보다 이른 시각은 무시한다. */
+    synchronized void append(long time, long open, long high, long low, long close, long volume) {
+        if (size > 0) {
+            int last = index(size - 1);
+            if (time == times[last]) {
+                set(last, time, open, high, low, close, volume);
+                return;
+            }
+            if (time < times[last]) {
+                return;
+            }
+        }
+        push(time, open, high, low, close, volume);
+    }
+
+    /** 시각 순서를 지키며 분봉을 넣거나 덮어쓴다 (재연결 후 빠진 분봉 보충용). 버퍼가 가득 찼고 가장 오래된 분봉보다 이르면 무시한다. */
+    synchronized void upsert(long time, long open, long high, long low, long close, long volume) {
+        int pos = countBefore(time);
+        if (pos < size && times[index(pos)] == time) {
+            set(index(pos), time, open, high, low, close, volume);
+            return;
+        }
+        if (pos == size) {
+            push(time, open, high, low, close, volume);
+            return;
+        }
+        if (size == capacity) {
+            if (pos == 0) {
+                return;
+            }
+            head = (head + 1) % capacity;
+            size--;
+            pos--;
+            complete = false;
+        }
+        // pos 뒤의 분봉을 한 칸씩 뒤로 민다
+        for (int i = size; i > pos; i--) {
+            int to = index(i);
+            int from = index(i - 1);
+            set(to, times[from], opens[from], highs[from], lows[from], closes[from], volumes[from]);
+        }
+        set(index(pos), time, open, high, low, close, volume);
+        size++;
+    }
+
+    /** [from, to) 구간 분봉을 하나로 합친 {시가, 고가, 저가, 종가, 거래량}. 구간에 분봉이 없으면 null */
+    synchronized long[] aggregate(long from, long to) {
+        int start = countBefore(from);
+        int end = countBefore(to);
+        if (start >= end) {
+            return null;
+        }
+        long high = Long.MIN_VALUE;
+        long low = Long.MAX_VALUE;
+        long volume = 0;
+        for (int i = start; i < end; i++) {
+            int idx = index(i);
+            high = Math.max(high, highs[idx]);
+            low = Math.min(low, lows[idx]);
+            volume += volumes[idx];
+        }
+        return new long[] {opens[index(start)], high, low, closes[index(end - 1)], volume};
+    }
+
+    /** 같은 구간의 마지막 봉에 합친다 (1분봉으로 5분봉을 만들 때 사용). 새 구간이면 추가한다. */
+    synchronized void merge(long time, long open, long high, long low, long close, long volume) {
+        if (size > 0) {
+            int last = index(size - 1);
+            if (time == times[last]) {
+                highs[last] = Math.max(highs[last], high);
+                lows[last] = Math.min(lows[last], low);
+                closes[last] = close;
+                volumes[last] += volume;
+                return;
+            }
+            if (time < times[last]) {
+                return;
+            }
+        }
+        push(time, open, high, low, close, volume);
+    }
+
+    /**
+     * 저장소에서 읽은 과거 분봉으로 버퍼 앞부분을 채운다. 이미 실시간으로 들어온 분봉이 있으면 그보다 이른 것만 쓴다.
+     *
+     * @param loadedAll 저장소에 이보다 오래된 분봉이 없는지 여부
+     */
+    synchronized void warm(List<MinuteStockPrice> rows, boolean loadedAll) {
+        long firstLive = size > 0 ? times[head] : Long.MAX_VALUE;
+        List<MinuteStockPrice> older =
+                rows.stream()
+                        .filter(row -> row.getTimestamp() != null)
+                        .filter(row -> row.getTimestamp().toEpochMilli() < firstLive)
+                        .sorted(Comparator.comparing(MinuteStockPrice::getTimestamp))
+                        .toList();
+
+        int live = size;
+        long[][] liveColumns = new long[6][live];
+        for (int i = 0; i < live; i++) {
+            int idx = index(i);
+            liveColumns[0][i] = times[idx];
+            liveColumns[1][i] = opens[idx];
+            liveColumns[2][i] = highs[idx];
+            liveColumns[3][i] = lows[idx];
+            liveColumns[4][i] = closes[idx];
+            liveColumns[5][i] = volumes[idx];
+        }
+
+        head = 0;
+        size = 0;
+        complete = loadedAll;
+        for (MinuteStockPrice row : older) {
+            push(
+                    row.getTimestamp().toEpochMilli(),
+                    valueOf(row.getOpenPrice()),
+                    valueOf(row.getMaxPrice()),
+                    valueOf(row.getMinPrice()),
+                    valueOf(row.getClosePrice()),
+                    valueOf(row.getAccumTrans()));
+        }
+        for (int i = 0; i < live; i++) {
+            push(
+                    liveColumns[0][i],
+                    liveColumns[1][i],
+                    liveColumns[2][i],
+                    liveColumns[3][i],
+                    liveColumns[4][i],
+                    liveColumns[5][i]);
+        }
+    }
+
+    /** 최신 분봉부터 limit 개 (최신순) */
+    synchronized Optional<List<MinuteStockPrice>> latest(int limit) {
+        if (size < limit && !complete) {
+            return Optional.empty();
+        }
+        return Optional.of(descending(size, limit));
+    }
+
+    /** 기준 시점 이전 분봉 limit 개 (최신순) */
+    synchronized Optional<List<MinuteStockPrice>> before(long time, int limit) {
+        int count = countBefore(time);
+        if (count < limit && !complete) {
+            return Optional.empty();
+        }
+        return Optional.of(descending(count, limit));
+    }
+
+    /** 기준 시점 이후 분봉 limit 개 (과거순) */
+    synchronized Optional<List<MinuteStockPrice>> after(long time, int limit) {
+        if (!complete && (size == 0 || times[head] > time)) {
+            return Optional.empty();
+        }
+        int from = countBefore(time + 1);
+        int to = Math.min(size, from + limit);
+        List<MinuteStockPrice> result = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            result.add(toPrice(index(i)));
+        }
+        return Optional.of(result);
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    private List<MinuteStockPrice> descending(int end, int limit) {
+        int from = Math.max(0, end - limit);
+        List<MinuteStockPrice> result = new ArrayList<>(end - from);
+        for (int i = end - 1; i >= from; i--) {
+            result.add(toPrice(index(i)));
+        }
+        return result;
+    }
+
+    /** time 보다 이른 분봉 수 (시간 순 정렬이므로 이분 탐색) */
+    private int countBefore(long time) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (times[index(mid)] < time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void push(long time, long open, long high, long low, long close, long volume) {
+        if (size == capacity) {
+            // 가장 오래된 분봉이 밀려나므로 더 이상 저장소 전체를 담고 있지 않다
+            head = (head + 1) % capacity;
+            size--;
+            complete = false;
+        }
+        set(index(size), time, open, high, low, close, volume);
+        size++;
+    }
+
+    private void set(int idx, long time, long open, long high, long low, long close, long vol) {
+        times[idx] = time;
+        opens[idx] = open;
+        highs[idx] = high;
+        lows[idx] = low;
+        closes[idx] = close;
+        volumes[idx] = vol;
+    }
+
+    private int index(int offset) {
+        return (head + offset) % capacity;
+    }
+
+    private MinuteStockPrice toPrice(int idx) {
+        MinuteStockPrice price = new MinuteStockPrice();
+        price.setTimestamp(Instant.ofEpochMilli(times[idx]));
+        price.setStockCode(stockCode);
+        price.setOpenPrice(opens[idx]);
+        price.setMaxPrice(highs[idx]);
+        price.setMinPrice(lows[idx]);
+        price.setClosePrice(closes[idx]);
+        price.setAccumTrans(volumes[idx]);
+        return price;
+    }
+
+    private static long valueOf(Long value) {
+        return value == null ? 0L : value;
+    }
+}
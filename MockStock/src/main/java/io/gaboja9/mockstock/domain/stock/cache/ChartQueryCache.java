@@ -0,0 +1,162 @@
+package io.gaboja9.mockstock.domain.stock.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.gaboja9.mockstock.domain.stock.measurement.DailyStockPrice;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * 일/주/월봉 차트 조회 결과 캐시.
+ *
+ * <p>키는 (봉 종류, 종목코드, 조회 방식, 기준 시점, 개수) 이고, 봉 종류마다 TTL 이 다르다. 같은 키로 동시에 들어온 요청은 하나의 InfluxDB 조회 결과를
+ * 함께 기다린다. 일봉이 새로 쌓이는 시점(InfluxDB 일봉 task 실행 후)과 종목 데이터를 다시 수집했을 때 무효화한다.
+ */
+@Component
+@Slf4j
+public class ChartQueryCache {
+
+    public enum Timeframe {
+        DAILY,
+        WEEKLY,
+        MONTHLY
+    }
+
+    private enum Query {
+        LATEST,
+        BEFORE,
+        AFTER
+    }
+
+    private record Key(String stockCode, Query query, long cursor, int limit) {}
+
+    private final Map<Timeframe, AsyncCache<Key, List<DailyStockPrice>>> caches =
+            new EnumMap<>(Timeframe.class);
+
+    public ChartQueryCache(
+            MeterRegistry meterRegistry,
+            ExecutorService virtualThreadExecutor,
+            @Value("${chart.cache.daily-ttl:10m}") Duration dailyTtl,
+            @Value("${chart.cache.weekly-ttl:1h}") Duration weeklyTtl,
+            @Value("${chart.cache.monthly-ttl:6h}") Duration monthlyTtl,
+            @Value("${chart.cache.maximum-size:10000}") long maximumSize) {
+        caches.put(
+                Timeframe.DAILY,
+                newCache(
+                        meterRegistry,
+                        virtualThreadExecutor,
+                        Timeframe.DAILY,
+                        dailyTtl,
+                        maximumSize));
+        caches.put(
+                Timeframe.WEEKLY,
+                newCache(
+                        meterRegistry,
+                        virtualThreadExecutor,
+                        Timeframe.WEEKLY,
+                        weeklyTtl,
+                        maximumSize));
+        caches.put(
+                Timeframe.MONTHLY,
+                newCache(
+                        meterRegistry,
+                        virtualThreadExecutor,
+                        Timeframe.MONTHLY,
+                        monthlyTtl,
+                        maximumSize));
+    }
+
+    private static AsyncCache<Key, List<DailyStockPrice>> newCache(
+            MeterRegistry meterRegistry,
+            ExecutorService executor,
+            Timeframe timeframe,
+            Duration ttl,
+            long maximumSize) {
+        // 조회는 가상 스레드에서 실행해 요청 스레드끼리 캐시 내부 락을 잡고 기다리지 않게 한다
+        AsyncCache<Key, List<DailyStockPrice>> cache =
+                Caffeine.newBuilder()
+                        .expireAfterWrite(ttl)
+                        .maximumSize(maximumSize)
+                        .executor(executor)
+                        .recordStats()
+                        .buildAsync();
+        return CaffeineCacheMetrics.monitor(
+                meterRegistry, cache, "stock.chart", "timeframe", timeframe.name().toLowerCase());
+    }
+
+    public List<DailyStockPrice> getLatest(
+            Timeframe timeframe,
+            String stockCode,
+            int limit,
+            Supplier<List<DailyStockPrice>> loader) {
+        return get(timeframe, new Key(stockCode, Query.LATEST, 0, limit), loader);
+    }
+
+    public List<DailyStockPrice> getBefore(
+            Timeframe timeframe,
+            String stockCode,
+            Instant before,
+            int limit,
+            Supplier<List<DailyStockPrice>> loader) {
+        return get(
+                timeframe, new Key(stockCode, Query.BEFORE, before.toEpochMilli(), limit), loader);
+    }
+
+    public List<DailyStockPrice> getAfter(
+            Timeframe timeframe,
+            String stockCode,
+            Instant after,
+            int limit,
+            Supplier<List<DailyStockPrice>> loader) {
+        return get(timeframe, new Key(stockCode, Query.AFTER, after.toEpochMilli(), limit), loader);
+    }
+
+    private List<DailyStockPrice> get(
+            Timeframe timeframe, Key key, Supplier<List<DailyStockPrice>> loader) {
+        AsyncCache<Key, List<DailyStockPrice>> cache = caches.get(timeframe);
+        // 여러 요청이 같은 결과 리스트를 공유하므로 변경할 수 없게 담아 둔다
+        CompletableFuture<List<DailyStockPrice>> future =
+                cache.get(key, k -> List.copyOf(loader.get()));
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // Caffeine 도 실패한 조회를 지우지만 비동기라서, 바로 다시 요청하면 실패가 그대로 돌아올 수 있다
+            cache.asMap().remove(key, future);
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /** 한 종목의 모든 봉 종류 캐시 삭제 (주/월봉은 일봉에서 집계되기도 하므로 함께 지운다) */
+    public void invalidate(String stockCode) {
+        for (AsyncCache<Key, List<DailyStockPrice>> cache : caches.values()) {
+            cache.synchronous().asMap().keySet().removeIf(key -> key.stockCode().equals(stockCode));
+        }
+    }
+
+    /** InfluxDB 일봉 task(18:00 KST) 가 새 봉을 만든 뒤 전체 무효화 */
+    @Scheduled(cron = "${chart.cache.invalidate-cron:0 5 18 * * *}", zone = "Asia/Seoul")
+    public void invalidateAll() {
+        caches.values().forEach(cache -> cache.synchronous().invalidateAll());
+        log.info("차트 캐시 전체 무효화");
+    }
+}
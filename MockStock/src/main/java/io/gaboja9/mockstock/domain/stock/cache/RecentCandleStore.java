@@ -0,0 +1,165 @@
+package io.gaboja9.mockstock.domain.stock.cache;
+
+import io.gaboja9.mockstock.domain.stock.entity.Stocks;
+import io.gaboja9.mockstock.domain.stock.measurement.MinuteStockPrice;
+import io.gaboja9.mockstock.domain.stock.repository.StocksFiveMinuteRepository;
+import io.gaboja9.mockstock.domain.stock.repository.StocksMinuteRepository;
+import io.gaboja9.mockstock.domain.stock.repository.StocksRepository;
+import io.gaboja9.mockstock.global.websocket.dto.StocksCandleDto;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 차트 조회용 최근 1분봉/5분봉 인메모리 저장소.
+ *
+ * <p>시작할 때 InfluxDB 에서 종목별 최근 분봉을 읽어 채우고, 이후에는 {@code CandleMakerService} 가 분봉을 닫을 때마다 이어 붙인다. 5분봉은
+ * 닫힌 1분봉을 구간별로 합쳐 만들며, InfluxDB 의 aggregateWindow 결과와 같게 구간 끝 시각을 시간으로 쓴다.
+ */
+@Component
+@Slf4j
+public class RecentCandleStore {
+
+    private static final long FIVE_MINUTES_MS = 5 * 60_000L;
+
+    public enum Interval {
+        MINUTE,
+        FIVE_MINUTE
+    }
+
+    private final StocksMinuteRepository stocksMinuteRepository;
+    private final StocksFiveMinuteRepository stocksFiveMinuteRepository;
+    private final StocksRepository stocksRepository;
+    private final int minuteCapacity;
+    private final int fiveMinuteCapacity;
+    private final boolean warmUpEnabled;
+
+    private final Map<String, CandleRingBuffer> minuteBuffers = new ConcurrentHashMap<>();
+    private final Map<String, CandleRingBuffer> fiveMinuteBuffers = new ConcurrentHashMap<>();
+
+    public RecentCandleStore(
+            StocksMinuteRepository stocksMinuteRepository,
+            StocksFiveMinuteRepository stocksFiveMinuteRepository,
+            StocksRepository stocksRepository,
+            @Value("${chart.recent-candles.minute-capacity:1000}") int minuteCapacity,
+            @Value("${chart.recent-candles.five-minute-capacity:1000}") int fiveMinuteCapacity,
+            @Value("${chart.recent-candles.warm-up:true}") boolean warmUpEnabled) {
+        this.stocksMinuteRepository = stocksMinuteRepository;
+        this.stocksFiveMinuteRepository = stocksFiveMinuteRepository;
+        this.stocksRepository = stocksRepository;
+        this.minuteCapacity = minuteCapacity;
+        this.fiveMinuteCapacity = fiveMinuteCapacity;
+        this.warmUpEnabled = warmUpEnabled;
+    }
+
+    /** 닫힌 1분봉 반영 */
+    public void append(StocksCandleDto candle) {
+        String stockCode = candle.getStockCode();
+        long time = candle.getTimestamp();
+        long open = candle.getOpen();
+        long high = candle.getHigh();
+        long low = candle.getLow();
+        long close = candle.getClose();
+        long volume = candle.getVolume();
+
+        buffer(Interval.MINUTE, stockCode).append(time, open, high, low, close, volume);
+
+        long fiveMinuteTime = (time / FIVE_MINUTES_MS + 1) * FIVE_MINUTES_MS;
+        buffer(Interval.FIVE_MINUTE, stockCode)
+                .merge(fiveMinuteTime, open, high, low, close, volume);
+    }
+
+    /** 지난 1분봉을 넣거나 덮어쓴다 (시간 순서가 아니어도 된다). 해당 5분봉은 1분봉 버퍼에서 다시 합쳐 만든다. */
+    public void upsert(StocksCandleDto candle) {
+        String stockCode = candle.getStockCode();
+        long time = candle.getTimestamp();
+        CandleRingBuffer minutes = buffer(Interval.MINUTE, stockCode);
+        minutes.upsert(
+                time,
+                candle.getOpen(),
+                candle.getHigh(),
+                candle.getLow(),
+                candle.getClose(),
+                candle.getVolume());
+
+        long fiveMinuteTime = (time / FIVE_MINUTES_MS + 1) * FIVE_MINUTES_MS;
+        long[] merged = minutes.aggregate(fiveMinuteTime - FIVE_MINUTES_MS, fiveMinuteTime);
+        if (merged != null) {
+            buffer(Interval.FIVE_MINUTE, stockCode)
+                    .upsert(fiveMinuteTime, merged[0], merged[1], merged[2], merged[3], merged[4]);
+        }
+    }
+
+    public Optional<List<MinuteStockPrice>> findLatest(
+            Interval interval, String stockCode, int limit) {
+        CandleRingBuffer buffer = buffers(interval).get(stockCode);
+        return buffer == null ? Optional.empty() : buffer.latest(limit);
+    }
+
+    public Optional<List<MinuteStockPrice>> findBefore(
+            Interval interval, String stockCode, Instant before, int limit) {
+        CandleRingBuffer buffer = buffers(interval).get(stockCode);
+        return buffer == null ? Optional.empty() : buffer.before(before.toEpochMilli(), limit);
+    }
+
+    public Optional<List<MinuteStockPrice>> findAfter(
+            Interval interval, String stockCode, Instant after, int limit) {
+        CandleRingBuffer buffer = buffers(interval).get(stockCode);
+        return buffer == null ? Optional.empty() : buffer.after(after.toEpochMilli(), limit);
+    }
+
+    /** 시작 시 InfluxDB 에서 최근 분봉 적재. 요청 처리를 막지 않도록 별도 스레드에서 한다. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!warmUpEnabled) {
+            return;
+        }
+        Thread.ofVirtual().name("recent-candle-warmup").start(this::warmUpAll);
+    }
+
+    void warmUpAll() {
+        List<Stocks> stocks = stocksRepository.findAll();
+        log.info("최근 분봉 적재 시작. 종목 수: {}", stocks.size());
+
+        int loaded = 0;
+        for (Stocks stock : stocks) {
+            String stockCode = stock.getStockCode();
+            try {
+                List<MinuteStockPrice> minutes =
+                        stocksMinuteRepository.findLatestMinutePrices(stockCode, minuteCapacity);
+                buffer(Interval.MINUTE, stockCode).warm(minutes, minutes.size() < minuteCapacity);
+
+                List<MinuteStockPrice> fiveMinutes =
+                        stocksFiveMinuteRepository.findLatestFiveMinutePrices(
+                                stockCode, fiveMinuteCapacity);
+                buffer(Interval.FIVE_MINUTE, stockCode)
+                        .warm(fiveMinutes, fiveMinutes.size() < fiveMinuteCapacity);
+                loaded++;
+            } catch (Exception e) {
+                // 적재에 실패한 종목은 버퍼가 비어 있어 InfluxDB 조회로 처리된다
+                log.warn("최근 분봉 적재 실패 - 종목: {}", stockCode, e);
+            }
+        }
+        log.info("최근 분봉 적재 완료. {}/{} 종목", loaded, stocks.size());
+    }
+
+    private CandleRingBuffer buffer(Interval interval, String stockCode) {
+        int capacity = interval == Interval.MINUTE ? minuteCapacity : fiveMinuteCapacity;
+        return buffers(interval)
+                .computeIfAbsent(stockCode, code -> new CandleRingBuffer(code, capacity));
+    }
+
+    private Map<String, CandleRingBuffer> buffers(Interval interval) {
+        return interval == Interval.MINUTE ? minuteBuffers : fiveMinuteBuffers;
+    }
+}
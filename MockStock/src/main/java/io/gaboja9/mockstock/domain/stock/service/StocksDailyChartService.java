@@ -1,5 +1,7 @@
 package io.gaboja9.mockstock.domain.stock.service;
 
+import io.gaboja9.mockstock.domain.stock.cache.ChartQueryCache;
+import io.gaboja9.mockstock.domain.stock.cache.ChartQueryCache.Timeframe;
 import io.gaboja9.mockstock.domain.stock.exception.NotFoundStockException;
 import io.gaboja9.mockstock.domain.stock.exception.StockChartException;
 import io.gaboja9.mockstock.domain.stock.measurement.DailyStockPrice;
@@ -21,6 +23,7 @@ public class StocksDailyChartService {
 
     private final StocksDailyRepository stocksDailyRepository;
     private final StocksRepository stocksRepository;
+    private final ChartQueryCache chartQueryCache;
 
     /**
      * 차트 초기 로드용 최신 데이터 조회
@@ -34,7 +37,11 @@ public class StocksDailyChartService {
         validateLimit(limit);
 
         try {
-            return stocksDailyRepository.findLatestDailyPrices(stockCode, limit);
+            return chartQueryCache.getLatest(
+                    Timeframe.DAILY,
+                    stockCode,
+                    limit,
+                    () -> stocksDailyRepository.findLatestDailyPrices(stockCode, limit));
         } catch (Exception e) {
             log.error("Failed to fetch latest daily prices for stock: {}", stockCode, e);
             throw StockChartException.dataFetchFailed(stockCode, e);
@@ -56,7 +63,14 @@ public class StocksDailyChartService {
         validateTimestamp(beforeTimestamp, "과거 데이터 조회를 위한 기준 시점이 필요합니다.");
 
         try {
-            return stocksDailyRepository.findDailyPricesBefore(stockCode, beforeTimestamp, limit);
+            return chartQueryCache.getBefore(
+                    Timeframe.DAILY,
+                    stockCode,
+                    beforeTimestamp,
+                    limit,
+                    () ->
+                            stocksDailyRepository.findDailyPricesBefore(
+                                    stockCode, beforeTimestamp, limit));
         } catch (Exception e) {
             log.error(
                     "Failed to fetch past daily prices for stock: {} before {}",
@@ -82,7 +96,14 @@ public class StocksDailyChartService {
         validateTimestamp(afterTimestamp, "최신 데이터 조회를 위한 기준 시점이 필요합니다.");
 
         try {
-            return stocksDailyRepository.findDailyPricesAfter(stockCode, afterTimestamp, limit);
+            return chartQueryCache.getAfter(
+                    Timeframe.DAILY,
+                    stockCode,
+                    afterTimestamp,
+                    limit,
+                    () ->
+                            stocksDailyRepository.findDailyPricesAfter(
+                                    stockCode, afterTimestamp, limit));
         } catch (Exception e) {
             log.error(
                     "Failed to fetch recent daily prices for stock: {} after {}",
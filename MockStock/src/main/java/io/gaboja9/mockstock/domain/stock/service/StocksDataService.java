@@ -2,6 +2,7 @@ package io.gaboja9.mockstock.domain.stock.service;
 
 import com.influxdb.client.write.Point;
 
+import io.gaboja9.mockstock.domain.stock.cache.ChartQueryCache;
 import io.gaboja9.mockstock.domain.stock.mapper.StocksDataMapper;
 import io.gaboja9.mockstock.domain.stock.repository.StocksDailyRepository;
 
@@ -30,6 +31,7 @@ public class StocksDataService {
     private final StocksDailyRepository repository;
     private final StocksDataMapper mapper;
     private final HantuAuthService hantuAuthService;
+    private final ChartQueryCache chartQueryCache;
 
     @Value("${hantu-openapi.domain}")
     private String apiDomain;
@@ -48,11 +50,13 @@ public class StocksDataService {
             RestTemplate restTemplate,
             StocksDailyRepository repository,
             StocksDataMapper mapper,
-            HantuAuthService hantuAuthService) {
+            HantuAuthService hantuAuthService,
+            ChartQueryCache chartQueryCache) {
         this.restTemplate = restTemplate;
         this.repository = repository;
         this.mapper = mapper;
         this.hantuAuthService = hantuAuthService;
+        this.chartQueryCache = chartQueryCache;
     }
 
     // 단일 종목의 주식 데이터를 가져와 InfluxDB에 저장합니다.
@@ -80,6 +84,7 @@ public class StocksDataService {
 
             // 3. 리포지토리로 Point 저장
             repository.savePoints(points);
+            chartQueryCache.invalidate(stockCode);
 
             log.info("주식 데이터 수집 완료 - 종목: {}, 주기: {}, 건수: {}", stockCode, periodCode, points.size());
 
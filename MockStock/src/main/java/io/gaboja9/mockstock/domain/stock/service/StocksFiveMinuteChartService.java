@@ -1,5 +1,7 @@
 package io.gaboja9.mockstock.domain.stock.service;
 
+import io.gaboja9.mockstock.domain.stock.cache.RecentCandleStore;
+import io.gaboja9.mockstock.domain.stock.cache.RecentCandleStore.Interval;
 import io.gaboja9.mockstock.domain.stock.exception.NotFoundStockException;
 import io.gaboja9.mockstock.domain.stock.exception.StockChartException;
 import io.gaboja9.mockstock.domain.stock.measurement.MinuteStockPrice;
@@ -19,26 +21,40 @@ public class StocksFiveMinuteChartService {
 
     private final StocksFiveMinuteRepository stocksFiveMinuteRepository;
     private final StocksRepository stocksRepository;
+    private final RecentCandleStore recentCandleStore;
 
     public List<MinuteStockPrice> getLatestMinutePrices(String stockCode, int limit) {
         validateStockCode(stockCode);
-        return stocksFiveMinuteRepository.findLatestFiveMinutePrices(stockCode, limit);
+        return recentCandleStore
+                .findLatest(Interval.FIVE_MINUTE, stockCode, limit)
+                .orElseGet(
+                        () ->
+                                stocksFiveMinuteRepository.findLatestFiveMinutePrices(
+                                        stockCode, limit));
     }
 
     public List<MinuteStockPrice> getMorePastData(
             String stockCode, Instant beforeTimestamp, int limit) {
         validateStockCode(stockCode);
         validateTimestamp(beforeTimestamp, "과거 데이터 조회를 위한 기준 시점이 필요합니다.");
-        return stocksFiveMinuteRepository.findFiveMinutePricesBefore(
-                stockCode, beforeTimestamp, limit);
+        return recentCandleStore
+                .findBefore(Interval.FIVE_MINUTE, stockCode, beforeTimestamp, limit)
+                .orElseGet(
+                        () ->
+                                stocksFiveMinuteRepository.findFiveMinutePricesBefore(
+                                        stockCode, beforeTimestamp, limit));
     }
 
     public List<MinuteStockPrice> getMoreRecentData(
             String stockCode, Instant afterTimestamp, int limit) {
         validateStockCode(stockCode);
         validateTimestamp(afterTimestamp, "최신 데이터 조회를 위한 기준 시점이 필요합니다.");
-        return stocksFiveMinuteRepository.findFiveMinutePricesAfter(
-                stockCode, afterTimestamp, limit);
+        return recentCandleStore
+                .findAfter(Interval.FIVE_MINUTE, stockCode, afterTimestamp, limit)
+                .orElseGet(
+                        () ->
+                                stocksFiveMinuteRepository.findFiveMinutePricesAfter(
+                                        stockCode, afterTimestamp, limit));
     }
 
     private void validateStockCode(String stockCode) {
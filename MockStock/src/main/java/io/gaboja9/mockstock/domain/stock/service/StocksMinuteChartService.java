@@ -1,5 +1,7 @@
 package io.gaboja9.mockstock.domain.stock.service;
 
+import io.gaboja9.mockstock.domain.stock.cache.RecentCandleStore;
+import io.gaboja9.mockstock.domain.stock.cache.RecentCandleStore.Interval;
 import io.gaboja9.mockstock.domain.stock.exception.NotFoundStockException;
 import io.gaboja9.mockstock.domain.stock.exception.StockChartException;
 import io.gaboja9.mockstock.domain.stock.measurement.MinuteStockPrice;
@@ -21,6 +23,7 @@ public class StocksMinuteChartService {
 
     private final StocksMinuteRepository stocksMinuteRepository;
     private final StocksRepository stocksRepository;
+    private final RecentCandleStore recentCandleStore;
 
     /**
      * 차트 초기 로드용 최신 데이터 조회
@@ -34,7 +37,11 @@ public class StocksMinuteChartService {
         validateLimit(limit);
 
         try {
-            return stocksMinuteRepository.findLatestMinutePrices(stockCode, limit);
+            // 최근 분봉은 메모리에서, 버퍼 범위를 벗어나면 InfluxDB 에서 조회
+            return recentCandleStore
+                    .findLatest(Interval.MINUTE, stockCode, limit)
+                    .orElseGet(
+                            () -> stocksMinuteRepository.findLatestMinutePrices(stockCode, limit));
         } catch (Exception e) {
             log.error("Failed to fetch latest minute prices for stock: {}", stockCode, e);
             throw StockChartException.dataFetchFailed(stockCode, e);
@@ -56,7 +63,12 @@ public class StocksMinuteChartService {
         validateTimestamp(beforeTimestamp, "과거 데이터 조회를 위한 기준 시점이 필요합니다.");
 
         try {
-            return stocksMinuteRepository.findMinutePricesBefore(stockCode, beforeTimestamp, limit);
+            return recentCandleStore
+                    .findBefore(Interval.MINUTE, stockCode, beforeTimestamp, limit)
+                    .orElseGet(
+                            () ->
+                                    stocksMinuteRepository.findMinutePricesBefore(
+                                            stockCode, beforeTimestamp, limit));
         } catch (Exception e) {
             log.error(
                     "Failed to fetch past minute prices for stock: {} before {}",
@@ -82,7 +94,12 @@ public class StocksMinuteChartService {
         validateTimestamp(afterTimestamp, "최신 데이터 조회를 위한 기준 시점이 필요합니다.");
 
         try {
-            return stocksMinuteRepository.findMinutePricesAfter(stockCode, afterTimestamp, limit);
+            return recentCandleStore
+                    .findAfter(Interval.MINUTE, stockCode, afterTimestamp, limit)
+                    .orElseGet(
+                            () ->
+                                    stocksMinuteRepository.findMinutePricesAfter(
+                                            stockCode, afterTimestamp, limit));
         } catch (Exception e) {
             log.error(
                     "Failed to fetch recent minute prices for stock: {} after {}",
@@ -1,5 +1,7 @@
 package io.gaboja9.mockstock.domain.stock.service;
 
+import io.gaboja9.mockstock.domain.stock.cache.ChartQueryCache;
+import io.gaboja9.mockstock.domain.stock.cache.ChartQueryCache.Timeframe;
 import io.gaboja9.mockstock.domain.stock.exception.NotFoundStockException;
 import io.gaboja9.mockstock.domain.stock.exception.StockChartException;
 import io.gaboja9.mockstock.domain.stock.measurement.DailyStockPrice;
@@ -18,10 +20,15 @@ public class StocksMonthlyChartService {
 
     private final StocksRepository stocksRepository;
     private final StocksMonthlyRepository stocksMonthlyRepository;
+    private final ChartQueryCache chartQueryCache;
 
     public List<DailyStockPrice> getLatestMonthlyPrices(String stockCode, int limit) {
         validateStockCode(stockCode);
-        return stocksMonthlyRepository.findLatestMonthlyPrices(stockCode, limit);
+        return chartQueryCache.getLatest(
+                Timeframe.MONTHLY,
+                stockCode,
+                limit,
+                () -> stocksMonthlyRepository.findLatestMonthlyPrices(stockCode, limit));
     }
 
     private void validateStockCode(String stockCode) {
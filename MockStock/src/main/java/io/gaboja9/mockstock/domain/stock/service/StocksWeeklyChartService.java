@@ -1,5 +1,7 @@
 package io.gaboja9.mockstock.domain.stock.service;
 
+import io.gaboja9.mockstock.domain.stock.cache.ChartQueryCache;
+import io.gaboja9.mockstock.domain.stock.cache.ChartQueryCache.Timeframe;
 import io.gaboja9.mockstock.domain.stock.exception.NotFoundStockException;
 import io.gaboja9.mockstock.domain.stock.exception.StockChartException;
 import io.gaboja9.mockstock.domain.stock.measurement.DailyStockPrice;
@@ -21,23 +23,15 @@ public class StocksWeeklyChartService {
 
     private final StocksWeeklyRepository stocksWeeklyRepository;
     private final StocksRepository stocksRepository;
+    private final ChartQueryCache chartQueryCache;
 
     public List<DailyStockPrice> getLatestWeeklyPrices(String stockCode, int limit) {
         validateStockCode(stockCode);
         validateLimit(limit);
 
         try {
-            // 1. 저장된 주봉 데이터를 먼저 조회합니다.
-            List<DailyStockPrice> weeklyData =
-                    stocksWeeklyRepository.findStoredWeeklyPrices(stockCode, limit);
-
-            // 2. 데이터가 없으면, 일봉에서 실시간으로 집계합니다.
-            if (weeklyData.isEmpty()) {
-                log.info("저장된 주봉 데이터 없음. 서비스에서 실시간 집계를 요청합니다. stockCode: {}", stockCode);
-                return stocksWeeklyRepository.aggregateFromDaily(stockCode, limit);
-            }
-            return weeklyData;
-
+            return chartQueryCache.getLatest(
+                    Timeframe.WEEKLY, stockCode, limit, () -> loadLatest(stockCode, limit));
         } catch (Exception e) {
             log.error("최신 주봉 데이터 조회 실패. stockCode: {}", stockCode, e);
             throw StockChartException.dataFetchFailed(stockCode, e);
@@ -51,19 +45,12 @@ public class StocksWeeklyChartService {
         validateTimestamp(beforeTimestamp, "과거 데이터 조회를 위한 기준 시점이 필요합니다.");
 
         try {
-            // 1. 저장된 과거 주봉 데이터를 먼저 조회합니다.
-            List<DailyStockPrice> weeklyData =
-                    stocksWeeklyRepository.findStoredWeeklyPricesBefore(
-                            stockCode, beforeTimestamp, limit);
-
-            // 2. 데이터가 없으면, 일봉에서 실시간으로 집계합니다.
-            if (weeklyData.isEmpty()) {
-                log.info("저장된 과거 주봉 데이터 없음. 서비스에서 실시간 집계를 요청합니다. stockCode: {}", stockCode);
-                return stocksWeeklyRepository.aggregateFromDailyBefore(
-                        stockCode, beforeTimestamp, limit);
-            }
-            return weeklyData;
-
+            return chartQueryCache.getBefore(
+                    Timeframe.WEEKLY,
+                    stockCode,
+                    beforeTimestamp,
+                    limit,
+                    () -> loadBefore(stockCode, beforeTimestamp, limit));
         } catch (Exception e) {
             log.error("과거 주봉 데이터 조회 실패. stockCode: {}, before: {}", stockCode, beforeTimestamp, e);
             throw StockChartException.dataFetchFailed(stockCode, e);
@@ -77,25 +64,60 @@ public class StocksWeeklyChartService {
         validateTimestamp(afterTimestamp, "최신 데이터 조회를 위한 기준 시점이 필요합니다.");
 
         try {
-            // 1. 저장된 최신 주봉 데이터를 먼저 조회합니다.
-            List<DailyStockPrice> weeklyData =
-                    stocksWeeklyRepository.findStoredWeeklyPricesAfter(
-                            stockCode, afterTimestamp, limit);
-
-            // 2. 데이터가 없으면, 일봉에서 실시간으로 집계합니다.
-            if (weeklyData.isEmpty()) {
-                log.info("저장된 최신 주봉 데이터 없음. 서비스에서 실시간 집계를 요청합니다. stockCode: {}", stockCode);
-                return stocksWeeklyRepository.aggregateFromDailyAfter(
-                        stockCode, afterTimestamp, limit);
-            }
-            return weeklyData;
-
+            return chartQueryCache.getAfter(
+                    Timeframe.WEEKLY,
+                    stockCode,
+                    afterTimestamp,
+                    limit,
+                    () -> loadAfter(stockCode, afterTimestamp, limit));
         } catch (Exception e) {
             log.error("최신 주봉 데이터 조회 실패. stockCode: {}, after: {}", stockCode, afterTimestamp, e);
             throw StockChartException.dataFetchFailed(stockCode, e);
         }
     }
 
+    private List<DailyStockPrice> loadLatest(String stockCode, int limit) {
+        // 1. 저장된 주봉 데이터를 먼저 조회합니다.
+        List<DailyStockPrice> weeklyData =
+                stocksWeeklyRepository.findStoredWeeklyPrices(stockCode, limit);
+
+        // 2. 데이터가 없으면, 일봉에서 실시간으로 집계합니다.
+        if (weeklyData.isEmpty()) {
+            log.info("저장된 주봉 데이터 없음. 서비스에서 실시간 집계를 요청합니다. stockCode: {}", stockCode);
+            return stocksWeeklyRepository.aggregateFromDaily(stockCode, limit);
+        }
+        return weeklyData;
+    }
+
+    private List<DailyStockPrice> loadBefore(String stockCode, Instant beforeTimestamp, int limit) {
+        // 1. 저장된 과거 주봉 데이터를 먼저 조회합니다.
+        List<DailyStockPrice> weeklyData =
+                stocksWeeklyRepository.findStoredWeeklyPricesBefore(
+                        stockCode, beforeTimestamp, limit);
+
+        // 2. 데이터가 없으면, 일봉에서 실시간으로 집계합니다.
+        if (weeklyData.isEmpty()) {
+            log.info("저장된 과거 주봉 데이터 없음. 서비스에서 실시간 집계를 요청합니다. stockCode: {}", stockCode);
+            return stocksWeeklyRepository.aggregateFromDailyBefore(
+                    stockCode, beforeTimestamp, limit);
+        }
+        return weeklyData;
+    }
+
+    private List<DailyStockPrice> loadAfter(String stockCode, Instant afterTimestamp, int limit) {
+        // 1. 저장된 최신 주봉 데이터를 먼저 조회합니다.
+        List<DailyStockPrice> weeklyData =
+                stocksWeeklyRepository.findStoredWeeklyPricesAfter(
+                        stockCode, afterTimestamp, limit);
+
+        // 2. 데이터가 없으면, 일봉에서 실시간으로 집계합니다.
+        if (weeklyData.isEmpty()) {
+            log.info("저장된 최신 주봉 데이터 없음. 서비스에서 실시간 집계를 요청합니다. stockCode: {}", stockCode);
+            return stocksWeeklyRepository.aggregateFromDailyAfter(stockCode, afterTimestamp, limit);
+        }
+        return weeklyData;
+    }
+
     private void validateStockCode(String stockCode) {
         if (stockCode == null || stockCode.trim().isEmpty()) {
             throw StockChartException.invalidStockCode(stockCode);
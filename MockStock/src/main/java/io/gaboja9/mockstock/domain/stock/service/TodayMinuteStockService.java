@@ -131,42 +131,40 @@ public class TodayMinuteStockService {
         }
     }
 
+    /**
+     * 단일 종목의 당일 분봉을 저장하지 않고 읽어 온다. 한 번에 startTime(HHmmss) 이전 최대 30건을 돌려준다.
+     *
+     * @return 조회 실패 시 빈 목록
+     */
+    public List<MinuteStockPrice> fetchCurrentDayMinutePrices(
+            String marketCode, String stockCode, String startTime) {
+        String accessToken = hantuAuthService.getValidAccessToken();
+        if (accessToken == null) {
+            log.error("접근 토큰 발급 실패 - 분봉 조회 중단 (종목: {})", stockCode);
+            return List.of();
+        }
+
+        String responseBody =
+                getCurrentDayStockMinuteData(
+                        marketCode, stockCode, startTime, "N", "", accessToken);
+        if (responseBody == null) {
+            return List.of();
+        }
+
+        try {
+            return parseMinutePrices(responseBody, stockCode);
+        } catch (Exception e) {
+            log.error("{} 종목 분봉 데이터 파싱 중 에러 발생", stockCode, e);
+            return List.of();
+        }
+    }
+
     // 분봉 데이터 저장 로직
     private void saveMinuteStockDataToInflux(String responseBody, String stockCode) {
         try {
             log.info("API 응답 원본 (종목코드: {}): {}", stockCode, responseBody);
 
-            JsonNode rootNode = objectMapper.readTree(responseBody);
-            JsonNode output2 = rootNode.path("output2");
-
-            if (output2.isMissingNode() || !output2.isArray()) {
-                log.warn("{} 종목에 대한 분봉 데이터 없음. 응답: {}", stockCode, responseBody);
-                return;
-            }
-
-            List<MinuteStockPrice> pricePoints = new ArrayList<>();
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
-            ZoneId koreaZone = ZoneId.of("Asia/Seoul");
-
-            for (JsonNode node : output2) {
-                MinuteStockPrice point = new MinuteStockPrice();
-
-                String dateStr = node.path("stck_bsop_date").asText();
-                String timeStr = node.path("stck_cntg_hour").asText();
-                LocalDateTime dateTime = LocalDateTime.parse(dateStr + timeStr, formatter);
-
-                ZonedDateTime zonedDateTime = dateTime.atZone(koreaZone);
-                point.setTimestamp(zonedDateTime.toInstant());
-
-                point.setStockCode(stockCode);
-                point.setOpenPrice(Long.parseLong(node.path("stck_oprc").asText()));
-                point.setMaxPrice(Long.parseLong(node.path("stck_hgpr").asText()));
-                point.setMinPrice(Long.parseLong(node.path("stck_lwpr").asText()));
-                point.setClosePrice(Long.parseLong(node.path("stck_prpr").asText()));
-                point.setAccumTrans(Long.parseLong(node.path("cntg_vol").asText()));
-
-                pricePoints.add(point);
-            }
+            List<MinuteStockPrice> pricePoints = parseMinutePrices(responseBody, stockCode);
 
             if (!pricePoints.isEmpty()) {
                 try (WriteApi writeApi = minuteClient.getWriteApi()) {
@@ -178,4 +176,40 @@ public class TodayMinuteStockService {
             log.error("{} 종목 분봉 데이터 파싱 또는 InfluxDB 저장 중 에러 발생", stockCode, e);
         }
     }
+
+    private List<MinuteStockPrice> parseMinutePrices(String responseBody, String stockCode)
+            throws Exception {
+        JsonNode rootNode = objectMapper.readTree(responseBody);
+        JsonNode output2 = rootNode.path("output2");
+
+        if (output2.isMissingNode() || !output2.isArray()) {
+            log.warn("{} 종목에 대한 분봉 데이터 없음. 응답: {}", stockCode, responseBody);
+            return List.of();
+        }
+
+        List<MinuteStockPrice> pricePoints = new ArrayList<>();
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+        ZoneId koreaZone = ZoneId.of("Asia/Seoul");
+
+        for (JsonNode node : output2) {
+            MinuteStockPrice point = new MinuteStockPrice();
+
+            String dateStr = node.path("stck_bsop_date").asText();
+            String timeStr = node.path("stck_cntg_hour").asText();
+            LocalDateTime dateTime = LocalDateTime.parse(dateStr + timeStr, formatter);
+
+            ZonedDateTime zonedDateTime = dateTime.atZone(koreaZone);
+            point.setTimestamp(zonedDateTime.toInstant());
+
+            point.setStockCode(stockCode);
+            point.setOpenPrice(Long.parseLong(node.path("stck_oprc").asText()));
+            point.setMaxPrice(Long.parseLong(node.path("stck_hgpr").asText()));
+            point.setMinPrice(Long.parseLong(node.path("stck_lwpr").asText()));
+            point.setClosePrice(Long.parseLong(node.path("stck_prpr").asText()));
+            point.setAccumTrans(Long.parseLong(node.path("cntg_vol").asText()));
+
+            pricePoints.add(point);
+        }
+        return pricePoints;
+    }
 }
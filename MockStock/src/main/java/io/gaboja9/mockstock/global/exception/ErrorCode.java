@@ -71,6 +71,7 @@ public enum ErrorCode {
             HttpStatus.INTERNAL_SERVER_ERROR, "ORDER-004", "주문 처리 중 인터럽트가 발생했습니다."),
     NOT_FOUND_ORDER(HttpStatus.NOT_FOUND, "ORDER-005", "주문을 찾을 수 없습니다."),
     NOT_OPEN_KOREAN_MARKET(HttpStatus.BAD_REQUEST, "ORDER-006", "한국장이 닫혀있습니다."),
+    INVALID_STOP_ORDER(HttpStatus.BAD_REQUEST, "ORDER-007", "스톱 주문 조건이 올바르지 않습니다."),
 
     // 포트폴리오 관련 에러
     NOT_FOUND_PORTFOLIO(HttpStatus.NOT_FOUND, "PORTFOLIO-001", "보유한 주식이 없습니다."),
@@ -0,0 +1,294 @@
+package io.gaboja9.mockstock.global.influx;
+
+import com.influxdb.client.InfluxDBClient;
+import com.influxdb.client.domain.WritePrecision;
+import com.influxdb.client.write.Point;
+
+import io.gaboja9.mockstock.global.websocket.dto.StocksCandleDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 완성된 1분봉을 InfluxDB 에 모아서 쓰는 비동기 writer.
+ *
+ * <p>체결 처리 스레드는 {@link #enqueue} 로 큐에 넣기만 하고, 전용 writer 스레드가 배치 크기나 대기 시간이 차면 한 번에 쓴다. 쓰기 실패는 지수
+ * 백오프로 재시도하고, 그래도 실패하거나 큐가 가득 찬 분봉은 line protocol 로 로컬 파일에 남겨 두었다가 InfluxDB 가 복구되면 다시 쓴다.
+ */
+@Component
+@Slf4j
+public class MinuteCandleWriter {
+
+    static final String MEASUREMENT = "stock_minute";
+    private static final long MAX_BACKOFF_MS = 5_000;
+
+    private final InfluxDBClient minuteInfluxDBClient;
+    private final String minuteBucket;
+    private final String influxOrg;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final int maxRetries;
+    private final long retryBackoffMs;
+    private final Path spillFile;
+
+    private final BlockingQueue<Point> queue;
+    // 큐가 가득 찼을 때 잠시 담아두는 곳. 파일 기록은 writer 스레드가 한다.
+    private final ConcurrentLinkedQueue<Point> overflow = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger overflowSize = new AtomicInteger();
+
+    private final DistributionSummary batchSizeSummary;
+    private final Timer writeLatency;
+    private final Counter writeFailures;
+    private final Counter spilled;
+
+    private volatile boolean running = false;
+    private Thread writer;
+
+    public MinuteCandleWriter(
+            @Qualifier("minuteInfluxDBClient") InfluxDBClient minuteInfluxDBClient,
+            MeterRegistry meterRegistry,
+            @Value("${spring.influx.bucket.minute}") String minuteBucket,
+            @Value("${spring.influx.org}") String influxOrg,
+            @Value("${spring.influx.writer.batch-size:500}") int batchSize,
+            @Value("${spring.influx.writer.flush-interval-ms:1000}") long flushIntervalMs,
+            @Value("${spring.influx.writer.queue-capacity:20000}") int queueCapacity,
+            @Value("${spring.influx.writer.max-retries:3}") int maxRetries,
+            @Value("${spring.influx.writer.retry-backoff-ms:200}") long retryBackoffMs,
+            @Value("${spring.influx.writer.spill-dir:${java.io.tmpdir}/mockstock-influx-spill}")
+                    String spillDir) {
+        this.minuteInfluxDBClient = minuteInfluxDBClient;
+        this.minuteBucket = minuteBucket;
+        this.influxOrg = influxOrg;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.maxRetries = maxRetries;
+        this.retryBackoffMs = retryBackoffMs;
+        this.spillFile = Path.of(spillDir, MEASUREMENT + ".lp");
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        Gauge.builder("influx.candle.queue.depth", () -> queue.size() + overflowSize.get())
+                .description("InfluxDB 저장 대기 중인 분봉 수")
+                .register(meterRegistry);
+        this.batchSizeSummary =
+                DistributionSummary.builder("influx.candle.batch.size")
+                        .description("한 번에 저장한 분봉 수")
+                        .register(meterRegistry);
+        this.writeLatency =
+                Timer.builder("influx.candle.write.latency")
+                        .description("분봉 배치 저장 시간")
+                        .register(meterRegistry);
+        this.writeFailures = Counter.builder("influx.candle.write.failed").register(meterRegistry);
+        this.spilled =
+                Counter.builder("influx.candle.spilled")
+                        .description("로컬 파일로 넘긴 분봉 수")
+                        .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = Thread.ofPlatform().name("influx-candle-writer").daemon(true).start(this::run);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (writer == null) {
+            return;
+        }
+        writer.interrupt();
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** 분봉 저장 요청. 호출 스레드는 I/O 를 기다리지 않는다. */
+    public void enqueue(StocksCandleDto candle) {
+        Point point = toPoint(candle);
+        if (!queue.offer(point)) {
+            overflow.add(point);
+            overflowSize.incrementAndGet();
+        }
+    }
+
+    static Point toPoint(StocksCandleDto candle) {
+        return Point.measurement(MEASUREMENT)
+                .addTag("stockCode", candle.getStockCode())
+                .addField("openPrice", candle.getOpen())
+                .addField("maxPrice", candle.getHigh())
+                .addField("minPrice", candle.getLow())
+                .addField("closePrice", candle.getClose())
+                .addField("accumTrans", candle.getVolume())
+                .time(candle.getInstant(), WritePrecision.S);
+    }
+
+    private void run() {
+        List<Point> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                collect(batch);
+            } catch (InterruptedException e) {
+                // 종료 신호. 남은 분봉은 아래에서 모두 처리한다.
+                queue.drainTo(batch);
+            }
+
+            spillOverflow();
+            if (!batch.isEmpty()) {
+                writeWithRetry(List.copyOf(batch));
+                batch.clear();
+            } else if (Files.exists(spillFile)) {
+                replaySpill();
+            }
+        }
+        spillOverflow();
+    }
+
+    private void collect(List<Point> batch) throws InterruptedException {
+        Point first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                return;
+            }
+            Point next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void writeWithRetry(List<Point> batch) {
+        for (int attempt = 0; attempt <= maxRetries; attempt++) {
+            if (attempt > 0 && !backoff(attempt)) {
+                break;
+            }
+            try {
+                long start = System.nanoTime();
+                minuteInfluxDBClient
+                        .getWriteApiBlocking()
+                        .writePoints(minuteBucket, influxOrg, batch);
+                writeLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                batchSizeSummary.record(batch.size());
+
+                // 저장이 다시 되기 시작했으면 밀린 분봉도 이어서 쓴다
+                if (Files.exists(spillFile)) {
+                    replaySpill();
+                }
+                return;
+            } catch (Exception e) {
+                writeFailures.increment();
+                log.warn(
+                        "분봉 배치 저장 실패 ({}/{}). size={}",
+                        attempt + 1,
+                        maxRetries + 1,
+                        batch.size(),
+                        e);
+            }
+        }
+
+        spill(batch.stream().map(Point::toLineProtocol).toList());
+    }
+
+    private boolean backoff(int attempt) {
+        long delay = Math.min(MAX_BACKOFF_MS, retryBackoffMs << (attempt - 1));
+        try {
+            Thread.sleep(delay);
+            return true;
+        } catch (InterruptedException e) {
+            // 종료 중에는 더 기다리지 않고 파일로 넘긴다
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void spillOverflow() {
+        if (overflow.isEmpty()) {
+            return;
+        }
+        List<String> lines = new ArrayList<>();
+        Point point;
+        while ((point = overflow.poll()) != null) {
+            overflowSize.decrementAndGet();
+            lines.add(point.toLineProtocol());
+        }
+        spill(lines);
+    }
+
+    private void spill(List<String> lines) {
+        if (lines.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(spillFile.getParent());
+            Files.write(
+                    spillFile,
+                    lines,
+                    StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+            spilled.increment(lines.size());
+            log.warn("분봉 {}건을 로컬 파일로 보관: {}", lines.size(), spillFile);
+        } catch (IOException e) {
+            log.error("분봉 로컬 보관 실패. {}건 유실", lines.size(), e);
+        }
+    }
+
+    private void replaySpill() {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(spillFile, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log.error("보관 파일 읽기 실패: {}", spillFile, e);
+            return;
+        }
+
+        try {
+            for (int from = 0; from < lines.size(); from += batchSize) {
+                List<String> chunk = lines.subList(from, Math.min(lines.size(), from + batchSize));
+                minuteInfluxDBClient
+                        .getWriteApiBlocking()
+                        .writeRecords(minuteBucket, influxOrg, WritePrecision.S, chunk);
+            }
+            Files.deleteIfExists(spillFile);
+            log.info("보관 중이던 분봉 {}건 저장 완료", lines.size());
+        } catch (Exception e) {
+            // 다음 주기에 파일 전체를 다시 쓴다 (같은 시점/태그는 덮어쓰기라 중복되지 않는다)
+            writeFailures.increment();
+            log.warn("보관 분봉 재저장 실패. 다음 주기에 재시도", e);
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package io.gaboja9.mockstock.global.websocket;
+
+import io.gaboja9.mockstock.domain.orders.service.LimitOrderBookService;
+import io.gaboja9.mockstock.domain.orders.service.StopOrderBookService;
+import io.gaboja9.mockstock.domain.portfolios.repository.PortfoliosRepository;
+import io.gaboja9.mockstock.global.websocket.broadcast.TopicSubscriptionTracker;
+import io.gaboja9.mockstock.global.websocket.cluster.ClusterDemandExchange;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 한투 실시간 체결가 구독을 수요에 맞춰 유지한다.
+ *
+ * <p>업스트림 세션 하나에 등록할 수 있는 종목 수가 정해져 있으므로 아래 순서로 한도까지만 등록한다.
+ *
+ * <ol>
+ *   <li>지정가 대기 주문이 있는 종목 (체결 판단에 시세가 필요)
+ *   <li>STOMP {@code /topic/stock/{code}} 구독자가 있는 종목 (구독자 많은 순)
+ *   <li>누군가 보유 중인 종목
+ *   <li>구독자가 떠난 지 유예 시간이 안 된 종목 (페이지 이동마다 해제/재등록하지 않도록)
+ * </ol>
+ *
+ * <p>구독자 수는 {@link TopicSubscriptionTracker} 가 SUBSCRIBE/UNSUBSCRIBE/DISCONNECT 로 센 값을 쓴다. 주기마다 원하는
+ * 종목 집합을 다시 계산해서 빠진 종목을 먼저 해제하고 새 종목을 등록한다. 클러스터 모드에서는 {@link ClusterDemandExchange} 로 모은 다른 노드의
+ * 구독자 수와 대기 주문 종목도 합쳐서 계산한다.
+ */
+@Component
+@Slf4j
+public class HantuSubscriptionManager {
+
+    static final String TOPIC_PREFIX = "/topic/stock/";
+    private static final String MARKET_CODE = "H1";
+    static final int MAX_UNSUBSCRIBE_ATTEMPTS = 3;
+
+    private final TopicSubscriptionTracker subscriptionTracker;
+    private final LimitOrderBookService limitOrderBookService;
+    private final StopOrderBookService stopOrderBookService;
+    private final PortfoliosRepository portfoliosRepository;
+    private final HantuWebSocketHandler webSocketHandler;
+    private final HantuWebSocketSessionManager hantuSessionManager;
+    private final ClusterDemandExchange clusterDemandExchange;
+    private final int maxSymbols;
+    private final long idleGraceMs;
+
+    // 업스트림에 등록된 종목 -> 마지막으로 수요가 있었던 시각 (this 로 보호)
+    private final Map<String, Long> upstream = new HashMap<>();
+    // 해제에 실패해 다시 보낼 종목 -> 실패 횟수 (this 로 보호)
+    private final Map<String, Integer> unsubscribeFailures = new HashMap<>();
+    // 연결이 바뀔 때마다 올려서, 이전 연결에서 보낸 결과가 새 연결 상태에 섞이지 않게 한다 (this 로 보호)
+    private long connectionEpoch;
+    // 업스트림 전송은 한 주기씩만 한다
+    private final ReentrantLock reconcileLock = new ReentrantLock();
+    private volatile Set<String> heldStockCodes = Set.of();
+    // 한도 때문에 등록하지 못한 수요 종목 수
+    private volatile int cappedCount;
+
+    public HantuSubscriptionManager(
+            TopicSubscriptionTracker subscriptionTracker,
+            LimitOrderBookService limitOrderBookService,
+            StopOrderBookService stopOrderBookService,
+            PortfoliosRepository portfoliosRepository,
+            HantuWebSocketHandler webSocketHandler,
+            HantuWebSocketSessionManager hantuSessionManager,
+            ClusterDemandExchange clusterDemandExchange,
+            MeterRegistry meterRegistry,
+            @Value("${hantu-openapi.subscription.max-symbols:40}") int maxSymbols,
+            @Value("${hantu-openapi.subscription.idle-grace-ms:30000}") long idleGraceMs) {
+        this.subscriptionTracker = subscriptionTracker;
+        this.limitOrderBookService = limitOrderBookService;
+        this.stopOrderBookService = stopOrderBookService;
+        this.portfoliosRepository = portfoliosRepository;
+        this.webSocketHandler = webSocketHandler;
+        this.hantuSessionManager = hantuSessionManager;
+        this.clusterDemandExchange = clusterDemandExchange;
+        this.maxSymbols = maxSymbols;
+        this.idleGraceMs = idleGraceMs;
+
+        Gauge.builder("hantu.subscription.upstream", this, HantuSubscriptionManager::upstreamCount)
+                .description("한투에 등록된 실시간 체결가 종목 수")
+                .register(meterRegistry);
+        Gauge.builder("hantu.subscription.capped", () -> cappedCount)
+                .description("등록 한도 때문에 구독하지 못한 수요 종목 수")
+                .register(meterRegistry);
+    }
+
+    /** 업스트림 연결 직후 호출. 이전 연결의 등록 상태는 버리고 처음부터 다시 등록한다. */
+    public void onUpstreamConnected() {
+        resetUpstream();
+        reconcile(System.currentTimeMillis());
+    }
+
+    public void onUpstreamDisconnected() {
+        resetUpstream();
+    }
+
+    private synchronized void resetUpstream() {
+        upstream.clear();
+        unsubscribeFailures.clear();
+        connectionEpoch++;
+    }
+
+    @Scheduled(fixedDelayString = "${hantu-openapi.subscription.reconcile-interval-ms:500}")
+    public void reconcile() {
+        reconcile(System.currentTimeMillis());
+    }
+
+    /** 보유 종목은 DB 를 봐야 하므로 따로 긴 주기로 갱신한다 */
+    @Scheduled(fixedDelayString = "${hantu-openapi.subscription.holdings-refresh-ms:60000}")
+    public void refreshHeldStockCodes() {
+        try {
+            heldStockCodes = Set.copyOf(portfoliosRepository.findHeldStockCodes());
+        } catch (Exception e) {
+            log.warn("보유 종목 조회 실패, 이전 목록 유지: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 등록/해제할 종목은 모니터 안에서 정하고 업스트림 전송은 모니터 밖에서 한다. 전송 중에도 게이지와 {@link #isSubscribed} 는 막히지 않는다. 앞
+     * 주기가 아직 보내는 중이면 이번 주기는 건너뛴다 (다음 주기에 다시 맞춘다).
+     */
+    void reconcile(long now) {
+        if (!hantuSessionManager.isConnectionActive() || !reconcileLock.tryLock()) {
+            return;
+        }
+        try {
+            Plan plan = plan(now, clusterDemandExchange.remoteDemand());
+
+            List<String> unsubscribeFailed = new ArrayList<>();
+            for (String stockCode : plan.unsubscribe()) {
+                if (webSocketHandler.unsubscribeStockPrice(stockCode, MARKET_CODE)) {
+                    log.debug("실시간 체결가 해제: {}", stockCode);
+                } else {
+                    unsubscribeFailed.add(stockCode);
+                }
+            }
+            List<String> subscribed = new ArrayList<>();
+            for (String stockCode : plan.subscribe()) {
+                // 실패한 종목은 다음 주기에 다시 시도한다
+                if (webSocketHandler.subscribeStockPrice(stockCode, MARKET_CODE)) {
+                    subscribed.add(stockCode);
+                    log.debug("실시간 체결가 등록: {}", stockCode);
+                }
+            }
+            apply(plan, unsubscribeFailed, subscribed, now);
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    private record Plan(long epoch, List<String> unsubscribe, List<String> subscribe) {}
+
+    private synchronized Plan plan(long now, ClusterDemandExchange.Demand remote) {
+        Set<String> desired = desiredStockCodes(now, remote);
+
+        // 해제할 종목은 보내기 전에 한도에서 뺀다. 한도 안에서 새 종목을 등록하려면 해제를 먼저 보낸다
+        List<String> unsubscribe = new ArrayList<>();
+        for (String stockCode : upstream.keySet()) {
+            if (!desired.contains(stockCode)) {
+                unsubscribe.add(stockCode);
+            }
+        }
+        int remaining = upstream.size() - unsubscribe.size();
+        // 해제에 실패했던 종목은 다시 필요해지지 않았으면 재시도한다
+        unsubscribeFailures.keySet().removeIf(desired::contains);
+        unsubscribe.addAll(unsubscribeFailures.keySet());
+
+        List<String> subscribe = new ArrayList<>();
+        for (String stockCode : desired) {
+            if (remaining + subscribe.size() >= maxSymbols) {
+                break;
+            }
+            if (!upstream.containsKey(stockCode)) {
+                subscribe.add(stockCode);
+            }
+        }
+        return new Plan(connectionEpoch, unsubscribe, subscribe);
+    }
+
+    private synchronized void apply(
+            Plan plan, List<String> unsubscribeFailed, List<String> subscribed, long now) {
+        // 보내는 사이에 연결이 바뀌었으면 새 연결 기준으로 처음부터 다시 등록한다
+        if (plan.epoch() != connectionEpoch) {
+            return;
+        }
+        // 해제에 실패한 종목도 등록 목록에서는 뺀다. 한도를 차지하지 않게 하고, 해제는 정해진 횟수만 다시 보낸다
+        for (String stockCode : plan.unsubscribe()) {
+            upstream.remove(stockCode);
+            int attempts = unsubscribeFailures.getOrDefault(stockCode, 0) + 1;
+            if (!unsubscribeFailed.contains(stockCode)) {
+                unsubscribeFailures.remove(stockCode);
+            } else if (attempts < MAX_UNSUBSCRIBE_ATTEMPTS) {
+                unsubscribeFailures.put(stockCode, attempts);
+                log.warn(
+                        "실시간 체결가 해제 실패 ({}/{}), 다음 주기에 다시 시도: {}",
+                        attempts,
+                        MAX_UNSUBSCRIBE_ATTEMPTS,
+                        stockCode);
+            } else {
+                unsubscribeFailures.remove(stockCode);
+                log.warn("실시간 체결가 해제 {}번 실패, 재연결 때까지 포기: {}", attempts, stockCode);
+            }
+        }
+        for (String stockCode : subscribed) {
+            upstream.put(stockCode, now);
+        }
+    }
+
+    // 우선순위 순서로 한도만큼 고른다. 수요가 있는 등록 종목은 마지막 수요 시각을 갱신한다
+    private Set<String> desiredStockCodes(long now, ClusterDemandExchange.Demand remote) {
+        Set<String> resting = new TreeSet<>(limitOrderBookService.restingStockCodes());
+        resting.addAll(stopOrderBookService.armedStockCodes());
+        resting.addAll(remote.restingStockCodes());
+
+        Set<String> demanded = new LinkedHashSet<>(resting);
+        demanded.addAll(watchedStockCodes(remote.watchCounts()));
+        demanded.addAll(new TreeSet<>(heldStockCodes));
+
+        Set<String> desired = new LinkedHashSet<>();
+        int capped = 0;
+        for (String stockCode : demanded) {
+            if (upstream.containsKey(stockCode)) {
+                upstream.put(stockCode, now);
+            }
+            if (desired.size() < maxSymbols) {
+                desired.add(stockCode);
+            } else {
+                capped++;
+            }
+        }
+        if (capped > 0 && cappedCount == 0) {
+            log.warn("실시간 체결가 등록 한도({}) 초과. 수요 종목 {}개는 구독하지 않음", maxSymbols, capped);
+        }
+        cappedCount = capped;
+
+        // 남는 자리는 최근까지 보던 종목을 유예 시간 동안 유지하는 데 쓴다
+        upstream.entrySet().stream()
+                .filter(e -> !desired.contains(e.getKey()))
+                .filter(e -> now - e.getValue() < idleGraceMs)
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(Math.max(0, maxSymbols - desired.size()))
+                .forEach(e -> desired.add(e.getKey()));
+        return desired;
+    }
+
+    // 구독자 많은 순. 같으면 이미 등록된 종목을 앞에 두어 한도 경계에서 등록/해제가 반복되지 않게 한다
+    private List<String> watchedStockCodes(Map<String, Integer> remoteCounts) {
+        Map<String, Integer> counts = new HashMap<>();
+        remoteCounts.forEach((code, count) -> counts.merge(code, count, Integer::sum));
+        for (String destination : subscriptionTracker.destinations()) {
+            if (destination.startsWith(TOPIC_PREFIX)) {
+                int count = subscriptionTracker.subscriberCount(destination);
+                if (count > 0) {
+                    counts.merge(destination.substring(TOPIC_PREFIX.length()), count, Integer::sum);
+                }
+            }
+        }
+
+        List<String> watched = new ArrayList<>(counts.keySet());
+        watched.sort(
+                Comparator.comparing((String code) -> counts.get(code))
+                        .reversed()
+                        .thenComparing(code -> !upstream.containsKey(code))
+                        .thenComparing(Comparator.naturalOrder()));
+        return watched;
+    }
+
+    public synchronized int upstreamCount() {
+        return upstream.size();
+    }
+
+    public synchronized Set<String> subscribedStockCodes() {
+        return Set.copyOf(upstream.keySet());
+    }
+
+    public synchronized boolean isSubscribed(String stockCode) {
+        return upstream.containsKey(stockCode);
+    }
+}
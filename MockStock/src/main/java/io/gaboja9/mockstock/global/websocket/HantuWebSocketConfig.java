@@ -1,7 +1,10 @@
 package io.gaboja9.mockstock.global.websocket;
 
+import io.gaboja9.mockstock.global.websocket.cluster.MarketDataLeadership;
+
 import jakarta.websocket.ContainerProvider;
 import jakarta.websocket.WebSocketContainer;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.ApplicationListener;
@@ -20,13 +23,22 @@ public class HantuWebSocketConfig implements WebSocketConfigurer {
     @Value("${hantu-openapi.websocket-uri:ws://ops.koreainvestment.com:31000}")
     private String websocketUri;
 
+    @Value("${hantu-openapi.reconnect.check-interval-ms:1000}")
+    private long reconnectCheckIntervalMs;
+
+    @Value("${hantu-openapi.reconnect.backoff-base-ms:1000}")
+    private long reconnectBackoffBaseMs;
+
+    @Value("${hantu-openapi.reconnect.backoff-max-ms:60000}")
+    private long reconnectBackoffMaxMs;
+
     @Override
     public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {}
 
     @Bean
     public WebSocketClient webSocketClient() {
         WebSocketContainer container = ContainerProvider.getWebSocketContainer();
-        container.setDefaultMaxTextMessageBufferSize(2 * 1024 * 1024);   // 2MB
+        container.setDefaultMaxTextMessageBufferSize(2 * 1024 * 1024); // 2MB
         container.setDefaultMaxBinaryMessageBufferSize(2 * 1024 * 1024);
 
         StandardWebSocketClient client = new StandardWebSocketClient(container);
@@ -42,16 +54,23 @@ public class HantuWebSocketConfig implements WebSocketConfigurer {
 
         HantuWebSocketConnectionManager connectionManager =
                 new HantuWebSocketConnectionManager(
-                        webSocketClient, handler, websocketUri, webSocketEventService);
+                        webSocketClient,
+                        handler,
+                        websocketUri,
+                        webSocketEventService,
+                        reconnectCheckIntervalMs,
+                        reconnectBackoffBaseMs,
+                        reconnectBackoffMaxMs);
         // 자동 시작을 비활성화하고, ApplicationReadyEvent를 통해 명시적으로 시작합니다.
         connectionManager.setAutoStartup(false);
         return connectionManager;
     }
 
     // 스프링 부트 애플리케이션이 완전히 준비된 후에 웹소켓 연결을 시작합니다. 이 방법을 사용하면 모든 Bean이 초기화된 후에 연결을 시도하므로 더 안정적입니다.
+    // 클러스터 모드에서는 리더로 뽑힌 노드만 연결합니다.
     @Bean
     public ApplicationListener<ApplicationReadyEvent> webSocketConnectionStarter(
-            HantuWebSocketConnectionManager connectionManager) {
-        return event -> connectionManager.startConnection();
+            MarketDataLeadership leadership) {
+        return event -> leadership.start();
     }
 }
@@ -2,33 +2,80 @@ package io.gaboja9.mockstock.global.websocket;
 
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.client.WebSocketClient;
 import org.springframework.web.socket.client.WebSocketConnectionManager;
 
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * 한투 실시간 웹소켓 연결 유지.
+ *
+ * <p>점검 주기마다 세션을 확인하고, 끊겨 있으면 지수 백오프(지터 포함) 간격으로 다시 연결한다. 첫 시도는 바로 하고, 실패가 이어질수록 대기 시간을 최대값까지 두 배씩
+ * 늘린다. 여러 인스턴스가 같은 시각에 몰려 재접속하지 않도록 대기 시간의 절반은 무작위로 정한다. 연결되면 시도 횟수를 초기화한다.
+ *
+ * <p>핸드셰이크는 첫 대기 시간보다 오래 걸릴 수 있다. 이전 연결 시도가 아직 끝나지 않았으면 다시 시도하지 않는다. 끝나기 전에 stop/start 하면 늦게 열린 세션을
+ * 놓친 채 연결을 하나 더 만들게 된다.
+ */
 @Slf4j
 public class HantuWebSocketConnectionManager extends WebSocketConnectionManager {
 
+    private final ConnectAttempts connectAttempts;
     private final ScheduledExecutorService scheduler;
     private ScheduledFuture<?> heartbeatTask;
     private final HantuWebSocketSessionManager sessionManager;
     private final HantuWebSocketHandler webSocketHandler;
+    private final long checkIntervalMs;
+    private final long backoffBaseMs;
+    private final long backoffMaxMs;
 
     private volatile boolean running = false;
+    // 연속 재연결 시도 횟수와 다음 시도 가능 시각 (점검 스레드에서만 쓴다)
+    private int attempts;
+    private long nextAttemptAt;
 
     public HantuWebSocketConnectionManager(
             WebSocketClient client,
             HantuWebSocketHandler webSocketHandler,
             String uriTemplate,
-            HantuWebSocketSessionManager sessionManager) {
-        super(client, webSocketHandler, uriTemplate);
+            HantuWebSocketSessionManager sessionManager,
+            long checkIntervalMs,
+            long backoffBaseMs,
+            long backoffMaxMs) {
+        this(
+                new ConnectAttempts(client),
+                webSocketHandler,
+                uriTemplate,
+                sessionManager,
+                checkIntervalMs,
+                backoffBaseMs,
+                backoffMaxMs);
+    }
+
+    private HantuWebSocketConnectionManager(
+            ConnectAttempts connectAttempts,
+            HantuWebSocketHandler webSocketHandler,
+            String uriTemplate,
+            HantuWebSocketSessionManager sessionManager,
+            long checkIntervalMs,
+            long backoffBaseMs,
+            long backoffMaxMs) {
+        super(connectAttempts, webSocketHandler, uriTemplate);
+        this.connectAttempts = connectAttempts;
         this.scheduler = new ScheduledThreadPoolExecutor(1);
         this.sessionManager = sessionManager;
         this.webSocketHandler = webSocketHandler;
+        this.checkIntervalMs = checkIntervalMs;
+        this.backoffBaseMs = backoffBaseMs;
+        this.backoffMaxMs = backoffMaxMs;
     }
 
     public void startConnection() {
@@ -49,22 +96,10 @@ public class HantuWebSocketConnectionManager extends WebSocketConnectionManager
         stopHeartbeat();
         heartbeatTask =
                 scheduler.scheduleAtFixedRate(
-                        () -> {
-                            //  연결 상태 체크하여 재연결을 시도합니다.
-                            if (this.running
-                                    && (sessionManager.getSession() == null
-                                            || !sessionManager.getSession().isOpen())) {
-                                //                                log.warn(
-                                //                                        "Heartbeat detected
-                                // inactive session. Attempting to"
-                                //                                                + "
-                                // reconnect...");
-                                reconnect();
-                            }
-                        },
-                        30,
-                        30,
-                        TimeUnit.SECONDS);
+                        () -> checkConnection(System.currentTimeMillis()),
+                        checkIntervalMs,
+                        checkIntervalMs,
+                        TimeUnit.MILLISECONDS);
         //        log.info("WebSocket heartbeat started");
     }
 
@@ -75,15 +110,101 @@ public class HantuWebSocketConnectionManager extends WebSocketConnectionManager
         }
     }
 
-    private void reconnect() {
-        //        log.info("Attempting to reconnect WebSocket");
-        super.stop();
-        try {
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+    //  연결 상태 체크하여 재연결을 시도합니다.
+    void checkConnection(long now) {
+        if (!running) {
+            return;
+        }
+        if (isSessionOpen()) {
+            if (attempts > 0) {
+                log.info("한투 웹소켓 재연결 성공 ({}회 시도)", attempts);
+            }
+            attempts = 0;
+            nextAttemptAt = 0;
+            return;
+        }
+        if (now < nextAttemptAt || isConnectPending()) {
             return;
         }
+
+        attempts++;
+        long delay =
+                backoffDelayMs(
+                        attempts,
+                        backoffBaseMs,
+                        backoffMaxMs,
+                        ThreadLocalRandom.current().nextDouble());
+        nextAttemptAt = now + delay;
+        log.warn("한투 웹소켓 끊김. 재연결 시도 {}회차 (다음 시도까지 {}ms)", attempts, delay);
+        try {
+            reconnect();
+        } catch (Exception e) {
+            log.warn("한투 웹소켓 재연결 요청 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * attempt 번째 실패 뒤 대기 시간. base * 2^(attempt-1) 를 최대값으로 자른 뒤 절반은 고정, 절반은 무작위로 정한다.
+     *
+     * @param random [0, 1) 난수
+     */
+    static long backoffDelayMs(int attempt, long baseMs, long maxMs, double random) {
+        int shift = Math.min(Math.max(attempt - 1, 0), 30);
+        long exponential = Math.min(maxMs, baseMs << shift);
+        long half = exponential / 2;
+        return half + (long) (random * (exponential - half));
+    }
+
+    int attempts() {
+        return attempts;
+    }
+
+    boolean isConnectPending() {
+        return connectAttempts.isPending();
+    }
+
+    boolean isSessionOpen() {
+        WebSocketSession session = sessionManager.getSession();
+        return session != null && session.isOpen();
+    }
+
+    void reconnect() {
+        //        log.info("Attempting to reconnect WebSocket");
+        super.stop();
         super.start();
     }
+
+    // 실제 클라이언트에 연결을 맡기고 마지막 연결 시도가 끝났는지만 기억한다
+    private static final class ConnectAttempts implements WebSocketClient {
+
+        private final WebSocketClient delegate;
+        private volatile CompletableFuture<WebSocketSession> last;
+
+        private ConnectAttempts(WebSocketClient delegate) {
+            this.delegate = delegate;
+        }
+
+        boolean isPending() {
+            CompletableFuture<WebSocketSession> attempt = last;
+            return attempt != null && !attempt.isDone();
+        }
+
+        @Override
+        public CompletableFuture<WebSocketSession> execute(
+                WebSocketHandler webSocketHandler, String uriTemplate, Object... uriVariables) {
+            return track(delegate.execute(webSocketHandler, uriTemplate, uriVariables));
+        }
+
+        @Override
+        public CompletableFuture<WebSocketSession> execute(
+                WebSocketHandler webSocketHandler, WebSocketHttpHeaders headers, URI uri) {
+            return track(delegate.execute(webSocketHandler, headers, uri));
+        }
+
+        private CompletableFuture<WebSocketSession> track(
+                CompletableFuture<WebSocketSession> attempt) {
+            last = attempt;
+            return attempt;
+        }
+    }
 }
@@ -3,13 +3,29 @@ package io.gaboja9.mockstock.global.websocket;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.gaboja9.mockstock.domain.orders.service.LimitOrdersProcessor;
+import io.gaboja9.mockstock.domain.orders.service.StopOrdersProcessor;
+import io.gaboja9.mockstock.global.websocket.cluster.TickFanout;
+import io.gaboja9.mockstock.global.websocket.cluster.TickMessageCodec;
+import io.gaboja9.mockstock.global.websocket.dispatch.ShardedTickDispatcher;
 import io.gaboja9.mockstock.global.websocket.dto.StockPriceDto;
+import io.gaboja9.mockstock.global.websocket.feed.FrameRecorder;
+import io.gaboja9.mockstock.global.websocket.journal.TickJournal;
+import io.gaboja9.mockstock.global.websocket.mapper.HantuTickParser;
+import io.gaboja9.mockstock.global.websocket.mapper.HantuTickRecord;
 import io.gaboja9.mockstock.global.websocket.mapper.StockPriceMapper;
+import io.gaboja9.mockstock.global.websocket.price.LatestPriceRegistry;
+import io.gaboja9.mockstock.global.websocket.price.PriceView;
 import io.gaboja9.mockstock.global.websocket.service.CandleMakerService;
+import io.gaboja9.mockstock.global.websocket.service.MinuteCandleBackfiller;
+import io.gaboja9.mockstock.global.websocket.service.StockPriceConflator;
+
+import jakarta.annotation.PostConstruct;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -17,7 +33,6 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.socket.CloseStatus;
@@ -28,8 +43,7 @@ import org.springframework.web.socket.handler.TextWebSocketHandler;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
 @Component
 @Slf4j
@@ -45,17 +59,40 @@ public class HantuWebSocketHandler extends TextWebSocketHandler {
     @Value("${hantu-openapi.websocket-domain:https://openapi.koreainvestment.com:9443}")
     private String websocketDomain;
 
+    // 접속키 유효기간은 24시간이다. 만료 직전에 쓰지 않도록 조금 일찍 새로 받는다
+    @Value("${hantu-openapi.approval-key-ttl-ms:82800000}")
+    private long approvalKeyTtlMs;
+
     private final ObjectMapper objectMapper;
     private final RestTemplate restTemplate;
     private final HantuWebSocketSessionManager eventService;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final StockPriceConflator stockPriceConflator;
     private final CandleMakerService candleMakerService;
+    private final ShardedTickDispatcher tickDispatcher;
+    private final LatestPriceRegistry latestPriceRegistry;
+    private final MinuteCandleBackfiller minuteCandleBackfiller;
+    private final TickFanout tickFanout;
+    private final FrameRecorder frameRecorder;
+    private final TickJournal tickJournal;
+    // 지정가 체결이 이 핸들러의 시세를 참조하므로 지연 주입으로 순환 참조를 피한다.
+    private final ObjectProvider<LimitOrdersProcessor> limitOrdersProcessorProvider;
+    private final ObjectProvider<StopOrdersProcessor> stopOrdersProcessorProvider;
+    // 구독 관리자가 이 핸들러로 등록/해제를 보내므로 마찬가지로 지연 주입한다.
+    private final ObjectProvider<HantuSubscriptionManager> subscriptionManagerProvider;
 
     private WebSocketSession session;
-    private String approvalKey;
-    private final ExecutorService executorService = Executors.newFixedThreadPool(5);
+    private volatile String approvalKey;
+    private volatile long approvalKeyIssuedAt;
     private final Map<String, String> subscribedStocks = new ConcurrentHashMap<>();
-    private final Map<String, StockPriceDto> latestPrices = new ConcurrentHashMap<>();
+    // 파서는 레코드 객체를 재사용하므로 처리 스레드마다 하나씩 둔다
+    private final ThreadLocal<HantuTickParser> tickParser =
+            ThreadLocal.withInitial(HantuTickParser::new);
+    private final Consumer<HantuTickRecord> tickHandler = this::processTick;
+
+    @PostConstruct
+    public void startTickDispatcher() {
+        tickDispatcher.start(this::processMessage);
+    }
 
     // 웹소켓 세션이 열렸을 때 호출됨
 
@@ -67,34 +104,11 @@ public class HantuWebSocketHandler extends TextWebSocketHandler {
         // 접속 승인키 얻기
         approvalKey = getApprovalKey();
 
-        // 초기 종목 구독
-        subscribeInitialStocks();
-    }
-
-    /** 애플리케이션 시작 시 구독할 초기 종목들을 설정합니다. */
-    private void subscribeInitialStocks() {
-        //        log.info("Subscribing to initial stocks...");
-        // 삼성전자, 카카오, 네이버를 순서대로 구독 요청
-        subscribeStockPrice("005930", "H1"); // 삼성전자
-        subscribeStockPrice("247540", "H1"); // 에코프로비엠
-        subscribeStockPrice("005380", "H1"); // 현대차
-        subscribeStockPrice("035420", "H1"); // NAVER
-        subscribeStockPrice("035720", "H1"); // 카카오
-        subscribeStockPrice("259960", "H1"); // 크래프톤
-        subscribeStockPrice("068270", "H1"); // 셀트리온
-        subscribeStockPrice("128940", "H1"); // 한미약품
-        subscribeStockPrice("096770", "H1"); // SK이노베이션
-        subscribeStockPrice("051910", "H1"); // LG화학
-        subscribeStockPrice("005490", "H1"); // POSCO홀딩스
-        subscribeStockPrice("017670", "H1"); // SK텔레콤
-        subscribeStockPrice("105560", "H1"); // KB금융
-        subscribeStockPrice("323410", "H1"); // 카카오뱅크
-        subscribeStockPrice("139480", "H1"); // 이마트
-        subscribeStockPrice("000120", "H1"); // CJ대한통운
-        subscribeStockPrice("003490", "H1"); // 대한항공
-        subscribeStockPrice("009540", "H1"); // 한국조선해양
-        subscribeStockPrice("375500", "H1"); // DL이앤씨
-        subscribeStockPrice("006400", "H1"); // 삼성SDI
+        // 지금 수요가 있는 종목부터 다시 구독하고, 끊겨 있던 동안 빠진 분봉을 채운다
+        HantuSubscriptionManager subscriptionManager = subscriptionManagerProvider.getObject();
+        subscriptionManager.onUpstreamConnected();
+        minuteCandleBackfiller.onReconnected(
+                System.currentTimeMillis(), subscriptionManager.subscribedStockCodes());
     }
 
     // 메세지 호출시 호출
@@ -102,8 +116,16 @@ public class HantuWebSocketHandler extends TextWebSocketHandler {
     protected void handleTextMessage(WebSocketSession session, TextMessage message)
             throws Exception {
         String payload = message.getPayload();
+        if (frameRecorder.isEnabled() && HantuTickParser.isTickFrame(payload)) {
+            frameRecorder.record(System.currentTimeMillis(), payload);
+        }
+        onFeedFrame(payload);
+    }
 
-        executorService.submit(() -> processMessage(payload));
+    /** 한투 웹소켓이나 모의/재생 시세에서 온 프레임을 처리 샤드에 넣는다. */
+    public void onFeedFrame(String payload) {
+        // 같은 종목의 체결은 항상 같은 워커에서 순서대로 처리된다
+        tickDispatcher.dispatch(HantuTickParser.routingKey(payload), payload);
     }
 
     // 연결 종료시 호출
@@ -112,6 +134,8 @@ public class HantuWebSocketHandler extends TextWebSocketHandler {
         this.session = null;
         eventService.setConnectionActive(false);
         eventService.setSession(null);
+        subscriptionManagerProvider.getObject().onUpstreamDisconnected();
+        minuteCandleBackfiller.onDisconnected(System.currentTimeMillis());
     }
 
     // 에러 발생시 호출
@@ -120,9 +144,10 @@ public class HantuWebSocketHandler extends TextWebSocketHandler {
         eventService.setConnectionActive(false);
     }
 
-    // 웹소켓 접근키 발급
+    // 웹소켓 접근키 발급 (유효기간이 지나면 새로 받는다)
     public String getApprovalKey() {
-        if (approvalKey != null) {
+        if (approvalKey != null
+                && System.currentTimeMillis() - approvalKeyIssuedAt < approvalKeyTtlMs) {
             return approvalKey;
         }
 
@@ -147,6 +172,7 @@ public class HantuWebSocketHandler extends TextWebSocketHandler {
             if (response.getStatusCode() == HttpStatus.OK) {
                 JsonNode rootNode = objectMapper.readTree(response.getBody());
                 approvalKey = rootNode.get("approval_key").asText();
+                approvalKeyIssuedAt = System.currentTimeMillis();
                 //                log.info("Approval key obtained: {}", approvalKey);
                 return approvalKey;
             } else {
@@ -159,11 +185,11 @@ public class HantuWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    // 실시간체결가 구독
-    public void subscribeStockPrice(String stockCode, String marketCode) {
+    /** 실시간체결가 구독. 등록 요청을 보냈으면 true */
+    public boolean subscribeStockPrice(String stockCode, String marketCode) {
         if (session == null || !session.isOpen()) {
             //            log.warn("WebSocket not connected. Cannot subscribe to {}", stockCode);
-            return;
+            return false;
         }
 
         try {
@@ -188,16 +214,18 @@ public class HantuWebSocketHandler extends TextWebSocketHandler {
             session.sendMessage(new TextMessage(requestJson));
             subscribedStocks.put(stockCode, marketCode);
             //            log.info("Subscription request sent for stock: {}", stockCode);
+            return true;
         } catch (Exception e) {
             //            log.error("Error subscribing to stock price for code: {}", stockCode, e);
+            return false;
         }
     }
 
-    /** 실시간 시세 구독 해제 */
-    public void unsubscribeStockPrice(String stockCode, String marketCode) {
+    /** 실시간 시세 구독 해제. 해제 요청을 보냈으면 true */
+    public boolean unsubscribeStockPrice(String stockCode, String marketCode) {
         if (session == null || !session.isOpen()) {
             //            log.warn("WebSocket not connected. Cannot unsubscribe.");
-            return;
+            return false;
         }
 
         try {
@@ -222,30 +250,30 @@ public class HantuWebSocketHandler extends TextWebSocketHandler {
             session.sendMessage(new TextMessage(requestJson));
             subscribedStocks.remove(stockCode);
             //            log.info("Unsubscribed from real-time price for stock: {}", stockCode);
+            return true;
         } catch (Exception e) {
             //            log.error("Error unsubscribing from stock price for code: {}", stockCode,
             // e);
+            return false;
         }
     }
 
     // 메세지 처리
     private void processMessage(String message) {
-        if (message.startsWith("0|H0STCNT0|")) {
+        // 리더 노드가 Redis 로 보내 준 체결. 다시 발행하지 않고 로컬 상태만 갱신한다
+        if (TickMessageCodec.isTickMessage(message)) {
             try {
-                String[] parts = message.split("\\|");
-                if (parts.length >= 4) {
-                    String[] fields = parts[3].split("\\^");
-                    StockPriceDto priceData = StockPriceMapper.parseStockPriceData(fields);
-
-                    // log.info(priceData.toString());
-                    //  STOMP 브로드캐스트 추가
-
-                    messagingTemplate.convertAndSend(
-                            "/topic/stock/" + priceData.getStockCode(), priceData);
-                    latestPrices.put(priceData.getStockCode(), priceData);
+                applyTick(TickMessageCodec.decode(message));
+            } catch (Exception e) {
+                log.debug("전달받은 체결 처리 실패: {}", message);
+            }
+            return;
+        }
 
-                    candleMakerService.processTick(priceData);
-                }
+        if (HantuTickParser.isTickFrame(message)) {
+            try {
+                // 데이터건수가 2 이상인 프레임은 레코드마다 processTick 이 호출된다
+                tickParser.get().parse(message, tickHandler);
             } catch (Exception e) {
                 //                log.error("Error processing real-time data: {}", message, e);
             }
@@ -282,7 +310,99 @@ public class HantuWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
+    // 체결 레코드 한 건 처리. 레코드는 필드를 읽을 때마다 원본 프레임을 파싱하므로 한 번씩만 읽어 원시값으로 넘긴다 (체결마다 DTO 를 만들지 않는다)
+    private void processTick(HantuTickRecord record) {
+        String stockCode = record.stockCode();
+        int tradeTime = record.tradeTimeAsInt();
+        int currentPrice = record.currentPrice();
+        int highPrice = record.highPrice();
+        int lowPrice = record.lowPrice();
+        long cumulativeVolume = record.cumulativeVolume();
+        long tradeVolume = record.tradeVolume();
+        double dayOverDayPercent = record.dayOverDayPercent();
+
+        // 받은 그대로 남겨 두었다가 체결 분쟁 확인이나 재처리에 쓴다
+        tickJournal.append(
+                stockCode,
+                tradeTime,
+                System.currentTimeMillis(),
+                currentPrice,
+                tradeVolume,
+                cumulativeVolume);
+
+        applyTick(
+                stockCode,
+                currentPrice,
+                highPrice,
+                lowPrice,
+                cumulativeVolume,
+                tradeVolume,
+                dayOverDayPercent,
+                tradeTime);
+        tickFanout.publish(
+                stockCode,
+                currentPrice,
+                highPrice,
+                lowPrice,
+                cumulativeVolume,
+                tradeVolume,
+                dayOverDayPercent,
+                tradeTime);
+    }
+
+    // 리더가 보내 준 체결
+    private void applyTick(StockPriceDto priceData) {
+        applyTick(
+                priceData.getStockCode(),
+                priceData.getCurrentPrice(),
+                priceData.getHighPrice(),
+                priceData.getLowPrice(),
+                priceData.getCumulativeVolume(),
+                priceData.getTradeVolume(),
+                priceData.getDayOverDayPercent(),
+                StockPriceMapper.parseTradeTime(priceData.getTradeTime()));
+    }
+
+    private void applyTick(
+            String stockCode,
+            int currentPrice,
+            int highPrice,
+            int lowPrice,
+            long cumulativeVolume,
+            long tradeVolume,
+            double dayOverDayPercent,
+            int tradeTime) {
+        //  STOMP 브로드캐스트 (종목별로 합쳐 발행 주기마다 보낸다)
+        stockPriceConflator.offer(
+                stockCode,
+                currentPrice,
+                highPrice,
+                lowPrice,
+                cumulativeVolume,
+                tradeVolume,
+                dayOverDayPercent,
+                tradeTime);
+        latestPriceRegistry.update(
+                stockCode,
+                currentPrice,
+                highPrice,
+                lowPrice,
+                cumulativeVolume,
+                tradeVolume,
+                dayOverDayPercent,
+                tradeTime);
+
+        candleMakerService.processTick(stockCode, tradeTime, currentPrice, tradeVolume);
+
+        // 지정가/스톱 판단은 리더 노드만 한다 (팔로워에서는 바로 돌아온다).
+        // 스톱 지정가가 발동해 만든 지정가 주문은 커밋 뒤 호가창에 올라 다음 체결가부터 판단된다
+        stopOrdersProcessorProvider.getObject().onTick(stockCode, currentPrice);
+        limitOrdersProcessorProvider.getObject().onTick(stockCode, currentPrice);
+    }
+
+    /** 최신 시세 DTO. 현재가만 필요하면 {@link LatestPriceRegistry#price} 를 바로 쓰는 편이 싸다. */
     public StockPriceDto getLatestPrice(String stockCode) {
-        return latestPrices.get(stockCode);
+        PriceView view = new PriceView();
+        return latestPriceRegistry.read(stockCode, view) ? view.toDto() : null;
     }
 }
@@ -1,6 +1,7 @@
 package io.gaboja9.mockstock.global.websocket;
 
 import io.gaboja9.mockstock.global.config.JwtChannelInterceptor;
+import io.gaboja9.mockstock.global.websocket.broadcast.TopicSubscriptionTracker;
 import io.gaboja9.mockstock.global.websocket.exeception.WebSocketExceptionHandler;
 
 import lombok.RequiredArgsConstructor;
@@ -23,6 +24,7 @@ public class StompWebSocketConfig implements WebSocketMessageBrokerConfigurer {
     private final StockSubscriptionInterceptor stockSubscriptionInterceptor;
     private final WebSocketExceptionHandler webSocketExceptionHandler;
     private final JwtChannelInterceptor jwtChannelInterceptor;
+    private final TopicSubscriptionTracker topicSubscriptionTracker;
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
@@ -44,7 +46,9 @@ public class StompWebSocketConfig implements WebSocketMessageBrokerConfigurer {
     // 추가: 메시지 인터셉터 등록
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
-        registration.interceptors(stockSubscriptionInterceptor, jwtChannelInterceptor);
+        // 구독 추적은 앞선 인터셉터가 거부하지 않은 구독만 기록하도록 마지막에 둔다
+        registration.interceptors(
+                stockSubscriptionInterceptor, jwtChannelInterceptor, topicSubscriptionTracker);
     }
 
     @Bean
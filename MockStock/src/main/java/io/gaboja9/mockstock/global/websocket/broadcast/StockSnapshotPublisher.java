@@ -0,0 +1,102 @@
+package io.gaboja9.mockstock.global.websocket.broadcast;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.gaboja9.mockstock.global.websocket.dto.StockSnapshotDto;
+import io.gaboja9.mockstock.global.websocket.price.LatestPriceRegistry;
+import io.gaboja9.mockstock.global.websocket.price.PriceView;
+import io.gaboja9.mockstock.global.websocket.service.CandleMakerService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+/**
+ * 종목 토픽을 새로 구독한 세션에 현재 시세와 진행 중인 분봉을 바로 보낸다.
+ *
+ * <p>다음 체결까지 기다리지 않아도 화면을 그릴 수 있으므로 장 시작 때 구독 직후 몰리는 차트 REST 호출을 줄인다. 인바운드 인터셉터를 모두 통과한 구독에만 {@link
+ * SessionSubscribeEvent} 가 발행되므로 잘못된 종목 구독에는 보내지 않는다. 스냅샷은 SimpleBroker 가 구독자에게 보낼 때와 같은 형태(세션 id,
+ * 구독 id 를 단 MESSAGE)로 클라이언트 아웃바운드 채널에 넣으므로 아웃바운드 인터셉터와 SockJS 프레이밍을 그대로 거친다.
+ */
+@Component
+@Slf4j
+public class StockSnapshotPublisher {
+
+    private static final String TOPIC_PREFIX = "/topic/stock/";
+
+    private final MessageChannel clientOutboundChannel;
+    private final LatestPriceRegistry latestPriceRegistry;
+    private final CandleMakerService candleMakerService;
+    private final ObjectMapper objectMapper;
+
+    private final Counter sent;
+
+    public StockSnapshotPublisher(
+            @Qualifier("clientOutboundChannel") MessageChannel clientOutboundChannel,
+            LatestPriceRegistry latestPriceRegistry,
+            CandleMakerService candleMakerService,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.clientOutboundChannel = clientOutboundChannel;
+        this.latestPriceRegistry = latestPriceRegistry;
+        this.candleMakerService = candleMakerService;
+        this.objectMapper = objectMapper;
+        this.sent =
+                Counter.builder("stomp.snapshot.sent")
+                        .description("구독 직후 보낸 시세 스냅샷 수")
+                        .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String destination = accessor.getDestination();
+        if (destination == null || !destination.startsWith(TOPIC_PREFIX)) {
+            return;
+        }
+        sendSnapshot(
+                accessor.getSessionId(),
+                accessor.getSubscriptionId(),
+                destination,
+                destination.substring(TOPIC_PREFIX.length()));
+    }
+
+    void sendSnapshot(
+            String sessionId, String subscriptionId, String destination, String stockCode) {
+        if (sessionId == null || subscriptionId == null) {
+            return;
+        }
+        PriceView view = new PriceView();
+        if (!latestPriceRegistry.read(stockCode, view)) {
+            return;
+        }
+        try {
+            StockSnapshotDto snapshot =
+                    new StockSnapshotDto(view.toDto(), candleMakerService.formingCandle(stockCode));
+            byte[] body = objectMapper.writeValueAsBytes(snapshot);
+            SimpMessageHeaderAccessor accessor =
+                    SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            accessor.setSessionId(sessionId);
+            accessor.setSubscriptionId(subscriptionId);
+            accessor.setDestination(destination);
+            accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+            if (clientOutboundChannel.send(
+                    MessageBuilder.createMessage(body, accessor.getMessageHeaders()))) {
+                sent.increment();
+            }
+        } catch (Exception e) {
+            log.debug("시세 스냅샷 전송 실패 - session: {}: {}", sessionId, e.getMessage());
+        }
+    }
+}
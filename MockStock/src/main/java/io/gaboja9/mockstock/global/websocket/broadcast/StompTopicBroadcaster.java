@@ -0,0 +1,87 @@
+package io.gaboja9.mockstock.global.websocket.broadcast;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * 토픽 브로드캐스트를 구독자가 있을 때만, payload 를 한 번만 직렬화해서 브로커로 보낸다.
+ *
+ * <p>{@code convertAndSend} 는 구독자가 없는 토픽에도 메시지 변환기를 돌린다. 여기서는 {@link TopicSubscriptionTracker} 로
+ * 구독자가 없는 토픽을 먼저 걸러 내고, 남은 토픽은 JSON 바이트로 한 번 바꾼 {@code Message<byte[]>} 를 만들어 {@link
+ * SimpMessagingTemplate#send} 로 넘긴다. 구독자별 전달은 SimpleBroker 가 같은 payload 를 공유해서 하므로 아웃바운드 인터셉터와
+ * SockJS 프레이밍은 브로커 발행과 똑같이 적용된다.
+ *
+ * <p>추적하지 않는 목적지({@link TopicSubscriptionTracker#TRACKED_PREFIXES} 밖)는 기존처럼 {@code convertAndSend}
+ * 로 보낸다.
+ */
+@Component
+public class StompTopicBroadcaster {
+
+    private final TopicSubscriptionTracker subscriptionTracker;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final Counter sent;
+    private final Counter skipped;
+
+    public StompTopicBroadcaster(
+            TopicSubscriptionTracker subscriptionTracker,
+            SimpMessagingTemplate messagingTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.subscriptionTracker = subscriptionTracker;
+        this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper;
+        this.sent =
+                Counter.builder("stomp.broadcast.sent")
+                        .description("브로커로 보낸 토픽 메시지 수")
+                        .register(meterRegistry);
+        this.skipped =
+                Counter.builder("stomp.broadcast.skipped")
+                        .description("구독자가 없어 보내지 않은 토픽 메시지 수")
+                        .register(meterRegistry);
+    }
+
+    public void broadcast(String destination, Object payload) {
+        if (!TopicSubscriptionTracker.isTracked(destination)) {
+            messagingTemplate.convertAndSend(destination, payload);
+            return;
+        }
+        if (!subscriptionTracker.hasSubscribers(destination)) {
+            skipped.increment();
+            return;
+        }
+
+        messagingTemplate.send(destination, jsonMessage(toJson(destination, payload)));
+        sent.increment();
+    }
+
+    private byte[] toJson(String destination, Object payload) {
+        try {
+            return objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("브로드캐스트 payload 직렬화 실패: " + destination, e);
+        }
+    }
+
+    /**
+     * JSON 바이트로 브로커 메시지를 만든다. 헤더를 수정 가능하게 남겨 두면 {@link SimpMessagingTemplate} 가 destination 만 채워서
+     * 그대로 보낸다.
+     */
+    private static Message<byte[]> jsonMessage(byte[] body) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create();
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(body, accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,149 @@
+package io.gaboja9.mockstock.global.websocket.broadcast;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 토픽 STOMP 구독 현황.
+ *
+ * <p>클라이언트 인바운드 채널에서 SUBSCRIBE/UNSUBSCRIBE/DISCONNECT 를 보고 토픽별 구독자를 센다. 구독자가 없는 토픽은 {@link
+ * StompTopicBroadcaster} 가 직렬화부터 건너뛰고, 업스트림 구독 관리도 이 수를 쓴다.
+ */
+@Component
+public class TopicSubscriptionTracker implements ChannelInterceptor {
+
+    /** 구독을 세는 토픽 prefix (SimpleBroker 의 /topic 전체) */
+    static final List<String> TRACKED_PREFIXES = List.of("/topic/");
+
+    // destination -> 구독 id -> 세션 id 들
+    private final Map<String, Map<String, Set<String>>> subscribers = new ConcurrentHashMap<>();
+    // 세션 id -> 구독 id -> destination (UNSUBSCRIBE/DISCONNECT 정리용)
+    private final Map<String, Map<String, String>> sessions = new ConcurrentHashMap<>();
+
+    public static boolean isTracked(String destination) {
+        if (destination == null) {
+            return false;
+        }
+        for (String prefix : TRACKED_PREFIXES) {
+            if (destination.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void afterSendCompletion(
+            Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        if (!sent || ex != null) {
+            return;
+        }
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        StompCommand command = accessor.getCommand();
+        if (command == null) {
+            return;
+        }
+
+        switch (command) {
+            case SUBSCRIBE ->
+                    subscribe(
+                            accessor.getSessionId(),
+                            accessor.getSubscriptionId(),
+                            accessor.getDestination());
+            case UNSUBSCRIBE -> unsubscribe(accessor.getSessionId(), accessor.getSubscriptionId());
+            case DISCONNECT -> disconnect(accessor.getSessionId());
+            default -> {}
+        }
+    }
+
+    void subscribe(String sessionId, String subscriptionId, String destination) {
+        if (sessionId == null || subscriptionId == null || !isTracked(destination)) {
+            return;
+        }
+        sessions.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>())
+                .put(subscriptionId, destination);
+        // 추가와 정리가 같은 destination 키 락 안에서 일어나야 빈 묶음을 지우는 중에 들어온 구독을 잃지 않는다
+        subscribers.compute(
+                destination,
+                (d, bySubscription) -> {
+                    if (bySubscription == null) {
+                        bySubscription = new ConcurrentHashMap<>();
+                    }
+                    bySubscription
+                            .computeIfAbsent(subscriptionId, id -> ConcurrentHashMap.newKeySet())
+                            .add(sessionId);
+                    return bySubscription;
+                });
+    }
+
+    void unsubscribe(String sessionId, String subscriptionId) {
+        if (sessionId == null || subscriptionId == null) {
+            return;
+        }
+        Map<String, String> bySubscription = sessions.get(sessionId);
+        if (bySubscription == null) {
+            return;
+        }
+        String destination = bySubscription.remove(subscriptionId);
+        if (destination != null) {
+            remove(destination, subscriptionId, sessionId);
+        }
+    }
+
+    void disconnect(String sessionId) {
+        if (sessionId == null) {
+            return;
+        }
+        Map<String, String> bySubscription = sessions.remove(sessionId);
+        if (bySubscription != null) {
+            bySubscription.forEach(
+                    (subscriptionId, destination) ->
+                            remove(destination, subscriptionId, sessionId));
+        }
+    }
+
+    private void remove(String destination, String subscriptionId, String sessionId) {
+        subscribers.computeIfPresent(
+                destination,
+                (d, bySubscription) -> {
+                    bySubscription.computeIfPresent(
+                            subscriptionId,
+                            (id, sessionIds) -> {
+                                sessionIds.remove(sessionId);
+                                return sessionIds.isEmpty() ? null : sessionIds;
+                            });
+                    return bySubscription.isEmpty() ? null : bySubscription;
+                });
+    }
+
+    /** 구독자가 한 명 이상 있는 토픽 목록 (읽기 전용, 약한 일관성) */
+    public Set<String> destinations() {
+        return Collections.unmodifiableSet(subscribers.keySet());
+    }
+
+    public boolean hasSubscribers(String destination) {
+        return subscribers.containsKey(destination);
+    }
+
+    public int subscriberCount(String destination) {
+        Map<String, Set<String>> bySubscription = subscribers.get(destination);
+        if (bySubscription == null) {
+            return 0;
+        }
+        int count = 0;
+        for (Set<String> sessionIds : bySubscription.values()) {
+            count += sessionIds.size();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,158 @@
+package io.gaboja9.mockstock.global.websocket.cluster;
+
+import io.gaboja9.mockstock.domain.orders.service.LimitOrderBookService;
+import io.gaboja9.mockstock.domain.orders.service.StopOrderBookService;
+import io.gaboja9.mockstock.global.websocket.broadcast.TopicSubscriptionTracker;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 노드별 시세 수요(종목 구독자 수, 지정가 대기 종목)를 Redis 해시로 모은다.
+ *
+ * <p>STOMP 구독은 노드마다 따로 있으므로, 각 노드가 주기마다 자기 수요를 {@code 노드 id -> 만료시각;종목:구독자수,...;종목,...} 한 줄로 올리고
+ * 리더의 {@code HantuSubscriptionManager} 가 이를 합쳐 한투 구독을 정한다. 만료 시각이 지난 항목(죽은 노드)은 읽을 때 지운다.
+ */
+@Component
+@Slf4j
+public class ClusterDemandExchange {
+
+    private static final String TOPIC_PREFIX = "/topic/stock/";
+
+    /** 다른 노드들의 수요 합계 */
+    public record Demand(Map<String, Integer> watchCounts, Set<String> restingStockCodes) {
+        static final Demand EMPTY = new Demand(Map.of(), Set.of());
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final MarketDataLeadership leadership;
+    private final TopicSubscriptionTracker subscriptionTracker;
+    private final LimitOrderBookService limitOrderBookService;
+    private final StopOrderBookService stopOrderBookService;
+    private final String demandKey;
+    private final long entryTtlMs;
+
+    public ClusterDemandExchange(
+            StringRedisTemplate redisTemplate,
+            MarketDataLeadership leadership,
+            TopicSubscriptionTracker subscriptionTracker,
+            LimitOrderBookService limitOrderBookService,
+            StopOrderBookService stopOrderBookService,
+            @Value("${hantu-openapi.cluster.demand-key:mockstock:market-data:demand}")
+                    String demandKey,
+            @Value("${hantu-openapi.cluster.demand-ttl-ms:10000}") long entryTtlMs) {
+        this.redisTemplate = redisTemplate;
+        this.leadership = leadership;
+        this.subscriptionTracker = subscriptionTracker;
+        this.limitOrderBookService = limitOrderBookService;
+        this.stopOrderBookService = stopOrderBookService;
+        this.demandKey = demandKey;
+        this.entryTtlMs = entryTtlMs;
+    }
+
+    @Scheduled(fixedDelayString = "${hantu-openapi.cluster.demand-publish-interval-ms:1000}")
+    public void publishLocalDemand() {
+        if (!leadership.isClustered() || leadership.isLeader()) {
+            return;
+        }
+        Map<String, Integer> watchCounts = new HashMap<>();
+        for (String destination : subscriptionTracker.destinations()) {
+            int count = subscriptionTracker.subscriberCount(destination);
+            if (destination.startsWith(TOPIC_PREFIX) && count > 0) {
+                watchCounts.put(destination.substring(TOPIC_PREFIX.length()), count);
+            }
+        }
+        // 감시 중인 스톱 주문도 체결가가 있어야 발동하므로 대기 주문과 같이 알린다
+        Set<String> resting = new HashSet<>(limitOrderBookService.restingStockCodes());
+        resting.addAll(stopOrderBookService.armedStockCodes());
+        String entry = encode(System.currentTimeMillis() + entryTtlMs, watchCounts, resting);
+        try {
+            redisTemplate.opsForHash().put(demandKey, leadership.nodeId(), entry);
+        } catch (Exception e) {
+            log.debug("시세 수요 발행 실패: {}", e.getMessage());
+        }
+    }
+
+    /** 이 노드를 뺀 나머지 노드들의 수요. 클러스터 모드가 아니거나 읽기에 실패하면 빈 값 */
+    public Demand remoteDemand() {
+        if (!leadership.isClustered()) {
+            return Demand.EMPTY;
+        }
+        Map<Object, Object> entries;
+        try {
+            entries = redisTemplate.opsForHash().entries(demandKey);
+        } catch (Exception e) {
+            log.debug("시세 수요 조회 실패: {}", e.getMessage());
+            return Demand.EMPTY;
+        }
+        return merge(entries, leadership.nodeId(), System.currentTimeMillis());
+    }
+
+    Demand merge(Map<Object, Object> entries, String selfNodeId, long now) {
+        Map<String, Integer> watchCounts = new HashMap<>();
+        Set<String> resting = new HashSet<>();
+        for (Map.Entry<Object, Object> e : entries.entrySet()) {
+            String nodeId = String.valueOf(e.getKey());
+            if (nodeId.equals(selfNodeId)) {
+                continue;
+            }
+            if (!decodeInto(String.valueOf(e.getValue()), now, watchCounts, resting)) {
+                redisTemplate.opsForHash().delete(demandKey, nodeId);
+            }
+        }
+        return new Demand(watchCounts, resting);
+    }
+
+    static String encode(long expiresAt, Map<String, Integer> watchCounts, Set<String> resting) {
+        StringBuilder sb = new StringBuilder(32 + watchCounts.size() * 12 + resting.size() * 8);
+        sb.append(expiresAt).append(';');
+        boolean first = true;
+        for (Map.Entry<String, Integer> e : watchCounts.entrySet()) {
+            if (!first) {
+                sb.append(',');
+            }
+            sb.append(e.getKey()).append(':').append(e.getValue());
+            first = false;
+        }
+        sb.append(';').append(String.join(",", resting));
+        return sb.toString();
+    }
+
+    // 만료됐거나 형식이 깨진 항목이면 false
+    static boolean decodeInto(
+            String entry, long now, Map<String, Integer> watchCounts, Set<String> resting) {
+        String[] parts = entry.split(";", -1);
+        if (parts.length != 3) {
+            return false;
+        }
+        try {
+            if (Long.parseLong(parts[0]) < now) {
+                return false;
+            }
+            if (!parts[1].isEmpty()) {
+                for (String pair : parts[1].split(",")) {
+                    int colon = pair.indexOf(':');
+                    watchCounts.merge(
+                            pair.substring(0, colon),
+                            Integer.parseInt(pair.substring(colon + 1)),
+                            Integer::sum);
+                }
+            }
+        } catch (RuntimeException e) {
+            return false;
+        }
+        if (!parts[2].isEmpty()) {
+            resting.addAll(Set.of(parts[2].split(",")));
+        }
+        return true;
+    }
+}
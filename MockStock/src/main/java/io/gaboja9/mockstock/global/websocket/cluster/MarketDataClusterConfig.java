@@ -0,0 +1,27 @@
+package io.gaboja9.mockstock.global.websocket.cluster;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+// 클러스터 모드에서만 리더의 체결 채널과 팔로워의 대기 주문 채널을 구독한다
+@Configuration
+@ConditionalOnProperty(name = "hantu-openapi.cluster.enabled", havingValue = "true")
+public class MarketDataClusterConfig {
+
+    @Bean
+    public RedisMessageListenerContainer marketDataListenerContainer(
+            RedisConnectionFactory redisConnectionFactory,
+            TickFanout tickFanout,
+            OrderBookForwarder orderBookForwarder) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(tickFanout, new ChannelTopic(tickFanout.channel()));
+        container.addMessageListener(
+                orderBookForwarder, new ChannelTopic(orderBookForwarder.channel()));
+        return container;
+    }
+}
@@ -0,0 +1,174 @@
+package io.gaboja9.mockstock.global.websocket.cluster;
+
+import io.gaboja9.mockstock.global.websocket.feed.MarketFeed;
+
+import jakarta.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 여러 노드 중 한 노드만 한투 실시간 시세를 받도록 하는 Redis 임대(lease).
+ *
+ * <p>{@code SET NX PX} 로 임대 키를 잡은 노드가 리더가 되어 시세 수신({@link MarketFeed})을 시작한다. 리더는 갱신 주기마다 자기 값일 때만
+ * 만료 시간을 늘리고, 갱신에 실패하거나 Redis 에 닿지 않은 채 임대 시간이 지나면 스스로 내려와 수신을 멈춘다. 종료할 때는 키를 지워 다른 노드가 바로 이어받게 한다.
+ * 리더가 되거나 내려올 때마다 {@link MarketDataLeadershipChangedEvent} 를 발행해 지정가/스톱 주문 판단도 리더로 따라 옮긴다.
+ *
+ * <p>클러스터 모드를 끄면({@code hantu-openapi.cluster.enabled=false}) 항상 리더로 동작한다.
+ */
+@Component
+@Slf4j
+public class MarketDataLeadership {
+
+    // 내 값일 때만 만료 연장 / 삭제
+    private static final RedisScript<Long> RENEW =
+            new DefaultRedisScript<>(
+                    "if redis.call('get', KEYS[1]) == ARGV[1] then "
+                            + "return redis.call('pexpire', KEYS[1], ARGV[2]) else return 0 end",
+                    Long.class);
+    private static final RedisScript<Long> RELEASE =
+            new DefaultRedisScript<>(
+                    "if redis.call('get', KEYS[1]) == ARGV[1] then "
+                            + "return redis.call('del', KEYS[1]) else return 0 end",
+                    Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectProvider<MarketFeed> marketFeedProvider;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final String leaseKey;
+    private final long leaseTtlMs;
+    private final String nodeId;
+
+    private volatile boolean started;
+    private volatile boolean leader;
+    // 마지막으로 임대를 잡거나 늘린 시각 (갱신 스레드에서만 쓴다)
+    private long renewedAt;
+
+    public MarketDataLeadership(
+            StringRedisTemplate redisTemplate,
+            ObjectProvider<MarketFeed> marketFeedProvider,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${hantu-openapi.cluster.enabled:false}") boolean enabled,
+            @Value("${hantu-openapi.cluster.lease-key:mockstock:market-data:leader}")
+                    String leaseKey,
+            @Value("${hantu-openapi.cluster.lease-ttl-ms:10000}") long leaseTtlMs) {
+        this.redisTemplate = redisTemplate;
+        this.marketFeedProvider = marketFeedProvider;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.leaseKey = leaseKey;
+        this.leaseTtlMs = leaseTtlMs;
+        this.nodeId = hostName() + ":" + UUID.randomUUID();
+    }
+
+    /** 애플리케이션 준비가 끝나면 호출. 클러스터 모드가 아니면 바로 연결한다. */
+    public void start() {
+        started = true;
+        if (!enabled) {
+            marketFeedProvider.getObject().start();
+            return;
+        }
+        log.info("시세 수신 리더 선출 참여. node={}", nodeId);
+        renew(System.currentTimeMillis());
+    }
+
+    @Scheduled(fixedDelayString = "${hantu-openapi.cluster.renew-interval-ms:3000}")
+    public void renew() {
+        if (enabled && started) {
+            renew(System.currentTimeMillis());
+        }
+    }
+
+    synchronized void renew(long now) {
+        try {
+            if (leader) {
+                Long renewed =
+                        redisTemplate.execute(
+                                RENEW, List.of(leaseKey), nodeId, String.valueOf(leaseTtlMs));
+                if (renewed != null && renewed == 1L) {
+                    renewedAt = now;
+                } else {
+                    stepDown("임대를 다른 노드가 가져감");
+                }
+                return;
+            }
+
+            Boolean acquired =
+                    redisTemplate
+                            .opsForValue()
+                            .setIfAbsent(leaseKey, nodeId, Duration.ofMillis(leaseTtlMs));
+            if (Boolean.TRUE.equals(acquired)) {
+                renewedAt = now;
+                becomeLeader();
+            }
+        } catch (Exception e) {
+            log.warn("시세 수신 임대 갱신 실패: {}", e.getMessage());
+            // Redis 가 안 되는 동안 임대가 끝났을 수 있으므로 다른 노드와 겹치지 않게 내려온다
+            if (leader && now - renewedAt >= leaseTtlMs) {
+                stepDown("임대 시간 안에 갱신하지 못함");
+            }
+        }
+    }
+
+    private void becomeLeader() {
+        leader = true;
+        log.info("시세 수신 리더가 됨. node={}", nodeId);
+        marketFeedProvider.getObject().start();
+        eventPublisher.publishEvent(new MarketDataLeadershipChangedEvent(true));
+    }
+
+    private void stepDown(String reason) {
+        leader = false;
+        log.warn("시세 수신 리더에서 내려옴 ({}). node={}", reason, nodeId);
+        marketFeedProvider.getObject().stop();
+        eventPublisher.publishEvent(new MarketDataLeadershipChangedEvent(false));
+    }
+
+    @PreDestroy
+    public synchronized void release() {
+        if (!enabled || !leader) {
+            return;
+        }
+        leader = false;
+        try {
+            redisTemplate.execute(RELEASE, List.of(leaseKey), nodeId);
+        } catch (Exception e) {
+            log.warn("시세 수신 임대 반납 실패: {}", e.getMessage());
+        }
+    }
+
+    /** 이 노드가 한투 시세를 직접 받는지 (클러스터 모드가 아니면 항상 true) */
+    public boolean isLeader() {
+        return !enabled || leader;
+    }
+
+    public boolean isClustered() {
+        return enabled;
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package io.gaboja9.mockstock.global.websocket.cluster;
+
+/** 이 노드가 시세 수신 리더가 되거나 내려왔을 때 발행된다. 클러스터 모드에서만 발행된다. */
+public record MarketDataLeadershipChangedEvent(boolean leader) {}
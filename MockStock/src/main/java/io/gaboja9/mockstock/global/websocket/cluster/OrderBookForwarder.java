@@ -0,0 +1,192 @@
+package io.gaboja9.mockstock.global.websocket.cluster;
+
+import io.gaboja9.mockstock.domain.orders.book.OrderBookEntry;
+import io.gaboja9.mockstock.domain.orders.book.StopOrderEntry;
+import io.gaboja9.mockstock.domain.orders.entity.OrderType;
+import io.gaboja9.mockstock.domain.orders.service.LimitOrderBookService;
+import io.gaboja9.mockstock.domain.orders.service.StopOrderBookService;
+import io.gaboja9.mockstock.domain.trades.entity.TradeType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 팔로워 노드에서 접수한 지정가/스톱 주문을 리더의 호가창으로 보낸다.
+ *
+ * <p>클러스터 모드에서는 리더만 체결가로 지정가/스톱 주문을 판단하므로, 팔로워가 커밋한 대기 주문은 자기 호가창에 올리지 않고 Redis pub/sub 으로 리더에게
+ * 넘긴다. 형식은 {@code L|주문id|회원id|종목코드|매매구분|지정가} 와 {@code S|주문id|회원id|종목코드|주문유형|매매구분|감시가|추적간격} 이다. 리더가
+ * 없는 사이에 보낸 주문은 받을 노드가 없지만, 새 리더가 될 때 DB 에서 호가창을 다시 읽으므로 빠지지 않는다.
+ */
+@Component
+@Slf4j
+public class OrderBookForwarder implements MessageListener {
+
+    private static final char LIMIT = 'L';
+    private static final char STOP = 'S';
+    private static final char DELIMITER = '|';
+
+    private final StringRedisTemplate redisTemplate;
+    private final MarketDataLeadership leadership;
+    private final LimitOrderBookService limitOrderBookService;
+    private final StopOrderBookService stopOrderBookService;
+    private final String channel;
+
+    private final Counter forwarded;
+    private final Counter forwardFailures;
+    private final Counter received;
+
+    public OrderBookForwarder(
+            StringRedisTemplate redisTemplate,
+            MarketDataLeadership leadership,
+            LimitOrderBookService limitOrderBookService,
+            StopOrderBookService stopOrderBookService,
+            MeterRegistry meterRegistry,
+            @Value("${hantu-openapi.cluster.order-book-channel:mockstock:market-data:order-book}")
+                    String channel) {
+        this.redisTemplate = redisTemplate;
+        this.leadership = leadership;
+        this.limitOrderBookService = limitOrderBookService;
+        this.stopOrderBookService = stopOrderBookService;
+        this.channel = channel;
+        this.forwarded =
+                Counter.builder("orders.book.forwarded")
+                        .description("리더 호가창으로 보낸 대기 주문 수")
+                        .register(meterRegistry);
+        this.forwardFailures =
+                Counter.builder("orders.book.forward.failed")
+                        .description("리더 호가창으로 보내지 못한 대기 주문 수")
+                        .register(meterRegistry);
+        this.received =
+                Counter.builder("orders.book.received")
+                        .description("팔로워에게서 받아 호가창에 올린 대기 주문 수")
+                        .register(meterRegistry);
+    }
+
+    public String channel() {
+        return channel;
+    }
+
+    /** 팔로워면 리더에게 보내고 true. 리더이거나 클러스터 모드가 아니면 false 이고 호출한 쪽이 직접 올린다. */
+    public boolean forwardToLeader(OrderBookEntry entry) {
+        if (!leadership.isClustered() || leadership.isLeader()) {
+            return false;
+        }
+        send(encode(entry), entry.orderId());
+        return true;
+    }
+
+    /** 팔로워면 리더에게 보내고 true. 리더이거나 클러스터 모드가 아니면 false 이고 호출한 쪽이 직접 올린다. */
+    public boolean forwardToLeader(StopOrderEntry entry) {
+        if (!leadership.isClustered() || leadership.isLeader()) {
+            return false;
+        }
+        send(encode(entry), entry.orderId());
+        return true;
+    }
+
+    private void send(String message, Long orderId) {
+        try {
+            redisTemplate.convertAndSend(channel, message);
+            forwarded.increment();
+        } catch (Exception e) {
+            // DB 에는 커밋됐으므로 다음 리더 교체 때 다시 읽힌다
+            forwardFailures.increment();
+            log.warn("대기 주문을 리더에게 보내지 못함. orderId={}: {}", orderId, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        if (!leadership.isLeader()) {
+            return;
+        }
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            if (body.charAt(0) == LIMIT) {
+                limitOrderBookService.add(decodeLimit(body));
+            } else if (body.charAt(0) == STOP) {
+                stopOrderBookService.add(decodeStop(body));
+            } else {
+                return;
+            }
+            received.increment();
+        } catch (RuntimeException e) {
+            log.warn("대기 주문 메시지 형식 오류: {}", body);
+        }
+    }
+
+    static String encode(OrderBookEntry entry) {
+        return new StringBuilder(48)
+                .append(LIMIT)
+                .append(DELIMITER)
+                .append(entry.orderId())
+                .append(DELIMITER)
+                .append(entry.memberId())
+                .append(DELIMITER)
+                .append(entry.stockCode())
+                .append(DELIMITER)
+                .append(entry.tradeType().name())
+                .append(DELIMITER)
+                .append(entry.price())
+                .toString();
+    }
+
+    static String encode(StopOrderEntry entry) {
+        return new StringBuilder(64)
+                .append(STOP)
+                .append(DELIMITER)
+                .append(entry.orderId())
+                .append(DELIMITER)
+                .append(entry.memberId())
+                .append(DELIMITER)
+                .append(entry.stockCode())
+                .append(DELIMITER)
+                .append(entry.orderType().name())
+                .append(DELIMITER)
+                .append(entry.tradeType().name())
+                .append(DELIMITER)
+                .append(entry.stopPrice())
+                .append(DELIMITER)
+                .append(entry.trailingGap())
+                .toString();
+    }
+
+    static OrderBookEntry decodeLimit(String message) {
+        String[] fields = fields(message, 6);
+        return new OrderBookEntry(
+                Long.parseLong(fields[1]),
+                Long.parseLong(fields[2]),
+                fields[3],
+                TradeType.valueOf(fields[4]),
+                Integer.parseInt(fields[5]));
+    }
+
+    static StopOrderEntry decodeStop(String message) {
+        String[] fields = fields(message, 8);
+        return new StopOrderEntry(
+                Long.parseLong(fields[1]),
+                Long.parseLong(fields[2]),
+                fields[3],
+                OrderType.valueOf(fields[4]),
+                TradeType.valueOf(fields[5]),
+                Integer.parseInt(fields[6]),
+                Integer.parseInt(fields[7]));
+    }
+
+    private static String[] fields(String message, int count) {
+        String[] fields = message.split("\\|", -1);
+        if (fields.length != count) {
+            throw new IllegalArgumentException("대기 주문 메시지 필드 수 오류: " + message);
+        }
+        return fields;
+    }
+}
@@ -0,0 +1,191 @@
+package io.gaboja9.mockstock.global.websocket.cluster;
+
+import io.gaboja9.mockstock.global.websocket.dispatch.ShardedTickDispatcher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 리더가 받은 체결을 Redis pub/sub 으로 다른 노드에 나눠 준다.
+ *
+ * <p>리더는 체결을 로컬에서 처리한 뒤 {@link TickMessageCodec} 형식으로 발행한다. 팔로워는 받은 메시지를 한투 프레임과 같은 처리 샤드에 넣어 최신가
+ * 테이블, 분봉(차트 캐시), STOMP 브로드캐스트를 똑같이 갱신한다. 리더는 자기가 발행한 메시지를 다시 받으므로 무시한다.
+ *
+ * <p>처리 샤드 스레드는 인코딩한 체결을 큐에 넣기만 하고 Redis 발행은 전용 스레드가 한다. 발행 스레드는 쌓여 있는 체결을 최대 {@code
+ * fanout-batch-size} 건까지 줄바꿈으로 이어 한 메시지로 보내므로, 체결이 몰릴수록 Redis 왕복 수가 줄어든다. 큐가 가득 차면 그 체결은 버리고 센다(다음
+ * 체결이 최신가를 덮어쓴다).
+ */
+@Component
+@Slf4j
+public class TickFanout implements MessageListener {
+
+    private final StringRedisTemplate redisTemplate;
+    private final MarketDataLeadership leadership;
+    private final ShardedTickDispatcher tickDispatcher;
+    private final String channel;
+    private final int batchSize;
+    private final BlockingQueue<String> queue;
+
+    private final Counter published;
+    private final Counter publishFailures;
+    private final Counter dropped;
+    private final Counter received;
+
+    private volatile boolean running = false;
+    private Thread publisher;
+
+    public TickFanout(
+            StringRedisTemplate redisTemplate,
+            MarketDataLeadership leadership,
+            ShardedTickDispatcher tickDispatcher,
+            MeterRegistry meterRegistry,
+            @Value("${hantu-openapi.cluster.tick-channel:mockstock:market-data:ticks}")
+                    String channel,
+            @Value("${hantu-openapi.cluster.fanout-queue-capacity:10000}") int queueCapacity,
+            @Value("${hantu-openapi.cluster.fanout-batch-size:256}") int batchSize) {
+        this.redisTemplate = redisTemplate;
+        this.leadership = leadership;
+        this.tickDispatcher = tickDispatcher;
+        this.channel = channel;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        Gauge.builder("market.fanout.queue.depth", queue::size)
+                .description("발행 대기 중인 체결 수")
+                .register(meterRegistry);
+        this.published =
+                Counter.builder("market.fanout.published")
+                        .description("다른 노드로 발행한 체결 수")
+                        .register(meterRegistry);
+        this.publishFailures =
+                Counter.builder("market.fanout.publish.failed")
+                        .description("발행에 실패한 체결 수")
+                        .register(meterRegistry);
+        this.dropped =
+                Counter.builder("market.fanout.dropped")
+                        .description("발행 큐가 가득 차 버린 체결 수")
+                        .register(meterRegistry);
+        this.received =
+                Counter.builder("market.fanout.received")
+                        .description("리더에게서 받은 체결 수")
+                        .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!leadership.isClustered()) {
+            return;
+        }
+        running = true;
+        publisher = Thread.ofPlatform().name("market-tick-fanout").daemon(true).start(this::run);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (publisher == null) {
+            return;
+        }
+        publisher.interrupt();
+        try {
+            publisher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public String channel() {
+        return channel;
+    }
+
+    /** 리더가 처리한 체결을 발행 큐에 넣는다. 클러스터 모드가 아니면 메시지를 만들지도 않는다. 호출 스레드는 Redis 를 기다리지 않는다. */
+    public void publish(
+            String stockCode,
+            int currentPrice,
+            int highPrice,
+            int lowPrice,
+            long cumulativeVolume,
+            long tradeVolume,
+            double dayOverDayPercent,
+            int tradeTime) {
+        if (!leadership.isClustered() || !leadership.isLeader()) {
+            return;
+        }
+        String message =
+                TickMessageCodec.encode(
+                        stockCode,
+                        currentPrice,
+                        highPrice,
+                        lowPrice,
+                        cumulativeVolume,
+                        tradeVolume,
+                        dayOverDayPercent,
+                        tradeTime);
+        if (!queue.offer(message)) {
+            dropped.increment();
+        }
+    }
+
+    private void run() {
+        List<String> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                // 종료 신호. 남은 체결은 다른 노드가 다음 체결로 따라잡으므로 버린다.
+                break;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    private void flush(List<String> batch) {
+        try {
+            redisTemplate.convertAndSend(channel, String.join("\n", batch));
+            published.increment(batch.size());
+        } catch (Exception e) {
+            publishFailures.increment(batch.size());
+            log.debug("체결 발행 실패 - {}건: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        if (leadership.isLeader()) {
+            return;
+        }
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int start = 0;
+        while (start < body.length()) {
+            int end = body.indexOf('\n', start);
+            if (end < 0) {
+                end = body.length();
+            }
+            String tick = body.substring(start, end);
+            if (TickMessageCodec.isTickMessage(tick)) {
+                received.increment();
+                tickDispatcher.dispatch(TickMessageCodec.routingKey(tick), tick);
+            }
+            start = end + 1;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package io.gaboja9.mockstock.global.websocket.cluster;
+
+import io.gaboja9.mockstock.global.websocket.dto.StockPriceDto;
+import io.gaboja9.mockstock.global.websocket.mapper.StockPriceMapper;
+
+/**
+ * 노드 간에 주고받는 정규화된 체결 한 건의 문자열 형식.
+ *
+ * <p>{@code T|종목코드|현재가|고가|저가|누적거래량|체결량|등락률|체결시각} 한 줄이다. 한투 원본 프레임({@code 0|...})이나 JSON 응답과 첫 글자로
+ * 구분되므로 같은 처리 샤드로 흘려 보내도 된다.
+ */
+public final class TickMessageCodec {
+
+    private static final char PREFIX = 'T';
+    private static final char DELIMITER = '|';
+    private static final int FIELD_COUNT = 9;
+
+    private TickMessageCodec() {}
+
+    public static String encode(StockPriceDto priceData) {
+        return encode(
+                priceData.getStockCode(),
+                priceData.getCurrentPrice(),
+                priceData.getHighPrice(),
+                priceData.getLowPrice(),
+                priceData.getCumulativeVolume(),
+                priceData.getTradeVolume(),
+                priceData.getDayOverDayPercent(),
+                StockPriceMapper.parseTradeTime(priceData.getTradeTime()));
+    }
+
+    /** tradeTime 은 HHmmss 정수. 0 이면 체결시각을 비워 둔다 */
+    public static String encode(
+            String stockCode,
+            int currentPrice,
+            int highPrice,
+            int lowPrice,
+            long cumulativeVolume,
+            long tradeVolume,
+            double dayOverDayPercent,
+            int tradeTime) {
+        String formattedTime = StockPriceMapper.formatTradeTime(tradeTime);
+        return new StringBuilder(64)
+                .append(PREFIX)
+                .append(DELIMITER)
+                .append(stockCode)
+                .append(DELIMITER)
+                .append(currentPrice)
+                .append(DELIMITER)
+                .append(highPrice)
+                .append(DELIMITER)
+                .append(lowPrice)
+                .append(DELIMITER)
+                .append(cumulativeVolume)
+                .append(DELIMITER)
+                .append(tradeVolume)
+                .append(DELIMITER)
+                .append(dayOverDayPercent)
+                .append(DELIMITER)
+                .append(formattedTime == null ? "" : formattedTime)
+                .toString();
+    }
+
+    public static boolean isTickMessage(CharSequence message) {
+        return message.length() > 2
+                && message.charAt(0) == PREFIX
+                && message.charAt(1) == DELIMITER;
+    }
+
+    /** 처리 샤드 라우팅 키. 한투 프레임과 같게 종목코드의 {@code String.hashCode()} 를 쓴다. */
+    public static int routingKey(String message) {
+        int end = message.indexOf(DELIMITER, 2);
+        return message.substring(2, end < 0 ? message.length() : end).hashCode();
+    }
+
+    public static StockPriceDto decode(String message) {
+        if (!isTickMessage(message)) {
+            throw new IllegalArgumentException("체결 메시지 형식이 아님: " + message);
+        }
+        String[] fields = message.split("\\|", -1);
+        if (fields.length != FIELD_COUNT) {
+            throw new IllegalArgumentException("체결 메시지 필드 수 오류: " + message);
+        }
+        return StockPriceDto.builder()
+                .stockCode(fields[1])
+                .currentPrice(Integer.parseInt(fields[2]))
+                .highPrice(Integer.parseInt(fields[3]))
+                .lowPrice(Integer.parseInt(fields[4]))
+                .cumulativeVolume(Long.parseLong(fields[5]))
+                .tradeVolume(Long.parseLong(fields[6]))
+                .dayOverDayPercent(Double.parseDouble(fields[7]))
+                .tradeTime(fields[8].isEmpty() ? null : fields[8])
+                .build();
+    }
+}
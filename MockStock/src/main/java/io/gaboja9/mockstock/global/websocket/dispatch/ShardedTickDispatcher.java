@@ -0,0 +1,184 @@
+package io.gaboja9.mockstock.global.websocket.dispatch;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * 종목별 순서를 보장하는 실시간 메시지 분배기.
+ *
+ * <p>라우팅 키(종목코드 해시)마다 항상 같은 샤드로 보내므로 한 종목의 체결은 받은 순서대로 처리되고, 서로 다른 종목은 여러 코어에서 병렬로 처리된다. 샤드는 링 버퍼
+ * 하나와 전용 워커 스레드 하나로 구성된다. 워커는 큐가 비면 잠깐 돌다가 시간 제한 없이 잠들고, 빈 큐에 메시지를 넣은 쪽이 깨운다. 버퍼가 가득 차면 수신 스레드를 막지
+ * 않고 메시지를 버리며 drop 지표로 남긴다.
+ */
+@Component
+@Slf4j
+public class ShardedTickDispatcher {
+
+    private static final int SPIN_TRIES = 100;
+    // 업스트림 등록 종목 수가 많지 않으므로 코어 수만큼 워커를 둘 필요는 없다
+    static final int DEFAULT_MAX_SHARDS = 4;
+
+    private final Shard[] shards;
+    private volatile boolean running = false;
+
+    public ShardedTickDispatcher(
+            MeterRegistry meterRegistry,
+            @Value("${hantu-openapi.tick-dispatch.shards:0}") int shardCount,
+            @Value("${hantu-openapi.tick-dispatch.queue-capacity:8192}") int queueCapacity) {
+        int count = shardCount > 0 ? shardCount : defaultShardCount();
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard(i, queueCapacity, meterRegistry);
+        }
+    }
+
+    // 수신 스레드와 나머지 작업이 쓸 코어를 남겨 둔다
+    static int defaultShardCount() {
+        int cpus = Runtime.getRuntime().availableProcessors();
+        return Math.max(1, Math.min(DEFAULT_MAX_SHARDS, cpus / 2));
+    }
+
+    /** 워커 스레드를 띄운다. 메시지는 모두 handler 로 전달된다. */
+    public synchronized void start(Consumer<String> handler) {
+        if (running) {
+            return;
+        }
+        running = true;
+        for (Shard shard : shards) {
+            shard.start(handler);
+        }
+        log.info("실시간 메시지 분배기 시작. shards={}", shards.length);
+    }
+
+    /**
+     * 라우팅 키에 해당하는 샤드에 메시지를 넣는다.
+     *
+     * @return 큐가 가득 차서 버려졌으면 false
+     */
+    public boolean dispatch(int routingKey, String message) {
+        Shard shard = shards[shardIndex(routingKey)];
+        if (!shard.queue.offer(message)) {
+            shard.dropped.increment();
+            return false;
+        }
+        shard.wakeUp();
+        return true;
+    }
+
+    int shardIndex(int routingKey) {
+        // 종목코드 해시는 하위 비트가 비슷하게 몰리므로 섞어서 나눈다
+        int h = routingKey * 0x9E3779B9;
+        return Math.floorMod(h ^ (h >>> 16), shards.length);
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        for (Shard shard : shards) {
+            shard.stop();
+        }
+    }
+
+    private final class Shard implements Runnable {
+
+        private final int id;
+        private final TickRingBuffer<String> queue;
+        private final Counter dropped;
+        private final Counter processed;
+        private Consumer<String> handler;
+        private Thread worker;
+        // 워커가 빈 큐를 보고 잠들었으면 true. 깨우는 쪽이 false 로 바꾸므로 잠든 동안 unpark 는 한 번만 한다
+        private final AtomicBoolean parked = new AtomicBoolean();
+
+        private Shard(int id, int capacity, MeterRegistry meterRegistry) {
+            this.id = id;
+            this.queue = new TickRingBuffer<>(capacity);
+            String shardTag = String.valueOf(id);
+            Gauge.builder("hantu.tick.queue.depth", queue, TickRingBuffer::size)
+                    .description("샤드별 처리 대기 중인 실시간 메시지 수")
+                    .tag("shard", shardTag)
+                    .register(meterRegistry);
+            this.dropped =
+                    Counter.builder("hantu.tick.dropped")
+                            .description("큐가 가득 차서 버린 실시간 메시지 수")
+                            .tag("shard", shardTag)
+                            .register(meterRegistry);
+            this.processed =
+                    Counter.builder("hantu.tick.processed")
+                            .tag("shard", shardTag)
+                            .register(meterRegistry);
+        }
+
+        private void start(Consumer<String> handler) {
+            this.handler = handler;
+            this.worker = Thread.ofPlatform().name("tick-shard-" + id).daemon(true).start(this);
+        }
+
+        /** 빈 큐에 메시지가 들어와 잠든 워커를 깨워야 할 때만 unpark 한다. */
+        private void wakeUp() {
+            if (parked.get() && parked.compareAndSet(true, false)) {
+                LockSupport.unpark(worker);
+            }
+        }
+
+        @Override
+        public void run() {
+            int idle = 0;
+            while (running || queue.size() > 0) {
+                String message = queue.poll();
+                if (message == null) {
+                    if (++idle < SPIN_TRIES) {
+                        Thread.onSpinWait();
+                        continue;
+                    }
+                    // parked 를 먼저 켜고 큐를 다시 본다. 그 사이 들어온 메시지는 여기서 보이거나, 넣은 쪽이 parked 를 보고 깨운다
+                    parked.set(true);
+                    if (queue.size() == 0 && running) {
+                        LockSupport.park(this);
+                    }
+                    parked.set(false);
+                    idle = 0;
+                    continue;
+                }
+
+                idle = 0;
+                try {
+                    handler.accept(message);
+                } catch (Exception e) {
+                    log.error("실시간 메시지 처리 실패. shard={}", id, e);
+                } finally {
+                    processed.increment();
+                }
+            }
+        }
+
+        private void stop() {
+            if (worker == null) {
+                return;
+            }
+            LockSupport.unpark(worker);
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package io.gaboja9.mockstock.global.websocket.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** 시세 필드는 {@link StockPriceDto} 와 같은 위치에 펼쳐 두어 기존 클라이언트도 그대로 현재가로 읽는다. */
+@Getter
+@AllArgsConstructor
+@Schema(description = "종목 토픽 구독 직후 보내는 현재 시세와 진행 중인 분봉")
+public class StockSnapshotDto {
+
+    @JsonUnwrapped private StockPriceDto price;
+
+    @Schema(description = "진행 중인 1분봉 (아직 체결이 없으면 null)")
+    private StocksCandleDto minuteCandle;
+
+    @Schema(description = "구독 스냅샷 여부", example = "true")
+    private final boolean snapshot = true;
+}
@@ -0,0 +1,107 @@
+package io.gaboja9.mockstock.global.websocket.feed;
+
+import jakarta.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * 한투에서 받은 체결 프레임을 {@link ReplayFeedSource} 로 다시 재생할 수 있게 텍스트 파일로 남긴다.
+ *
+ * <p>{@code hantu-openapi.feed.record-dir} 를 지정했을 때만 동작한다. 날짜별 {@code frames-yyyy-MM-dd.log} 에
+ * {@code 수신시각(ms)\t프레임} 한 줄씩 덧붙이고, 버퍼는 1초마다 비운다.
+ */
+@Component
+@Slf4j
+public class FrameRecorder {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private final Path directory;
+
+    // 아래 필드는 this 로 보호
+    private BufferedWriter writer;
+    private LocalDate writerDate;
+
+    public FrameRecorder(@Value("${hantu-openapi.feed.record-dir:}") String recordDir) {
+        this.directory = recordDir.isBlank() ? null : Path.of(recordDir);
+    }
+
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    public void record(long receivedAt, String frame) {
+        if (directory == null) {
+            return;
+        }
+        synchronized (this) {
+            try {
+                writerFor(LocalDate.now(KST))
+                        .append(Long.toString(receivedAt))
+                        .append('\t')
+                        .append(frame)
+                        .append('\n');
+            } catch (IOException e) {
+                log.warn("체결 프레임 기록 실패: {}", e.getMessage());
+                closeWriter();
+            }
+        }
+    }
+
+    private BufferedWriter writerFor(LocalDate date) throws IOException {
+        if (writer == null || !date.equals(writerDate)) {
+            closeWriter();
+            Files.createDirectories(directory);
+            writer =
+                    Files.newBufferedWriter(
+                            directory.resolve("frames-" + date + ".log"),
+                            StandardCharsets.UTF_8,
+                            StandardOpenOption.CREATE,
+                            StandardOpenOption.APPEND);
+            writerDate = date;
+        }
+        return writer;
+    }
+
+    @Scheduled(fixedDelay = 1000)
+    public synchronized void flush() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            log.warn("체결 프레임 기록 flush 실패: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        closeWriter();
+    }
+
+    private void closeWriter() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.warn("체결 프레임 기록 파일 닫기 실패: {}", e.getMessage());
+        }
+        writer = null;
+    }
+}
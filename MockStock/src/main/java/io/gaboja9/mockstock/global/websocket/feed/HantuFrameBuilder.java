@@ -0,0 +1,61 @@
+package io.gaboja9.mockstock.global.websocket.feed;
+
+import io.gaboja9.mockstock.global.websocket.mapper.HantuTickParser;
+
+/**
+ * 한투 H0STCNT0 단건 프레임을 만든다.
+ *
+ * <p>{@link HantuTickParser} 가 읽는 앞쪽 14개 필드(종목코드 ~ 누적거래량)만 채운다. 시가, 가중평균가, 호가는 현재가로 채운다.
+ */
+public final class HantuFrameBuilder {
+
+    private HantuFrameBuilder() {}
+
+    public static String frame(
+            String stockCode,
+            String tradeTime,
+            int price,
+            int previousClose,
+            int high,
+            int low,
+            long tradeVolume,
+            long cumulativeVolume) {
+        int change = price - previousClose;
+        double percent =
+                previousClose == 0 ? 0 : Math.round(change * 10_000.0 / previousClose) / 100.0;
+        // 전일 대비 부호: 2 상승, 3 보합, 5 하락
+        char sign = change > 0 ? '2' : change < 0 ? '5' : '3';
+
+        return new StringBuilder(96)
+                .append(HantuTickParser.TICK_FRAME_PREFIX)
+                .append("001|")
+                .append(stockCode) // 0 MKSC_SHRN_ISCD
+                .append('^')
+                .append(tradeTime) // 1 STCK_CNTG_HOUR
+                .append('^')
+                .append(price) // 2 STCK_PRPR
+                .append('^')
+                .append(sign) // 3 PRDY_VRSS_SIGN
+                .append('^')
+                .append(change) // 4 PRDY_VRSS
+                .append('^')
+                .append(percent) // 5 PRDY_CTRT
+                .append('^')
+                .append(price) // 6 WGHN_AVRG_STCK_PRC
+                .append('^')
+                .append(previousClose) // 7 STCK_OPRC
+                .append('^')
+                .append(high) // 8 STCK_HGPR
+                .append('^')
+                .append(low) // 9 STCK_LWPR
+                .append('^')
+                .append(price) // 10 ASKP1
+                .append('^')
+                .append(price) // 11 BIDP1
+                .append('^')
+                .append(tradeVolume) // 12 CNTG_VOL
+                .append('^')
+                .append(cumulativeVolume) // 13 ACML_VOL
+                .toString();
+    }
+}
@@ -0,0 +1,62 @@
+package io.gaboja9.mockstock.global.websocket.feed;
+
+import io.gaboja9.mockstock.global.websocket.HantuWebSocketConnectionManager;
+import io.gaboja9.mockstock.global.websocket.HantuWebSocketHandler;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 실시간 시세를 어디서 받을지 고른다 ({@code hantu-openapi.feed.mode}).
+ *
+ * <ul>
+ *   <li>{@code hantu}: 한투 웹소켓 (기본값)
+ *   <li>{@code simulator}: {@link SimulatedFeedSource} 모의 체결
+ *   <li>{@code replay}: {@link ReplayFeedSource} 기록 재생
+ * </ul>
+ *
+ * 모의/재생 프레임도 {@link HantuWebSocketHandler#onFeedFrame} 로 들어가므로 네트워크 없이 체결 → 분봉 → 지정가 체결 → 브로드캐스트
+ * 전체를 돌릴 수 있다.
+ */
+@Component
+@Slf4j
+public class MarketFeed {
+
+    static final String HANTU = "hantu";
+
+    private final String mode;
+    private final HantuWebSocketHandler webSocketHandler;
+    private final ObjectProvider<HantuWebSocketConnectionManager> connectionManagerProvider;
+    private final ObjectProvider<MarketFeedSource> feedSourceProvider;
+
+    public MarketFeed(
+            @Value("${hantu-openapi.feed.mode:hantu}") String mode,
+            HantuWebSocketHandler webSocketHandler,
+            ObjectProvider<HantuWebSocketConnectionManager> connectionManagerProvider,
+            ObjectProvider<MarketFeedSource> feedSourceProvider) {
+        this.mode = mode;
+        this.webSocketHandler = webSocketHandler;
+        this.connectionManagerProvider = connectionManagerProvider;
+        this.feedSourceProvider = feedSourceProvider;
+    }
+
+    public void start() {
+        if (HANTU.equals(mode)) {
+            connectionManagerProvider.getObject().startConnection();
+            return;
+        }
+        log.info("한투 대신 {} 시세로 동작", mode);
+        feedSourceProvider.getObject().start(webSocketHandler::onFeedFrame);
+    }
+
+    public void stop() {
+        if (HANTU.equals(mode)) {
+            connectionManagerProvider.getObject().stopConnection();
+            return;
+        }
+        feedSourceProvider.getObject().stop();
+    }
+}
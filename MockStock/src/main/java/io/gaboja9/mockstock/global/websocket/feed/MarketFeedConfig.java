@@ -0,0 +1,46 @@
+package io.gaboja9.mockstock.global.websocket.feed;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.util.List;
+
+@Configuration
+public class MarketFeedConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "hantu-openapi.feed.mode", havingValue = "simulator")
+    public MarketFeedSource simulatedFeedSource(
+            @Value(
+                            "${hantu-openapi.feed.simulator.symbols:"
+                                    + "005930,000660,035420,035720,051910,005380,068270,105560}")
+                    String[] symbols,
+            @Value("${hantu-openapi.feed.simulator.initial-price:50000}") int initialPrice,
+            @Value("${hantu-openapi.feed.simulator.ticks-per-second:200}") int ticksPerSecond,
+            @Value("${hantu-openapi.feed.simulator.sigma:0.0005}") double sigma,
+            @Value("${hantu-openapi.feed.simulator.jump-probability:0.0005}")
+                    double jumpProbability,
+            @Value("${hantu-openapi.feed.simulator.jump-sigma:0.02}") double jumpSigma,
+            @Value("${hantu-openapi.feed.simulator.seed:42}") long seed) {
+        return new SimulatedFeedSource(
+                List.of(symbols),
+                initialPrice,
+                ticksPerSecond,
+                sigma,
+                jumpProbability,
+                jumpSigma,
+                seed);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "hantu-openapi.feed.mode", havingValue = "replay")
+    public MarketFeedSource replayFeedSource(
+            @Value("${hantu-openapi.feed.replay.path}") String path,
+            @Value("${hantu-openapi.feed.replay.speed:1}") double speed,
+            @Value("${hantu-openapi.feed.replay.loop:false}") boolean loop) {
+        return new ReplayFeedSource(Path.of(path), speed, loop);
+    }
+}
@@ -0,0 +1,17 @@
+package io.gaboja9.mockstock.global.websocket.feed;
+
+import java.util.function.Consumer;
+
+/**
+ * 한투 웹소켓 대신 체결 프레임을 만들어 내는 시세 공급원.
+ *
+ * <p>공급원은 한투와 같은 H0STCNT0 프레임 문자열을 sink 로 넘기고, sink 는 한투 수신과 같은 처리 샤드로 보낸다. 그래서 분봉, 지정가 체결, STOMP
+ * 브로드캐스트까지 실제 수신과 똑같은 경로를 탄다.
+ */
+public interface MarketFeedSource {
+
+    /** 프레임 생성을 시작한다. 이미 돌고 있으면 아무것도 하지 않는다. */
+    void start(Consumer<String> frameSink);
+
+    void stop();
+}
@@ -0,0 +1,132 @@
+package io.gaboja9.mockstock.global.websocket.feed;
+
+import io.gaboja9.mockstock.global.websocket.mapper.HantuTickParser;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * 파일에 기록된 H0STCNT0 프레임을 원래 간격대로(배속 적용) 다시 보낸다.
+ *
+ * <p>한 줄에 프레임 하나이며, {@link FrameRecorder} 가 남기는 {@code 수신시각(ms)\t프레임} 형식이면 수신 시각으로, 프레임만 있으면 체결
+ * 시각(HHmmss)으로 간격을 맞춘다. 배속은 1 ~ 100 배이다.
+ */
+@Slf4j
+public class ReplayFeedSource implements MarketFeedSource {
+
+    static final double MIN_SPEED = 1;
+    static final double MAX_SPEED = 100;
+
+    private final Path path;
+    private final double speed;
+    private final boolean loop;
+
+    private volatile boolean running;
+    private volatile boolean stopped;
+    private Thread worker;
+
+    public ReplayFeedSource(Path path, double speed, boolean loop) {
+        this.path = path;
+        this.speed = Math.min(MAX_SPEED, Math.max(MIN_SPEED, speed));
+        this.loop = loop;
+    }
+
+    @Override
+    public synchronized void start(Consumer<String> frameSink) {
+        if (running) {
+            return;
+        }
+        running = true;
+        stopped = false;
+        worker =
+                Thread.ofPlatform()
+                        .name("feed-replay")
+                        .daemon(true)
+                        .start(
+                                () -> {
+                                    do {
+                                        replay(frameSink);
+                                    } while (loop && !stopped);
+                                    running = false;
+                                });
+        log.info("체결 재생 시작: {} ({}배속)", path, speed);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        stopped = true;
+        if (worker != null) {
+            LockSupport.unpark(worker);
+            worker = null;
+        }
+    }
+
+    /**
+     * 파일을 처음부터 끝까지 한 번 재생한다.
+     *
+     * @return 보낸 프레임 수
+     */
+    long replay(Consumer<String> frameSink) {
+        long sent = 0;
+        long firstAt = -1;
+        long startedAt = System.nanoTime();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null && !stopped) {
+                int tab = line.indexOf('\t');
+                String frame = tab < 0 ? line : line.substring(tab + 1);
+                if (!HantuTickParser.isTickFrame(frame)) {
+                    continue;
+                }
+                long at = tab < 0 ? tradeTimeMillis(frame) : Long.parseLong(line, 0, tab, 10);
+                if (at >= 0) {
+                    if (firstAt < 0) {
+                        firstAt = at;
+                    }
+                    waitUntil(
+                            startedAt
+                                    + (long) (TimeUnit.MILLISECONDS.toNanos(at - firstAt) / speed));
+                }
+                frameSink.accept(frame);
+                sent++;
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("체결 재생 중단: {} ({})", path, e.getMessage());
+        }
+        return sent;
+    }
+
+    private void waitUntil(long deadline) {
+        long remaining;
+        while (!stopped && (remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    /** 첫 레코드 체결 시각(HHmmss)을 그날 0시 기준 밀리초로. 읽을 수 없으면 -1 */
+    static long tradeTimeMillis(String frame) {
+        int start = frame.indexOf('^');
+        if (start < 0 || start + 7 > frame.length()) {
+            return -1;
+        }
+        int hhmmss = 0;
+        for (int i = start + 1; i < start + 7; i++) {
+            int digit = frame.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            hhmmss = hhmmss * 10 + digit;
+        }
+        long seconds = hhmmss / 10_000 * 3_600L + hhmmss / 100 % 100 * 60L + hhmmss % 100;
+        return TimeUnit.SECONDS.toMillis(seconds);
+    }
+}
@@ -0,0 +1,170 @@
+package io.gaboja9.mockstock.global.websocket.feed;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * 기하 브라운 운동(GBM)에 점프를 섞은 모의 체결 생성기.
+ *
+ * <p>체결마다 가격에 {@code exp(-σ²/2 + σZ)} 를 곱하고, 일정 확률로 {@code exp(σ_jump·Z)} 점프를 더 곱한다. 가격은 호가 단위로
+ * 맞춘다. 종목을 돌아가며 초당 정해진 수만큼 프레임을 만들고, 같은 seed 면 같은 순서의 가격이 나온다 (체결 시각만 실제 시계를 따른다).
+ */
+@Slf4j
+public class SimulatedFeedSource implements MarketFeedSource {
+
+    private static final DateTimeFormatter HHMMSS =
+            DateTimeFormatter.ofPattern("HHmmss").withZone(ZoneId.of("Asia/Seoul"));
+    private static final long PACE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    // 멈췄다 깨어났을 때 한 번에 몰아서 만들 최대 체결 수 (초당 체결 수 대비)
+    private static final double MAX_CATCH_UP_SECONDS = 0.1;
+
+    private final SymbolState[] symbols;
+    private final int ticksPerSecond;
+    private final double sigma;
+    private final double jumpProbability;
+    private final double jumpSigma;
+    private final SplittableRandom random;
+
+    private int next;
+    private volatile boolean running;
+    private Thread worker;
+
+    private static final class SymbolState {
+        private final String stockCode;
+        private final int previousClose;
+        private double price;
+        private int high;
+        private int low;
+        private long cumulativeVolume;
+
+        private SymbolState(String stockCode, int previousClose) {
+            this.stockCode = stockCode;
+            this.previousClose = previousClose;
+            this.price = previousClose;
+            this.high = previousClose;
+            this.low = previousClose;
+        }
+    }
+
+    public SimulatedFeedSource(
+            List<String> stockCodes,
+            int initialPrice,
+            int ticksPerSecond,
+            double sigma,
+            double jumpProbability,
+            double jumpSigma,
+            long seed) {
+        if (stockCodes.isEmpty() || ticksPerSecond <= 0) {
+            throw new IllegalArgumentException("모의 시세 종목과 초당 체결 수는 1 이상이어야 합니다");
+        }
+        this.random = new SplittableRandom(seed);
+        this.symbols = new SymbolState[stockCodes.size()];
+        for (int i = 0; i < symbols.length; i++) {
+            // 종목마다 시작가를 조금씩 다르게 (0.5 ~ 1.5 배)
+            int start = roundToTick(initialPrice * (0.5 + random.nextDouble()));
+            symbols[i] = new SymbolState(stockCodes.get(i), start);
+        }
+        this.ticksPerSecond = ticksPerSecond;
+        this.sigma = sigma;
+        this.jumpProbability = jumpProbability;
+        this.jumpSigma = jumpSigma;
+    }
+
+    @Override
+    public synchronized void start(Consumer<String> frameSink) {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker =
+                Thread.ofPlatform().name("feed-simulator").daemon(true).start(() -> run(frameSink));
+        log.info("모의 시세 시작. 종목 {}개, 초당 {}건", symbols.length, ticksPerSecond);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (worker != null) {
+            LockSupport.unpark(worker);
+            worker = null;
+        }
+    }
+
+    private void run(Consumer<String> frameSink) {
+        long startedAt = System.nanoTime();
+        long emitted = 0;
+        long maxBurst = Math.max(1, (long) (ticksPerSecond * MAX_CATCH_UP_SECONDS));
+        while (running) {
+            long due =
+                    (System.nanoTime() - startedAt) * ticksPerSecond / TimeUnit.SECONDS.toNanos(1);
+            if (due - emitted > maxBurst) {
+                emitted = due - maxBurst;
+            }
+            String tradeTime = HHMMSS.format(Instant.now());
+            for (; emitted < due && running; emitted++) {
+                try {
+                    frameSink.accept(nextFrame(tradeTime));
+                } catch (Exception e) {
+                    log.debug("모의 체결 전달 실패: {}", e.getMessage());
+                }
+            }
+            LockSupport.parkNanos(PACE_NANOS);
+        }
+    }
+
+    /** 다음 종목의 체결 한 건. 생성 스레드에서만 호출한다. */
+    String nextFrame(String tradeTime) {
+        SymbolState s = symbols[next];
+        next = (next + 1) % symbols.length;
+
+        double shock = -0.5 * sigma * sigma + sigma * random.nextGaussian();
+        if (random.nextDouble() < jumpProbability) {
+            shock += jumpSigma * random.nextGaussian();
+        }
+        s.price *= Math.exp(shock);
+
+        int price = roundToTick(s.price);
+        long volume = 1 + (long) (-Math.log(1 - random.nextDouble()) * 50);
+        s.high = Math.max(s.high, price);
+        s.low = Math.min(s.low, price);
+        s.cumulativeVolume += volume;
+        return HantuFrameBuilder.frame(
+                s.stockCode,
+                tradeTime,
+                price,
+                s.previousClose,
+                s.high,
+                s.low,
+                volume,
+                s.cumulativeVolume);
+    }
+
+    /** 유가증권시장 호가 단위로 반올림 */
+    static int roundToTick(double price) {
+        int tick;
+        if (price < 2_000) {
+            tick = 1;
+        } else if (price < 5_000) {
+            tick = 5;
+        } else if (price < 20_000) {
+            tick = 10;
+        } else if (price < 50_000) {
+            tick = 50;
+        } else if (price < 200_000) {
+            tick = 100;
+        } else if (price < 500_000) {
+            tick = 500;
+        } else {
+            tick = 1_000;
+        }
+        return (int) Math.max(tick, Math.round(price / tick) * tick);
+    }
+}
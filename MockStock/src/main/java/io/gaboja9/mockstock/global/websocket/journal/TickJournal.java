@@ -0,0 +1,263 @@
+package io.gaboja9.mockstock.global.websocket.journal;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 받은 체결을 날짜별 파일에 고정 길이 바이너리 레코드로 덧붙이는 저널.
+ *
+ * <p>파일은 {@code ticks-yyyy-MM-dd.journal} 이름으로 미리 정해진 크기만큼 메모리 매핑해 두고, 체결마다 위치만 원자적으로 늘려 자기 칸에 쓴다.
+ * 그래서 여러 처리 샤드가 락 없이 동시에 쓰고, 체결당 객체를 만들지 않는다. 종목코드는 파일마다 처음 나올 때 한 번만 정의 레코드로 남기고 이후에는 파일 안의 조밀한 종목
+ * id 로 적는다. 레코드 형식은 {@link TickJournalFormat} 을 보면 된다.
+ *
+ * <p>날짜(KST)가 바뀌면 새 파일로 넘어간다. 같은 날 다시 시작하면 기존 파일 끝에 이어 쓴다. 파일이 가득 차면 그날 남은 체결은 기록하지 않고 {@code
+ * tick.journal.dropped} 로 센다. 파일을 열지 못하면 {@link #OPEN_RETRY_MS} 동안은 다시 열어 보지 않고 체결을 버린다. {@code
+ * hantu-openapi.journal.dir} 를 지정했을 때만 동작한다.
+ */
+@Component
+@Slf4j
+public class TickJournal {
+
+    private static final long DAY_MS = TimeUnit.DAYS.toMillis(1);
+    private static final long KST_OFFSET_MS = TimeUnit.HOURS.toMillis(9);
+    static final long OPEN_RETRY_MS = TimeUnit.MINUTES.toMillis(1);
+
+    private final Path directory;
+    private final int fileSize;
+    private final Counter appended;
+    private final Counter dropped;
+
+    private volatile Segment current;
+    // 파일을 열지 못한 날짜와 다시 열어 볼 시각. 그 전까지 그날 체결은 락 없이 버린다
+    private volatile long failedEpochDay = Long.MIN_VALUE;
+    private volatile long retryOpenAt;
+
+    /** 하루치 파일 하나 */
+    static final class Segment {
+        final long epochDay;
+        final Path path;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+        final AtomicInteger position;
+        final Map<String, Integer> symbolIds = new ConcurrentHashMap<>();
+        final AtomicInteger nextSymbolId = new AtomicInteger();
+
+        Segment(long epochDay, Path path, FileChannel channel, MappedByteBuffer buffer, int end) {
+            this.epochDay = epochDay;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.position = new AtomicInteger(end);
+        }
+    }
+
+    public TickJournal(
+            @Value("${hantu-openapi.journal.dir:}") String journalDir,
+            @Value("${hantu-openapi.journal.file-size-mb:512}") int fileSizeMb,
+            MeterRegistry meterRegistry) {
+        this.directory = journalDir.isBlank() ? null : Path.of(journalDir);
+        this.fileSize = (int) Math.min(Integer.MAX_VALUE, fileSizeMb * 1024L * 1024L);
+        this.appended =
+                Counter.builder("tick.journal.appended")
+                        .description("저널에 기록한 체결 수")
+                        .register(meterRegistry);
+        this.dropped =
+                Counter.builder("tick.journal.dropped")
+                        .description("파일이 가득 차거나 열지 못해 기록하지 못한 체결 수")
+                        .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    public static Path fileFor(Path directory, LocalDate date) {
+        return directory.resolve("ticks-" + date + ".journal");
+    }
+
+    /**
+     * 체결 한 건을 기록한다. 처리 샤드에서 바로 호출하며 종목이 파일에 처음 나올 때 말고는 객체를 만들지 않는다.
+     *
+     * @param exchangeTime 체결 시각 (HHmmss 정수)
+     * @param receivedAt 수신 시각 (epoch ms). 이 값의 KST 날짜로 파일을 고른다
+     */
+    public void append(
+            String stockCode,
+            int exchangeTime,
+            long receivedAt,
+            int price,
+            long volume,
+            long cumulativeVolume) {
+        if (directory == null) {
+            return;
+        }
+        Segment segment = segmentFor(Math.floorDiv(receivedAt + KST_OFFSET_MS, DAY_MS));
+        if (segment == null) {
+            dropped.increment();
+            return;
+        }
+
+        int symbolId = symbolId(segment, stockCode);
+        int offset = symbolId < 0 ? -1 : reserve(segment);
+        if (offset < 0) {
+            dropped.increment();
+            return;
+        }
+        TickJournalFormat.writeTick(
+                segment.buffer,
+                offset,
+                symbolId,
+                exchangeTime,
+                receivedAt,
+                price,
+                (int) Math.min(Integer.MAX_VALUE, volume),
+                cumulativeVolume);
+        appended.increment();
+    }
+
+    private int symbolId(Segment segment, String stockCode) {
+        Integer id = segment.symbolIds.get(stockCode);
+        if (id != null) {
+            return id;
+        }
+        // 정의 레코드를 id 를 돌려주기 전에 써 두므로 파일에서 항상 체결 레코드보다 앞에 온다
+        return segment.symbolIds.computeIfAbsent(
+                stockCode,
+                code -> {
+                    int offset = reserve(segment);
+                    if (offset < 0) {
+                        return -1;
+                    }
+                    int newId = segment.nextSymbolId.getAndIncrement();
+                    TickJournalFormat.writeSymbol(segment.buffer, offset, newId, code);
+                    return newId;
+                });
+    }
+
+    private int reserve(Segment segment) {
+        int offset = segment.position.getAndAdd(TickJournalFormat.RECORD_SIZE);
+        if (offset < 0 || offset > fileSize - TickJournalFormat.RECORD_SIZE) {
+            // 넘친 뒤 계속 더해져 int 범위를 넘지 않게 되돌려 둔다
+            segment.position.set(fileSize);
+            return -1;
+        }
+        return offset;
+    }
+
+    private Segment segmentFor(long epochDay) {
+        Segment segment = current;
+        if (segment != null && segment.epochDay == epochDay) {
+            return segment;
+        }
+        if (segment == null
+                && epochDay == failedEpochDay
+                && System.currentTimeMillis() < retryOpenAt) {
+            return null;
+        }
+        return roll(epochDay);
+    }
+
+    private synchronized Segment roll(long epochDay) {
+        Segment segment = current;
+        if (segment != null && segment.epochDay == epochDay) {
+            return segment;
+        }
+        // 자정 직후 늦게 온 전날 체결은 그냥 현재 파일에 남긴다
+        if (segment != null && segment.epochDay > epochDay) {
+            return segment;
+        }
+        if (segment == null
+                && epochDay == failedEpochDay
+                && System.currentTimeMillis() < retryOpenAt) {
+            return null;
+        }
+        closeSegment(segment);
+        try {
+            current = open(epochDay);
+            failedEpochDay = Long.MIN_VALUE;
+            log.info("체결 저널 파일 열림: {} (이어 쓸 위치 {})", current.path, current.position);
+        } catch (IOException e) {
+            log.warn("체결 저널 파일을 열 수 없음, {}초 동안 체결을 버림: {}", OPEN_RETRY_MS / 1000, e.getMessage());
+            current = null;
+            retryOpenAt = System.currentTimeMillis() + OPEN_RETRY_MS;
+            failedEpochDay = epochDay;
+        }
+        return current;
+    }
+
+    private Segment open(long epochDay) throws IOException {
+        Files.createDirectories(directory);
+        Path path = fileFor(directory, LocalDate.ofEpochDay(epochDay));
+        FileChannel channel =
+                FileChannel.open(
+                        path,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.READ,
+                        StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        if (!TickJournalFormat.hasHeader(buffer)) {
+            TickJournalFormat.writeHeader(buffer, epochDay);
+            return new Segment(epochDay, path, channel, buffer, TickJournalFormat.RECORD_SIZE);
+        }
+
+        // 같은 날 재시작: 종목 정의를 다시 읽고 마지막 레코드 뒤부터 이어 쓴다
+        Map<String, Integer> symbols = new HashMap<>();
+        int end =
+                TickJournalFormat.scan(buffer, fileSize, (id, code) -> symbols.put(code, id), null);
+        Segment segment = new Segment(epochDay, path, channel, buffer, end);
+        segment.symbolIds.putAll(symbols);
+        segment.nextSymbolId.set(symbols.size());
+        return segment;
+    }
+
+    /** 기록한 내용을 주기적으로 디스크에 내린다 */
+    @Scheduled(fixedDelayString = "${hantu-openapi.journal.force-interval-ms:5000}")
+    public void force() {
+        Segment segment = current;
+        if (segment != null) {
+            segment.buffer.force();
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        closeSegment(current);
+        current = null;
+    }
+
+    private void closeSegment(Segment segment) {
+        if (segment == null) {
+            return;
+        }
+        try {
+            segment.buffer.force();
+            segment.channel.close();
+        } catch (IOException e) {
+            log.warn("체결 저널 파일 닫기 실패: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package io.gaboja9.mockstock.global.websocket.journal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 체결 저널 파일 형식. 모든 레코드는 32바이트 리틀 엔디언이고 첫 int 로 종류를 구분한다.
+ *
+ * <pre>
+ * 파일 헤더  : int MAGIC | int 버전 | int 레코드 크기 | int 0 | long 날짜(epoch day) | long 0
+ * 종목 정의  : int -(id+1) | byte 길이 | 종목코드 ASCII (최대 27바이트)
+ * 체결       : int id+1 | int 체결시각 HHmmss | long 수신시각 ms | int 가격 | int 체결량 | long 누적거래량
+ * 끝         : int 0
+ * </pre>
+ *
+ * 첫 int 를 마지막에 쓰므로 쓰다 만 레코드는 0 으로 남는다. 위치는 여러 샤드가 나눠 받으므로 앞 칸을 비운 채 뒤 칸이 먼저 쓰일 수 있다. 그래서 0 인 칸은
+ * 건너뛰고, 0 인 칸이 {@link #MAX_HOLE_RECORDS} 개 연달아 나와야 파일의 끝으로 본다.
+ */
+final class TickJournalFormat {
+
+    static final int RECORD_SIZE = 32;
+    static final int MAGIC = 0x4A54534D; // "MSTJ"
+    static final int VERSION = 1;
+    static final int MAX_CODE_LENGTH = RECORD_SIZE - 5;
+    // 동시에 위치를 받아 두고 아직 못 쓴 칸은 쓰는 스레드 수를 넘지 않는다. 그보다 넉넉하게 잡는다
+    static final int MAX_HOLE_RECORDS = 1024;
+
+    private TickJournalFormat() {}
+
+    interface SymbolHandler {
+        void onSymbol(int symbolId, String stockCode);
+    }
+
+    interface TickHandler {
+        void onTick(
+                int symbolId,
+                int exchangeTime,
+                long receivedAt,
+                int price,
+                int volume,
+                long cumulativeVolume);
+    }
+
+    static void writeHeader(ByteBuffer buffer, long epochDay) {
+        buffer.putInt(4, VERSION);
+        buffer.putInt(8, RECORD_SIZE);
+        buffer.putLong(16, epochDay);
+        buffer.putInt(0, MAGIC);
+    }
+
+    static boolean hasHeader(ByteBuffer buffer) {
+        if (buffer.getInt(0) == 0) {
+            return false;
+        }
+        if (buffer.getInt(0) != MAGIC
+                || buffer.getInt(4) != VERSION
+                || buffer.getInt(8) != RECORD_SIZE) {
+            throw new IllegalStateException("체결 저널 파일 형식이 아닙니다");
+        }
+        return true;
+    }
+
+    static long epochDay(ByteBuffer buffer) {
+        return buffer.getLong(16);
+    }
+
+    static void writeSymbol(ByteBuffer buffer, int offset, int symbolId, String stockCode) {
+        int length = Math.min(stockCode.length(), MAX_CODE_LENGTH);
+        buffer.put(offset + 4, (byte) length);
+        for (int i = 0; i < length; i++) {
+            buffer.put(offset + 5 + i, (byte) stockCode.charAt(i));
+        }
+        buffer.putInt(offset, -(symbolId + 1));
+    }
+
+    static void writeTick(
+            ByteBuffer buffer,
+            int offset,
+            int symbolId,
+            int exchangeTime,
+            long receivedAt,
+            int price,
+            int volume,
+            long cumulativeVolume) {
+        buffer.putInt(offset + 4, exchangeTime);
+        buffer.putLong(offset + 8, receivedAt);
+        buffer.putInt(offset + 16, price);
+        buffer.putInt(offset + 20, volume);
+        buffer.putLong(offset + 24, cumulativeVolume);
+        buffer.putInt(offset, symbolId + 1);
+    }
+
+    /**
+     * 헤더 다음부터 limit 까지 레코드를 순서대로 읽는다. 핸들러가 null 이면 그 종류는 건너뛴다. 중간에 비어 있는 칸은 건너뛴다.
+     *
+     * @return 마지막 레코드 바로 뒤 위치
+     */
+    static int scan(ByteBuffer buffer, int limit, SymbolHandler symbols, TickHandler ticks) {
+        int end = RECORD_SIZE;
+        for (int offset = RECORD_SIZE;
+                offset <= limit - RECORD_SIZE && offset - end < MAX_HOLE_RECORDS * RECORD_SIZE;
+                offset += RECORD_SIZE) {
+            int head = buffer.getInt(offset);
+            if (head == 0) {
+                continue;
+            }
+            end = offset + RECORD_SIZE;
+            if (head > 0) {
+                if (ticks != null) {
+                    ticks.onTick(
+                            head - 1,
+                            buffer.getInt(offset + 4),
+                            buffer.getLong(offset + 8),
+                            buffer.getInt(offset + 16),
+                            buffer.getInt(offset + 20),
+                            buffer.getLong(offset + 24));
+                }
+            } else if (symbols != null) {
+                int length = buffer.get(offset + 4);
+                byte[] code = new byte[length];
+                buffer.get(offset + 5, code);
+                symbols.onSymbol(-head - 1, new String(code, StandardCharsets.US_ASCII));
+            }
+        }
+        return end;
+    }
+}
@@ -0,0 +1,127 @@
+package io.gaboja9.mockstock.global.websocket.journal;
+
+import io.gaboja9.mockstock.global.websocket.dto.StockPriceDto;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * {@link TickJournal} 파일을 처음부터 읽어 체결을 순서대로 넘긴다.
+ *
+ * <p>파일을 읽기 전용으로 매핑해서 훑기만 하므로 하루치도 금방 읽는다. {@link #replay(TickConsumer)} 는 원시값을 그대로 넘기고, {@link
+ * #replayPrices(Consumer)} 는 분봉 생성기나 지정가 체결에 바로 넣을 수 있게 {@link StockPriceDto} 로 바꿔 준다 (고가/저가는 파일
+ * 앞에서부터 누적한 값, 등락률은 0).
+ */
+public final class TickJournalReader implements AutoCloseable {
+
+    @FunctionalInterface
+    public interface TickConsumer {
+        void onTick(
+                String stockCode,
+                int exchangeTime,
+                long receivedAt,
+                int price,
+                int volume,
+                long cumulativeVolume);
+    }
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int limit;
+    private String[] symbols = new String[64];
+
+    private TickJournalReader(FileChannel channel) throws IOException {
+        this.channel = channel;
+        this.limit = (int) Math.min(Integer.MAX_VALUE, channel.size());
+        this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, limit);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (limit < TickJournalFormat.RECORD_SIZE || !TickJournalFormat.hasHeader(buffer)) {
+            throw new IllegalStateException("체결 저널 파일 형식이 아닙니다");
+        }
+    }
+
+    public static TickJournalReader open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new TickJournalReader(channel);
+        } catch (RuntimeException | IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /** 하루치 저널을 연다 */
+    public static TickJournalReader open(Path directory, LocalDate date) throws IOException {
+        return open(TickJournal.fileFor(directory, date));
+    }
+
+    public LocalDate date() {
+        return LocalDate.ofEpochDay(TickJournalFormat.epochDay(buffer));
+    }
+
+    /**
+     * 모든 체결을 기록된 순서대로 넘긴다.
+     *
+     * @return 넘긴 체결 수
+     */
+    public long replay(TickConsumer consumer) {
+        long[] count = new long[1];
+        TickJournalFormat.scan(
+                buffer,
+                limit,
+                this::defineSymbol,
+                (symbolId, exchangeTime, receivedAt, price, volume, cumulativeVolume) -> {
+                    String stockCode = symbolId < symbols.length ? symbols[symbolId] : null;
+                    if (stockCode == null) {
+                        return;
+                    }
+                    consumer.onTick(
+                            stockCode, exchangeTime, receivedAt, price, volume, cumulativeVolume);
+                    count[0]++;
+                });
+        return count[0];
+    }
+
+    /** 체결마다 {@link StockPriceDto} 를 만들어 넘긴다. 테스트와 재처리용. */
+    public long replayPrices(Consumer<StockPriceDto> consumer) {
+        Map<String, int[]> highLow = new HashMap<>();
+        return replay(
+                (stockCode, exchangeTime, receivedAt, price, volume, cumulativeVolume) -> {
+                    int[] range =
+                            highLow.computeIfAbsent(stockCode, code -> new int[] {price, price});
+                    range[0] = Math.max(range[0], price);
+                    range[1] = Math.min(range[1], price);
+                    consumer.accept(
+                            StockPriceDto.builder()
+                                    .stockCode(stockCode)
+                                    .currentPrice(price)
+                                    .highPrice(range[0])
+                                    .lowPrice(range[1])
+                                    .tradeVolume(volume)
+                                    .cumulativeVolume(cumulativeVolume)
+                                    .tradeTime(String.format("%06d", exchangeTime))
+                                    .build());
+                });
+    }
+
+    private void defineSymbol(int symbolId, String stockCode) {
+        if (symbolId >= symbols.length) {
+            symbols = Arrays.copyOf(symbols, Math.max(symbols.length * 2, symbolId + 1));
+        }
+        symbols[symbolId] = stockCode;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,145 @@
+package io.gaboja9.mockstock.global.websocket.mapper;
+
+import java.util.function.Consumer;
+
+/**
+ * 한투 실시간 체결가(H0STCNT0) 프레임 파서.
+ *
+ * <p>프레임 형식은 {@code 암호화여부|TR_ID|데이터건수|필드^필드^...} 이며, 데이터건수가 2 이상이면 레코드들이 같은 구분자로 이어서 붙어 온다. 정규식
+ * split 과 필드별 substring 없이 한 번 훑으면서 필요한 필드 위치만 기록하고, 레코드가 끝날 때마다 콜백을 호출한다.
+ *
+ * <p>내부 레코드 객체를 재사용하므로 인스턴스는 스레드마다 따로 사용해야 한다.
+ */
+public final class HantuTickParser {
+
+    public static final String TICK_FRAME_PREFIX = "0|H0STCNT0|";
+
+    private static final char HEADER_DELIMITER = '|';
+    private static final char FIELD_DELIMITER = '^';
+
+    private static final StockCodeCache STOCK_CODES = new StockCodeCache();
+
+    private final HantuTickRecord record = new HantuTickRecord(STOCK_CODES);
+
+    public static boolean isTickFrame(CharSequence frame) {
+        int length = TICK_FRAME_PREFIX.length();
+        if (frame.length() < length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (frame.charAt(i) != TICK_FRAME_PREFIX.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 프레임을 처리 샤드에 나눌 때 쓰는 키. 첫 레코드 종목코드의 {@code String.hashCode()} 와 같은 값이며 체결 프레임이 아니면 0 이다.
+     *
+     * <p>다건 프레임은 같은 종목의 체결이 묶여 오므로 첫 레코드 기준으로 나눠도 종목별 순서가 유지된다.
+     */
+    public static int routingKey(CharSequence frame) {
+        if (!isTickFrame(frame)) {
+            return 0;
+        }
+
+        int length = frame.length();
+        int i = TICK_FRAME_PREFIX.length();
+        while (i < length && frame.charAt(i) != HEADER_DELIMITER) {
+            i++;
+        }
+
+        int hash = 0;
+        for (i++; i < length; i++) {
+            char c = frame.charAt(i);
+            if (c == FIELD_DELIMITER) {
+                break;
+            }
+            hash = 31 * hash + c;
+        }
+        return hash;
+    }
+
+    /**
+     * 프레임의 모든 체결 레코드를 순서대로 콜백에 넘긴다.
+     *
+     * @return 파싱된 레코드 수 (체결 프레임이 아니거나 형식이 깨졌으면 0)
+     */
+    public int parse(CharSequence frame, Consumer<HantuTickRecord> consumer) {
+        if (!isTickFrame(frame)) {
+            return 0;
+        }
+
+        int length = frame.length();
+        int countStart = TICK_FRAME_PREFIX.length();
+        int dataStart = -1;
+        int count = 0;
+        for (int i = countStart; i < length; i++) {
+            char c = frame.charAt(i);
+            if (c == HEADER_DELIMITER) {
+                dataStart = i + 1;
+                break;
+            }
+            int digit = c - '0';
+            if (digit < 0 || digit > 9) {
+                return 0;
+            }
+            count = count * 10 + digit;
+        }
+        if (dataStart < 0) {
+            return 0;
+        }
+        if (count <= 0) {
+            count = 1;
+        }
+
+        int fieldsPerRecord = Integer.MAX_VALUE;
+        if (count > 1) {
+            fieldsPerRecord = countFields(frame, dataStart, length) / count;
+            if (fieldsPerRecord < HantuTickRecord.TRACKED_FIELDS) {
+                return 0;
+            }
+        }
+
+        int emitted = 0;
+        int field = 0;
+        int fieldStart = dataStart;
+        record.reset(frame);
+        for (int i = dataStart; i <= length && emitted < count; i++) {
+            if (i < length && frame.charAt(i) != FIELD_DELIMITER) {
+                continue;
+            }
+
+            if (field < HantuTickRecord.TRACKED_FIELDS) {
+                record.mark(field, fieldStart, i);
+            }
+            field++;
+            fieldStart = i + 1;
+
+            if (field == fieldsPerRecord) {
+                consumer.accept(record);
+                emitted++;
+                field = 0;
+                record.reset(frame);
+            }
+        }
+
+        // 단건 프레임은 필드 수를 모르므로 끝까지 읽은 뒤 한 번만 넘긴다
+        if (emitted < count && field >= HantuTickRecord.TRACKED_FIELDS) {
+            consumer.accept(record);
+            emitted++;
+        }
+        return emitted;
+    }
+
+    private static int countFields(CharSequence frame, int start, int end) {
+        int fields = 1;
+        for (int i = start; i < end; i++) {
+            if (frame.charAt(i) == FIELD_DELIMITER) {
+                fields++;
+            }
+        }
+        return fields;
+    }
+}
@@ -0,0 +1,158 @@
+package io.gaboja9.mockstock.global.websocket.mapper;
+
+/**
+ * H0STCNT0 체결 레코드 한 건에 대한 뷰 (flyweight).
+ *
+ * <p>원본 프레임에서 필요한 필드의 시작/끝 위치만 기억하고, 값은 조회 시점에 문자 단위로 바로 파싱한다. {@link HantuTickParser} 가 레코드마다 같은
+ * 인스턴스를 재사용하므로 콜백 밖으로 참조를 넘기면 안 된다.
+ */
+public final class HantuTickRecord {
+
+    // H0STCNT0 필드 인덱스
+    static final int STOCK_CODE = 0; // MKSC_SHRN_ISCD
+    static final int TRADE_TIME = 1; // STCK_CNTG_HOUR
+    static final int CURRENT_PRICE = 2; // STCK_PRPR
+    static final int DAY_OVER_DAY_PERCENT = 5; // PRDY_CTRT
+    static final int HIGH_PRICE = 8; // STCK_HGPR
+    static final int LOW_PRICE = 9; // STCK_LWPR
+    static final int TRADE_VOLUME = 12; // CNTG_VOL
+    static final int CUMULATIVE_VOLUME = 13; // ACML_VOL
+
+    static final int TRACKED_FIELDS = CUMULATIVE_VOLUME + 1;
+
+    private static final double[] POW10 = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+        1e17, 1e18
+    };
+
+    private final int[] starts = new int[TRACKED_FIELDS];
+    private final int[] ends = new int[TRACKED_FIELDS];
+    private final StockCodeCache stockCodes;
+    private CharSequence source;
+
+    HantuTickRecord(StockCodeCache stockCodes) {
+        this.stockCodes = stockCodes;
+    }
+
+    void reset(CharSequence source) {
+        this.source = source;
+        for (int i = 0; i < TRACKED_FIELDS; i++) {
+            starts[i] = 0;
+            ends[i] = 0;
+        }
+    }
+
+    void mark(int field, int start, int end) {
+        starts[field] = start;
+        ends[field] = end;
+    }
+
+    /** 종목코드. 같은 코드는 항상 같은 String 인스턴스를 돌려준다. */
+    public String stockCode() {
+        return stockCodes.intern(source, starts[STOCK_CODE], ends[STOCK_CODE]);
+    }
+
+    /** 체결 시간 (HHmmss 를 정수로) */
+    public int tradeTimeAsInt() {
+        return (int) parseLong(TRADE_TIME);
+    }
+
+    public String tradeTime() {
+        return source.subSequence(starts[TRADE_TIME], ends[TRADE_TIME]).toString();
+    }
+
+    public int currentPrice() {
+        return (int) parseLong(CURRENT_PRICE);
+    }
+
+    public double dayOverDayPercent() {
+        return parseDouble(DAY_OVER_DAY_PERCENT);
+    }
+
+    public int highPrice() {
+        return (int) parseLong(HIGH_PRICE);
+    }
+
+    public int lowPrice() {
+        return (int) parseLong(LOW_PRICE);
+    }
+
+    public long tradeVolume() {
+        return parseLong(TRADE_VOLUME);
+    }
+
+    public long cumulativeVolume() {
+        return parseLong(CUMULATIVE_VOLUME);
+    }
+
+    // 숫자가 아니면 기존 StockPriceMapper 와 같이 0 을 반환
+    private long parseLong(int field) {
+        int i = starts[field];
+        int end = ends[field];
+        if (i >= end) {
+            return 0;
+        }
+
+        boolean negative = false;
+        char first = source.charAt(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            if (++i == end) {
+                return 0;
+            }
+        }
+
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = source.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return 0;
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    private double parseDouble(int field) {
+        int i = starts[field];
+        int end = ends[field];
+        if (i >= end) {
+            return 0.0;
+        }
+
+        boolean negative = false;
+        char first = source.charAt(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int fractionDigits = 0;
+        boolean seenDot = false;
+        boolean seenDigit = false;
+        for (; i < end; i++) {
+            char c = source.charAt(i);
+            if (c == '.' && !seenDot) {
+                seenDot = true;
+                continue;
+            }
+            int digit = c - '0';
+            if (digit < 0 || digit > 9 || fractionDigits >= POW10.length - 1) {
+                return 0.0;
+            }
+            mantissa = mantissa * 10 + digit;
+            seenDigit = true;
+            if (seenDot) {
+                fractionDigits++;
+            }
+        }
+        if (!seenDigit) {
+            return 0.0;
+        }
+
+        // 정수 / 10^n 은 한 번의 반올림만 일어나므로 Double.parseDouble 과 같은 값이 나온다
+        double value = mantissa / POW10[fractionDigits];
+        return negative ? -value : value;
+    }
+}
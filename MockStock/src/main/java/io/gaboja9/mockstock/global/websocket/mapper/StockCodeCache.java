@@ -0,0 +1,51 @@
+package io.gaboja9.mockstock.global.websocket.mapper;
+
+/**
+ * 체결 프레임의 종목코드 구간을 미리 만들어 둔 String 으로 바꿔주는 캐시.
+ *
+ * <p>종목 수는 많아야 수천 개이므로 고정 크기 open addressing 테이블로 충분하다. 슬롯 쓰기는 경합해도 같은 값의 불변 String 이 들어가므로 별도 동기화가
+ * 필요 없다.
+ */
+final class StockCodeCache {
+
+    private static final int CAPACITY = 1 << 13;
+    private static final int MAX_PROBE = 16;
+
+    private final String[] table = new String[CAPACITY];
+
+    String intern(CharSequence source, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + source.charAt(i);
+        }
+
+        int mask = CAPACITY - 1;
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        for (int probe = 0; probe < MAX_PROBE; probe++) {
+            String cached = table[slot];
+            if (cached == null) {
+                String created = source.subSequence(start, end).toString();
+                table[slot] = created;
+                return created;
+            }
+            if (matches(cached, source, start, end)) {
+                return cached;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return source.subSequence(start, end).toString();
+    }
+
+    private static boolean matches(String cached, CharSequence source, int start, int end) {
+        int length = end - start;
+        if (cached.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (cached.charAt(i) != source.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
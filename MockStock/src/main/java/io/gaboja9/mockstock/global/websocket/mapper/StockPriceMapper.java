@@ -18,6 +18,49 @@ public class StockPriceMapper {
                 .build();
     }
 
+    // 체결 레코드 뷰를 StockPriceDto로 변환 (필드 분리 없이 원본 프레임에서 바로 파싱)
+    public static StockPriceDto toStockPriceDto(HantuTickRecord record) {
+        return StockPriceDto.builder()
+                .stockCode(record.stockCode())
+                .tradeTime(record.tradeTime())
+                .currentPrice(record.currentPrice())
+                .dayOverDayPercent(record.dayOverDayPercent())
+                .tradeVolume(record.tradeVolume())
+                .highPrice(record.highPrice())
+                .lowPrice(record.lowPrice())
+                .cumulativeVolume(record.cumulativeVolume())
+                .build();
+    }
+
+    /** 체결 시간 문자열(HHmmss)을 정수로. 형식이 다르면 0 (시간 없음) */
+    public static int parseTradeTime(String tradeTime) {
+        if (tradeTime == null || tradeTime.length() != 6) {
+            return 0;
+        }
+        int value = 0;
+        for (int i = 0; i < 6; i++) {
+            char c = tradeTime.charAt(i);
+            if (c < '0' || c > '9') {
+                return 0;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /** 정수 체결 시간을 HHmmss 문자열로. 0 (시간 없음) 이면 null */
+    public static String formatTradeTime(int tradeTime) {
+        if (tradeTime <= 0) {
+            return null;
+        }
+        char[] digits = new char[6];
+        for (int i = 5; i >= 0; i--) {
+            digits[i] = (char) ('0' + tradeTime % 10);
+            tradeTime /= 10;
+        }
+        return new String(digits);
+    }
+
     private static int parseInt(String value) {
         try {
             return Integer.parseInt(value);
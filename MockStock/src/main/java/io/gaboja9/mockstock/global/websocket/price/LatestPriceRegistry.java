@@ -0,0 +1,217 @@
+package io.gaboja9.mockstock.global.websocket.price;
+
+import io.gaboja9.mockstock.global.websocket.dto.StockPriceDto;
+import io.gaboja9.mockstock.global.websocket.mapper.StockPriceMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 종목별 최신 시세 저장소.
+ *
+ * <p>종목코드는 처음 들어올 때 한 번만 조밀한 int id 로 바꾸고, 시세는 id 마다 long 8칸(캐시 라인 하나) 짜리 슬롯에 원시값으로 둔다. 슬롯 첫 칸은
+ * seqlock 시퀀스로, 쓰는 동안 홀수가 된다. 읽는 쪽은 시퀀스를 읽기 전후로 비교해 바뀌지 않았을 때만 값을 쓰므로 락도 객체 생성도 없이 한 시점의 값을 일관되게
+ * 얻는다.
+ */
+@Component
+@Slf4j
+public class LatestPriceRegistry {
+
+    /** 시세가 없을 때 {@link #price} 가 돌려주는 값 */
+    public static final int NO_PRICE = 0;
+
+    private static final int STRIDE = 8;
+    private static final int SEQ = 0;
+    private static final int PRICE = 1;
+    private static final int HIGH = 2;
+    private static final int LOW = 3;
+    private static final int CUMULATIVE_VOLUME = 4;
+    private static final int TRADE_VOLUME = 5;
+    private static final int DAY_OVER_DAY = 6;
+    private static final int TRADE_TIME = 7;
+
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final int capacity;
+    private final long[] slots;
+    private final String[] stockCodes;
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+    private final AtomicBoolean full = new AtomicBoolean();
+
+    public LatestPriceRegistry(
+            @Value("${hantu-openapi.price-registry.capacity:4096}") int capacity) {
+        this.capacity = capacity;
+        this.slots = new long[capacity * STRIDE];
+        this.stockCodes = new String[capacity];
+    }
+
+    /** 종목 id. 아직 시세가 들어온 적 없는 종목이면 -1 */
+    public int idOf(String stockCode) {
+        Integer id = ids.get(stockCode);
+        return id == null ? -1 : id;
+    }
+
+    public void update(StockPriceDto priceData) {
+        update(
+                priceData.getStockCode(),
+                priceData.getCurrentPrice(),
+                priceData.getHighPrice(),
+                priceData.getLowPrice(),
+                priceData.getCumulativeVolume(),
+                priceData.getTradeVolume(),
+                priceData.getDayOverDayPercent(),
+                StockPriceMapper.parseTradeTime(priceData.getTradeTime()));
+    }
+
+    public void update(
+            String stockCode,
+            int currentPrice,
+            int highPrice,
+            int lowPrice,
+            long cumulativeVolume,
+            long tradeVolume,
+            double dayOverDayPercent,
+            int tradeTime) {
+        int id = register(stockCode);
+        if (id < 0) {
+            return;
+        }
+        int base = id * STRIDE;
+
+        // 같은 종목을 두 스레드가 동시에 쓰는 경우에 대비해 짝수 -> 홀수 전환은 CAS 로 잡는다
+        long seq;
+        do {
+            seq = (long) SLOTS.getVolatile(slots, base + SEQ);
+            if ((seq & 1) != 0) {
+                Thread.onSpinWait();
+            }
+        } while ((seq & 1) != 0 || !SLOTS.compareAndSet(slots, base + SEQ, seq, seq + 1));
+
+        SLOTS.setOpaque(slots, base + PRICE, (long) currentPrice);
+        slots[base + HIGH] = highPrice;
+        slots[base + LOW] = lowPrice;
+        slots[base + CUMULATIVE_VOLUME] = cumulativeVolume;
+        slots[base + TRADE_VOLUME] = tradeVolume;
+        slots[base + DAY_OVER_DAY] = Double.doubleToRawLongBits(dayOverDayPercent);
+        slots[base + TRADE_TIME] = tradeTime;
+
+        SLOTS.setRelease(slots, base + SEQ, seq + 2);
+    }
+
+    /** 현재가. 시세가 없으면 {@link #NO_PRICE} */
+    public int price(String stockCode) {
+        Integer id = ids.get(stockCode);
+        return id == null ? NO_PRICE : price(id);
+    }
+
+    public int price(int id) {
+        // 한 칸만 읽으므로 seqlock 없이 원자적으로 읽으면 충분하다
+        return (int) (long) SLOTS.getOpaque(slots, id * STRIDE + PRICE);
+    }
+
+    /** 한 시점의 시세 전체를 into 에 채운다. 시세가 없으면 false */
+    public boolean read(String stockCode, PriceView into) {
+        Integer id = ids.get(stockCode);
+        return id != null && read(id, into);
+    }
+
+    public boolean read(int id, PriceView into) {
+        int base = id * STRIDE;
+        while (true) {
+            long before = (long) SLOTS.getAcquire(slots, base + SEQ);
+            if (before == 0) {
+                return false;
+            }
+            if ((before & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+
+            long currentPrice = slots[base + PRICE];
+            long highPrice = slots[base + HIGH];
+            long lowPrice = slots[base + LOW];
+            long cumulativeVolume = slots[base + CUMULATIVE_VOLUME];
+            long tradeVolume = slots[base + TRADE_VOLUME];
+            long dayOverDay = slots[base + DAY_OVER_DAY];
+            long tradeTime = slots[base + TRADE_TIME];
+
+            VarHandle.loadLoadFence();
+            if ((long) SLOTS.getOpaque(slots, base + SEQ) == before) {
+                into.set(
+                        stockCodes[id],
+                        (int) currentPrice,
+                        (int) highPrice,
+                        (int) lowPrice,
+                        cumulativeVolume,
+                        tradeVolume,
+                        Double.longBitsToDouble(dayOverDay),
+                        (int) tradeTime);
+                return true;
+            }
+        }
+    }
+
+    /** 평가 루프용 전 종목 현재가 스냅샷. 종목마다 한 시점의 값이다. */
+    public PriceSnapshot snapshot() {
+        int size = nextId.get();
+        int[] prices = new int[size];
+        for (int id = 0; id < size; id++) {
+            prices[id] = readPrice(id);
+        }
+        return new PriceSnapshot(ids, prices);
+    }
+
+    public int size() {
+        return nextId.get();
+    }
+
+    private int readPrice(int id) {
+        int base = id * STRIDE;
+        while (true) {
+            long before = (long) SLOTS.getAcquire(slots, base + SEQ);
+            if ((before & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            long currentPrice = slots[base + PRICE];
+            VarHandle.loadLoadFence();
+            if ((long) SLOTS.getOpaque(slots, base + SEQ) == before) {
+                return (int) currentPrice;
+            }
+        }
+    }
+
+    private int register(String stockCode) {
+        Integer id = ids.get(stockCode);
+        if (id != null) {
+            return id;
+        }
+        id =
+                ids.computeIfAbsent(
+                        stockCode,
+                        code -> {
+                            int next = nextId.getAndUpdate(n -> Math.min(n + 1, capacity));
+                            if (next == capacity) {
+                                if (full.compareAndSet(false, true)) {
+                                    log.warn(
+                                            "시세 저장소가 가득 찼습니다 (용량 {}). 이후 새 종목 시세는 저장하지 않습니다.",
+                                            capacity);
+                                }
+                                return null;
+                            }
+                            stockCodes[next] = code;
+                            return next;
+                        });
+        return id == null ? -1 : id;
+    }
+}
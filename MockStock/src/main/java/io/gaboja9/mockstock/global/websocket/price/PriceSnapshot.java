@@ -0,0 +1,33 @@
+package io.gaboja9.mockstock.global.websocket.price;
+
+import java.util.Map;
+
+/**
+ * {@link LatestPriceRegistry#snapshot()} 시점의 전 종목 현재가.
+ *
+ * <p>종목 id 는 한 번 정해지면 바뀌지 않으므로 저장소의 id 맵을 그대로 쓰고, 스냅샷 이후 새로 들어온 종목은 시세 없음으로 본다.
+ */
+public final class PriceSnapshot {
+
+    private final Map<String, Integer> ids;
+    private final int[] prices;
+
+    PriceSnapshot(Map<String, Integer> ids, int[] prices) {
+        this.ids = ids;
+        this.prices = prices;
+    }
+
+    /** 현재가. 시세가 없으면 {@link LatestPriceRegistry#NO_PRICE} */
+    public int price(String stockCode) {
+        Integer id = ids.get(stockCode);
+        return id == null ? LatestPriceRegistry.NO_PRICE : price(id);
+    }
+
+    public int price(int id) {
+        return id < prices.length ? prices[id] : LatestPriceRegistry.NO_PRICE;
+    }
+
+    public int size() {
+        return prices.length;
+    }
+}
@@ -0,0 +1,52 @@
+package io.gaboja9.mockstock.global.websocket.price;
+
+import io.gaboja9.mockstock.global.websocket.dto.StockPriceDto;
+import io.gaboja9.mockstock.global.websocket.mapper.StockPriceMapper;
+
+import lombok.Getter;
+
+/** {@link LatestPriceRegistry#read} 가 채워 주는 재사용 가능한 시세 값. 스레드 간에 공유하지 않는다. */
+@Getter
+public class PriceView {
+
+    private String stockCode;
+    private int currentPrice;
+    private int highPrice;
+    private int lowPrice;
+    private long cumulativeVolume;
+    private long tradeVolume;
+    private double dayOverDayPercent;
+    private int tradeTime; // HHmmss, 모르면 0
+
+    void set(
+            String stockCode,
+            int currentPrice,
+            int highPrice,
+            int lowPrice,
+            long cumulativeVolume,
+            long tradeVolume,
+            double dayOverDayPercent,
+            int tradeTime) {
+        this.stockCode = stockCode;
+        this.currentPrice = currentPrice;
+        this.highPrice = highPrice;
+        this.lowPrice = lowPrice;
+        this.cumulativeVolume = cumulativeVolume;
+        this.tradeVolume = tradeVolume;
+        this.dayOverDayPercent = dayOverDayPercent;
+        this.tradeTime = tradeTime;
+    }
+
+    public StockPriceDto toDto() {
+        return StockPriceDto.builder()
+                .stockCode(stockCode)
+                .currentPrice(currentPrice)
+                .highPrice(highPrice)
+                .lowPrice(lowPrice)
+                .cumulativeVolume(cumulativeVolume)
+                .tradeVolume(tradeVolume)
+                .dayOverDayPercent(dayOverDayPercent)
+                .tradeTime(StockPriceMapper.formatTradeTime(tradeTime))
+                .build();
+    }
+}
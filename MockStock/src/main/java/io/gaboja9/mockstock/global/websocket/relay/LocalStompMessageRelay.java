@@ -0,0 +1,23 @@
+package io.gaboja9.mockstock.global.websocket.relay;
+
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+/** 단일 노드용. 이 노드의 브로커로 바로 보낸다. */
+public class LocalStompMessageRelay implements StompMessageRelay {
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    public LocalStompMessageRelay(SimpMessagingTemplate messagingTemplate) {
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    @Override
+    public void convertAndSendToUser(String user, String destination, Object payload) {
+        messagingTemplate.convertAndSendToUser(user, destination, payload);
+    }
+
+    @Override
+    public void convertAndSend(String destination, Object payload) {
+        messagingTemplate.convertAndSend(destination, payload);
+    }
+}
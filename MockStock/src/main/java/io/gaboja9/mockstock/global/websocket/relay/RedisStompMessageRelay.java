@@ -0,0 +1,131 @@
+package io.gaboja9.mockstock.global.websocket.relay;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Redis pub/sub 으로 STOMP 메시지를 모든 노드에 전달한다.
+ *
+ * <p>보낸 노드는 자기 브로커로 바로 전달하고, 같은 메시지를 채널에 발행한다. 다른 노드는 받은 메시지를 자기 브로커로 전달한다. 사용자 메시지는 해당 사용자의 세션이 없는
+ * 노드에서는 브로커가 버리므로, 사용자가 여러 노드에 나눠 접속해 있어도 세션마다 한 번씩 받는다. 발행부터 다른 노드에서 받기까지의 시간을 {@code
+ * stomp.relay.latency} 로 남긴다 (노드 간 시계 차이가 그대로 들어간다).
+ */
+@Slf4j
+public class RedisStompMessageRelay implements StompMessageRelay, MessageListener {
+
+    /** 노드 간에 오가는 메시지. user 가 null 이면 토픽 메시지다. */
+    record Envelope(
+            String origin, long sentAt, String user, String destination, JsonNode payload) {}
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Counter published;
+    private final Counter received;
+    private final Counter publishFailures;
+    private final Timer latency;
+
+    public RedisStompMessageRelay(
+            SimpMessagingTemplate messagingTemplate,
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            String channel) {
+        this.messagingTemplate = messagingTemplate;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+        this.published =
+                Counter.builder("stomp.relay.published")
+                        .description("다른 노드로 발행한 STOMP 메시지 수")
+                        .register(meterRegistry);
+        this.received =
+                Counter.builder("stomp.relay.received")
+                        .description("다른 노드에서 받은 STOMP 메시지 수")
+                        .register(meterRegistry);
+        this.publishFailures =
+                Counter.builder("stomp.relay.publish.failed")
+                        .description("발행에 실패한 STOMP 메시지 수")
+                        .register(meterRegistry);
+        this.latency =
+                Timer.builder("stomp.relay.latency")
+                        .description("발행 노드에서 받는 노드까지 걸린 시간")
+                        .publishPercentiles(0.5, 0.99)
+                        .register(meterRegistry);
+    }
+
+    public String channel() {
+        return channel;
+    }
+
+    @Override
+    public void convertAndSendToUser(String user, String destination, Object payload) {
+        messagingTemplate.convertAndSendToUser(user, destination, payload);
+        publish(user, destination, payload);
+    }
+
+    @Override
+    public void convertAndSend(String destination, Object payload) {
+        messagingTemplate.convertAndSend(destination, payload);
+        publish(null, destination, payload);
+    }
+
+    // 로컬 전달은 이미 끝났으므로 발행 실패는 다른 노드 세션만 놓친다
+    private void publish(String user, String destination, Object payload) {
+        try {
+            Envelope envelope =
+                    new Envelope(
+                            nodeId,
+                            System.currentTimeMillis(),
+                            user,
+                            destination,
+                            objectMapper.valueToTree(payload));
+            redisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(envelope));
+            published.increment();
+        } catch (Exception e) {
+            publishFailures.increment();
+            log.warn("STOMP 메시지 발행 실패 - destination: {}: {}", destination, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Envelope envelope;
+        try {
+            envelope = objectMapper.readValue(message.getBody(), Envelope.class);
+        } catch (Exception e) {
+            log.warn("STOMP 릴레이 메시지 해석 실패: {}", e.getMessage());
+            return;
+        }
+        if (nodeId.equals(envelope.origin())) {
+            return;
+        }
+
+        received.increment();
+        latency.record(
+                Duration.ofMillis(Math.max(0, System.currentTimeMillis() - envelope.sentAt())));
+        if (envelope.user() != null) {
+            messagingTemplate.convertAndSendToUser(
+                    envelope.user(), envelope.destination(), envelope.payload());
+        } else {
+            messagingTemplate.convertAndSend(envelope.destination(), envelope.payload());
+        }
+    }
+}
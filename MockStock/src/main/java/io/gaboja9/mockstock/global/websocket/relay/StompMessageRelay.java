@@ -0,0 +1,17 @@
+package io.gaboja9.mockstock.global.websocket.relay;
+
+/**
+ * 노드 경계를 넘어 STOMP 메시지를 보내는 통로.
+ *
+ * <p>SimpleBroker 는 메시지를 보낸 노드에 붙은 세션에만 전달하므로, 다른 노드에 접속한 사용자에게도 가야 하는 메시지(매매 알림 등)는 {@link
+ * org.springframework.messaging.simp.SimpMessagingTemplate} 대신 이 인터페이스로 보낸다. 구현은 {@code
+ * stomp.relay.mode} 로 고른다 ({@code local}: 이 노드에만, {@code redis}: Redis pub/sub 으로 모든 노드에).
+ */
+public interface StompMessageRelay {
+
+    /** {@code /user/{user}{destination}} 으로 보낸다. 사용자가 어느 노드에 접속해 있든 받는다. */
+    void convertAndSendToUser(String user, String destination, Object payload);
+
+    /** 모든 노드의 {@code destination} 구독자에게 보낸다. */
+    void convertAndSend(String destination, Object payload);
+}
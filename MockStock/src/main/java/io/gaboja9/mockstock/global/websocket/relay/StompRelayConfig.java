@@ -0,0 +1,48 @@
+package io.gaboja9.mockstock.global.websocket.relay;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+// stomp.relay.mode 로 노드 간 STOMP 전달 방식을 고른다 (기본은 local)
+@Configuration
+public class StompRelayConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "stomp.relay.mode", havingValue = "local", matchIfMissing = true)
+    public StompMessageRelay localStompMessageRelay(SimpMessagingTemplate messagingTemplate) {
+        return new LocalStompMessageRelay(messagingTemplate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "stomp.relay.mode", havingValue = "redis")
+    public RedisStompMessageRelay redisStompMessageRelay(
+            SimpMessagingTemplate messagingTemplate,
+            StringRedisTemplate stringRedisTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${stomp.relay.channel:mockstock:stomp:relay}") String channel) {
+        return new RedisStompMessageRelay(
+                messagingTemplate, stringRedisTemplate, objectMapper, meterRegistry, channel);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "stomp.relay.mode", havingValue = "redis")
+    public RedisMessageListenerContainer stompRelayListenerContainer(
+            RedisConnectionFactory redisConnectionFactory, RedisStompMessageRelay relay) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(relay, new ChannelTopic(relay.channel()));
+        return container;
+    }
+}
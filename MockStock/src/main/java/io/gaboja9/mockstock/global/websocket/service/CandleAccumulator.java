@@ -0,0 +1,72 @@
+package io.gaboja9.mockstock.global.websocket.service;
+
+import io.gaboja9.mockstock.global.websocket.dto.StocksCandleDto;
+
+/**
+ * 진행 중인 분봉을 원시 타입 필드로 제자리에서 갱신하는 누적기.
+ *
+ * <p>체결마다 객체를 만들지 않고, 분봉을 닫을 때만 {@link StocksCandleDto} 로 변환한다. 스레드 안전하지 않으므로 종목 락 안에서만 사용한다.
+ */
+final class CandleAccumulator {
+
+    private boolean active;
+    private long timestamp;
+    private long open;
+    private long high;
+    private long low;
+    private long close;
+    private long volume;
+    private int tickCount;
+
+    void start(long timestamp, long price, long volume) {
+        this.active = true;
+        this.timestamp = timestamp;
+        this.open = price;
+        this.high = price;
+        this.low = price;
+        this.close = price;
+        this.volume = volume;
+        this.tickCount = 1;
+    }
+
+    void add(long price, long volume) {
+        if (price > high) {
+            high = price;
+        }
+        if (price < low) {
+            low = price;
+        }
+        close = price;
+        this.volume += volume;
+        tickCount++;
+    }
+
+    boolean isActive() {
+        return active;
+    }
+
+    long timestamp() {
+        return timestamp;
+    }
+
+    long close() {
+        return close;
+    }
+
+    void clear() {
+        active = false;
+    }
+
+    StocksCandleDto toDto(String stockCode) {
+        return StocksCandleDto.builder()
+                .stockCode(stockCode)
+                .timestamp(timestamp)
+                .open(open)
+                .high(high)
+                .low(low)
+                .close(close)
+                .volume(volume)
+                .tickCount(tickCount)
+                .build();
+    }
+}
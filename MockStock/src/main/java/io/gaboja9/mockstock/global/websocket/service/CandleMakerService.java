@@ -1,112 +1,307 @@
 package io.gaboja9.mockstock.global.websocket.service;
 
-import com.influxdb.client.InfluxDBClient;
-import com.influxdb.client.WriteApiBlocking;
-import com.influxdb.client.domain.WritePrecision;
-
 import io.gaboja9.mockstock.domain.notifications.scheduler.MarketTimeScheduler;
-import io.gaboja9.mockstock.domain.stock.measurement.MinuteStockPrice;
+import io.gaboja9.mockstock.domain.stock.cache.RecentCandleStore;
+import io.gaboja9.mockstock.global.influx.MinuteCandleWriter;
+import io.gaboja9.mockstock.global.websocket.cluster.MarketDataLeadership;
 import io.gaboja9.mockstock.global.websocket.dto.StockPriceDto;
 import io.gaboja9.mockstock.global.websocket.dto.StocksCandleDto;
+import io.gaboja9.mockstock.global.websocket.mapper.StockPriceMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PreDestroy;
 
 import lombok.extern.slf4j.Slf4j;
 
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * 실시간 체결가로 1분봉을 만든다.
+ *
+ * <p>분봉은 체결 시각(HHmmss) 기준 분에 들어가고, 분이 끝난 뒤 유예 시간(grace)이 지나면 타이머가 닫아서 저장한다. 유예 시간 안에 늦게 도착한 직전 분의
+ * 체결은 직전 분봉에 반영된다. 이미 저장한 분이나 그보다 앞선 분의 체결은 어느 분봉에도 넣지 않고 버린 뒤 센다. 장 마감 시각과 종료 시에는 열려 있는 분봉을 모두 강제로
+ * 저장한다.
+ */
 @Service
 @Slf4j
 public class CandleMakerService {
 
-    private final InfluxDBClient minuteInfluxDBClient;
+    private static final long MINUTE_MS = 60_000;
+    private static final long DAY_MS = TimeUnit.DAYS.toMillis(1);
+    private static final long KST_OFFSET_MS = TimeUnit.HOURS.toMillis(9);
+    private static final long MARKET_OPEN_MS = TimeUnit.HOURS.toMillis(9);
+    private static final long MARKET_CLOSE_MS =
+            TimeUnit.HOURS.toMillis(15) + TimeUnit.MINUTES.toMillis(30);
 
-    @Value("${spring.influx.bucket.minute}")
-    private String minuteBucket;
+    // 체결 시각이 수신 시각과 이 이상 차이 나면 (자정 경계, 시계 오류 등) 수신 시각을 쓴다
+    private static final long MAX_TRADE_TIME_SKEW_MS = TimeUnit.MINUTES.toMillis(10);
 
-    @Value("${spring.influx.org}")
-    private String Influxorg;
+    private final MinuteCandleWriter minuteCandleWriter;
+    private final RecentCandleStore recentCandleStore;
+    private final MarketDataLeadership leadership;
+    private final long graceMs;
+    private final boolean carryForward;
+    private final Counter lateTicksDropped;
 
     public CandleMakerService(
-            @Qualifier("minuteInfluxDBClient") InfluxDBClient minuteInfluxDBClient,
-            MarketTimeScheduler marketTimeScheduler) {
-        this.minuteInfluxDBClient = minuteInfluxDBClient;
+            MinuteCandleWriter minuteCandleWriter,
+            RecentCandleStore recentCandleStore,
+            MarketTimeScheduler marketTimeScheduler,
+            MarketDataLeadership leadership,
+            MeterRegistry meterRegistry,
+            @Value("${hantu-openapi.candle.grace-ms:2000}") long graceMs,
+            @Value("${hantu-openapi.candle.carry-forward:false}") boolean carryForward) {
+        this.minuteCandleWriter = minuteCandleWriter;
+        this.recentCandleStore = recentCandleStore;
+        this.leadership = leadership;
+        this.graceMs = graceMs;
+        this.carryForward = carryForward;
+        this.lateTicksDropped =
+                Counter.builder("candle.tick.late.dropped")
+                        .description("이미 저장했거나 지나간 분에 늦게 도착해 버린 체결 수")
+                        .register(meterRegistry);
     }
 
-    // 각 종목별 현재 분봉 데이터
-    private final Map<String, StocksCandleDto> currentCandles = new ConcurrentHashMap<>();
+    // 각 종목별 분봉 상태 (객체 자체를 종목 락으로 사용)
+    private final Map<String, CandleSlot> slots = new ConcurrentHashMap<>();
 
-    // 종목별 전용 락 객체 (안전한 동기화)
-    private final Map<String, Object> stockLocks = new ConcurrentHashMap<>();
+    private static final class CandleSlot {
+        private final String stockCode;
+        // 진행 중인 분봉
+        private CandleAccumulator current = new CandleAccumulator();
+        // 분이 넘어갔지만 유예 시간이 남아 아직 닫지 않은 직전 분봉
+        private CandleAccumulator pending = new CandleAccumulator();
+        private long lastSealedTime = -1;
+        private long lastClose;
+
+        private CandleSlot(String stockCode) {
+            this.stockCode = stockCode;
+        }
 
-    private Object getStockLock(String stockCode) {
-        return stockLocks.computeIfAbsent(stockCode, k -> new Object());
+        /** 진행 중인 분봉을 직전 분봉 자리로 넘긴다 (객체를 새로 만들지 않고 맞바꾼다) */
+        private void rollOver() {
+            CandleAccumulator previous = current;
+            current = pending;
+            pending = previous;
+        }
     }
 
-    /** 실시간 체결가로 분봉 만들고 저장 */
+    /** 실시간 체결가로 분봉 만들기 */
     public void processTick(StockPriceDto stockPricedto) {
-        String stockCode = stockPricedto.getStockCode();
-        long currentTime = System.currentTimeMillis();
-        long candleTime = getCandleTime(currentTime);
-
-        // 종목별 전용 락으로 안전한 동기화
-        synchronized (getStockLock(stockCode)) {
-            StocksCandleDto currentCandle = currentCandles.get(stockCode);
-
-            // 새로운 분봉 시작
-            if (currentCandle == null || !currentCandle.getTimestamp().equals(candleTime)) {
-                // 이전 분봉 완성되면 저장
-                if (currentCandle != null) {
-                    saveToInfluxDB(currentCandle);
-                }
+        processTick(stockPricedto, System.currentTimeMillis());
+    }
 
-                // 새 분봉 생성 (빌더 + 정적 팩토리 메서드)
-                StocksCandleDto newCandle =
-                        StocksCandleDto.createNew(
-                                stockCode,
-                                candleTime,
-                                stockPricedto.getCurrentPrice(),
-                                stockPricedto.getTradeVolume());
+    void processTick(StockPriceDto stockPricedto, long now) {
+        processTick(
+                stockPricedto.getStockCode(),
+                StockPriceMapper.parseTradeTime(stockPricedto.getTradeTime()),
+                stockPricedto.getCurrentPrice(),
+                stockPricedto.getTradeVolume(),
+                now);
+    }
+
+    /** 체결 레코드의 원시값으로 분봉 만들기. tradeTime 은 HHmmss 정수, 0 이면 수신 시각을 쓴다 */
+    public void processTick(String stockCode, int tradeTime, int currentPrice, long tradeVolume) {
+        processTick(stockCode, tradeTime, currentPrice, tradeVolume, System.currentTimeMillis());
+    }
+
+    void processTick(
+            String stockCode, int tradeTime, int currentPrice, long tradeVolume, long now) {
+        long candleTime = getCandleTime(tradeTime, now);
+        long price = currentPrice;
+        long volume = tradeVolume;
+
+        CandleSlot slot = slots.get(stockCode);
+        if (slot == null) {
+            slot = slots.computeIfAbsent(stockCode, CandleSlot::new);
+        }
+
+        // 한 종목의 체결은 항상 같은 샤드 스레드가 넣으므로 이 락은 봉을 닫는 타이머와만 겹친다
+        synchronized (slot) {
+            if (candleTime <= slot.lastSealedTime) {
+                // 이미 저장한 분봉은 다시 열지 않는다
+                lateTicksDropped.increment();
+                return;
+            }
+            CandleAccumulator current = slot.current;
 
-                currentCandles.put(stockCode, newCandle);
-                // log.info("새 분봉 시작: {}", newCandle);
+            if (!current.isActive() || candleTime > current.timestamp()) {
+                // 새로운 분봉 시작. 직전 분봉은 유예 시간 동안 열어 둔다
+                if (slot.pending.isActive()) {
+                    seal(slot, slot.pending);
+                }
+                if (current.isActive()) {
+                    if (isSealable(current, now)) {
+                        seal(slot, current);
+                    } else {
+                        slot.rollOver();
+                    }
+                }
+                slot.current.start(candleTime, price, volume);
+            } else if (candleTime == current.timestamp()) {
+                current.add(price, volume);
+            } else if (slot.pending.isActive() && candleTime == slot.pending.timestamp()) {
+                // 유예 시간 안에 늦게 도착한 직전 분 체결
+                slot.pending.add(price, volume);
             } else {
-                // 기존 분봉 업데이트 (불변 객체로 새로 생성)
-                StocksCandleDto updatedCandle =
-                        currentCandle.updateWith(
-                                stockPricedto.getCurrentPrice(), stockPricedto.getTradeVolume());
-                currentCandles.put(stockCode, updatedCandle);
+                // 진행 중인 분봉보다 앞선 분의 체결은 다른 분봉에 섞지 않고 버린다
+                lateTicksDropped.increment();
+            }
+        }
+    }
+
+    /** 지금 만들어지고 있는 분봉. 아직 체결이 없으면 null */
+    public StocksCandleDto formingCandle(String stockCode) {
+        CandleSlot slot = slots.get(stockCode);
+        if (slot == null) {
+            return null;
+        }
+        synchronized (slot) {
+            return slot.current.isActive() ? slot.current.toDto(stockCode) : null;
+        }
+    }
+
+    /** 매초 유예 시간이 지난 분봉을 닫아서 저장 (체결이 끊긴 종목도 제때 저장된다) */
+    @Scheduled(fixedRateString = "${hantu-openapi.candle.seal-interval-ms:1000}")
+    public void sealCompletedCandles() {
+        sealCompletedCandles(System.currentTimeMillis());
+    }
+
+    void sealCompletedCandles(long now) {
+        // 유예 시간까지 지나서 완전히 끝난 마지막 분
+        long completedMinute = getCandleTime(now - graceMs) - MINUTE_MS;
+
+        for (CandleSlot slot : slots.values()) {
+            synchronized (slot) {
+                if (slot.pending.isActive() && isSealable(slot.pending, now)) {
+                    seal(slot, slot.pending);
+                }
+                if (slot.current.isActive() && isSealable(slot.current, now)) {
+                    seal(slot, slot.current);
+                }
+                if (carryForward && !slot.current.isActive() && !slot.pending.isActive()) {
+                    fillGap(slot, completedMinute);
+                }
+            }
+        }
+    }
+
+    /** 장 마감 후 열려 있는 분봉을 유예 시간 없이 모두 저장 */
+    @Scheduled(
+            cron = "${hantu-openapi.candle.close-flush-cron:10 30 15 * * MON-FRI}",
+            zone = "Asia/Seoul")
+    public void flushAtMarketClose() {
+        int flushed = flushAll();
+        log.info("장 마감 분봉 강제 저장 완료. {}건", flushed);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        int flushed = flushAll();
+        log.info("종료 전 분봉 강제 저장 완료. {}건", flushed);
+    }
+
+    int flushAll() {
+        int flushed = 0;
+        for (CandleSlot slot : slots.values()) {
+            synchronized (slot) {
+                if (slot.pending.isActive()) {
+                    seal(slot, slot.pending);
+                    flushed++;
+                }
+                if (slot.current.isActive()) {
+                    seal(slot, slot.current);
+                    flushed++;
+                }
+            }
+        }
+        return flushed;
+    }
+
+    private boolean isSealable(CandleAccumulator candle, long now) {
+        return candle.timestamp() + MINUTE_MS + graceMs <= now;
+    }
+
+    /** 분봉을 닫는다. 저장용 불변 객체는 이때 한 번만 만든다. */
+    private void seal(CandleSlot slot, CandleAccumulator candle) {
+        saveToInfluxDB(candle.toDto(slot.stockCode));
+        slot.lastSealedTime = Math.max(slot.lastSealedTime, candle.timestamp());
+        slot.lastClose = candle.close();
+        candle.clear();
+    }
+
+    /** 체결이 없던 분을 직전 종가로 채운다. 같은 날 장중 구간만 채운다. */
+    private void fillGap(CandleSlot slot, long completedMinute) {
+        if (slot.lastSealedTime < 0 || slot.lastSealedTime >= completedMinute) {
+            return;
+        }
+        long dayStart = getKstDayStart(slot.lastSealedTime);
+        long end = Math.min(completedMinute, dayStart + MARKET_CLOSE_MS - MINUTE_MS);
+        for (long t = slot.lastSealedTime + MINUTE_MS; t <= end; t += MINUTE_MS) {
+            if (t < dayStart + MARKET_OPEN_MS) {
+                continue;
             }
+            saveToInfluxDB(carryForwardCandle(slot, t));
+            slot.lastSealedTime = t;
         }
     }
 
+    private StocksCandleDto carryForwardCandle(CandleSlot slot, long candleTime) {
+        // 거래 없는 분봉: 직전 종가로 OHLC 를 채우고 거래량 0
+        return StocksCandleDto.builder()
+                .stockCode(slot.stockCode)
+                .timestamp(candleTime)
+                .open(slot.lastClose)
+                .high(slot.lastClose)
+                .low(slot.lastClose)
+                .close(slot.lastClose)
+                .volume(0L)
+                .tickCount(0)
+                .build();
+    }
+
+    /** 체결 시각(HHmmss, KST) 기준 분봉 시간. 체결 시각이 없거나 수신 시각과 크게 다르면 수신 시각 기준 */
+    private long getCandleTime(int tradeTime, long now) {
+        if (tradeTime <= 0) {
+            return getCandleTime(now);
+        }
+        int hour = tradeTime / 10_000;
+        int minute = tradeTime / 100 % 100;
+        if (hour > 23 || minute > 59) {
+            return getCandleTime(now);
+        }
+
+        long candleTime = getKstDayStart(now) + hour * 3_600_000L + minute * MINUTE_MS;
+        if (Math.abs(candleTime - getCandleTime(now)) > MAX_TRADE_TIME_SKEW_MS) {
+            return getCandleTime(now);
+        }
+        return candleTime;
+    }
+
+    private static long getKstDayStart(long timestamp) {
+        return timestamp - Math.floorMod(timestamp + KST_OFFSET_MS, DAY_MS);
+    }
+
     /** 분봉 시간 계산 (분 단위로 정규화) */
     private long getCandleTime(long timestamp) {
         return (timestamp / 60000) * 60000; // 1분(60000ms) 단위로 정규화
     }
 
-    /** InfluxDB에 분봉 저장 */
+    /**
+     * InfluxDB에 분봉 저장 (비동기 writer 큐에 넣기만 하고 바로 반환), 차트용 최근 분봉에도 반영. 클러스터에서는 같은 분봉을 노드마다 만들므로 저장은
+     * 리더만 한다.
+     */
     private void saveToInfluxDB(StocksCandleDto candle) {
-        try {
-            MinuteStockPrice minuteData = new MinuteStockPrice();
-            minuteData.setTimestamp(candle.getInstant());
-            minuteData.setStockCode(candle.getStockCode());
-            minuteData.setOpenPrice(candle.getOpen());
-            minuteData.setMaxPrice(candle.getHigh());
-            minuteData.setMinPrice(candle.getLow());
-            minuteData.setClosePrice(candle.getClose());
-            minuteData.setAccumTrans(candle.getVolume());
-
-            WriteApiBlocking writeApi = minuteInfluxDBClient.getWriteApiBlocking();
-            writeApi.writeMeasurement(minuteBucket, Influxorg, WritePrecision.S, minuteData);
-
-            // log.info("분봉 저장: {}", candle);
-
-        } catch (Exception e) {
-            log.error("분봉 저장 실패: {} at {}", candle.getStockCode(), candle.getInstant(), e);
+        if (leadership.isLeader()) {
+            minuteCandleWriter.enqueue(candle);
         }
+        recentCandleStore.append(candle);
     }
 }
@@ -0,0 +1,175 @@
+package io.gaboja9.mockstock.global.websocket.service;
+
+import io.gaboja9.mockstock.domain.stock.cache.RecentCandleStore;
+import io.gaboja9.mockstock.domain.stock.measurement.MinuteStockPrice;
+import io.gaboja9.mockstock.domain.stock.service.TodayMinuteStockService;
+import io.gaboja9.mockstock.global.influx.MinuteCandleWriter;
+import io.gaboja9.mockstock.global.websocket.dto.StocksCandleDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 한투 실시간 연결이 끊겼던 동안 빠진 1분봉을 REST 당일 분봉 조회로 채운다.
+ *
+ * <p>끊긴 시각의 분부터 다시 연결된 시각의 직전 분까지(장 시간 안만) 대상이다. 끊긴 분과 직전 분은 실시간 체결로 일부만 만들어졌거나 직전 종가로 채워져 있을 수
+ * 있으므로, 분봉 타이머가 먼저 닫도록 재연결 후 지연 시간을 두고 시작해서 같은 시각 분봉을 덮어쓴다. InfluxDB 에는 {@link MinuteCandleWriter}
+ * 로, 차트용 최근 분봉에는 {@link RecentCandleStore#upsert} 로 반영한다.
+ */
+@Component
+@Slf4j
+public class MinuteCandleBackfiller {
+
+    private static final long MINUTE_MS = 60_000;
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final LocalTime MARKET_OPEN = LocalTime.of(9, 0);
+    private static final LocalTime MARKET_CLOSE = LocalTime.of(15, 30);
+    private static final DateTimeFormatter HHMMSS = DateTimeFormatter.ofPattern("HHmmss");
+    // 분봉 조회 시장 분류 코드 (J: 주식)
+    private static final String MARKET_CODE = "J";
+
+    private final TodayMinuteStockService todayMinuteStockService;
+    private final MinuteCandleWriter minuteCandleWriter;
+    private final RecentCandleStore recentCandleStore;
+    private final TaskScheduler taskScheduler;
+    private final long delayMs;
+    private final long requestIntervalMs;
+
+    // 처음 끊긴 시각 (연결 중이면 -1)
+    private final AtomicLong disconnectedAt = new AtomicLong(-1);
+    private final Counter backfilled;
+
+    public MinuteCandleBackfiller(
+            TodayMinuteStockService todayMinuteStockService,
+            MinuteCandleWriter minuteCandleWriter,
+            RecentCandleStore recentCandleStore,
+            TaskScheduler taskScheduler,
+            MeterRegistry meterRegistry,
+            @Value("${hantu-openapi.backfill.delay-ms:5000}") long delayMs,
+            @Value("${hantu-openapi.backfill.request-interval-ms:100}") long requestIntervalMs) {
+        this.todayMinuteStockService = todayMinuteStockService;
+        this.minuteCandleWriter = minuteCandleWriter;
+        this.recentCandleStore = recentCandleStore;
+        this.taskScheduler = taskScheduler;
+        this.delayMs = delayMs;
+        this.requestIntervalMs = requestIntervalMs;
+        this.backfilled =
+                Counter.builder("hantu.backfill.candles")
+                        .description("재연결 후 REST 조회로 채운 분봉 수")
+                        .register(meterRegistry);
+    }
+
+    /** 연결이 끊겼을 때. 재연결 시도 중에 여러 번 불려도 처음 끊긴 시각을 유지한다. */
+    public void onDisconnected(long now) {
+        disconnectedAt.compareAndSet(-1, now);
+    }
+
+    /** 다시 연결됐을 때. 빠진 구간이 장 시간에 걸쳐 있으면 지연 후 보충을 예약한다. */
+    public void onReconnected(long now, Collection<String> stockCodes) {
+        long since = disconnectedAt.getAndSet(-1);
+        if (since < 0 || stockCodes.isEmpty()) {
+            return;
+        }
+
+        ZonedDateTime today = Instant.ofEpochMilli(now).atZone(KST).toLocalDate().atStartOfDay(KST);
+        long marketOpen = today.with(MARKET_OPEN).toInstant().toEpochMilli();
+        long marketClose = today.with(MARKET_CLOSE).toInstant().toEpochMilli();
+        long from = Math.max(floorMinute(since), marketOpen);
+        long to = Math.min(floorMinute(now), marketClose);
+        if (from >= to) {
+            return;
+        }
+
+        List<String> targets = List.copyOf(stockCodes);
+        log.info(
+                "재연결 분봉 보충 예약 - {}종목, {} ~ {}",
+                targets.size(),
+                Instant.ofEpochMilli(from),
+                Instant.ofEpochMilli(to));
+        taskScheduler.schedule(
+                () -> backfill(targets, from, to), Instant.ofEpochMilli(now + delayMs));
+    }
+
+    int backfill(List<String> stockCodes, long from, long to) {
+        int total = 0;
+        for (String stockCode : stockCodes) {
+            try {
+                total += backfill(stockCode, from, to);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.warn("분봉 보충 실패 - 종목: {}: {}", stockCode, e.getMessage());
+            }
+        }
+        log.info("재연결 분봉 보충 완료. {}건", total);
+        return total;
+    }
+
+    // [from, to) 구간을 마지막 분부터 한 번에 최대 30건씩 거슬러 올라가며 채운다
+    private int backfill(String stockCode, long from, long to) throws InterruptedException {
+        int filled = 0;
+        long cursor = to - MINUTE_MS;
+        while (cursor >= from) {
+            List<MinuteStockPrice> rows =
+                    todayMinuteStockService.fetchCurrentDayMinutePrices(
+                            MARKET_CODE, stockCode, hhmmss(cursor));
+
+            long earliest = Long.MAX_VALUE;
+            for (MinuteStockPrice row : rows) {
+                long time = row.getTimestamp().toEpochMilli();
+                earliest = Math.min(earliest, time);
+                if (time >= from && time < to) {
+                    StocksCandleDto candle = toCandle(row);
+                    minuteCandleWriter.enqueue(candle);
+                    recentCandleStore.upsert(candle);
+                    filled++;
+                }
+            }
+            backfilled.increment(filled);
+
+            // 더 이른 분봉이 오지 않으면 거기서 멈춘다 (장 시작 이전이거나 조회 실패)
+            if (earliest > cursor) {
+                break;
+            }
+            cursor = earliest - MINUTE_MS;
+            Thread.sleep(requestIntervalMs);
+        }
+        return filled;
+    }
+
+    private static StocksCandleDto toCandle(MinuteStockPrice row) {
+        return StocksCandleDto.builder()
+                .stockCode(row.getStockCode())
+                .timestamp(row.getTimestamp().toEpochMilli())
+                .open(row.getOpenPrice())
+                .high(row.getMaxPrice())
+                .low(row.getMinPrice())
+                .close(row.getClosePrice())
+                .volume(row.getAccumTrans())
+                .tickCount(0)
+                .build();
+    }
+
+    private static String hhmmss(long time) {
+        return Instant.ofEpochMilli(time).atZone(KST).format(HHMMSS);
+    }
+
+    private static long floorMinute(long time) {
+        return time - Math.floorMod(time, MINUTE_MS);
+    }
+}
@@ -1,11 +1,15 @@
 package io.gaboja9.mockstock.global.websocket.service;
 
+import io.gaboja9.mockstock.global.websocket.HantuWebSocketHandler;
 import io.gaboja9.mockstock.global.websocket.dto.StockPriceDto;
+import io.gaboja9.mockstock.global.websocket.feed.HantuFrameBuilder;
+import io.gaboja9.mockstock.global.websocket.mapper.HantuTickParser;
+import io.gaboja9.mockstock.global.websocket.mapper.StockPriceMapper;
+import io.gaboja9.mockstock.global.websocket.relay.StompMessageRelay;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalTime;
@@ -15,16 +19,35 @@ import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class MockStockService {
 
-    private final SimpMessagingTemplate messagingTemplate;
     private static final DateTimeFormatter HHMMSS = DateTimeFormatter.ofPattern("HHmmss");
+    private static final int PREVIOUS_CLOSE = 72_600;
+    private static final String SIMULATOR_MODE = "simulator";
 
-    /** 주어진 종목코드에 대해 10초간(매초 2회) 랜덤 주가를 생성하여 STOMP 토픽으로 전송하고, 보낸 데이터를 리스트로 반환합니다. */
+    private final HantuWebSocketHandler webSocketHandler;
+    private final StompMessageRelay messageRelay;
+    private final boolean injectIntoFeed;
+
+    public MockStockService(
+            HantuWebSocketHandler webSocketHandler,
+            StompMessageRelay messageRelay,
+            @Value("${hantu-openapi.feed.mode:hantu}") String feedMode) {
+        this.webSocketHandler = webSocketHandler;
+        this.messageRelay = messageRelay;
+        this.injectIntoFeed = SIMULATOR_MODE.equals(feedMode);
+    }
+
+    /**
+     * 주어진 종목코드에 대해 10초간(매초 2회) 랜덤 체결을 만들어 보내고, 보낸 데이터를 리스트로 반환합니다.
+     *
+     * <p>모의 시세 모드({@code hantu-openapi.feed.mode=simulator})에서만 한투 프레임으로 실시간 처리 경로(현재가, 분봉, 지정가/스톱
+     * 체결, STOMP)에 넣는다. 실제 시세로 도는 동안에는 만든 가격이 주문 체결이나 분봉에 섞이지 않도록 STOMP 토픽으로만 보낸다.
+     */
     public List<StockPriceDto> sendMockPrices(String stockCode) {
         List<StockPriceDto> sent = new ArrayList<>();
+        HantuTickParser parser = new HantuTickParser();
 
         for (int i = 0; i < 10; i++) {
             for (int j = 0; j < 2; j++) {
@@ -32,22 +55,28 @@ public class MockStockService {
                 int highPrice = currentPrice + ThreadLocalRandom.current().nextInt(1, 6);
                 int lowPrice = currentPrice - ThreadLocalRandom.current().nextInt(1, 6);
 
-                StockPriceDto dto =
-                        StockPriceDto.builder()
-                                .stockCode(stockCode)
-                                .currentPrice(currentPrice)
-                                .dayOverDayPercent(-1.65 + (j * 0.01))
-                                .tradeTime(LocalTime.now().format(HHMMSS))
-                                .tradeVolume(100L + j)
-                                .highPrice(highPrice)
-                                .lowPrice(lowPrice)
-                                .cumulativeVolume(25_000L + i * 2 + j)
-                                .build();
-
-                // STOMP 메시지 전송
-                messagingTemplate.convertAndSend("/topic/stock/" + stockCode, dto);
-                log.info("[MOCK→STOMP] {}: {}", stockCode, dto);
-                sent.add(dto);
+                String frame =
+                        HantuFrameBuilder.frame(
+                                stockCode,
+                                LocalTime.now().format(HHMMSS),
+                                currentPrice,
+                                PREVIOUS_CLOSE,
+                                highPrice,
+                                lowPrice,
+                                100L + j,
+                                25_000L + i * 2 + j);
+
+                List<StockPriceDto> parsed = new ArrayList<>(1);
+                parser.parse(frame, record -> parsed.add(StockPriceMapper.toStockPriceDto(record)));
+
+                if (injectIntoFeed) {
+                    // 한투에서 받은 체결과 같은 경로로 처리
+                    webSocketHandler.onFeedFrame(frame);
+                } else {
+                    parsed.forEach(
+                            dto -> messageRelay.convertAndSend("/topic/stock/" + stockCode, dto));
+                }
+                sent.addAll(parsed);
             }
 
             try {
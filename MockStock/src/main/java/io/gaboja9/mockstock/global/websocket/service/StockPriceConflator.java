@@ -0,0 +1,193 @@
+package io.gaboja9.mockstock.global.websocket.service;
+
+import io.gaboja9.mockstock.global.websocket.broadcast.StompTopicBroadcaster;
+import io.gaboja9.mockstock.global.websocket.dto.StockPriceDto;
+import io.gaboja9.mockstock.global.websocket.mapper.StockPriceMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 실시간 시세 STOMP 브로드캐스트 합치기.
+ *
+ * <p>체결마다 바로 보내지 않고 종목별 최신 시세만 남겨 두었다가 발행 주기(기본 250ms, 4Hz)마다 한 번씩 보낸다. 그 사이 건너뛴 체결의 체결량은 발행되는 시세의
+ * 체결량에 더한다. 변경이 있었던 종목만 큐에 올리므로 발행 비용은 전체 종목 수가 아니라 그 주기에 체결된 종목 수에 비례한다.
+ */
+@Component
+@Slf4j
+public class StockPriceConflator {
+
+    private static final String TOPIC_PREFIX = "/topic/stock/";
+
+    private final StompTopicBroadcaster broadcaster;
+    private final boolean enabled;
+
+    private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+    private final Queue<Slot> dirty = new ConcurrentLinkedQueue<>();
+
+    private final Counter published;
+    private final Counter conflated;
+    private final Counter dropped;
+
+    public StockPriceConflator(
+            StompTopicBroadcaster broadcaster,
+            MeterRegistry meterRegistry,
+            @Value("${hantu-openapi.tick-conflation.enabled:true}") boolean enabled) {
+        this.broadcaster = broadcaster;
+        this.enabled = enabled;
+        this.published =
+                Counter.builder("stock.broadcast.published")
+                        .description("STOMP 로 발행한 시세 수")
+                        .register(meterRegistry);
+        this.conflated =
+                Counter.builder("stock.broadcast.conflated")
+                        .description("다음 발행에 합쳐져 따로 보내지 않은 체결 수")
+                        .register(meterRegistry);
+        this.dropped =
+                Counter.builder("stock.broadcast.dropped")
+                        .description("발행 실패로 보내지 못한 시세 수")
+                        .register(meterRegistry);
+    }
+
+    // 종목별 발행 대기 상태 (객체 자체를 종목 락으로 사용). 체결마다 DTO 를 만들지 않도록 최신 시세를 원시값으로 덮어쓴다
+    private static final class Slot {
+        private final String stockCode;
+        private final String destination;
+        private boolean hasLatest;
+        private int currentPrice;
+        private int highPrice;
+        private int lowPrice;
+        private long cumulativeVolume;
+        private double dayOverDayPercent;
+        private int tradeTime;
+        // 마지막 발행 이후 체결량 합
+        private long tradeVolume;
+        private boolean queued;
+
+        private Slot(String stockCode) {
+            this.stockCode = stockCode;
+            this.destination = TOPIC_PREFIX + stockCode;
+        }
+
+        private StockPriceDto toDto() {
+            return StockPriceDto.builder()
+                    .stockCode(stockCode)
+                    .currentPrice(currentPrice)
+                    .dayOverDayPercent(dayOverDayPercent)
+                    .tradeTime(StockPriceMapper.formatTradeTime(tradeTime))
+                    .tradeVolume(tradeVolume)
+                    .highPrice(highPrice)
+                    .lowPrice(lowPrice)
+                    .cumulativeVolume(cumulativeVolume)
+                    .build();
+        }
+    }
+
+    /** 체결 시세 한 건 반영 */
+    public void offer(StockPriceDto priceData) {
+        offer(
+                priceData.getStockCode(),
+                priceData.getCurrentPrice(),
+                priceData.getHighPrice(),
+                priceData.getLowPrice(),
+                priceData.getCumulativeVolume(),
+                priceData.getTradeVolume(),
+                priceData.getDayOverDayPercent(),
+                StockPriceMapper.parseTradeTime(priceData.getTradeTime()));
+    }
+
+    /** 체결 시세 한 건 반영. tradeTime 은 HHmmss 정수 (0 이면 시간 없음) */
+    public void offer(
+            String stockCode,
+            int currentPrice,
+            int highPrice,
+            int lowPrice,
+            long cumulativeVolume,
+            long tradeVolume,
+            double dayOverDayPercent,
+            int tradeTime) {
+        Slot slot = slots.get(stockCode);
+        if (slot == null) {
+            slot = slots.computeIfAbsent(stockCode, Slot::new);
+        }
+
+        StockPriceDto direct = null;
+        boolean enqueue = false;
+        synchronized (slot) {
+            if (enabled && slot.hasLatest) {
+                conflated.increment();
+            }
+            slot.hasLatest = true;
+            slot.currentPrice = currentPrice;
+            slot.highPrice = highPrice;
+            slot.lowPrice = lowPrice;
+            slot.cumulativeVolume = cumulativeVolume;
+            slot.dayOverDayPercent = dayOverDayPercent;
+            slot.tradeTime = tradeTime;
+            slot.tradeVolume += tradeVolume;
+            if (!enabled) {
+                direct = takeLatest(slot);
+            } else {
+                enqueue = !slot.queued;
+                slot.queued = true;
+            }
+        }
+        if (direct != null) {
+            send(slot.destination, direct);
+        } else if (enqueue) {
+            dirty.add(slot);
+        }
+    }
+
+    /** 발행 주기마다 변경된 종목의 최신 시세를 한 번씩 보낸다 */
+    @Scheduled(fixedRateString = "${hantu-openapi.tick-conflation.publish-interval-ms:250}")
+    public void publishPending() {
+        // 도는 동안 새로 올라온 종목은 다음 주기에 보낸다 (종목당 주기마다 최대 한 번)
+        for (int remaining = dirty.size(); remaining > 0; remaining--) {
+            Slot slot = dirty.poll();
+            if (slot == null) {
+                return;
+            }
+
+            StockPriceDto latest;
+            synchronized (slot) {
+                latest = takeLatest(slot);
+                slot.queued = false;
+            }
+            if (latest != null) {
+                send(slot.destination, latest);
+            }
+        }
+    }
+
+    // 슬롯의 최신 시세를 DTO 로 꺼내고 비운다. 슬롯 락을 잡은 채로 호출한다
+    private static StockPriceDto takeLatest(Slot slot) {
+        if (!slot.hasLatest) {
+            return null;
+        }
+        StockPriceDto latest = slot.toDto();
+        slot.hasLatest = false;
+        slot.tradeVolume = 0;
+        return latest;
+    }
+
+    private void send(String destination, StockPriceDto priceData) {
+        try {
+            broadcaster.broadcast(destination, priceData);
+            published.increment();
+        } catch (Exception e) {
+            dropped.increment();
+            log.warn("시세 발행 실패 - {}: {}", destination, e.getMessage());
+        }
+    }
+}
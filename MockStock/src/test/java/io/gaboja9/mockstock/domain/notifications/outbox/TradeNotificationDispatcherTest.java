@@ -0,0 +1,213 @@
+package io.gaboja9.mockstock.domain.notifications.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import io.gaboja9.mockstock.domain.mails.repository.MailsRepository;
+import io.gaboja9.mockstock.domain.members.entity.Members;
+import io.gaboja9.mockstock.domain.members.repository.MembersRepository;
+import io.gaboja9.mockstock.domain.notifications.entity.TradeNotificationOutbox;
+import io.gaboja9.mockstock.domain.notifications.repository.NotificationsRepository;
+import io.gaboja9.mockstock.domain.notifications.repository.TradeNotificationOutboxRepository;
+import io.gaboja9.mockstock.domain.notifications.service.NotificationsService;
+import io.gaboja9.mockstock.domain.trades.entity.TradeType;
+import io.gaboja9.mockstock.global.websocket.relay.StompMessageRelay;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// 발송기가 직접 커밋하므로 테스트 트랜잭션으로 감싸지 않고, 끝나면 만든 행을 지운다
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TradeNotificationDispatcherTest {
+
+    @Autowired private TradeNotificationOutboxRepository outboxRepository;
+    @Autowired private NotificationsRepository notificationsRepository;
+    @Autowired private MembersRepository membersRepository;
+    @Autowired private MailsRepository mailsRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private final StompMessageRelay messageRelay = mock(StompMessageRelay.class);
+    private TransactionTemplate transactionTemplate;
+    private NotificationsService notificationsService;
+    private TradeNotificationDispatcher dispatcher;
+    private Members member;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        notificationsService =
+                spy(
+                        new NotificationsService(
+                                notificationsRepository,
+                                membersRepository,
+                                mailsRepository,
+                                outboxRepository,
+                                messageRelay));
+        member =
+                membersRepository.save(
+                        new Members(
+                                null,
+                                "outbox@example.com",
+                                "outboxUser",
+                                "google",
+                                "test.png",
+                                5000,
+                                0,
+                                LocalDateTime.now()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+        outboxRepository.deleteAllInBatch();
+        mailsRepository.deleteAllInBatch();
+        membersRepository.deleteAllInBatch();
+    }
+
+    private TradeNotificationDispatcher newDispatcher(long leaseMs, int maxAttempts) {
+        // 주기 실행은 끄고 테스트가 직접 묶음을 처리한다
+        return new TradeNotificationDispatcher(
+                outboxRepository,
+                notificationsService,
+                transactionTemplate,
+                new SimpleMeterRegistry(),
+                200,
+                TimeUnit.HOURS.toMillis(1),
+                leaseMs,
+                maxAttempts);
+    }
+
+    private void enqueue(int count) {
+        transactionTemplate.executeWithoutResult(
+                status -> {
+                    for (int i = 0; i < count; i++) {
+                        notificationsService.enqueueTradeNotification(
+                                member.getId(), "005930", "삼성전자", TradeType.BUY, 1, 70000);
+                    }
+                });
+    }
+
+    @Test
+    void dispatchBatch_아웃박스를_메일로_옮기고_비운다() {
+        dispatcher = newDispatcher(10_000, 5);
+        enqueue(3);
+
+        assertThat(dispatcher.dispatchBatch()).isEqualTo(3);
+
+        assertThat(mailsRepository.findByMembersId(member.getId(), PageRequest.of(0, 10)))
+                .hasSize(3);
+        assertThat(outboxRepository.count()).isZero();
+        verify(messageRelay, times(3))
+                .convertAndSendToUser(
+                        eq(String.valueOf(member.getId())), eq("/queue/notifications"), any());
+        assertThat(dispatcher.dispatchBatch()).isZero();
+    }
+
+    @Test
+    void dispatchBatch_저장에_실패한_알림은_임대가_끝난_뒤_다시_보낸다() {
+        dispatcher = newDispatcher(1, 5);
+        enqueue(1);
+        doThrow(new IllegalStateException("db down"))
+                .doCallRealMethod()
+                .when(notificationsService)
+                .saveTradeMails(anyList());
+
+        assertThat(dispatcher.dispatchBatch()).isEqualTo(1);
+        assertThat(outboxRepository.count()).isEqualTo(1);
+        verify(messageRelay, never()).convertAndSendToUser(any(), any(), any());
+
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+        assertThat(dispatcher.dispatchBatch()).isEqualTo(1);
+
+        assertThat(mailsRepository.findByMembersId(member.getId(), PageRequest.of(0, 10)))
+                .hasSize(1);
+        assertThat(outboxRepository.count()).isZero();
+    }
+
+    @Test
+    void dispatchBatch_임대_중인_알림은_다시_가져가지_않는다() {
+        dispatcher = newDispatcher(60_000, 5);
+        enqueue(1);
+        doThrow(new IllegalStateException("db down"))
+                .when(notificationsService)
+                .saveTradeMails(anyList());
+
+        assertThat(dispatcher.dispatchBatch()).isEqualTo(1);
+
+        assertThat(dispatcher.dispatchBatch()).isZero();
+        assertThat(outboxRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void dispatchBatch_최대_시도_횟수를_넘긴_알림은_남겨_둔다() {
+        dispatcher = newDispatcher(1, 2);
+        enqueue(1);
+        doThrow(new IllegalStateException("db down"))
+                .when(notificationsService)
+                .saveTradeMails(anyList());
+
+        for (int i = 0; i < 2; i++) {
+            assertThat(dispatcher.dispatchBatch()).isEqualTo(1);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+        }
+
+        assertThat(dispatcher.dispatchBatch()).isZero();
+        assertThat(outboxRepository.findAll())
+                .singleElement()
+                .satisfies(event -> assertThat(event.getAttempts()).isEqualTo(2));
+    }
+
+    @Test
+    void dispatchBatch_저장하는_동안_다른_노드가_다시_가져가면_롤백하고_넘긴다() {
+        dispatcher = newDispatcher(10_000, 5);
+        enqueue(1);
+        TransactionTemplate otherNode = new TransactionTemplate(transactionManager);
+        otherNode.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        doAnswer(
+                        invocation -> {
+                            // 임대가 끝난 것으로 보고 다른 노드가 같은 행을 가져간다
+                            otherNode.executeWithoutResult(
+                                    status ->
+                                            outboxRepository.claim(
+                                                    outboxRepository.findAll().stream()
+                                                            .map(TradeNotificationOutbox::getId)
+                                                            .toList(),
+                                                    "other-node",
+                                                    LocalDateTime.now().plusHours(2),
+                                                    5,
+                                                    LocalDateTime.now().plusHours(1)));
+                            return invocation.callRealMethod();
+                        })
+                .when(notificationsService)
+                .saveTradeMails(anyList());
+
+        assertThat(dispatcher.dispatchBatch()).isEqualTo(1);
+
+        assertThat(mailsRepository.findByMembersId(member.getId(), PageRequest.of(0, 10)))
+                .isEmpty();
+        assertThat(outboxRepository.findAll())
+                .singleElement()
+                .satisfies(event -> assertThat(event.getClaimToken()).isEqualTo("other-node"));
+        verify(messageRelay, never()).convertAndSendToUser(any(), any(), any());
+    }
+}
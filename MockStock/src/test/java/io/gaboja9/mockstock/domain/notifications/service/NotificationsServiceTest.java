@@ -1,5 +1,6 @@
 package io.gaboja9.mockstock.domain.notifications.service;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
@@ -8,9 +9,13 @@ import io.gaboja9.mockstock.domain.mails.entity.Mails;
 import io.gaboja9.mockstock.domain.mails.repository.MailsRepository;
 import io.gaboja9.mockstock.domain.members.entity.Members;
 import io.gaboja9.mockstock.domain.members.repository.MembersRepository;
+import io.gaboja9.mockstock.domain.notifications.dto.TradeNotificationPush;
 import io.gaboja9.mockstock.domain.notifications.entity.Notifications;
+import io.gaboja9.mockstock.domain.notifications.entity.TradeNotificationOutbox;
 import io.gaboja9.mockstock.domain.notifications.repository.NotificationsRepository;
+import io.gaboja9.mockstock.domain.notifications.repository.TradeNotificationOutboxRepository;
 import io.gaboja9.mockstock.domain.trades.entity.TradeType;
+import io.gaboja9.mockstock.global.websocket.relay.StompMessageRelay;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,13 +23,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @ExtendWith(MockitoExtension.class)
 class NotificationsServiceTest {
@@ -32,7 +37,8 @@ class NotificationsServiceTest {
     @Mock private NotificationsRepository notificationsRepository;
     @Mock private MembersRepository membersRepository;
     @Mock private MailsRepository mailsRepository;
-    @Mock private SimpMessagingTemplate messagingTemplate;
+    @Mock private TradeNotificationOutboxRepository tradeNotificationOutboxRepository;
+    @Mock private StompMessageRelay messageRelay;
 
     @InjectMocks private NotificationsService notificationsService;
 
@@ -68,50 +74,76 @@ class NotificationsServiceTest {
                         .build();
     }
 
+    @Test
+    void 매매알림은_아웃박스에만_남긴다() {
+        // when
+        notificationsService.enqueueTradeNotification(
+                1L, "005930", "삼성전자", TradeType.BUY, 10, 80000);
+
+        // then
+        verify(tradeNotificationOutboxRepository).save(any(TradeNotificationOutbox.class));
+        verifyNoInteractions(notificationsRepository, membersRepository, mailsRepository);
+        verify(messageRelay, never()).convertAndSendToUser(anyString(), anyString(), any());
+    }
+
     @Test
     void 매매알림이_활성화된_사용자는_매매알림을_받는다() {
         // given
-        given(notificationsRepository.findByMembersId(1L))
-                .willReturn(Optional.of(enabledNotifications));
-        given(membersRepository.findById(1L)).willReturn(Optional.of(testMember));
+        given(notificationsRepository.findTradeNotificationDisabledMemberIds(Set.of(1L)))
+                .willReturn(List.of());
+        given(membersRepository.findAllById(Set.of(1L))).willReturn(List.of(testMember));
 
         // when
-        notificationsService.sendTradeNotification(1L, "005930", "삼성전자", TradeType.BUY, 10, 80000);
+        List<TradeNotificationPush> pushes =
+                notificationsService.saveTradeMails(List.of(tradeEvent(1L), tradeEvent(1L)));
+        notificationsService.pushTradeNotifications(pushes);
 
         // then
-        // 메일 저장 확인
-        verify(mailsRepository).save(any(Mails.class));
+        // 메일은 한 번에 저장
+        verify(mailsRepository).saveAll(argThat(mails -> ((List<Mails>) mails).size() == 2));
 
         // WebSocket 알림 발송 확인
-        verify(messagingTemplate).convertAndSendToUser(eq("1"), eq("/queue/notifications"), any());
+        assertThat(pushes).hasSize(2);
+        verify(messageRelay, times(2))
+                .convertAndSendToUser(eq("1"), eq("/queue/notifications"), any());
     }
 
     @Test
     void 매매알림이_비활성화된_사용자는_매매알림을_받지않는다() {
         // given
-        given(notificationsRepository.findByMembersId(1L))
-                .willReturn(Optional.of(disabledNotifications));
+        given(notificationsRepository.findTradeNotificationDisabledMemberIds(Set.of(1L)))
+                .willReturn(List.of(1L));
 
         // when
-        notificationsService.sendTradeNotification(1L, "005930", "삼성전자", TradeType.BUY, 10, 80000);
+        List<TradeNotificationPush> pushes =
+                notificationsService.saveTradeMails(List.of(tradeEvent(1L)));
+        notificationsService.pushTradeNotifications(pushes);
 
         // then
-        verify(mailsRepository, never()).save(any(Mails.class));
-        verify(messagingTemplate, never()).convertAndSendToUser(anyString(), anyString(), any());
+        assertThat(pushes).isEmpty();
+        verify(mailsRepository).saveAll(argThat(mails -> ((List<Mails>) mails).isEmpty()));
+        verify(messageRelay, never()).convertAndSendToUser(anyString(), anyString(), any());
     }
 
     @Test
-    void 알림설정이_없는_사용자는_기본값으로_매매알림을_받는다() {
+    void 실시간_알림_발송이_실패해도_나머지는_보낸다() {
         // given
-        given(notificationsRepository.findByMembersId(1L)).willReturn(Optional.empty());
-        given(membersRepository.findById(1L)).willReturn(Optional.of(testMember));
+        given(notificationsRepository.findTradeNotificationDisabledMemberIds(Set.of(1L)))
+                .willReturn(List.of());
+        given(membersRepository.findAllById(Set.of(1L))).willReturn(List.of(testMember));
+        doThrow(new IllegalStateException("relay down"))
+                .doNothing()
+                .when(messageRelay)
+                .convertAndSendToUser(anyString(), anyString(), any());
 
         // when
-        notificationsService.sendTradeNotification(1L, "005930", "삼성전자", TradeType.BUY, 10, 80000);
+        List<TradeNotificationPush> pushes =
+                notificationsService.saveTradeMails(List.of(tradeEvent(1L), tradeEvent(1L)));
+        notificationsService.pushTradeNotifications(pushes);
 
         // then
-        verify(mailsRepository).save(any(Mails.class));
-        verify(messagingTemplate).convertAndSendToUser(eq("1"), eq("/queue/notifications"), any());
+        verify(messageRelay, times(2))
+                .convertAndSendToUser(eq("1"), eq("/queue/notifications"), any());
     }
 
     @Test
@@ -127,7 +159,7 @@ class NotificationsServiceTest {
 
         // then
         verify(mailsRepository).save(any(Mails.class));
-        verify(messagingTemplate).convertAndSendToUser(eq("1"), eq("/queue/notifications"), any());
+        verify(messageRelay).convertAndSendToUser(eq("1"), eq("/queue/notifications"), any());
     }
 
     @Test
@@ -143,7 +175,7 @@ class NotificationsServiceTest {
 
         // then
         verify(mailsRepository, never()).save(any(Mails.class));
-        verify(messagingTemplate, never()).convertAndSendToUser(anyString(), anyString(), any());
+        verify(messageRelay, never()).convertAndSendToUser(anyString(), anyString(), any());
     }
 
     @Test
@@ -156,7 +188,7 @@ class NotificationsServiceTest {
 
         // then
         verify(mailsRepository, never()).save(any(Mails.class));
-        verify(messagingTemplate, never()).convertAndSendToUser(anyString(), anyString(), any());
+        verify(messageRelay, never()).convertAndSendToUser(anyString(), anyString(), any());
     }
 
     @Test
@@ -172,7 +204,7 @@ class NotificationsServiceTest {
 
         // then
         verify(mailsRepository).save(any(Mails.class));
-        verify(messagingTemplate).convertAndSendToUser(eq("1"), eq("/queue/notifications"), any());
+        verify(messageRelay).convertAndSendToUser(eq("1"), eq("/queue/notifications"), any());
     }
 
     @Test
@@ -188,7 +220,7 @@ class NotificationsServiceTest {
 
         // then
         verify(mailsRepository, never()).save(any(Mails.class));
-        verify(messagingTemplate, never()).convertAndSendToUser(anyString(), anyString(), any());
+        verify(messageRelay, never()).convertAndSendToUser(anyString(), anyString(), any());
     }
 
     @Test
@@ -203,6 +235,10 @@ class NotificationsServiceTest {
 
         // then
         verify(mailsRepository).save(any(Mails.class));
-        verify(messagingTemplate).convertAndSendToUser(eq("1"), eq("/queue/notifications"), any());
+        verify(messageRelay).convertAndSendToUser(eq("1"), eq("/queue/notifications"), any());
+    }
+
+    private static TradeNotificationOutbox tradeEvent(Long memberId) {
+        return new TradeNotificationOutbox(memberId, "005930", "삼성전자", TradeType.BUY, 10, 80000);
     }
 }
@@ -5,30 +5,48 @@ import static org.mockito.Mockito.*;
 
 import io.gaboja9.mockstock.domain.members.entity.Members;
 import io.gaboja9.mockstock.domain.members.repository.MembersRepository;
+import io.gaboja9.mockstock.domain.notifications.outbox.TradeNotificationDispatcher;
 import io.gaboja9.mockstock.domain.notifications.service.NotificationsService;
 import io.gaboja9.mockstock.domain.orders.dto.request.OrdersMarketTypeRequestDto;
+import io.gaboja9.mockstock.domain.orders.dto.request.OrdersStopTypeRequestDto;
 import io.gaboja9.mockstock.domain.orders.dto.response.OrderResponseDto;
+import io.gaboja9.mockstock.domain.orders.entity.OrderType;
 import io.gaboja9.mockstock.domain.orders.entity.Orders;
 import io.gaboja9.mockstock.domain.orders.exception.InvalidSellQuantityException;
+import io.gaboja9.mockstock.domain.orders.exception.InvalidStopOrderException;
 import io.gaboja9.mockstock.domain.orders.exception.NotEnoughCashException;
+import io.gaboja9.mockstock.domain.orders.mailbox.MemberCommandQueue;
 import io.gaboja9.mockstock.domain.orders.repository.OrdersRepository;
+import io.gaboja9.mockstock.domain.orders.service.LimitOrderBookService;
 import io.gaboja9.mockstock.domain.orders.service.OrdersService;
+import io.gaboja9.mockstock.domain.orders.service.StopOrderBookService;
 import io.gaboja9.mockstock.domain.portfolios.entity.Portfolios;
 import io.gaboja9.mockstock.domain.portfolios.exception.NotFoundPortfolioException;
 import io.gaboja9.mockstock.domain.portfolios.repository.PortfoliosRepository;
 import io.gaboja9.mockstock.domain.portfolios.service.PortfoliosService;
+import io.gaboja9.mockstock.domain.trades.entity.TradeType;
 import io.gaboja9.mockstock.domain.trades.repository.TradesRepository;
-import io.gaboja9.mockstock.global.websocket.HantuWebSocketHandler;
-import io.gaboja9.mockstock.global.websocket.dto.StockPriceDto;
+import io.gaboja9.mockstock.global.websocket.price.LatestPriceRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 @ExtendWith(MockitoExtension.class)
 class OrdersServiceTest {
@@ -43,10 +61,16 @@ class OrdersServiceTest {
 
     @Mock private PortfoliosRepository portfoliosRepository;
 
-    @Mock private HantuWebSocketHandler hantuWebSocketHandler;
+    @Mock private LatestPriceRegistry latestPriceRegistry;
 
     @Mock private NotificationsService notificationsService;
 
+    @Mock private TradeNotificationDispatcher tradeNotificationDispatcher;
+
+    @Mock private LimitOrderBookService limitOrderBookService;
+
+    @Mock private StopOrderBookService stopOrderBookService;
+
     private OrdersService ordersService;
 
     @BeforeEach
@@ -59,12 +83,27 @@ class OrdersServiceTest {
                                 tradesRepository,
                                 portfoliosService,
                                 portfoliosRepository,
-                                hantuWebSocketHandler,
-                                notificationsService));
+                                latestPriceRegistry,
+                                notificationsService,
+                                tradeNotificationDispatcher,
+                                limitOrderBookService,
+                                stopOrderBookService,
+                                newCommandQueue()));
 
         doReturn(true).when(ordersService).openKoreanMarket();
     }
 
+    private static MemberCommandQueue newCommandQueue() {
+        return new MemberCommandQueue(
+                Executors.newVirtualThreadPerTaskExecutor(),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                new SimpleMeterRegistry(),
+                32,
+                8,
+                0,
+                1000);
+    }
+
     @Test
     void executeMarketBuyOrders_성공() {
         Long memberId = 1L;
@@ -87,11 +126,8 @@ class OrdersServiceTest {
                         .quantity(5)
                         .build();
 
-        StockPriceDto mockPrice =
-                StockPriceDto.builder().stockCode("AAPL").currentPrice(100_000).build();
-
         when(membersRepository.findByIdWithLock(memberId)).thenReturn(Optional.of(member));
-        when(hantuWebSocketHandler.getLatestPrice("AAPL")).thenReturn(mockPrice);
+        when(latestPriceRegistry.price("AAPL")).thenReturn(100_000);
 
         OrderResponseDto response = ordersService.executeMarketBuyOrders(memberId, dto);
 
@@ -100,6 +136,8 @@ class OrdersServiceTest {
         verify(ordersRepository).save(any(Orders.class));
         verify(tradesRepository).save(any());
         verify(portfoliosService).updateForBuy(memberId, "AAPL", "애플", 5, 100000);
+        verify(notificationsService)
+                .enqueueTradeNotification(memberId, "AAPL", "애플", TradeType.BUY, 5, 100000);
         assertThat(member.getCashBalance()).isEqualTo(500_000);
     }
 
@@ -125,11 +163,8 @@ class OrdersServiceTest {
                         .quantity(2)
                         .build();
 
-        StockPriceDto mockPrice =
-                StockPriceDto.builder().stockCode("AAPL").currentPrice(100_000).build();
-
         when(membersRepository.findByIdWithLock(memberId)).thenReturn(Optional.of(member));
-        when(hantuWebSocketHandler.getLatestPrice("AAPL")).thenReturn(mockPrice);
+        when(latestPriceRegistry.price("AAPL")).thenReturn(100_000);
 
         assertThatThrownBy(() -> ordersService.executeMarketBuyOrders(memberId, dto))
                 .isInstanceOf(NotEnoughCashException.class);
@@ -157,15 +192,12 @@ class OrdersServiceTest {
                         .quantity(3)
                         .build();
 
-        StockPriceDto mockPrice =
-                StockPriceDto.builder().stockCode("AAPL").currentPrice(100_000).build();
-
         Portfolios portfolio = new Portfolios("AAPL", "애플", 5, 100000, member);
 
         when(membersRepository.findByIdWithLock(memberId)).thenReturn(Optional.of(member));
         when(portfoliosRepository.findByMembersIdAndStockCodeWithLock(memberId, "AAPL"))
                 .thenReturn(Optional.of(portfolio));
-        when(hantuWebSocketHandler.getLatestPrice("AAPL")).thenReturn(mockPrice);
+        when(latestPriceRegistry.price("AAPL")).thenReturn(100_000);
 
         OrderResponseDto response = ordersService.executeMarketSellOrders(memberId, dto);
 
@@ -236,4 +268,161 @@ class OrdersServiceTest {
         assertThatThrownBy(() -> ordersService.executeMarketSellOrders(memberId, dto))
                 .isInstanceOf(NotFoundPortfolioException.class);
     }
+
+    @Test
+    void executeMarketBuyOrders_다른_회원은_같은_종목도_동시에_체결() throws Exception {
+        int members = 8;
+        for (long id = 1; id <= members; id++) {
+            Members member =
+                    new Members(
+                            id,
+                            "user" + id + "@example.com",
+                            "user" + id,
+                            "google",
+                            "profile.png",
+                            1_000_000,
+                            0,
+                            LocalDateTime.now());
+            when(membersRepository.findByIdWithLock(id)).thenReturn(Optional.of(member));
+        }
+        when(latestPriceRegistry.price("005930")).thenReturn(70_000);
+
+        // 모든 회원이 동시에 체결 중이어야 풀린다. 종목 단위로 한 줄로 세우면 제한 시간 안에 끝나지 않는다
+        CountDownLatch allInside = new CountDownLatch(members);
+        when(tradesRepository.save(any()))
+                .thenAnswer(
+                        invocation -> {
+                            allInside.countDown();
+                            assertThat(allInside.await(5, TimeUnit.SECONDS)).isTrue();
+                            return invocation.getArgument(0);
+                        });
+
+        OrdersMarketTypeRequestDto dto =
+                OrdersMarketTypeRequestDto.builder()
+                        .stockCode("005930")
+                        .stockName("삼성전자")
+                        .quantity(1)
+                        .build();
+
+        List<Future<OrderResponseDto>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long id = 1; id <= members; id++) {
+                long memberId = id;
+                results.add(
+                        executor.submit(() -> ordersService.executeMarketBuyOrders(memberId, dto)));
+            }
+            for (Future<OrderResponseDto> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS).isExecuted()).isTrue();
+            }
+        }
+    }
+
+    @Test
+    void executeStopSellOrders_추적_스톱은_현재가에서_간격만큼_아래에서_감시() {
+        Long memberId = 1L;
+        Members member =
+                new Members(
+                        memberId,
+                        "test@example.com",
+                        "testUser",
+                        "google",
+                        "profile.png",
+                        30000000,
+                        0,
+                        LocalDateTime.now());
+
+        OrdersStopTypeRequestDto dto =
+                OrdersStopTypeRequestDto.builder()
+                        .stockCode("AAPL")
+                        .stockName("애플")
+                        .quantity(5)
+                        .orderType(OrderType.TRAILING_STOP)
+                        .trailingGap(3_000)
+                        .build();
+
+        Portfolios portfolio = new Portfolios("AAPL", "애플", 5, 100000, member);
+
+        when(membersRepository.findByIdWithLock(memberId)).thenReturn(Optional.of(member));
+        when(portfoliosRepository.findByMembersIdAndStockCodeWithLock(memberId, "AAPL"))
+                .thenReturn(Optional.of(portfolio));
+        when(latestPriceRegistry.price("AAPL")).thenReturn(100_000);
+
+        OrderResponseDto response = ordersService.executeStopSellOrders(memberId, dto);
+
+        assertThat(response.isExecuted()).isFalse();
+        assertThat(response.getPrice()).isEqualTo(97_000);
+        ArgumentCaptor<Orders> captor = ArgumentCaptor.forClass(Orders.class);
+        verify(stopOrderBookService).register(captor.capture());
+        assertThat(captor.getValue().getStopPrice()).isEqualTo(97_000);
+        assertThat(captor.getValue().getTrailingGap()).isEqualTo(3_000);
+        verify(tradesRepository, never()).save(any());
+    }
+
+    @Test
+    void executeStopBuyOrders_스톱_지정가는_지정가만큼_현금을_묶는다() {
+        Long memberId = 1L;
+        Members member =
+                new Members(
+                        memberId,
+                        "test@example.com",
+                        "testUser",
+                        "google",
+                        "profile.png",
+                        30000000,
+                        0,
+                        LocalDateTime.now());
+        member.setCashBalance(1_000_000);
+
+        OrdersStopTypeRequestDto dto =
+                OrdersStopTypeRequestDto.builder()
+                        .stockCode("AAPL")
+                        .stockName("애플")
+                        .quantity(5)
+                        .orderType(OrderType.STOP_LIMIT)
+                        .stopPrice(105_000)
+                        .price(106_000)
+                        .build();
+
+        when(membersRepository.findByIdWithLock(memberId)).thenReturn(Optional.of(member));
+        when(latestPriceRegistry.price("AAPL")).thenReturn(100_000);
+
+        OrderResponseDto response = ordersService.executeStopBuyOrders(memberId, dto);
+
+        assertThat(response.isExecuted()).isFalse();
+        assertThat(response.getPrice()).isEqualTo(105_000);
+        verify(stopOrderBookService).register(any(Orders.class));
+        assertThat(member.getCashBalance()).isEqualTo(470_000);
+    }
+
+    @Test
+    void executeStopBuyOrders_실패_이미_닿은_감시가() {
+        Long memberId = 1L;
+        Members member =
+                new Members(
+                        memberId,
+                        "test@example.com",
+                        "testUser",
+                        "google",
+                        "profile.png",
+                        30000000,
+                        0,
+                        LocalDateTime.now());
+        member.setCashBalance(1_000_000);
+
+        OrdersStopTypeRequestDto dto =
+                OrdersStopTypeRequestDto.builder()
+                        .stockCode("AAPL")
+                        .stockName("애플")
+                        .quantity(1)
+                        .orderType(OrderType.STOP)
+                        .stopPrice(99_000)
+                        .build();
+
+        when(membersRepository.findByIdWithLock(memberId)).thenReturn(Optional.of(member));
+        when(latestPriceRegistry.price("AAPL")).thenReturn(100_000);
+
+        assertThatThrownBy(() -> ordersService.executeStopBuyOrders(memberId, dto))
+                .isInstanceOf(InvalidStopOrderException.class);
+        verify(stopOrderBookService, never()).register(any());
+    }
 }
@@ -0,0 +1,92 @@
+package io.gaboja9.mockstock.domain.orders.book;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.gaboja9.mockstock.domain.trades.entity.TradeType;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class LimitOrderBookTest {
+
+    private LimitOrderBook book;
+
+    @BeforeEach
+    void setUp() {
+        book = new LimitOrderBook("005930");
+    }
+
+    private OrderBookEntry buy(long id, int price) {
+        return new OrderBookEntry(id, 1L, "005930", TradeType.BUY, price);
+    }
+
+    private OrderBookEntry sell(long id, int price) {
+        return new OrderBookEntry(id, 1L, "005930", TradeType.SELL, price);
+    }
+
+    @Test
+    void pollCrossed_매수는_지정가_이하_체결가에서만_꺼낸다() {
+        book.add(buy(1L, 70000));
+        book.add(buy(2L, 71000));
+        book.add(buy(3L, 69000));
+
+        List<OrderBookEntry> crossed = book.pollCrossed(70000);
+
+        assertThat(crossed).extracting(OrderBookEntry::orderId).containsExactly(2L, 1L);
+        assertThat(book.size()).isEqualTo(1);
+    }
+
+    @Test
+    void pollCrossed_매도는_지정가_이상_체결가에서만_꺼낸다() {
+        book.add(sell(1L, 70000));
+        book.add(sell(2L, 69000));
+        book.add(sell(3L, 71000));
+
+        List<OrderBookEntry> crossed = book.pollCrossed(70000);
+
+        assertThat(crossed).extracting(OrderBookEntry::orderId).containsExactly(2L, 1L);
+        assertThat(book.size()).isEqualTo(1);
+    }
+
+    @Test
+    void pollCrossed_같은_가격은_접수순서대로() {
+        book.add(buy(5L, 70000));
+        book.add(buy(3L, 70000));
+        book.add(buy(4L, 70000));
+
+        List<OrderBookEntry> crossed = book.pollCrossed(69500);
+
+        assertThat(crossed).extracting(OrderBookEntry::orderId).containsExactly(3L, 4L, 5L);
+        assertThat(book.isEmpty()).isTrue();
+    }
+
+    @Test
+    void pollCrossed_조건_불만족시_빈목록() {
+        book.add(buy(1L, 69000));
+        book.add(sell(2L, 71000));
+
+        assertThat(book.pollCrossed(70000)).isEmpty();
+        assertThat(book.size()).isEqualTo(2);
+    }
+
+    @Test
+    void remove_대기주문_제거() {
+        book.add(buy(1L, 70000));
+        book.add(buy(2L, 70000));
+
+        assertThat(book.remove(1L)).isTrue();
+        assertThat(book.remove(1L)).isFalse();
+        assertThat(book.pollCrossed(70000)).extracting(OrderBookEntry::orderId).containsExactly(2L);
+    }
+
+    @Test
+    void add_같은_주문은_중복되지_않는다() {
+        book.add(buy(1L, 70000));
+        book.add(buy(1L, 70000));
+
+        assertThat(book.size()).isEqualTo(1);
+        assertThat(book.pollCrossed(70000)).hasSize(1);
+    }
+}
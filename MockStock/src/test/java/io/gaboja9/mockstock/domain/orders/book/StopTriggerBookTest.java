@@ -0,0 +1,149 @@
+package io.gaboja9.mockstock.domain.orders.book;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.gaboja9.mockstock.domain.orders.entity.OrderType;
+import io.gaboja9.mockstock.domain.trades.entity.TradeType;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class StopTriggerBookTest {
+
+    private StopTriggerBook book;
+
+    @BeforeEach
+    void setUp() {
+        book = new StopTriggerBook("005930");
+    }
+
+    private StopOrderEntry stop(long id, TradeType tradeType, int stopPrice) {
+        return new StopOrderEntry(id, 1L, "005930", OrderType.STOP, tradeType, stopPrice, 0);
+    }
+
+    // 등록 시점의 현재가에서 간격만큼 떨어진 감시가로 시작한다
+    private StopOrderEntry trailing(long id, TradeType tradeType, int price, int gap) {
+        int stopPrice = tradeType == TradeType.BUY ? price + gap : price - gap;
+        return new StopOrderEntry(
+                id, 1L, "005930", OrderType.TRAILING_STOP, tradeType, stopPrice, gap);
+    }
+
+    @Test
+    void pollTriggered_매도_스톱은_감시가_이하_체결가에서_먼저_지나친_순으로_꺼낸다() {
+        book.add(stop(1L, TradeType.SELL, 69000));
+        book.add(stop(2L, TradeType.SELL, 70000));
+        book.add(stop(3L, TradeType.SELL, 68000));
+
+        List<StopOrderEntry> triggered = book.pollTriggered(69000);
+
+        assertThat(triggered).extracting(StopOrderEntry::orderId).containsExactly(2L, 1L);
+        assertThat(book.size()).isEqualTo(1);
+    }
+
+    @Test
+    void pollTriggered_매수_스톱은_감시가_이상_체결가에서_꺼낸다() {
+        book.add(stop(1L, TradeType.BUY, 71000));
+        book.add(stop(2L, TradeType.BUY, 72000));
+        book.add(stop(3L, TradeType.BUY, 70500));
+
+        List<StopOrderEntry> triggered = book.pollTriggered(71000);
+
+        assertThat(triggered).extracting(StopOrderEntry::orderId).containsExactly(3L, 1L);
+        assertThat(book.size()).isEqualTo(1);
+    }
+
+    @Test
+    void pollTriggered_닿지_않으면_빈목록() {
+        book.add(stop(1L, TradeType.SELL, 69000));
+        book.add(stop(2L, TradeType.BUY, 71000));
+
+        assertThat(book.pollTriggered(70000)).isEmpty();
+        assertThat(book.size()).isEqualTo(2);
+    }
+
+    @Test
+    void pollTriggered_추적_매도는_고점을_따라_올라간_감시가에서_발동() {
+        book.add(trailing(1L, TradeType.SELL, 70000, 1000));
+
+        assertThat(book.pollTriggered(72000)).isEmpty();
+        // 고점 72000 에서 1000 되돌기 전까지는 발동하지 않는다
+        assertThat(book.pollTriggered(71500)).isEmpty();
+
+        List<StopOrderEntry> triggered = book.pollTriggered(71000);
+
+        assertThat(triggered)
+                .singleElement()
+                .satisfies(entry -> assertThat(entry.stopPrice()).isEqualTo(71000));
+        assertThat(book.isEmpty()).isTrue();
+    }
+
+    @Test
+    void pollTriggered_추적_매수는_저점을_따라_내려간_감시가에서_발동() {
+        book.add(trailing(1L, TradeType.BUY, 70000, 1000));
+
+        assertThat(book.pollTriggered(68000)).isEmpty();
+        assertThat(book.pollTriggered(68500)).isEmpty();
+
+        List<StopOrderEntry> triggered = book.pollTriggered(69000);
+
+        assertThat(triggered)
+                .singleElement()
+                .satisfies(entry -> assertThat(entry.stopPrice()).isEqualTo(69000));
+    }
+
+    @Test
+    void pollTriggered_추적_매도는_고점이_달라도_간격만큼_되돌아야_발동() {
+        book.add(trailing(1L, TradeType.SELL, 70000, 500));
+        book.pollTriggered(71000);
+        // 고점 71000 인 주문과 새로 70800 에서 등록한 주문이 섞여 있다
+        book.add(trailing(2L, TradeType.SELL, 70800, 300));
+        book.add(trailing(3L, TradeType.SELL, 70800, 1000));
+
+        List<StopOrderEntry> triggered = book.pollTriggered(70500);
+
+        assertThat(triggered).extracting(StopOrderEntry::orderId).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(book.size()).isEqualTo(1);
+
+        // 고점이 올라가면 남은 주문도 같이 따라간다
+        assertThat(book.pollTriggered(73000)).isEmpty();
+        assertThat(book.pollTriggered(72000))
+                .singleElement()
+                .satisfies(entry -> assertThat(entry.stopPrice()).isEqualTo(72000));
+    }
+
+    @Test
+    void remove_감시_중인_주문_제거() {
+        book.add(stop(1L, TradeType.SELL, 69000));
+        book.add(trailing(2L, TradeType.SELL, 70000, 1000));
+
+        assertThat(book.remove(1L)).isTrue();
+        assertThat(book.remove(2L)).isTrue();
+        assertThat(book.remove(2L)).isFalse();
+        assertThat(book.pollTriggered(60000)).isEmpty();
+    }
+
+    @Test
+    void add_같은_주문은_새_감시가로_바뀐다() {
+        book.add(stop(1L, TradeType.SELL, 69000));
+        book.add(stop(1L, TradeType.SELL, 68000));
+
+        assertThat(book.size()).isEqualTo(1);
+        assertThat(book.pollTriggered(68500)).isEmpty();
+        assertThat(book.pollTriggered(68000)).hasSize(1);
+    }
+
+    @Test
+    void pollTriggered_감시_중인_주문이_많아도_지나친_구간만_꺼낸다() {
+        for (int i = 0; i < 100_000; i++) {
+            book.add(stop(i, TradeType.SELL, 10_000 + i));
+        }
+
+        List<StopOrderEntry> triggered = book.pollTriggered(109_990);
+
+        assertThat(triggered).hasSize(10);
+        assertThat(triggered.get(0).orderId()).isEqualTo(99_999L);
+        assertThat(book.size()).isEqualTo(99_990);
+    }
+}
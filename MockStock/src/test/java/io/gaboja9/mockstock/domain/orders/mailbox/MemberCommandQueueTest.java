@@ -0,0 +1,294 @@
+package io.gaboja9.mockstock.domain.orders.mailbox;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import io.gaboja9.mockstock.domain.orders.exception.NotEnoughCashException;
+import io.gaboja9.mockstock.domain.orders.exception.OrderProcessingTimeoutException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+class MemberCommandQueueTest {
+
+    private PlatformTransactionManager transactionManager;
+    private ExecutorService executor;
+    private SimpleMeterRegistry meterRegistry;
+    private MemberCommandQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = mock(PlatformTransactionManager.class);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        meterRegistry = new SimpleMeterRegistry();
+        queue = newQueue(5000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private MemberCommandQueue newQueue(long timeoutMs) {
+        return newQueue(timeoutMs, 8);
+    }
+
+    private MemberCommandQueue newQueue(long timeoutMs, int connectionPoolSize) {
+        return new MemberCommandQueue(
+                executor,
+                new TransactionTemplate(transactionManager),
+                meterRegistry,
+                32,
+                connectionPoolSize,
+                0,
+                timeoutMs);
+    }
+
+    @Test
+    void submit_같은_회원_명령은_넣은_순서대로_하나씩_실행() {
+        List<Integer> applied = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            int n = i;
+            results.add(
+                    queue.submit(
+                            1L,
+                            afterCommit -> {
+                                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                                applied.add(n);
+                                running.decrementAndGet();
+                                return n;
+                            }));
+        }
+        results.forEach(CompletableFuture::join);
+
+        assertThat(applied).hasSize(200).isSorted();
+        assertThat(maxRunning.get()).isEqualTo(1);
+    }
+
+    @Test
+    void submit_밀린_명령은_한_트랜잭션으로_묶는다() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> first =
+                queue.submit(
+                        1L,
+                        afterCommit -> {
+                            started.countDown();
+                            await(release);
+                            return 0;
+                        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        List<CompletableFuture<Integer>> queued = new ArrayList<>();
+        for (int i = 1; i <= 9; i++) {
+            int n = i;
+            queued.add(queue.submit(1L, afterCommit -> n));
+        }
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isZero();
+        for (int i = 0; i < queued.size(); i++) {
+            assertThat(queued.get(i).get(5, TimeUnit.SECONDS)).isEqualTo(i + 1);
+        }
+        // 첫 명령 1번 + 밀려 있던 9개 1번
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void submit_배치_중_하나가_실패하면_그_명령만_실패하고_나머지는_커밋() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        queue.submit(
+                1L,
+                afterCommit -> {
+                    started.countDown();
+                    await(release);
+                    return 0;
+                });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        List<String> notified = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<String> ok1 =
+                queue.submit(
+                        1L,
+                        afterCommit -> {
+                            afterCommit.add(() -> notified.add("ok1"));
+                            return "ok1";
+                        });
+        CompletableFuture<String> fail =
+                queue.submit(
+                        1L,
+                        afterCommit -> {
+                            afterCommit.add(() -> notified.add("fail"));
+                            throw new NotEnoughCashException(0);
+                        });
+        CompletableFuture<String> ok2 =
+                queue.submit(
+                        1L,
+                        afterCommit -> {
+                            afterCommit.add(() -> notified.add("ok2"));
+                            return "ok2";
+                        });
+        release.countDown();
+
+        assertThat(ok1.get(5, TimeUnit.SECONDS)).isEqualTo("ok1");
+        assertThat(ok2.get(5, TimeUnit.SECONDS)).isEqualTo("ok2");
+        assertThatThrownBy(() -> fail.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(NotEnoughCashException.class);
+        // 후속 작업은 다음 배치 전에 끝나므로, 명령 하나를 더 돌려 기다린다
+        queue.submit(1L, afterCommit -> 0).get(5, TimeUnit.SECONDS);
+        // 롤백된 배치와 실패한 명령의 후속 작업은 버린다
+        assertThat(notified).containsExactly("ok1", "ok2");
+        verify(transactionManager, times(2)).rollback(any());
+    }
+
+    @Test
+    void execute_명령이_던진_예외를_그대로_던진다() {
+        assertThatThrownBy(
+                        () ->
+                                queue.execute(
+                                        1L,
+                                        afterCommit -> {
+                                            throw new NotEnoughCashException(100);
+                                        }))
+                .isInstanceOf(NotEnoughCashException.class);
+
+        String next = queue.execute(1L, afterCommit -> "next");
+        assertThat(next).isEqualTo("next");
+    }
+
+    @Test
+    void execute_제한_시간_안에_시작하지_못하면_취소된다() throws Exception {
+        queue = newQueue(50);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> blocking =
+                queue.submit(
+                        1L,
+                        afterCommit -> {
+                            started.countDown();
+                            await(release);
+                            return 0;
+                        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        AtomicInteger applied = new AtomicInteger();
+        assertThatThrownBy(() -> queue.execute(1L, afterCommit -> applied.incrementAndGet()))
+                .isInstanceOf(OrderProcessingTimeoutException.class);
+
+        release.countDown();
+        blocking.get(5, TimeUnit.SECONDS);
+        String other = queue.execute(2L, afterCommit -> "other");
+        assertThat(other).isEqualTo("other");
+        assertThat(queue.submit(1L, afterCommit -> applied.get()).get(5, TimeUnit.SECONDS))
+                .isZero();
+    }
+
+    @Test
+    void execute_실행_중인_명령도_제한_시간을_넘기면_예외() {
+        queue = newQueue(50);
+        CountDownLatch release = new CountDownLatch(1);
+
+        assertThatThrownBy(() -> queue.execute(1L, afterCommit -> await(release)))
+                .isInstanceOf(OrderProcessingTimeoutException.class);
+
+        release.countDown();
+        String next = queue.execute(1L, afterCommit -> "next");
+        assertThat(next).isEqualTo("next");
+    }
+
+    @Test
+    void 명령을_모두_비운_메일박스는_지운다() throws Exception {
+        for (long memberId = 1; memberId <= 8; memberId++) {
+            Boolean done = queue.execute(memberId, afterCommit -> true);
+            assertThat(done).isTrue();
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (mailboxCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(mailboxCount()).isZero();
+        String again = queue.execute(1L, afterCommit -> "again");
+        assertThat(again).isEqualTo("again");
+    }
+
+    private double mailboxCount() {
+        return meterRegistry.get("orders.mailbox.members").gauge().value();
+    }
+
+    @Test
+    void execute_다른_회원은_나란히_실행() throws Exception {
+        CountDownLatch allInside = new CountDownLatch(4);
+        List<CompletableFuture<Boolean>> results = new ArrayList<>();
+        for (long memberId = 1; memberId <= 4; memberId++) {
+            results.add(
+                    queue.submit(
+                            memberId,
+                            afterCommit -> {
+                                allInside.countDown();
+                                return await(allInside);
+                            }));
+        }
+
+        for (CompletableFuture<Boolean> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    @Test
+    void submit_동시에_여는_트랜잭션은_한도를_넘지_않는다() throws Exception {
+        queue = newQueue(5000, 2);
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger maxInside = new AtomicInteger();
+
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for (long memberId = 1; memberId <= 16; memberId++) {
+            results.add(
+                    queue.submit(
+                            memberId,
+                            afterCommit -> {
+                                maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+                                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+                                inside.decrementAndGet();
+                                return 0;
+                            }));
+        }
+
+        for (CompletableFuture<Integer> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isZero();
+        }
+        assertThat(maxInside.get()).isLessThanOrEqualTo(2);
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
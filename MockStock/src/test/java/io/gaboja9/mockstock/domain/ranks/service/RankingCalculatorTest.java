@@ -0,0 +1,120 @@
+package io.gaboja9.mockstock.domain.ranks.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import io.gaboja9.mockstock.domain.members.repository.MembersRepository;
+import io.gaboja9.mockstock.domain.payments.entity.PaymentStatus;
+import io.gaboja9.mockstock.domain.payments.repository.PaymentHistoryRepository;
+import io.gaboja9.mockstock.domain.portfolios.repository.PortfoliosRepository;
+import io.gaboja9.mockstock.domain.ranks.dto.HoldingRow;
+import io.gaboja9.mockstock.domain.ranks.dto.MemberAmountRow;
+import io.gaboja9.mockstock.domain.ranks.dto.MemberRankingRow;
+import io.gaboja9.mockstock.domain.ranks.dto.RanksDto;
+import io.gaboja9.mockstock.global.websocket.price.LatestPriceRegistry;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@ExtendWith(MockitoExtension.class)
+class RankingCalculatorTest {
+
+    @Mock private MembersRepository membersRepository;
+    @Mock private PaymentHistoryRepository paymentHistoryRepository;
+    @Mock private PortfoliosRepository portfoliosRepository;
+    @Spy private LatestPriceRegistry latestPriceRegistry = new LatestPriceRegistry(16);
+
+    @InjectMocks private RankingCalculator rankingCalculator;
+
+    private void price(String stockCode, int currentPrice) {
+        latestPriceRegistry.update(
+                stockCode, currentPrice, currentPrice, currentPrice, 0, 0, 0.0, 90000);
+    }
+
+    @Test
+    void calculateAll_집계_조회_결과로_회원별_지표_계산() {
+        when(membersRepository.findAllRankingRows())
+                .thenReturn(
+                        List.of(
+                                new MemberRankingRow(1L, "투자왕", 10_000_000, 0),
+                                new MemberRankingRow(2L, "초보", 30_000_000, 1)));
+        when(paymentHistoryRepository.sumAmountGroupByMemberIdAndStatus(PaymentStatus.APPROVED))
+                .thenReturn(List.of(new MemberAmountRow(1L, 10_000_000)));
+        when(portfoliosRepository.streamAllHoldings())
+                .thenReturn(
+                        Stream.of(
+                                new HoldingRow(1L, "005930", 400),
+                                new HoldingRow(1L, "035720", 100)));
+        price("005930", 70_000);
+        price("035720", 50_000);
+
+        Map<Long, RanksDto> ranks =
+                rankingCalculator.calculateAll().stream()
+                        .collect(Collectors.toMap(RanksDto::getMemberId, Function.identity()));
+
+        RanksDto first = ranks.get(1L);
+        assertThat(first.getTotalInvestment()).isEqualTo(40_000_000);
+        assertThat(first.getTotalAsset()).isEqualTo(10_000_000 + 28_000_000 + 5_000_000);
+        assertThat(first.getTotalProfit()).isEqualTo(3_000_000);
+        assertThat(first.getReturnRate()).isEqualTo(7.5);
+
+        RanksDto second = ranks.get(2L);
+        assertThat(second.getTotalInvestment()).isEqualTo(30_000_000);
+        assertThat(second.getTotalAsset()).isEqualTo(30_000_000);
+        assertThat(second.getReturnRate()).isZero();
+        assertThat(second.getBankruptcyCount()).isEqualTo(1);
+    }
+
+    @Test
+    void calculateAll_시작_시점_현재가_스냅샷으로_평가() {
+        when(membersRepository.findAllRankingRows())
+                .thenReturn(
+                        List.of(
+                                new MemberRankingRow(1L, "a", 0, 0),
+                                new MemberRankingRow(2L, "b", 0, 0),
+                                new MemberRankingRow(3L, "c", 0, 0)));
+        when(paymentHistoryRepository.sumAmountGroupByMemberIdAndStatus(PaymentStatus.APPROVED))
+                .thenReturn(List.of());
+        price("005930", 1_000);
+        when(portfoliosRepository.streamAllHoldings())
+                .thenAnswer(
+                        invocation -> {
+                            // 평가 도중 들어온 시세는 이번 계산에 섞이지 않는다
+                            price("005930", 2_000);
+                            return Stream.of(
+                                    new HoldingRow(1L, "005930", 1),
+                                    new HoldingRow(2L, "005930", 2),
+                                    new HoldingRow(3L, "005930", 3));
+                        });
+
+        List<RanksDto> ranks = rankingCalculator.calculateAll();
+
+        assertThat(ranks)
+                .extracting(RanksDto::getTotalAsset)
+                .containsExactly(1_000L, 2_000L, 3_000L);
+    }
+
+    @Test
+    void calculateAll_현재가가_없으면_대체_가격으로_평가() {
+        when(membersRepository.findAllRankingRows())
+                .thenReturn(List.of(new MemberRankingRow(1L, "a", 0, 0)));
+        when(paymentHistoryRepository.sumAmountGroupByMemberIdAndStatus(PaymentStatus.APPROVED))
+                .thenReturn(List.of());
+        when(portfoliosRepository.streamAllHoldings())
+                .thenReturn(Stream.of(new HoldingRow(1L, "000660", 1)));
+
+        RanksDto rank = rankingCalculator.calculateAll().get(0);
+
+        assertThat(rank.getTotalAsset()).isBetween(10_000L, 109_999L);
+    }
+}
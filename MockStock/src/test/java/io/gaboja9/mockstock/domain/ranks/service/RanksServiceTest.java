@@ -0,0 +1,85 @@
+package io.gaboja9.mockstock.domain.ranks.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.gaboja9.mockstock.domain.notifications.scheduler.MarketTimeScheduler;
+import io.gaboja9.mockstock.domain.ranks.dto.RankingRequest;
+import io.gaboja9.mockstock.domain.ranks.dto.RankingResponse;
+import io.gaboja9.mockstock.domain.ranks.dto.RanksDto;
+import io.gaboja9.mockstock.domain.ranks.entity.RanksType;
+import io.gaboja9.mockstock.domain.ranks.repository.RanksRedisRepository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.List;
+import java.util.Optional;
+
+@ExtendWith(MockitoExtension.class)
+class RanksServiceTest {
+
+    @Mock private RankingCalculator rankingCalculator;
+    @Mock private RedisTemplate<String, Object> redisTemplate;
+    @Mock private ValueOperations<String, Object> valueOperations;
+    @Mock private MarketTimeScheduler marketTimeScheduler;
+    @Mock private RanksRedisRepository ranksRedisRepository;
+
+    @InjectMocks private RanksService ranksService;
+
+    private static RanksDto ranker(long memberId, int rank) {
+        RanksDto ranksDto = RanksDto.builder().memberId(memberId).nickname("회원" + memberId).build();
+        ranksDto.setRank(rank);
+        return ranksDto;
+    }
+
+    @Test
+    void getRankingWithPagination_요청한_페이지만_조회() {
+        RankingRequest request = RankingRequest.of(RanksType.ASSET, 2, 10);
+        List<RanksDto> page = List.of(ranker(21L, 21), ranker(22L, 22));
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(ranksRedisRepository.count(RanksType.ASSET)).thenReturn(22L);
+        when(ranksRedisRepository.findRange(RanksType.ASSET, 0, 4))
+                .thenReturn(List.of(ranker(1L, 1)));
+        when(ranksRedisRepository.findRange(RanksType.ASSET, 20, 21)).thenReturn(page);
+        when(ranksRedisRepository.findByMemberId(RanksType.ASSET, 22L))
+                .thenReturn(Optional.of(ranker(22L, 22)));
+
+        RankingResponse response = ranksService.getRankingWithPagination(22L, request);
+
+        assertThat(response.getRankers()).isEqualTo(page);
+        assertThat(response.getMyRanking().getRank()).isEqualTo(22);
+        assertThat(response.getPagination().getTotalPages()).isEqualTo(3);
+        assertThat(response.getPagination().isHasNext()).isFalse();
+        verify(rankingCalculator, never()).calculateAll();
+    }
+
+    @Test
+    void getRankingWithPagination_랭킹이_없으면_다시_계산해서_저장() {
+        RankingRequest request = RankingRequest.of(RanksType.PROFIT, 0, 5);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(ranksRedisRepository.count(RanksType.PROFIT)).thenReturn(0L);
+        when(rankingCalculator.calculateAll()).thenReturn(List.of());
+
+        RankingResponse response = ranksService.getRankingWithPagination(1L, request);
+
+        verify(ranksRedisRepository).replaceAll(anyList());
+        assertThat(response.getRankers()).isEmpty();
+    }
+
+    @Test
+    void getMemberReturnRateRank_순위만_조회() {
+        when(ranksRedisRepository.count(RanksType.RETURN_RATE)).thenReturn(10L);
+        when(ranksRedisRepository.findRank(RanksType.RETURN_RATE, 7L)).thenReturn(Optional.of(3));
+
+        assertThat(ranksService.getMemberReturnRateRank(7L)).isEqualTo(3);
+    }
+}
@@ -0,0 +1,147 @@
+package io.gaboja9.mockstock.domain.stock.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.gaboja9.mockstock.domain.stock.measurement.MinuteStockPrice;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+class CandleRingBufferTest {
+
+    private static final long T0 = Instant.parse("2025-07-23T01:00:00Z").toEpochMilli();
+    private static final long MINUTE = 60_000;
+
+    private static void appendMinutes(CandleRingBuffer buffer, int from, int to) {
+        for (int i = from; i < to; i++) {
+            buffer.append(T0 + i * MINUTE, 100 + i, 110 + i, 90 + i, 105 + i, 10);
+        }
+    }
+
+    private static MinuteStockPrice row(int minute) {
+        MinuteStockPrice price = new MinuteStockPrice();
+        price.setTimestamp(Instant.ofEpochMilli(T0 + minute * MINUTE));
+        price.setStockCode("005930");
+        price.setOpenPrice(1L);
+        price.setMaxPrice(1L);
+        price.setMinPrice(1L);
+        price.setClosePrice(1L);
+        price.setAccumTrans(1L);
+        return price;
+    }
+
+    private static List<Long> minutesOf(List<MinuteStockPrice> prices) {
+        return prices.stream().map(p -> (p.getTimestamp().toEpochMilli() - T0) / MINUTE).toList();
+    }
+
+    @Test
+    void latest_최신순으로_limit개() {
+        CandleRingBuffer buffer = new CandleRingBuffer("005930", 10);
+        buffer.warm(List.of(), true);
+        appendMinutes(buffer, 0, 5);
+
+        List<MinuteStockPrice> result = buffer.latest(3).orElseThrow();
+
+        assertThat(minutesOf(result)).containsExactly(4L, 3L, 2L);
+        assertThat(result.get(0).getClosePrice()).isEqualTo(109L);
+    }
+
+    @Test
+    void latest_버퍼에_부족하면_저장소로_넘김() {
+        CandleRingBuffer buffer = new CandleRingBuffer("005930", 10);
+        appendMinutes(buffer, 0, 3);
+
+        assertThat(buffer.latest(5)).isEmpty();
+    }
+
+    @Test
+    void 용량을_넘으면_오래된_분봉부터_밀려남() {
+        CandleRingBuffer buffer = new CandleRingBuffer("005930", 4);
+        buffer.warm(List.of(), true);
+        appendMinutes(buffer, 0, 6);
+
+        assertThat(minutesOf(buffer.latest(4).orElseThrow())).containsExactly(5L, 4L, 3L, 2L);
+        // 밀려난 구간은 저장소에서 조회해야 한다
+        assertThat(buffer.before(T0 + 3 * MINUTE, 2)).isEmpty();
+        assertThat(minutesOf(buffer.before(T0 + 4 * MINUTE, 2).orElseThrow()))
+                .containsExactly(3L, 2L);
+    }
+
+    @Test
+    void after_기준시점_이후를_과거순으로() {
+        CandleRingBuffer buffer = new CandleRingBuffer("005930", 10);
+        appendMinutes(buffer, 0, 6);
+
+        assertThat(minutesOf(buffer.after(T0 + 2 * MINUTE, 2).orElseThrow()))
+                .containsExactly(3L, 4L);
+        assertThat(buffer.after(T0 - MINUTE, 2)).isEmpty();
+    }
+
+    @Test
+    void warm_실시간으로_들어온_분봉보다_이른_것만_채움() {
+        CandleRingBuffer buffer = new CandleRingBuffer("005930", 10);
+        appendMinutes(buffer, 3, 5);
+
+        buffer.warm(List.of(row(4), row(2), row(1), row(3)), false);
+
+        assertThat(minutesOf(buffer.latest(4).orElseThrow())).containsExactly(4L, 3L, 2L, 1L);
+        assertThat(buffer.latest(1).orElseThrow().get(0).getClosePrice()).isEqualTo(109L);
+    }
+
+    @Test
+    void merge_같은_구간은_합치기() {
+        CandleRingBuffer buffer = new CandleRingBuffer("005930", 10);
+        buffer.warm(List.of(), true);
+        buffer.merge(T0, 100, 110, 95, 105, 10);
+        buffer.merge(T0, 105, 120, 90, 115, 5);
+
+        MinuteStockPrice merged = buffer.latest(1).orElseThrow().get(0);
+
+        assertThat(merged.getOpenPrice()).isEqualTo(100L);
+        assertThat(merged.getMaxPrice()).isEqualTo(120L);
+        assertThat(merged.getMinPrice()).isEqualTo(90L);
+        assertThat(merged.getClosePrice()).isEqualTo(115L);
+        assertThat(merged.getAccumTrans()).isEqualTo(15L);
+    }
+
+    @Test
+    void upsert_빠진_분봉을_시간_순서대로_끼워넣고_같은_시각은_덮어씀() {
+        CandleRingBuffer buffer = new CandleRingBuffer("005930", 10);
+        buffer.warm(List.of(), true);
+        appendMinutes(buffer, 0, 2);
+        appendMinutes(buffer, 5, 7);
+
+        buffer.upsert(T0 + 3 * MINUTE, 1, 2, 1, 2, 5);
+        buffer.upsert(T0 + 2 * MINUTE, 1, 2, 1, 2, 5);
+        buffer.upsert(T0 + 5 * MINUTE, 7, 8, 6, 7, 99);
+
+        List<MinuteStockPrice> result = buffer.latest(10).orElseThrow();
+        assertThat(minutesOf(result)).containsExactly(6L, 5L, 3L, 2L, 1L, 0L);
+        assertThat(result.get(1).getAccumTrans()).isEqualTo(99L);
+    }
+
+    @Test
+    void upsert_가득_찬_버퍼에서는_가장_오래된_분봉을_밀어냄() {
+        CandleRingBuffer buffer = new CandleRingBuffer("005930", 3);
+        appendMinutes(buffer, 0, 1);
+        appendMinutes(buffer, 2, 4);
+
+        buffer.upsert(T0 + MINUTE, 1, 1, 1, 1, 1);
+        buffer.upsert(T0 - MINUTE, 1, 1, 1, 1, 1);
+
+        assertThat(minutesOf(buffer.latest(3).orElseThrow())).containsExactly(3L, 2L, 1L);
+    }
+
+    @Test
+    void aggregate_구간_분봉을_하나로_합침() {
+        CandleRingBuffer buffer = new CandleRingBuffer("005930", 10);
+        appendMinutes(buffer, 0, 5);
+
+        long[] merged = buffer.aggregate(T0 + MINUTE, T0 + 4 * MINUTE);
+
+        assertThat(merged).containsExactly(101, 113, 91, 108, 30);
+        assertThat(buffer.aggregate(T0 + 10 * MINUTE, T0 + 15 * MINUTE)).isNull();
+    }
+}
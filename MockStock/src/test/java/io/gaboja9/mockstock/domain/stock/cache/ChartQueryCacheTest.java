@@ -0,0 +1,134 @@
+package io.gaboja9.mockstock.domain.stock.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.gaboja9.mockstock.domain.stock.cache.ChartQueryCache.Timeframe;
+import io.gaboja9.mockstock.domain.stock.measurement.DailyStockPrice;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+class ChartQueryCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ChartQueryCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache =
+                new ChartQueryCache(
+                        meterRegistry,
+                        Executors.newVirtualThreadPerTaskExecutor(),
+                        Duration.ofMinutes(10),
+                        Duration.ofHours(1),
+                        Duration.ofHours(6),
+                        100);
+    }
+
+    private static Supplier<List<DailyStockPrice>> counting(AtomicInteger calls) {
+        return () -> {
+            calls.incrementAndGet();
+            return List.of(new DailyStockPrice());
+        };
+    }
+
+    @Test
+    void getLatest_같은_키는_한번만_조회() {
+        AtomicInteger calls = new AtomicInteger();
+
+        cache.getLatest(Timeframe.DAILY, "005930", 100, counting(calls));
+        cache.getLatest(Timeframe.DAILY, "005930", 100, counting(calls));
+        cache.getLatest(Timeframe.DAILY, "005930", 50, counting(calls));
+        cache.getLatest(Timeframe.WEEKLY, "005930", 100, counting(calls));
+
+        assertThat(calls).hasValue(3);
+        assertThat(
+                        meterRegistry
+                                .get("cache.gets")
+                                .tag("result", "hit")
+                                .tag("timeframe", "daily")
+                                .functionCounter()
+                                .count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void getLatest_동시에_들어온_요청은_조회_하나를_함께_기다림() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        Supplier<List<DailyStockPrice>> slowLoader =
+                () -> {
+                    calls.incrementAndGet();
+                    try {
+                        loading.await(2, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return List.of(new DailyStockPrice());
+                };
+
+        List<Future<List<DailyStockPrice>>> results = new ArrayList<>();
+        try (ExecutorService requests = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 8; i++) {
+                results.add(
+                        requests.submit(
+                                () -> cache.getLatest(Timeframe.DAILY, "005930", 100, slowLoader)));
+            }
+            Thread.sleep(100);
+            loading.countDown();
+            for (Future<List<DailyStockPrice>> result : results) {
+                assertThat(result.get(2, TimeUnit.SECONDS)).hasSize(1);
+            }
+        }
+
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void 조회_실패는_캐시하지_않음() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(
+                        () ->
+                                cache.getLatest(
+                                        Timeframe.MONTHLY,
+                                        "005930",
+                                        12,
+                                        () -> {
+                                            throw new IllegalStateException("influx down");
+                                        }))
+                .isInstanceOf(IllegalStateException.class);
+        cache.getLatest(Timeframe.MONTHLY, "005930", 12, counting(calls));
+
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void invalidate_해당_종목만_다시_조회() {
+        AtomicInteger samsung = new AtomicInteger();
+        AtomicInteger kakao = new AtomicInteger();
+        cache.getLatest(Timeframe.DAILY, "005930", 100, counting(samsung));
+        cache.getLatest(Timeframe.DAILY, "035720", 100, counting(kakao));
+
+        cache.invalidate("005930");
+        cache.getLatest(Timeframe.DAILY, "005930", 100, counting(samsung));
+        cache.getLatest(Timeframe.DAILY, "035720", 100, counting(kakao));
+
+        assertThat(samsung).hasValue(2);
+        assertThat(kakao).hasValue(1);
+    }
+}
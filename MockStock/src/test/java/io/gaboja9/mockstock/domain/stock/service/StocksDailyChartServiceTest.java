@@ -12,12 +12,14 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.gaboja9.mockstock.domain.stock.cache.ChartQueryCache;
 import io.gaboja9.mockstock.domain.stock.entity.Stocks;
 import io.gaboja9.mockstock.domain.stock.exception.NotFoundStockException;
 import io.gaboja9.mockstock.domain.stock.exception.StockChartException;
 import io.gaboja9.mockstock.domain.stock.measurement.DailyStockPrice;
 import io.gaboja9.mockstock.domain.stock.repository.StocksDailyRepository;
 import io.gaboja9.mockstock.domain.stock.repository.StocksRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -26,13 +28,16 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executors;
 
 @Nested
 @ExtendWith(MockitoExtension.class)
@@ -43,6 +48,16 @@ class StocksDailyChartServiceTest {
 
     @Mock private StocksRepository stocksRepository;
 
+    @Spy
+    private ChartQueryCache chartQueryCache =
+            new ChartQueryCache(
+                    new SimpleMeterRegistry(),
+                    Executors.newVirtualThreadPerTaskExecutor(),
+                    Duration.ofMinutes(10),
+                    Duration.ofHours(1),
+                    Duration.ofHours(6),
+                    100);
+
     @InjectMocks private StocksDailyChartService stocksDailyChartService;
 
     private Stocks sampleStock;
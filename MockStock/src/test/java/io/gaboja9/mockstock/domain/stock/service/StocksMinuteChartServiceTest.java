@@ -12,6 +12,8 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.gaboja9.mockstock.domain.stock.cache.RecentCandleStore;
+import io.gaboja9.mockstock.domain.stock.cache.RecentCandleStore.Interval;
 import io.gaboja9.mockstock.domain.stock.entity.Stocks;
 import io.gaboja9.mockstock.domain.stock.exception.NotFoundStockException;
 import io.gaboja9.mockstock.domain.stock.exception.StockChartException;
@@ -43,6 +45,8 @@ class StocksMinuteChartServiceTest {
 
     @Mock private StocksRepository stocksRepository;
 
+    @Mock private RecentCandleStore recentCandleStore;
+
     @InjectMocks private StocksMinuteChartService stocksMinuteChartService;
 
     private Stocks sampleStock;
@@ -68,6 +72,31 @@ class StocksMinuteChartServiceTest {
         return price;
     }
 
+    @Test
+    @DisplayName("getLatestMinutePrices()는 최근 분봉 버퍼에 있으면 InfluxDB를 조회하지 않음")
+    void getLatestMinutePrices_fromRecentBuffer() {
+        // given
+        String stockCode = "005930";
+        int limit = 2;
+
+        List<MinuteStockPrice> buffered =
+                Arrays.asList(
+                        createSampleStockPrice("2025-07-23T14:30:00Z", stockCode, 61400L),
+                        createSampleStockPrice("2025-07-23T14:29:00Z", stockCode, 61450L));
+
+        when(stocksRepository.findByStockCode(stockCode)).thenReturn(Optional.of(sampleStock));
+        when(recentCandleStore.findLatest(Interval.MINUTE, stockCode, limit))
+                .thenReturn(Optional.of(buffered));
+
+        // when
+        List<MinuteStockPrice> actualData =
+                stocksMinuteChartService.getLatestMinutePrices(stockCode, limit);
+
+        // then
+        assertThat(actualData).isEqualTo(buffered);
+        verify(stocksMinuteRepository, never()).findLatestMinutePrices(anyString(), anyInt());
+    }
+
     @Test
     @DisplayName("getLatestMinutePrices()는 유효한 주식코드로 최신 데이터를 정상 조회")
     void getLatestMinutePrices_success() {
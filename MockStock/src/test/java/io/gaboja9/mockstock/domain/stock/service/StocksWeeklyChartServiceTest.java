@@ -11,12 +11,14 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.gaboja9.mockstock.domain.stock.cache.ChartQueryCache;
 import io.gaboja9.mockstock.domain.stock.entity.Stocks;
 import io.gaboja9.mockstock.domain.stock.exception.NotFoundStockException;
 import io.gaboja9.mockstock.domain.stock.exception.StockChartException;
 import io.gaboja9.mockstock.domain.stock.measurement.DailyStockPrice;
 import io.gaboja9.mockstock.domain.stock.repository.StocksRepository;
 import io.gaboja9.mockstock.domain.stock.repository.StocksWeeklyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -25,12 +27,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executors;
 
 @Nested
 @ExtendWith(MockitoExtension.class)
@@ -41,6 +46,16 @@ class StocksWeeklyChartServiceTest {
 
     @Mock private StocksRepository stocksRepository;
 
+    @Spy
+    private ChartQueryCache chartQueryCache =
+            new ChartQueryCache(
+                    new SimpleMeterRegistry(),
+                    Executors.newVirtualThreadPerTaskExecutor(),
+                    Duration.ofMinutes(10),
+                    Duration.ofHours(1),
+                    Duration.ofHours(6),
+                    100);
+
     @InjectMocks private StocksWeeklyChartService stocksWeeklyChartService;
 
     private Stocks sampleStock;
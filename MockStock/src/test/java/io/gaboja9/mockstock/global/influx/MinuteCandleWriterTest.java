@@ -0,0 +1,142 @@
+package io.gaboja9.mockstock.global.influx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.influxdb.client.InfluxDBClient;
+import com.influxdb.client.WriteApiBlocking;
+import com.influxdb.client.domain.WritePrecision;
+import com.influxdb.client.write.Point;
+
+import io.gaboja9.mockstock.global.websocket.dto.StocksCandleDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class MinuteCandleWriterTest {
+
+    @Mock private InfluxDBClient influxDBClient;
+
+    @Mock private WriteApiBlocking writeApi;
+
+    @TempDir Path spillDir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MinuteCandleWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        when(influxDBClient.getWriteApiBlocking()).thenReturn(writeApi);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.stop();
+    }
+
+    private MinuteCandleWriter newWriter(int batchSize, int queueCapacity) {
+        return new MinuteCandleWriter(
+                influxDBClient,
+                meterRegistry,
+                "stock_minute",
+                "org",
+                batchSize,
+                50,
+                queueCapacity,
+                1,
+                1,
+                spillDir.toString());
+    }
+
+    private StocksCandleDto candle(String stockCode, long minute) {
+        return StocksCandleDto.createNew(stockCode, minute * 60_000, 70000, 10);
+    }
+
+    @Test
+    void enqueue_배치크기만큼_모아서_한번에_저장() {
+        writer = newWriter(3, 100);
+        writer.start();
+
+        writer.enqueue(candle("005930", 1));
+        writer.enqueue(candle("005930", 2));
+        writer.enqueue(candle("035720", 1));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Point>> captor = ArgumentCaptor.forClass(List.class);
+        verify(writeApi, timeout(2000))
+                .writePoints(eq("stock_minute"), eq("org"), captor.capture());
+        assertThat(captor.getValue()).hasSize(3);
+        assertThat(captor.getValue().get(0).toLineProtocol())
+                .startsWith("stock_minute,stockCode=005930 ")
+                .contains("openPrice=70000i")
+                .endsWith(" 60");
+    }
+
+    @Test
+    void 저장_실패시_파일로_보관했다가_복구되면_재저장() throws Exception {
+        doThrow(new RuntimeException("influx down"))
+                .when(writeApi)
+                .writePoints(anyString(), anyString(), anyList());
+        writer = newWriter(10, 100);
+        writer.start();
+
+        writer.enqueue(candle("005930", 1));
+        writer.enqueue(candle("005930", 2));
+
+        Path spillFile = spillDir.resolve("stock_minute.lp");
+        long deadline = System.currentTimeMillis() + 3000;
+        while (meterRegistry.get("influx.candle.spilled").counter().count() < 2
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(Files.readAllLines(spillFile)).hasSize(2);
+
+        doNothing().when(writeApi).writePoints(anyString(), anyString(), anyList());
+        writer.enqueue(candle("005930", 3));
+
+        verify(writeApi, timeout(3000))
+                .writeRecords(eq("stock_minute"), eq("org"), eq(WritePrecision.S), anyList());
+        deadline = System.currentTimeMillis() + 3000;
+        while (Files.exists(spillFile) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(spillFile).doesNotExist();
+    }
+
+    @Test
+    void 큐가_가득차면_버리지_않고_파일을_거쳐_저장() {
+        writer = newWriter(10, 1);
+
+        // writer 스레드를 띄우기 전이라 큐가 바로 찬다
+        writer.enqueue(candle("005930", 1));
+        writer.enqueue(candle("005930", 2));
+        writer.enqueue(candle("005930", 3));
+        writer.start();
+        writer.stop();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<String>> captor = ArgumentCaptor.forClass(List.class);
+        verify(writeApi).writePoints(eq("stock_minute"), eq("org"), anyList());
+        verify(writeApi)
+                .writeRecords(
+                        eq("stock_minute"), eq("org"), eq(WritePrecision.S), captor.capture());
+        assertThat(captor.getValue()).hasSize(2);
+        assertThat(meterRegistry.get("influx.candle.spilled").counter().count()).isEqualTo(2.0);
+    }
+}
@@ -0,0 +1,246 @@
+package io.gaboja9.mockstock.global.websocket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.gaboja9.mockstock.domain.orders.service.LimitOrderBookService;
+import io.gaboja9.mockstock.domain.orders.service.StopOrderBookService;
+import io.gaboja9.mockstock.domain.portfolios.repository.PortfoliosRepository;
+import io.gaboja9.mockstock.global.websocket.broadcast.TopicSubscriptionTracker;
+import io.gaboja9.mockstock.global.websocket.cluster.ClusterDemandExchange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+class HantuSubscriptionManagerTest {
+
+    private static final long GRACE_MS = 30_000;
+
+    // 토픽 -> 구독자 수
+    private final Map<String, Integer> watchers = new HashMap<>();
+    private TopicSubscriptionTracker tracker;
+    private LimitOrderBookService limitOrderBookService;
+    private StopOrderBookService stopOrderBookService;
+    private PortfoliosRepository portfoliosRepository;
+    private HantuWebSocketHandler webSocketHandler;
+    private HantuWebSocketSessionManager hantuSessionManager;
+    private ClusterDemandExchange clusterDemandExchange;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        tracker = mock(TopicSubscriptionTracker.class);
+        when(tracker.destinations()).thenAnswer(invocation -> Set.copyOf(watchers.keySet()));
+        when(tracker.subscriberCount(anyString()))
+                .thenAnswer(invocation -> watchers.getOrDefault(invocation.getArgument(0), 0));
+        limitOrderBookService = mock(LimitOrderBookService.class);
+        stopOrderBookService = mock(StopOrderBookService.class);
+        portfoliosRepository = mock(PortfoliosRepository.class);
+        webSocketHandler = mock(HantuWebSocketHandler.class);
+        hantuSessionManager = mock(HantuWebSocketSessionManager.class);
+        clusterDemandExchange = mock(ClusterDemandExchange.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        when(limitOrderBookService.restingStockCodes()).thenReturn(Set.of());
+        when(stopOrderBookService.armedStockCodes()).thenReturn(Set.of());
+        when(portfoliosRepository.findHeldStockCodes()).thenReturn(List.of());
+        when(hantuSessionManager.isConnectionActive()).thenReturn(true);
+        when(clusterDemandExchange.remoteDemand())
+                .thenReturn(new ClusterDemandExchange.Demand(Map.of(), Set.of()));
+        when(webSocketHandler.subscribeStockPrice(anyString(), anyString())).thenReturn(true);
+        when(webSocketHandler.unsubscribeStockPrice(anyString(), anyString())).thenReturn(true);
+    }
+
+    private HantuSubscriptionManager manager(int maxSymbols) {
+        return new HantuSubscriptionManager(
+                tracker,
+                limitOrderBookService,
+                stopOrderBookService,
+                portfoliosRepository,
+                webSocketHandler,
+                hantuSessionManager,
+                clusterDemandExchange,
+                meterRegistry,
+                maxSymbols,
+                GRACE_MS);
+    }
+
+    private void watch(String stockCode, int subscribers) {
+        if (subscribers == 0) {
+            watchers.remove("/topic/stock/" + stockCode);
+        } else {
+            watchers.put("/topic/stock/" + stockCode, subscribers);
+        }
+    }
+
+    @Test
+    void reconcile_구독자가_생기면_등록하고_유예_시간이_지나면_해제() {
+        HantuSubscriptionManager manager = manager(40);
+
+        watch("005930", 2);
+        manager.reconcile(0);
+        verify(webSocketHandler, times(1)).subscribeStockPrice("005930", "H1");
+
+        watch("005930", 1);
+        manager.reconcile(1_000);
+        watch("005930", 0);
+        manager.reconcile(2_000);
+        manager.reconcile(1_000 + GRACE_MS - 1);
+        verify(webSocketHandler, never()).unsubscribeStockPrice("005930", "H1");
+        assertThat(manager.isSubscribed("005930")).isTrue();
+
+        manager.reconcile(1_000 + GRACE_MS);
+        verify(webSocketHandler).unsubscribeStockPrice("005930", "H1");
+        assertThat(manager.isSubscribed("005930")).isFalse();
+    }
+
+    @Test
+    void reconcile_대기_주문과_보유_종목은_구독자가_없어도_유지() {
+        when(limitOrderBookService.restingStockCodes()).thenReturn(Set.of("035720"));
+        when(portfoliosRepository.findHeldStockCodes()).thenReturn(List.of("000660"));
+        HantuSubscriptionManager manager = manager(40);
+
+        manager.refreshHeldStockCodes();
+        manager.reconcile(0);
+        manager.reconcile(10 * GRACE_MS);
+
+        verify(webSocketHandler).subscribeStockPrice("035720", "H1");
+        verify(webSocketHandler).subscribeStockPrice("000660", "H1");
+        verify(webSocketHandler, never()).unsubscribeStockPrice(anyString(), anyString());
+    }
+
+    @Test
+    void reconcile_감시_중인_스톱_주문_종목은_구독자가_없어도_유지() {
+        when(stopOrderBookService.armedStockCodes()).thenReturn(Set.of("035420"));
+        HantuSubscriptionManager manager = manager(40);
+
+        manager.reconcile(0);
+        manager.reconcile(10 * GRACE_MS);
+
+        verify(webSocketHandler).subscribeStockPrice("035420", "H1");
+        verify(webSocketHandler, never()).unsubscribeStockPrice(anyString(), anyString());
+    }
+
+    @Test
+    void reconcile_한도를_넘으면_대기_주문_구독자_많은_순으로_등록() {
+        when(limitOrderBookService.restingStockCodes()).thenReturn(Set.of("035720"));
+        HantuSubscriptionManager manager = manager(2);
+
+        watch("005930", 2);
+        watch("000660", 1);
+        manager.reconcile(0);
+
+        assertThat(manager.isSubscribed("035720")).isTrue();
+        assertThat(manager.isSubscribed("005930")).isTrue();
+        assertThat(manager.isSubscribed("000660")).isFalse();
+        assertThat(meterRegistry.get("hantu.subscription.capped").gauge().value()).isEqualTo(1);
+
+        // 자리가 나면 밀려났던 종목이 등록되고 빠진 종목은 먼저 해제된다
+        when(limitOrderBookService.restingStockCodes()).thenReturn(Set.of());
+        watch("005930", 0);
+        manager.reconcile(GRACE_MS);
+
+        assertThat(manager.isSubscribed("000660")).isTrue();
+        assertThat(manager.upstreamCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void reconcile_다른_노드의_구독자와_대기_주문도_합쳐서_등록() {
+        when(clusterDemandExchange.remoteDemand())
+                .thenReturn(
+                        new ClusterDemandExchange.Demand(
+                                Map.of("000660", 2, "005930", 3), Set.of("035720")));
+        HantuSubscriptionManager manager = manager(2);
+
+        watch("000660", 2);
+        manager.reconcile(0);
+
+        // 035720 은 다른 노드의 대기 주문, 000660 은 이 노드 2명 + 다른 노드 2명으로 005930(3명)보다 앞선다
+        assertThat(manager.isSubscribed("035720")).isTrue();
+        assertThat(manager.isSubscribed("000660")).isTrue();
+        assertThat(manager.isSubscribed("005930")).isFalse();
+    }
+
+    @Test
+    void reconcile_해제에_실패한_종목은_한도를_차지하지_않고_정해진_횟수만_다시_해제() {
+        when(webSocketHandler.unsubscribeStockPrice("005930", "H1")).thenReturn(false);
+        HantuSubscriptionManager manager = manager(1);
+
+        watch("005930", 1);
+        manager.reconcile(0);
+        watch("005930", 0);
+        watch("000660", 1);
+        manager.reconcile(GRACE_MS);
+
+        // 해제가 실패해도 자리는 비워서 새 종목을 등록한다
+        assertThat(manager.isSubscribed("005930")).isFalse();
+        assertThat(manager.isSubscribed("000660")).isTrue();
+
+        for (int i = 1; i <= 5; i++) {
+            manager.reconcile(GRACE_MS + i);
+        }
+        verify(webSocketHandler, times(HantuSubscriptionManager.MAX_UNSUBSCRIBE_ATTEMPTS))
+                .unsubscribeStockPrice("005930", "H1");
+    }
+
+    @Test
+    void reconcile_업스트림_전송은_모니터를_잡지_않고_한다() {
+        HantuSubscriptionManager manager = manager(40);
+        List<Boolean> heldWhileSending = new ArrayList<>();
+        when(webSocketHandler.subscribeStockPrice(anyString(), anyString()))
+                .thenAnswer(
+                        invocation -> {
+                            heldWhileSending.add(Thread.holdsLock(manager));
+                            return true;
+                        });
+        when(webSocketHandler.unsubscribeStockPrice(anyString(), anyString()))
+                .thenAnswer(
+                        invocation -> {
+                            heldWhileSending.add(Thread.holdsLock(manager));
+                            return true;
+                        });
+
+        watch("005930", 1);
+        manager.reconcile(0);
+        watch("005930", 0);
+        manager.reconcile(GRACE_MS);
+
+        assertThat(heldWhileSending).containsExactly(false, false);
+        assertThat(manager.isSubscribed("005930")).isFalse();
+    }
+
+    @Test
+    void onUpstreamConnected_재연결하면_수요_종목을_다시_등록() {
+        HantuSubscriptionManager manager = manager(40);
+        watch("005930", 1);
+        manager.reconcile(0);
+
+        manager.onUpstreamDisconnected();
+        manager.onUpstreamConnected();
+
+        verify(webSocketHandler, times(2)).subscribeStockPrice("005930", "H1");
+    }
+
+    @Test
+    void reconcile_업스트림이_끊겨_있으면_아무것도_보내지_않음() {
+        when(hantuSessionManager.isConnectionActive()).thenReturn(false);
+        HantuSubscriptionManager manager = manager(40);
+        watch("005930", 1);
+
+        manager.reconcile(0);
+
+        verify(webSocketHandler, never()).subscribeStockPrice(anyString(), anyString());
+    }
+}
@@ -0,0 +1,113 @@
+package io.gaboja9.mockstock.global.websocket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.WebSocketClient;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+
+class HantuWebSocketConnectionManagerTest {
+
+    // 세션 상태를 직접 정하고 재연결 요청 횟수만 센다
+    private static final class StubConnectionManager extends HantuWebSocketConnectionManager {
+        private boolean open;
+        private int reconnects;
+
+        private StubConnectionManager(WebSocketClient client) {
+            // 점검은 테스트에서 직접 부르므로 주기 점검은 사실상 꺼 둔다
+            super(
+                    client,
+                    mock(HantuWebSocketHandler.class),
+                    "ws://localhost",
+                    mock(HantuWebSocketSessionManager.class),
+                    3_600_000,
+                    1_000,
+                    60_000);
+        }
+
+        @Override
+        boolean isSessionOpen() {
+            return open;
+        }
+
+        @Override
+        void reconnect() {
+            reconnects++;
+        }
+    }
+
+    @Test
+    void backoffDelayMs_두_배씩_늘고_최대값에서_멈춤() {
+        assertThat(HantuWebSocketConnectionManager.backoffDelayMs(1, 1_000, 60_000, 0))
+                .isEqualTo(500);
+        assertThat(HantuWebSocketConnectionManager.backoffDelayMs(1, 1_000, 60_000, 0.999))
+                .isBetween(500L, 1_000L);
+        assertThat(HantuWebSocketConnectionManager.backoffDelayMs(4, 1_000, 60_000, 0))
+                .isEqualTo(4_000);
+        assertThat(HantuWebSocketConnectionManager.backoffDelayMs(40, 1_000, 60_000, 0.999))
+                .isBetween(30_000L, 60_000L);
+    }
+
+    private static WebSocketClient clientReturning(CompletableFuture<WebSocketSession> attempt) {
+        WebSocketClient client = mock(WebSocketClient.class);
+        when(client.execute(
+                        any(WebSocketHandler.class),
+                        any(WebSocketHttpHeaders.class),
+                        any(URI.class)))
+                .thenReturn(attempt);
+        return client;
+    }
+
+    @Test
+    void checkConnection_끊기면_바로_한_번_시도하고_이후는_백오프_간격으로() {
+        StubConnectionManager manager =
+                new StubConnectionManager(
+                        clientReturning(
+                                CompletableFuture.failedFuture(new IOException("refused"))));
+        manager.startConnection();
+
+        manager.checkConnection(0);
+        assertThat(manager.reconnects).isEqualTo(1);
+
+        // 첫 대기 시간(500~1000ms) 안에서는 다시 시도하지 않는다
+        manager.checkConnection(400);
+        assertThat(manager.reconnects).isEqualTo(1);
+
+        manager.checkConnection(1_000);
+        assertThat(manager.reconnects).isEqualTo(2);
+        assertThat(manager.attempts()).isEqualTo(2);
+
+        manager.open = true;
+        manager.checkConnection(2_000);
+        assertThat(manager.attempts()).isZero();
+
+        manager.stopConnection();
+    }
+
+    @Test
+    void checkConnection_핸드셰이크가_끝나기_전에는_다시_시도하지_않는다() {
+        CompletableFuture<WebSocketSession> handshake = new CompletableFuture<>();
+        StubConnectionManager manager = new StubConnectionManager(clientReturning(handshake));
+        manager.startConnection();
+
+        manager.checkConnection(0);
+        manager.checkConnection(5_000);
+        assertThat(manager.reconnects).isZero();
+        assertThat(manager.attempts()).isZero();
+
+        handshake.completeExceptionally(new IOException("handshake timeout"));
+        manager.checkConnection(6_000);
+        assertThat(manager.reconnects).isEqualTo(1);
+
+        manager.stopConnection();
+    }
+}
@@ -0,0 +1,98 @@
+package io.gaboja9.mockstock.global.websocket.broadcast;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.gaboja9.mockstock.global.websocket.dto.StockPriceDto;
+import io.gaboja9.mockstock.global.websocket.dto.StocksCandleDto;
+import io.gaboja9.mockstock.global.websocket.price.LatestPriceRegistry;
+import io.gaboja9.mockstock.global.websocket.service.CandleMakerService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+
+class StockSnapshotPublisherTest {
+
+    private static final String DESTINATION = "/topic/stock/005930";
+
+    // 분봉 DTO 에 Instant getter 가 있어 스프링 ObjectMapper 처럼 JSR-310 모듈을 등록한다
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private MessageChannel clientOutboundChannel;
+    private LatestPriceRegistry registry;
+    private CandleMakerService candleMakerService;
+    private StockSnapshotPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        clientOutboundChannel = mock(MessageChannel.class);
+        when(clientOutboundChannel.send(any())).thenReturn(true);
+        registry = new LatestPriceRegistry(16);
+        candleMakerService = mock(CandleMakerService.class);
+        publisher =
+                new StockSnapshotPublisher(
+                        clientOutboundChannel,
+                        registry,
+                        candleMakerService,
+                        objectMapper,
+                        new SimpleMeterRegistry());
+    }
+
+    @Test
+    void sendSnapshot_현재가와_진행중인_분봉을_구독_id로_보낸다() throws Exception {
+        registry.update(
+                StockPriceDto.builder()
+                        .stockCode("005930")
+                        .currentPrice(71_000)
+                        .highPrice(71_500)
+                        .lowPrice(70_500)
+                        .tradeTime("093015")
+                        .build());
+        when(candleMakerService.formingCandle("005930"))
+                .thenReturn(
+                        StocksCandleDto.builder()
+                                .stockCode("005930")
+                                .timestamp(1_000L)
+                                .open(70_800L)
+                                .high(71_000L)
+                                .low(70_800L)
+                                .close(71_000L)
+                                .volume(12L)
+                                .build());
+
+        publisher.sendSnapshot("s1", "sub-3", DESTINATION, "005930");
+
+        ArgumentCaptor<Message<?>> captor = ArgumentCaptor.forClass(Message.class);
+        verify(clientOutboundChannel).send(captor.capture());
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.wrap(captor.getValue());
+        assertThat(headers.getMessageType()).isEqualTo(SimpMessageType.MESSAGE);
+        assertThat(headers.getSessionId()).isEqualTo("s1");
+        assertThat(headers.getSubscriptionId()).isEqualTo("sub-3");
+        assertThat(headers.getDestination()).isEqualTo(DESTINATION);
+
+        JsonNode body = objectMapper.readTree((byte[]) captor.getValue().getPayload());
+        assertThat(body.get("snapshot").asBoolean()).isTrue();
+        assertThat(body.get("currentPrice").asInt()).isEqualTo(71_000);
+        assertThat(body.get("tradeTime").asText()).isEqualTo("093015");
+        assertThat(body.get("minuteCandle").get("open").asLong()).isEqualTo(70_800L);
+    }
+
+    @Test
+    void sendSnapshot_시세가_없는_종목은_보내지_않는다() {
+        publisher.sendSnapshot("s1", "sub-0", DESTINATION, "005930");
+
+        verify(clientOutboundChannel, never()).send(any());
+    }
+}
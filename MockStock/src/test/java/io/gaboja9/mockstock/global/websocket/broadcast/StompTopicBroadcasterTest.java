@@ -0,0 +1,105 @@
+package io.gaboja9.mockstock.global.websocket.broadcast;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.gaboja9.mockstock.global.websocket.dto.StockPriceDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.util.MimeTypeUtils;
+
+class StompTopicBroadcasterTest {
+
+    private static final String DESTINATION = "/topic/stock/005930";
+
+    private TopicSubscriptionTracker tracker;
+    private SimpMessagingTemplate messagingTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private StompTopicBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new TopicSubscriptionTracker();
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        broadcaster =
+                new StompTopicBroadcaster(
+                        tracker, messagingTemplate, new ObjectMapper(), meterRegistry);
+    }
+
+    private static StockPriceDto price() {
+        return StockPriceDto.builder().stockCode("005930").currentPrice(71_000).build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Message<byte[]> sentMessage(String destination) {
+        ArgumentCaptor<Message<byte[]>> captor = ArgumentCaptor.forClass(Message.class);
+        verify(messagingTemplate).send(eq(destination), captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    void broadcast_직렬화한_JSON_메시지를_브로커로_보냄() throws Exception {
+        tracker.subscribe("s1", "sub-0", DESTINATION);
+        tracker.subscribe("s2", "sub-1", DESTINATION);
+
+        broadcaster.broadcast(DESTINATION, price());
+
+        Message<byte[]> message = sentMessage(DESTINATION);
+        StockPriceDto body =
+                new ObjectMapper().readValue(message.getPayload(), StockPriceDto.class);
+        assertThat(body.getCurrentPrice()).isEqualTo(71_000);
+        assertThat(message.getHeaders().get(MessageHeaders.CONTENT_TYPE))
+                .isEqualTo(MimeTypeUtils.APPLICATION_JSON);
+        // 템플릿이 destination 을 채울 수 있도록 헤더를 수정 가능하게 넘긴다
+        assertThat(MessageHeaderAccessor.getAccessor(message, SimpMessageHeaderAccessor.class))
+                .satisfies(accessor -> assertThat(accessor.isMutable()).isTrue());
+        assertThat(meterRegistry.get("stomp.broadcast.sent").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void broadcast_캔들_토픽도_같은_경로로_보냄() {
+        String candles = "/topic/candle/005930";
+        tracker.subscribe("s1", "sub-0", candles);
+
+        broadcaster.broadcast(candles, price());
+
+        sentMessage(candles);
+    }
+
+    @Test
+    void 구독자가_없는_토픽은_직렬화하지_않고_건너뜀() {
+        tracker.subscribe("s1", "sub-0", DESTINATION);
+        tracker.subscribe("s2", "sub-0", DESTINATION);
+        tracker.unsubscribe("s1", "sub-0");
+        tracker.disconnect("s2");
+
+        broadcaster.broadcast(DESTINATION, price());
+
+        verify(messagingTemplate, never()).send(anyString(), any());
+        assertThat(tracker.hasSubscribers(DESTINATION)).isFalse();
+        assertThat(meterRegistry.get("stomp.broadcast.skipped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void 추적하지_않는_목적지는_convertAndSend로_보냄() {
+        broadcaster.broadcast("/queue/notice", "hello");
+
+        verify(messagingTemplate).convertAndSend("/queue/notice", (Object) "hello");
+    }
+}
@@ -0,0 +1,54 @@
+package io.gaboja9.mockstock.global.websocket.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.gaboja9.mockstock.domain.orders.service.LimitOrderBookService;
+import io.gaboja9.mockstock.domain.orders.service.StopOrderBookService;
+import io.gaboja9.mockstock.global.websocket.broadcast.TopicSubscriptionTracker;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+class ClusterDemandExchangeTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void merge_다른_노드_수요를_합치고_만료된_항목은_지운다() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        HashOperations<String, Object, Object> hashOperations = mock(HashOperations.class);
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        ClusterDemandExchange exchange =
+                new ClusterDemandExchange(
+                        redisTemplate,
+                        mock(MarketDataLeadership.class),
+                        mock(TopicSubscriptionTracker.class),
+                        mock(LimitOrderBookService.class),
+                        mock(StopOrderBookService.class),
+                        "demand",
+                        10_000);
+
+        Map<Object, Object> entries = new LinkedHashMap<>();
+        entries.put("self", ClusterDemandExchange.encode(2_000, Map.of("005930", 9), Set.of()));
+        entries.put(
+                "a", ClusterDemandExchange.encode(2_000, Map.of("005930", 2), Set.of("035720")));
+        entries.put(
+                "b",
+                ClusterDemandExchange.encode(2_000, Map.of("005930", 1, "000660", 4), Set.of()));
+        entries.put("dead", ClusterDemandExchange.encode(999, Map.of("373220", 5), Set.of()));
+
+        ClusterDemandExchange.Demand demand = exchange.merge(entries, "self", 1_000);
+
+        assertThat(demand.watchCounts())
+                .containsOnly(Map.entry("005930", 3), Map.entry("000660", 4));
+        assertThat(demand.restingStockCodes()).containsExactly("035720");
+        verify(hashOperations).delete("demand", "dead");
+    }
+}
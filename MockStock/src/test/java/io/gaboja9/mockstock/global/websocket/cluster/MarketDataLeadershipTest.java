@@ -0,0 +1,122 @@
+package io.gaboja9.mockstock.global.websocket.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.gaboja9.mockstock.global.websocket.feed.MarketFeed;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+
+class MarketDataLeadershipTest {
+
+    private static final String LEASE_KEY = "test:leader";
+    private static final long TTL_MS = 10_000;
+
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> valueOperations;
+    private MarketFeed marketFeed;
+    private ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        marketFeed = mock(MarketFeed.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @SuppressWarnings("unchecked")
+    private MarketDataLeadership leadership(boolean enabled) {
+        ObjectProvider<MarketFeed> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(marketFeed);
+        return new MarketDataLeadership(
+                redisTemplate, provider, eventPublisher, enabled, LEASE_KEY, TTL_MS);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void renewReturns(Long result) {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyString(), anyString()))
+                .thenReturn(result);
+    }
+
+    @Test
+    void start_클러스터_모드가_아니면_바로_연결하고_항상_리더() {
+        MarketDataLeadership leadership = leadership(false);
+
+        leadership.start();
+
+        verify(marketFeed).start();
+        verify(redisTemplate, never()).opsForValue();
+        assertThat(leadership.isLeader()).isTrue();
+    }
+
+    @Test
+    void renew_임대를_잡은_노드만_연결() {
+        when(valueOperations.setIfAbsent(eq(LEASE_KEY), anyString(), eq(Duration.ofMillis(TTL_MS))))
+                .thenReturn(false);
+        MarketDataLeadership leadership = leadership(true);
+
+        leadership.start();
+        assertThat(leadership.isLeader()).isFalse();
+        verify(marketFeed, never()).start();
+
+        when(valueOperations.setIfAbsent(eq(LEASE_KEY), anyString(), eq(Duration.ofMillis(TTL_MS))))
+                .thenReturn(true);
+        leadership.renew(1_000);
+
+        assertThat(leadership.isLeader()).isTrue();
+        verify(marketFeed).start();
+        verify(eventPublisher).publishEvent(new MarketDataLeadershipChangedEvent(true));
+    }
+
+    @Test
+    void renew_임대를_잃으면_연결을_닫고_내려옴() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenReturn(true);
+        MarketDataLeadership leadership = leadership(true);
+        leadership.renew(0);
+
+        renewReturns(0L);
+        leadership.renew(3_000);
+
+        assertThat(leadership.isLeader()).isFalse();
+        verify(marketFeed).stop();
+        verify(eventPublisher).publishEvent(new MarketDataLeadershipChangedEvent(false));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void renew_Redis_장애는_임대_시간이_지날_때까지_버틴다() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenReturn(true);
+        MarketDataLeadership leadership = leadership(true);
+        leadership.renew(0);
+
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyString(), anyString()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        leadership.renew(TTL_MS - 1);
+        assertThat(leadership.isLeader()).isTrue();
+
+        leadership.renew(TTL_MS);
+        assertThat(leadership.isLeader()).isFalse();
+        verify(marketFeed).stop();
+    }
+}
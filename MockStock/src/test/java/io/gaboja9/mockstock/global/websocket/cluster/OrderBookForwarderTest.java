@@ -0,0 +1,107 @@
+package io.gaboja9.mockstock.global.websocket.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.gaboja9.mockstock.domain.orders.book.OrderBookEntry;
+import io.gaboja9.mockstock.domain.orders.book.StopOrderEntry;
+import io.gaboja9.mockstock.domain.orders.entity.OrderType;
+import io.gaboja9.mockstock.domain.orders.service.LimitOrderBookService;
+import io.gaboja9.mockstock.domain.orders.service.StopOrderBookService;
+import io.gaboja9.mockstock.domain.trades.entity.TradeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+
+class OrderBookForwarderTest {
+
+    private static final String CHANNEL = "test:order-book";
+
+    private StringRedisTemplate redisTemplate;
+    private MarketDataLeadership leadership;
+    private LimitOrderBookService limitOrderBookService;
+    private StopOrderBookService stopOrderBookService;
+    private OrderBookForwarder forwarder;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        leadership = mock(MarketDataLeadership.class);
+        limitOrderBookService = mock(LimitOrderBookService.class);
+        stopOrderBookService = mock(StopOrderBookService.class);
+        when(leadership.isClustered()).thenReturn(true);
+        forwarder =
+                new OrderBookForwarder(
+                        redisTemplate,
+                        leadership,
+                        limitOrderBookService,
+                        stopOrderBookService,
+                        new SimpleMeterRegistry(),
+                        CHANNEL);
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(
+                CHANNEL.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void 대기_주문_메시지는_인코딩_후_그대로_복원() {
+        OrderBookEntry limit = new OrderBookEntry(1L, 2L, "005930", TradeType.BUY, 71_000);
+        StopOrderEntry stop =
+                new StopOrderEntry(
+                        3L, 2L, "005930", OrderType.TRAILING_STOP, TradeType.SELL, 70_000, 500);
+
+        assertThat(OrderBookForwarder.decodeLimit(OrderBookForwarder.encode(limit)))
+                .isEqualTo(limit);
+        assertThat(OrderBookForwarder.decodeStop(OrderBookForwarder.encode(stop))).isEqualTo(stop);
+    }
+
+    @Test
+    void forwardToLeader_팔로워는_리더에게_보냄() {
+        when(leadership.isLeader()).thenReturn(false);
+        OrderBookEntry entry = new OrderBookEntry(1L, 2L, "005930", TradeType.BUY, 71_000);
+
+        assertThat(forwarder.forwardToLeader(entry)).isTrue();
+
+        verify(redisTemplate).convertAndSend(CHANNEL, "L|1|2|005930|BUY|71000");
+    }
+
+    @Test
+    void forwardToLeader_리더는_직접_올리도록_false() {
+        when(leadership.isLeader()).thenReturn(true);
+
+        assertThat(
+                        forwarder.forwardToLeader(
+                                new OrderBookEntry(1L, 2L, "005930", TradeType.BUY, 71_000)))
+                .isFalse();
+
+        verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+    }
+
+    @Test
+    void onMessage_리더만_호가창에_올림() {
+        String body = "S|3|2|005930|STOP|SELL|70000|0";
+
+        when(leadership.isLeader()).thenReturn(false);
+        forwarder.onMessage(message(body), null);
+        verify(stopOrderBookService, never()).add(any(StopOrderEntry.class));
+
+        when(leadership.isLeader()).thenReturn(true);
+        forwarder.onMessage(message(body), null);
+        verify(stopOrderBookService)
+                .add(
+                        new StopOrderEntry(
+                                3L, 2L, "005930", OrderType.STOP, TradeType.SELL, 70_000, 0));
+    }
+}
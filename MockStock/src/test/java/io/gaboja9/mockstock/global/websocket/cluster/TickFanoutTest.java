@@ -0,0 +1,108 @@
+package io.gaboja9.mockstock.global.websocket.cluster;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.gaboja9.mockstock.global.websocket.dispatch.ShardedTickDispatcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+
+class TickFanoutTest {
+
+    private static final String CHANNEL = "test:ticks";
+
+    private StringRedisTemplate redisTemplate;
+    private MarketDataLeadership leadership;
+    private ShardedTickDispatcher tickDispatcher;
+    private TickFanout fanout;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        leadership = mock(MarketDataLeadership.class);
+        tickDispatcher = mock(ShardedTickDispatcher.class);
+        when(leadership.isClustered()).thenReturn(true);
+        fanout =
+                new TickFanout(
+                        redisTemplate,
+                        leadership,
+                        tickDispatcher,
+                        new SimpleMeterRegistry(),
+                        CHANNEL,
+                        16,
+                        8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fanout.stop();
+    }
+
+    @Test
+    void publish_쌓인_체결을_한_메시지로_묶어_발행() {
+        when(leadership.isLeader()).thenReturn(true);
+        fanout.publish("005930", 71_000, 71_500, 70_500, 1_000, 10, 1.5, 93015);
+        fanout.publish("000660", 120_000, 121_000, 119_000, 2_000, 20, -0.5, 93016);
+
+        fanout.start();
+
+        verify(redisTemplate, timeout(1_000))
+                .convertAndSend(
+                        CHANNEL,
+                        "T|005930|71000|71500|70500|1000|10|1.5|093015\n"
+                                + "T|000660|120000|121000|119000|2000|20|-0.5|093016");
+    }
+
+    @Test
+    void publish_팔로워는_발행하지_않음() {
+        when(leadership.isLeader()).thenReturn(false);
+        fanout.publish("005930", 71_000, 71_500, 70_500, 1_000, 10, 1.5, 93015);
+
+        fanout.start();
+        fanout.stop();
+
+        verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+    }
+
+    @Test
+    void onMessage_묶인_체결을_하나씩_처리_샤드로_보냄() {
+        when(leadership.isLeader()).thenReturn(false);
+        String first = "T|005930|71000|71500|70500|1000|10|1.5|093015";
+        String second = "T|000660|120000|121000|119000|2000|20|-0.5|093016";
+
+        fanout.onMessage(
+                new DefaultMessage(
+                        CHANNEL.getBytes(StandardCharsets.UTF_8),
+                        (first + "\n" + second).getBytes(StandardCharsets.UTF_8)),
+                null);
+
+        verify(tickDispatcher).dispatch("005930".hashCode(), first);
+        verify(tickDispatcher).dispatch("000660".hashCode(), second);
+    }
+
+    @Test
+    void onMessage_리더는_자기가_보낸_메시지를_무시() {
+        when(leadership.isLeader()).thenReturn(true);
+
+        fanout.onMessage(
+                new DefaultMessage(
+                        CHANNEL.getBytes(StandardCharsets.UTF_8),
+                        "T|005930|71000|71500|70500|1000|10|1.5|093015"
+                                .getBytes(StandardCharsets.UTF_8)),
+                null);
+
+        verify(tickDispatcher, never()).dispatch(anyInt(), anyString());
+    }
+}
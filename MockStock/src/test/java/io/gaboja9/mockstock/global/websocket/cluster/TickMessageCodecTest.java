@@ -0,0 +1,76 @@
+package io.gaboja9.mockstock.global.websocket.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.gaboja9.mockstock.global.websocket.dto.StockPriceDto;
+
+import org.junit.jupiter.api.Test;
+
+class TickMessageCodecTest {
+
+    @Test
+    void encode_decode_하면_같은_체결로_복원() {
+        StockPriceDto tick =
+                StockPriceDto.builder()
+                        .stockCode("005930")
+                        .currentPrice(70100)
+                        .highPrice(70500)
+                        .lowPrice(69800)
+                        .cumulativeVolume(1_234_567L)
+                        .tradeVolume(15L)
+                        .dayOverDayPercent(-1.25)
+                        .tradeTime("093015")
+                        .build();
+
+        String message = TickMessageCodec.encode(tick);
+
+        assertThat(TickMessageCodec.isTickMessage(message)).isTrue();
+        assertThat(TickMessageCodec.decode(message)).isEqualTo(tick);
+    }
+
+    @Test
+    void encode_원시값으로_만든_메시지는_DTO_로_만든_것과_같다() {
+        String fromDto =
+                TickMessageCodec.encode(
+                        StockPriceDto.builder()
+                                .stockCode("005930")
+                                .currentPrice(70100)
+                                .highPrice(70500)
+                                .lowPrice(69800)
+                                .cumulativeVolume(1_234_567L)
+                                .tradeVolume(15L)
+                                .dayOverDayPercent(-1.25)
+                                .tradeTime("093015")
+                                .build());
+
+        String fromPrimitives =
+                TickMessageCodec.encode(
+                        "005930", 70100, 70500, 69800, 1_234_567L, 15L, -1.25, 93015);
+
+        assertThat(fromPrimitives).isEqualTo(fromDto);
+        assertThat(TickMessageCodec.decode(fromPrimitives).getTradeTime()).isEqualTo("093015");
+        assertThat(
+                        TickMessageCodec.decode(
+                                        TickMessageCodec.encode("005930", 1, 1, 1, 0, 0, 0.0, 0))
+                                .getTradeTime())
+                .isNull();
+    }
+
+    @Test
+    void routingKey_한투_프레임과_같이_종목코드_해시를_쓴다() {
+        String message =
+                TickMessageCodec.encode(
+                        StockPriceDto.builder().stockCode("000660").currentPrice(1).build());
+
+        assertThat(TickMessageCodec.routingKey(message)).isEqualTo("000660".hashCode());
+    }
+
+    @Test
+    void isTickMessage_한투_프레임과_JSON은_구분() {
+        assertThat(TickMessageCodec.isTickMessage("0|H0STCNT0|001|005930^093015^70100")).isFalse();
+        assertThat(TickMessageCodec.isTickMessage("{\"header\":{}}")).isFalse();
+        assertThatThrownBy(() -> TickMessageCodec.decode("T|005930|1"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
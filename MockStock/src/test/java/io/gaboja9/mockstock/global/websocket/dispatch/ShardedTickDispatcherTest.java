@@ -0,0 +1,118 @@
+package io.gaboja9.mockstock.global.websocket.dispatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class ShardedTickDispatcherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ShardedTickDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.stop();
+        }
+    }
+
+    @Test
+    void dispatch_같은_종목은_받은_순서대로_처리() throws InterruptedException {
+        dispatcher = new ShardedTickDispatcher(meterRegistry, 4, 1024);
+        List<String> codes = List.of("005930", "035720", "035420", "000660", "051910");
+        int perCode = 5_000;
+
+        Map<String, List<Integer>> received = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(codes.size() * perCode);
+        dispatcher.start(
+                message -> {
+                    String[] parts = message.split(":");
+                    received.computeIfAbsent(parts[0], k -> new CopyOnWriteArrayList<>())
+                            .add(Integer.parseInt(parts[1]));
+                    done.countDown();
+                });
+
+        for (int seq = 0; seq < perCode; seq++) {
+            for (String code : codes) {
+                while (!dispatcher.dispatch(code.hashCode(), code + ":" + seq)) {
+                    Thread.onSpinWait();
+                }
+            }
+        }
+
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        for (String code : codes) {
+            List<Integer> sequence = received.get(code);
+            assertThat(sequence).hasSize(perCode);
+            assertThat(sequence).isSorted();
+        }
+    }
+
+    @Test
+    void dispatch_큐가_가득차면_버리고_지표에_남긴다() {
+        dispatcher = new ShardedTickDispatcher(meterRegistry, 1, 4);
+
+        // 워커를 띄우지 않으면 소비되지 않는다
+        for (int i = 0; i < 4; i++) {
+            assertThat(dispatcher.dispatch(1, "m" + i)).isTrue();
+        }
+        assertThat(dispatcher.dispatch(1, "overflow")).isFalse();
+
+        assertThat(meterRegistry.get("hantu.tick.dropped").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("hantu.tick.queue.depth").gauge().value()).isEqualTo(4.0);
+    }
+
+    @Test
+    void shardIndex_같은_키는_같은_샤드() {
+        dispatcher = new ShardedTickDispatcher(meterRegistry, 8, 16);
+
+        int shard = dispatcher.shardIndex("005930".hashCode());
+
+        assertThat(dispatcher.shardIndex("005930".hashCode())).isEqualTo(shard);
+        assertThat(shard).isBetween(0, 7);
+    }
+
+    @Test
+    void dispatch_잠든_워커는_메시지가_들어오면_깨어난다() throws InterruptedException {
+        dispatcher = new ShardedTickDispatcher(meterRegistry, 1, 16);
+        CountDownLatch done = new CountDownLatch(1);
+        dispatcher.start(message -> done.countDown());
+
+        // 빈 큐에서는 시간 제한 없이 잠든다
+        Thread worker = workerThread("tick-shard-0");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (worker.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(worker.getState()).isEqualTo(Thread.State.WAITING);
+
+        assertThat(dispatcher.dispatch(1, "m")).isTrue();
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void defaultShardCount_코어_수보다_적게_잡는다() {
+        int cpus = Runtime.getRuntime().availableProcessors();
+
+        assertThat(ShardedTickDispatcher.defaultShardCount())
+                .isBetween(1, ShardedTickDispatcher.DEFAULT_MAX_SHARDS)
+                .isLessThanOrEqualTo(Math.max(1, cpus / 2));
+    }
+
+    private static Thread workerThread(String name) {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,77 @@
+package io.gaboja9.mockstock.global.websocket.feed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+class ReplayFeedSourceTest {
+
+    @TempDir Path dir;
+
+    private static String frame(String code, String time, int price) {
+        return HantuFrameBuilder.frame(code, time, price, 70_000, price, price, 1, 1);
+    }
+
+    @Test
+    void replay_기록기가_남긴_파일을_순서대로_배속_재생() throws IOException {
+        FrameRecorder recorder = new FrameRecorder(dir.toString());
+        recorder.record(1_000, frame("005930", "090000", 70_100));
+        recorder.record(1_500, frame("000660", "090000", 120_000));
+        recorder.record(2_000, frame("005930", "090001", 70_200));
+        recorder.close();
+
+        Path file;
+        try (Stream<Path> files = Files.list(dir)) {
+            file = files.findFirst().orElseThrow();
+        }
+        List<String> received = new ArrayList<>();
+        long startedAt = System.nanoTime();
+
+        // 1초 분량을 100배속으로
+        long sent = new ReplayFeedSource(file, 100, false).replay(received::add);
+
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        assertThat(sent).isEqualTo(3);
+        assertThat(received)
+                .containsExactly(
+                        frame("005930", "090000", 70_100),
+                        frame("000660", "090000", 120_000),
+                        frame("005930", "090001", 70_200));
+        assertThat(elapsedMs).isBetween(9L, 900L);
+    }
+
+    @Test
+    void replay_프레임만_있는_파일은_체결시각으로_간격을_맞추고_다른_줄은_건너뜀() throws IOException {
+        Path file = dir.resolve("raw.log");
+        Files.write(
+                file,
+                List.of(
+                        frame("005930", "090000", 70_100),
+                        "{\"header\":{\"tr_id\":\"PINGPONG\"}}",
+                        frame("005930", "090001", 70_200)));
+        List<String> received = new ArrayList<>();
+        long startedAt = System.nanoTime();
+
+        long sent = new ReplayFeedSource(file, 100, false).replay(received::add);
+
+        assertThat(sent).isEqualTo(2);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt))
+                .isGreaterThanOrEqualTo(9);
+    }
+
+    @Test
+    void tradeTimeMillis_첫_레코드의_체결시각() {
+        assertThat(ReplayFeedSource.tradeTimeMillis(frame("005930", "093015", 1)))
+                .isEqualTo(TimeUnit.HOURS.toMillis(9) + TimeUnit.SECONDS.toMillis(30 * 60 + 15));
+        assertThat(ReplayFeedSource.tradeTimeMillis("0|H0STCNT0|001|005930^09")).isEqualTo(-1);
+    }
+}
@@ -0,0 +1,65 @@
+package io.gaboja9.mockstock.global.websocket.feed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.gaboja9.mockstock.global.websocket.mapper.HantuTickParser;
+import io.gaboja9.mockstock.global.websocket.mapper.HantuTickRecord;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class SimulatedFeedSourceTest {
+
+    private static final List<String> SYMBOLS = List.of("005930", "000660", "035720");
+
+    private static SimulatedFeedSource source(long seed) {
+        return new SimulatedFeedSource(SYMBOLS, 50_000, 100, 0.002, 0.01, 0.05, seed);
+    }
+
+    @Test
+    void nextFrame_같은_seed면_같은_체결을_만든다() {
+        SimulatedFeedSource a = source(7);
+        SimulatedFeedSource b = source(7);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(a.nextFrame("093000")).isEqualTo(b.nextFrame("093000"));
+        }
+        assertThat(source(8).nextFrame("093000")).isNotEqualTo(source(7).nextFrame("093000"));
+    }
+
+    @Test
+    void nextFrame_한투_파서로_읽을_수_있고_호가단위와_고저가가_맞다() {
+        SimulatedFeedSource source = source(42);
+        HantuTickParser parser = new HantuTickParser();
+        List<String> codes = new ArrayList<>();
+
+        for (int i = 0; i < 3_000; i++) {
+            int parsed =
+                    parser.parse(
+                            source.nextFrame("100000"),
+                            (HantuTickRecord record) -> {
+                                codes.add(record.stockCode());
+                                int price = record.currentPrice();
+                                assertThat(SimulatedFeedSource.roundToTick(price)).isEqualTo(price);
+                                assertThat(record.highPrice()).isGreaterThanOrEqualTo(price);
+                                assertThat(record.lowPrice()).isLessThanOrEqualTo(price);
+                                assertThat(record.tradeVolume()).isPositive();
+                            });
+            assertThat(parsed).isEqualTo(1);
+        }
+        // 종목을 돌아가며 고르게 만든다
+        assertThat(codes.subList(0, 6))
+                .containsExactly("005930", "000660", "035720", "005930", "000660", "035720");
+    }
+
+    @Test
+    void roundToTick_가격대별_호가단위() {
+        assertThat(SimulatedFeedSource.roundToTick(1_999.4)).isEqualTo(1_999);
+        assertThat(SimulatedFeedSource.roundToTick(4_997)).isEqualTo(4_995);
+        assertThat(SimulatedFeedSource.roundToTick(71_449)).isEqualTo(71_400);
+        assertThat(SimulatedFeedSource.roundToTick(71_450)).isEqualTo(71_500);
+        assertThat(SimulatedFeedSource.roundToTick(0.2)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,204 @@
+package io.gaboja9.mockstock.global.websocket.journal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.gaboja9.mockstock.global.websocket.dto.StockPriceDto;
+import io.gaboja9.mockstock.global.websocket.price.LatestPriceRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+class TickJournalTest {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final LocalDate DAY = LocalDate.of(2025, 7, 1);
+
+    @TempDir Path dir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TickJournal journal(int fileSizeMb) {
+        return new TickJournal(dir.toString(), fileSizeMb, meterRegistry);
+    }
+
+    private static long at(LocalDate day, int hour, int minute) {
+        return LocalDateTime.of(day, LocalTime.of(hour, minute))
+                .atZone(KST)
+                .toInstant()
+                .toEpochMilli();
+    }
+
+    private List<String> readAll(LocalDate day) throws IOException {
+        List<String> ticks = new ArrayList<>();
+        try (TickJournalReader reader = TickJournalReader.open(dir, day)) {
+            assertThat(reader.date()).isEqualTo(day);
+            reader.replay(
+                    (code, time, receivedAt, price, volume, cumulative) ->
+                            ticks.add(
+                                    code
+                                            + "@"
+                                            + time
+                                            + ":"
+                                            + price
+                                            + "x"
+                                            + volume
+                                            + "="
+                                            + cumulative));
+        }
+        return ticks;
+    }
+
+    @Test
+    void append_기록한_순서대로_다시_읽힌다() throws IOException {
+        TickJournal journal = journal(1);
+        long now = at(DAY, 9, 0);
+        journal.append("005930", 90000, now, 70_100, 10, 10);
+        journal.append("000660", 90000, now, 120_000, 3, 3);
+        journal.append("005930", 90001, now + 1_000, 70_200, 5, 15);
+        journal.close();
+
+        assertThat(readAll(DAY))
+                .containsExactly(
+                        "005930@90000:70100x10=10",
+                        "000660@90000:120000x3=3",
+                        "005930@90001:70200x5=15");
+        assertThat(meterRegistry.get("tick.journal.appended").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void append_날짜가_바뀌면_새_파일에_쓴다() throws IOException {
+        TickJournal journal = journal(1);
+        LocalDate nextDay = DAY.plusDays(1);
+        journal.append("005930", 152959, at(DAY, 15, 29), 70_100, 1, 1);
+        journal.append("005930", 90000, at(nextDay, 9, 0), 71_000, 2, 2);
+        journal.close();
+
+        assertThat(readAll(DAY)).containsExactly("005930@152959:70100x1=1");
+        assertThat(readAll(nextDay)).containsExactly("005930@90000:71000x2=2");
+    }
+
+    @Test
+    void append_같은_날_다시_열면_이어서_쓴다() throws IOException {
+        TickJournal first = journal(1);
+        first.append("005930", 90000, at(DAY, 9, 0), 70_100, 1, 1);
+        first.close();
+
+        TickJournal second = journal(1);
+        second.append("000660", 90500, at(DAY, 9, 5), 120_000, 1, 1);
+        second.append("005930", 90500, at(DAY, 9, 5), 70_300, 2, 3);
+        second.close();
+
+        assertThat(readAll(DAY))
+                .containsExactly(
+                        "005930@90000:70100x1=1",
+                        "000660@90500:120000x1=1",
+                        "005930@90500:70300x2=3");
+    }
+
+    @Test
+    void append_쓰다_만_칸이_있어도_뒤의_레코드를_덮어쓰지_않는다() throws IOException {
+        TickJournal first = journal(1);
+        first.append("005930", 90000, at(DAY, 9, 0), 70_100, 1, 1);
+        first.append("005930", 90001, at(DAY, 9, 0), 70_200, 1, 2);
+        first.append("005930", 90002, at(DAY, 9, 0), 70_300, 1, 3);
+        first.close();
+
+        // 두 번째 체결 칸은 위치만 받고 쓰기 전에 죽은 것처럼 비운다 (헤더, 종목 정의, 체결 1 다음)
+        try (FileChannel channel =
+                FileChannel.open(TickJournal.fileFor(dir, DAY), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4), 3 * 32);
+        }
+
+        TickJournal second = journal(1);
+        second.append("005930", 90003, at(DAY, 9, 0), 70_400, 1, 4);
+        second.close();
+
+        assertThat(readAll(DAY))
+                .containsExactly(
+                        "005930@90000:70100x1=1",
+                        "005930@90002:70300x1=3",
+                        "005930@90003:70400x1=4");
+    }
+
+    @Test
+    void append_파일을_열지_못하면_잠시_다시_열지_않고_버린다() throws IOException {
+        Path blocked = Files.createFile(dir.resolve("blocked"));
+        TickJournal journal = new TickJournal(blocked.toString(), 1, meterRegistry);
+
+        journal.append("005930", 90000, at(DAY, 9, 0), 70_100, 1, 1);
+        // 원인이 사라져도 재시도 간격 전에는 열어 보지 않는다
+        Files.delete(blocked);
+        journal.append("005930", 90001, at(DAY, 9, 0), 70_200, 1, 2);
+        journal.close();
+
+        assertThat(meterRegistry.get("tick.journal.dropped").counter().count()).isEqualTo(2);
+        assertThat(Files.exists(blocked)).isFalse();
+    }
+
+    @Test
+    void append_파일이_가득_차면_버리고_센다() throws IOException {
+        TickJournal journal = journal(1);
+        // 1MB = 헤더 1 + 종목 정의 1 + 체결 32,766
+        int capacity = 1024 * 1024 / 32 - 2;
+        long now = at(DAY, 10, 0);
+        for (int i = 0; i < capacity + 10; i++) {
+            journal.append("005930", 100000, now, 70_000 + i % 100, 1, i + 1);
+        }
+        journal.close();
+
+        assertThat(meterRegistry.get("tick.journal.appended").counter().count())
+                .isEqualTo(capacity);
+        assertThat(meterRegistry.get("tick.journal.dropped").counter().count()).isEqualTo(10);
+        assertThat(readAll(DAY)).hasSize(capacity);
+    }
+
+    @Test
+    void replayPrices_하루치를_시세_저장소에_다시_넣을_수_있다() throws IOException {
+        TickJournal journal = journal(64);
+        long now = at(DAY, 9, 0);
+        String[] codes = {"005930", "000660", "035720", "035420"};
+        int ticks = 1_000_000;
+        for (int i = 0; i < ticks; i++) {
+            journal.append(
+                    codes[i % codes.length],
+                    90000 + i / 4_000,
+                    now + i,
+                    50_000 + i % 500,
+                    1,
+                    i / 4 + 1);
+        }
+        journal.close();
+
+        LatestPriceRegistry registry = new LatestPriceRegistry(16);
+        List<StockPriceDto> last = new ArrayList<>(List.of(new StockPriceDto()));
+        long replayed;
+        try (TickJournalReader reader = TickJournalReader.open(dir, DAY)) {
+            replayed =
+                    reader.replayPrices(
+                            priceData -> {
+                                registry.update(priceData);
+                                last.set(0, priceData);
+                            });
+        }
+
+        assertThat(replayed).isEqualTo(ticks);
+        assertThat(registry.price("035420")).isEqualTo(50_000 + (ticks - 1) % 500);
+        assertThat(last.get(0).getHighPrice()).isEqualTo(50_499);
+        assertThat(last.get(0).getLowPrice()).isEqualTo(50_003);
+        assertThat(last.get(0).getTradeTime()).isEqualTo("090249");
+    }
+}
@@ -0,0 +1,86 @@
+package io.gaboja9.mockstock.global.websocket.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.gaboja9.mockstock.global.websocket.dto.StockPriceDto;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class HantuTickParserTest {
+
+    private static final String SAMSUNG =
+            "005930^093354^71900^5^-100^-0.14^72023.83^72100^72400^71700^71900^71800^1^3052507"
+                    + "^219853241700^5105^6937^1832^84.90^1366314^1159996^1^0.39^20.28^090020^5"
+                    + "^-200^090820^5^-500^092619^2^200^20230612^20^N^65945^216924^1118750"
+                    + "^2199206^0.05^2424142^125.92^0^0^71900";
+
+    private static final String KAKAO =
+            "035720^093355^48150^2^350^0.73^48080.11^47800^48300^47700^48150^48100^12^812345"
+                    + "^39056789000^2105^3301^1196^156.82^401234^409876^1^0.51^33.12^090001^2"
+                    + "^350^091502^5^-150^090210^2^450^20230612^20^N^12000^34000^560000"
+                    + "^780000^0.19^700000^116.05^0^0^48150";
+
+    private final HantuTickParser parser = new HantuTickParser();
+
+    private List<StockPriceDto> parse(String frame) {
+        List<StockPriceDto> result = new ArrayList<>();
+        parser.parse(frame, record -> result.add(StockPriceMapper.toStockPriceDto(record)));
+        return result;
+    }
+
+    @Test
+    void parse_단건_프레임은_기존_매퍼와_같은_값() {
+        String frame = "0|H0STCNT0|001|" + SAMSUNG;
+
+        List<StockPriceDto> result = parse(frame);
+
+        String[] fields = frame.split("\\|")[3].split("\\^");
+        StockPriceDto expected = StockPriceMapper.parseStockPriceData(fields);
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0)).isEqualTo(expected);
+        assertThat(result.get(0).getDayOverDayPercent()).isEqualTo(-0.14);
+        assertThat(result.get(0).getCumulativeVolume()).isEqualTo(3052507L);
+    }
+
+    @Test
+    void parse_다건_프레임은_레코드별로_콜백() {
+        String frame = "0|H0STCNT0|002|" + SAMSUNG + "^" + KAKAO;
+
+        List<StockPriceDto> result = parse(frame);
+
+        assertThat(result)
+                .extracting(StockPriceDto::getStockCode)
+                .containsExactly("005930", "035720");
+        assertThat(result.get(1).getCurrentPrice()).isEqualTo(48150);
+        assertThat(result.get(1).getHighPrice()).isEqualTo(48300);
+        assertThat(result.get(1).getTradeVolume()).isEqualTo(12L);
+        assertThat(result.get(1).getTradeTime()).isEqualTo("093355");
+    }
+
+    @Test
+    void parse_숫자가_아닌_값은_0() {
+        String frame = "0|H0STCNT0|001|" + SAMSUNG.replace("^71900^5^", "^abc^5^");
+
+        List<StockPriceDto> result = parse(frame);
+
+        assertThat(result.get(0).getCurrentPrice()).isZero();
+    }
+
+    @Test
+    void parse_체결_프레임이_아니면_무시() {
+        assertThat(parser.parse("{\"header\":{\"tr_id\":\"PINGPONG\"}}", r -> {})).isZero();
+        assertThat(parser.parse("1|H0STCNT0|001|encrypted", r -> {})).isZero();
+    }
+
+    @Test
+    void stockCode_같은_종목은_같은_인스턴스() {
+        List<String> codes = new ArrayList<>();
+        parser.parse("0|H0STCNT0|001|" + SAMSUNG, r -> codes.add(r.stockCode()));
+        parser.parse("0|H0STCNT0|001|" + SAMSUNG, r -> codes.add(r.stockCode()));
+
+        assertThat(codes.get(0)).isSameAs(codes.get(1));
+    }
+}
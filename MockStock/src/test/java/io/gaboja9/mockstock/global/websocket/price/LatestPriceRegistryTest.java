@@ -0,0 +1,137 @@
+package io.gaboja9.mockstock.global.websocket.price;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.gaboja9.mockstock.global.websocket.dto.StockPriceDto;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class LatestPriceRegistryTest {
+
+    private final LatestPriceRegistry registry = new LatestPriceRegistry(4);
+
+    @Test
+    void update_후_현재가와_전체_시세_조회() {
+        registry.update(
+                StockPriceDto.builder()
+                        .stockCode("005930")
+                        .currentPrice(71_000)
+                        .highPrice(72_000)
+                        .lowPrice(70_000)
+                        .cumulativeVolume(1_234_567)
+                        .tradeVolume(10)
+                        .dayOverDayPercent(1.23)
+                        .tradeTime("093015")
+                        .build());
+
+        PriceView view = new PriceView();
+        assertThat(registry.price("005930")).isEqualTo(71_000);
+        assertThat(registry.read("005930", view)).isTrue();
+        assertThat(view.getStockCode()).isEqualTo("005930");
+        assertThat(view.getHighPrice()).isEqualTo(72_000);
+        assertThat(view.getLowPrice()).isEqualTo(70_000);
+        assertThat(view.getCumulativeVolume()).isEqualTo(1_234_567);
+        assertThat(view.getDayOverDayPercent()).isEqualTo(1.23);
+        assertThat(view.getTradeTime()).isEqualTo(93015);
+        assertThat(view.toDto().getTradeTime()).isEqualTo("093015");
+    }
+
+    @Test
+    void toDto_체결_시각을_모르면_비워_둔다() {
+        registry.update("005930", 71_000, 0, 0, 0, 0, 0, 0);
+
+        PriceView view = new PriceView();
+        assertThat(registry.read("005930", view)).isTrue();
+        assertThat(view.toDto().getTradeTime()).isNull();
+    }
+
+    @Test
+    void 시세가_없는_종목() {
+        assertThat(registry.price("000000")).isEqualTo(LatestPriceRegistry.NO_PRICE);
+        assertThat(registry.read("000000", new PriceView())).isFalse();
+        assertThat(registry.idOf("000000")).isEqualTo(-1);
+    }
+
+    @Test
+    void 종목_id는_처음_들어온_순서대로_한번만_부여() {
+        registry.update("005930", 1, 1, 1, 0, 0, 0, 0);
+        registry.update("035720", 2, 2, 2, 0, 0, 0, 0);
+        registry.update("005930", 3, 3, 3, 0, 0, 0, 0);
+
+        assertThat(registry.idOf("005930")).isZero();
+        assertThat(registry.idOf("035720")).isEqualTo(1);
+        assertThat(registry.size()).isEqualTo(2);
+        assertThat(registry.price(0)).isEqualTo(3);
+    }
+
+    @Test
+    void snapshot_이후_시세는_반영되지_않음() {
+        registry.update("005930", 70_000, 0, 0, 0, 0, 0, 0);
+        PriceSnapshot snapshot = registry.snapshot();
+
+        registry.update("005930", 80_000, 0, 0, 0, 0, 0, 0);
+        registry.update("035720", 50_000, 0, 0, 0, 0, 0, 0);
+
+        assertThat(snapshot.price("005930")).isEqualTo(70_000);
+        assertThat(snapshot.price("035720")).isEqualTo(LatestPriceRegistry.NO_PRICE);
+        assertThat(registry.price("005930")).isEqualTo(80_000);
+    }
+
+    @Test
+    void 용량을_넘는_종목은_저장하지_않음() {
+        for (int i = 0; i < 6; i++) {
+            registry.update("00000" + i, 100 + i, 0, 0, 0, 0, 0, 0);
+        }
+
+        assertThat(registry.size()).isEqualTo(4);
+        assertThat(registry.price("000003")).isEqualTo(103);
+        assertThat(registry.price("000004")).isEqualTo(LatestPriceRegistry.NO_PRICE);
+    }
+
+    @Test
+    void 쓰는_도중에도_읽기는_한_시점의_값만_봄() throws Exception {
+        registry.update("005930", 1, 1, 1, 1, 1, 1, 1);
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(3)) {
+            Future<?> writer =
+                    executor.submit(
+                            () -> {
+                                for (int v = 2; running.get(); v++) {
+                                    registry.update("005930", v, v, v, v, v, v, v);
+                                }
+                            });
+            Future<Boolean> reader1 = executor.submit(() -> readConsistently(running));
+            Future<Boolean> reader2 = executor.submit(() -> readConsistently(running));
+
+            Thread.sleep(300);
+            running.set(false);
+            writer.get(1, TimeUnit.SECONDS);
+            assertThat(reader1.get(1, TimeUnit.SECONDS)).isTrue();
+            assertThat(reader2.get(1, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    private boolean readConsistently(AtomicBoolean running) {
+        PriceView view = new PriceView();
+        while (running.get()) {
+            registry.read("005930", view);
+            int v = view.getCurrentPrice();
+            if (view.getHighPrice() != v
+                    || view.getLowPrice() != v
+                    || view.getCumulativeVolume() != v
+                    || view.getTradeVolume() != v
+                    || view.getDayOverDayPercent() != v
+                    || view.getTradeTime() != v) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
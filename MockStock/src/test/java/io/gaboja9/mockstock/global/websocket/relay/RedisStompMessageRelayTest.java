@@ -0,0 +1,101 @@
+package io.gaboja9.mockstock.global.websocket.relay;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+class RedisStompMessageRelayTest {
+
+    private static final String CHANNEL = "test:relay";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // Redis 채널 대신 발행된 메시지를 모아 두었다가 다른 노드에 넘긴다
+    private final List<String> channelMessages = new ArrayList<>();
+
+    private SimpMessagingTemplate templateA;
+    private SimpMessagingTemplate templateB;
+    private RedisStompMessageRelay nodeA;
+    private RedisStompMessageRelay nodeB;
+    private SimpleMeterRegistry registryB;
+
+    @BeforeEach
+    void setUp() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        when(redisTemplate.convertAndSend(eq(CHANNEL), anyString()))
+                .thenAnswer(
+                        invocation -> {
+                            channelMessages.add(invocation.getArgument(1));
+                            return 1L;
+                        });
+        templateA = mock(SimpMessagingTemplate.class);
+        templateB = mock(SimpMessagingTemplate.class);
+        registryB = new SimpleMeterRegistry();
+        nodeA =
+                new RedisStompMessageRelay(
+                        templateA, redisTemplate, objectMapper, new SimpleMeterRegistry(), CHANNEL);
+        nodeB =
+                new RedisStompMessageRelay(
+                        templateB, redisTemplate, objectMapper, registryB, CHANNEL);
+    }
+
+    private void deliverAll(RedisStompMessageRelay node) {
+        for (String body : channelMessages) {
+            node.onMessage(
+                    new DefaultMessage(
+                            CHANNEL.getBytes(StandardCharsets.UTF_8),
+                            body.getBytes(StandardCharsets.UTF_8)),
+                    null);
+        }
+    }
+
+    @Test
+    void convertAndSendToUser_다른_노드의_사용자_세션에도_전달() {
+        nodeA.convertAndSendToUser("7", "/queue/notifications", Map.of("title", "매수 완료"));
+
+        verify(templateA).convertAndSendToUser(eq("7"), eq("/queue/notifications"), any());
+        assertThat(channelMessages).hasSize(1);
+
+        deliverAll(nodeB);
+
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(templateB)
+                .convertAndSendToUser(eq("7"), eq("/queue/notifications"), payload.capture());
+        assertThat(((JsonNode) payload.getValue()).get("title").asText()).isEqualTo("매수 완료");
+        assertThat(registryB.get("stomp.relay.received").counter().count()).isEqualTo(1);
+        assertThat(registryB.get("stomp.relay.latency").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void convertAndSend_토픽_메시지도_전달하고_보낸_노드는_다시_받지_않음() {
+        nodeA.convertAndSend("/topic/stock/005930", Map.of("currentPrice", 70100));
+
+        deliverAll(nodeA);
+        deliverAll(nodeB);
+
+        verify(templateA).convertAndSend(eq("/topic/stock/005930"), any(Object.class));
+        verify(templateB).convertAndSend(eq("/topic/stock/005930"), any(Object.class));
+        verify(templateB, never()).convertAndSendToUser(anyString(), anyString(), any());
+    }
+}
@@ -0,0 +1,167 @@
+package io.gaboja9.mockstock.global.websocket.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.gaboja9.mockstock.domain.notifications.scheduler.MarketTimeScheduler;
+import io.gaboja9.mockstock.domain.stock.cache.RecentCandleStore;
+import io.gaboja9.mockstock.global.influx.MinuteCandleWriter;
+import io.gaboja9.mockstock.global.websocket.cluster.MarketDataLeadership;
+import io.gaboja9.mockstock.global.websocket.dto.StockPriceDto;
+import io.gaboja9.mockstock.global.websocket.dto.StocksCandleDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+class CandleMakerServiceTest {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private MinuteCandleWriter minuteCandleWriter;
+    private MarketDataLeadership leadership;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        minuteCandleWriter = mock(MinuteCandleWriter.class);
+        leadership = mock(MarketDataLeadership.class);
+        when(leadership.isLeader()).thenReturn(true);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private CandleMakerService newService(boolean carryForward) {
+        return new CandleMakerService(
+                minuteCandleWriter,
+                mock(RecentCandleStore.class),
+                mock(MarketTimeScheduler.class),
+                leadership,
+                meterRegistry,
+                2000,
+                carryForward);
+    }
+
+    private static long at(int hour, int minute, int second) {
+        return LocalDateTime.of(2025, 7, 1, hour, minute, second)
+                .atZone(KST)
+                .toInstant()
+                .toEpochMilli();
+    }
+
+    private static StockPriceDto tick(String tradeTime, int price, long volume) {
+        return StockPriceDto.builder()
+                .stockCode("005930")
+                .tradeTime(tradeTime)
+                .currentPrice(price)
+                .tradeVolume(volume)
+                .build();
+    }
+
+    private List<StocksCandleDto> savedCandles() {
+        ArgumentCaptor<StocksCandleDto> captor = ArgumentCaptor.forClass(StocksCandleDto.class);
+        verify(minuteCandleWriter, atLeast(0)).enqueue(captor.capture());
+        return captor.getAllValues();
+    }
+
+    @Test
+    void sealCompletedCandles_다음_체결이_없어도_유예시간이_지나면_저장() {
+        CandleMakerService service = newService(false);
+        service.processTick(tick("100010", 70000, 5), at(10, 0, 10));
+        service.processTick(tick("100030", 70500, 3), at(10, 0, 30));
+
+        service.sealCompletedCandles(at(10, 1, 1));
+        verify(minuteCandleWriter, never()).enqueue(any());
+
+        service.sealCompletedCandles(at(10, 1, 2));
+
+        List<StocksCandleDto> saved = savedCandles();
+        assertThat(saved).hasSize(1);
+        assertThat(saved.get(0).getTimestamp()).isEqualTo(at(10, 0, 0));
+        assertThat(saved.get(0).getClose()).isEqualTo(70500L);
+        assertThat(saved.get(0).getVolume()).isEqualTo(8L);
+    }
+
+    @Test
+    void sealCompletedCandles_팔로워_노드는_InfluxDB에_저장하지_않음() {
+        when(leadership.isLeader()).thenReturn(false);
+        CandleMakerService service = newService(false);
+        service.processTick(tick("100010", 70000, 5), at(10, 0, 10));
+
+        service.sealCompletedCandles(at(10, 1, 2));
+
+        verify(minuteCandleWriter, never()).enqueue(any());
+    }
+
+    @Test
+    void processTick_유예시간_안에_늦게_온_직전분_체결은_직전_분봉에_반영() {
+        CandleMakerService service = newService(false);
+        service.processTick(tick("100050", 70000, 5), at(10, 0, 50));
+        service.processTick(tick("100100", 70100, 1), at(10, 1, 0));
+        service.processTick(tick("100059", 69000, 2), at(10, 1, 1));
+
+        service.sealCompletedCandles(at(10, 1, 2));
+
+        List<StocksCandleDto> saved = savedCandles();
+        assertThat(saved).hasSize(1);
+        assertThat(saved.get(0).getLow()).isEqualTo(69000L);
+        assertThat(saved.get(0).getVolume()).isEqualTo(7L);
+    }
+
+    @Test
+    void processTick_이미_저장한_분의_체결은_버리고_센다() {
+        CandleMakerService service = newService(false);
+        service.processTick(tick("100050", 70000, 5), at(10, 0, 50));
+        service.sealCompletedCandles(at(10, 1, 3));
+
+        // 저장이 끝난 10:00 분 체결이 늦게 도착
+        service.processTick(tick("100059", 60000, 2), at(10, 1, 4));
+        service.processTick(tick("100105", 70100, 1), at(10, 1, 5));
+        service.sealCompletedCandles(at(10, 2, 3));
+
+        List<StocksCandleDto> saved = savedCandles();
+        assertThat(saved).hasSize(2);
+        assertThat(saved.get(0).getVolume()).isEqualTo(5L);
+        assertThat(saved.get(1).getLow()).isEqualTo(70100L);
+        assertThat(saved.get(1).getVolume()).isEqualTo(1L);
+        assertThat(meterRegistry.get("candle.tick.late.dropped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void sealCompletedCandles_설정하면_체결없는_분은_직전_종가로_채움() {
+        CandleMakerService service = newService(true);
+        service.processTick(tick("100010", 70000, 5), at(10, 0, 10));
+
+        service.sealCompletedCandles(at(10, 3, 5));
+
+        List<StocksCandleDto> saved = savedCandles();
+        assertThat(saved)
+                .extracting(StocksCandleDto::getTimestamp)
+                .containsExactly(at(10, 0, 0), at(10, 1, 0), at(10, 2, 0));
+        assertThat(saved.get(2).getClose()).isEqualTo(70000L);
+        assertThat(saved.get(2).getVolume()).isZero();
+    }
+
+    @Test
+    void flushAll_장마감시_진행중인_분봉까지_저장() {
+        CandleMakerService service = newService(false);
+        service.processTick(tick("152959", 70000, 5), at(15, 29, 59));
+        service.processTick(tick("153000", 70200, 100), at(15, 30, 1));
+
+        int flushed = service.flushAll();
+
+        assertThat(flushed).isEqualTo(2);
+        assertThat(savedCandles())
+                .extracting(StocksCandleDto::getTimestamp)
+                .containsExactly(at(15, 29, 0), at(15, 30, 0));
+    }
+}
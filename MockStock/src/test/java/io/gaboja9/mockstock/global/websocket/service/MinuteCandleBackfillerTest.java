@@ -0,0 +1,134 @@
+package io.gaboja9.mockstock.global.websocket.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.gaboja9.mockstock.domain.stock.cache.RecentCandleStore;
+import io.gaboja9.mockstock.domain.stock.measurement.MinuteStockPrice;
+import io.gaboja9.mockstock.domain.stock.service.TodayMinuteStockService;
+import io.gaboja9.mockstock.global.influx.MinuteCandleWriter;
+import io.gaboja9.mockstock.global.websocket.dto.StocksCandleDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+class MinuteCandleBackfillerTest {
+
+    private static final long MINUTE = 60_000;
+    // 2025-07-23 10:00 KST
+    private static final long TEN_AM =
+            ZonedDateTime.parse("2025-07-23T10:00:00+09:00").toInstant().toEpochMilli();
+
+    private TodayMinuteStockService todayMinuteStockService;
+    private MinuteCandleWriter minuteCandleWriter;
+    private RecentCandleStore recentCandleStore;
+    private TaskScheduler taskScheduler;
+    private MinuteCandleBackfiller backfiller;
+
+    @BeforeEach
+    void setUp() {
+        todayMinuteStockService = mock(TodayMinuteStockService.class);
+        minuteCandleWriter = mock(MinuteCandleWriter.class);
+        recentCandleStore = mock(RecentCandleStore.class);
+        taskScheduler = mock(TaskScheduler.class);
+        backfiller =
+                new MinuteCandleBackfiller(
+                        todayMinuteStockService,
+                        minuteCandleWriter,
+                        recentCandleStore,
+                        taskScheduler,
+                        new SimpleMeterRegistry(),
+                        5_000,
+                        0);
+    }
+
+    // from 분부터 count 개, 최신순 (한투 응답 순서)
+    private static List<MinuteStockPrice> rows(long from, int count) {
+        List<MinuteStockPrice> rows = new ArrayList<>();
+        for (int i = count - 1; i >= 0; i--) {
+            MinuteStockPrice row = new MinuteStockPrice();
+            row.setTimestamp(Instant.ofEpochMilli(from + i * MINUTE));
+            row.setStockCode("005930");
+            row.setOpenPrice(70_000L);
+            row.setMaxPrice(70_100L);
+            row.setMinPrice(69_900L);
+            row.setClosePrice(70_050L);
+            row.setAccumTrans(100L);
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    @Test
+    void onReconnected_장중에_끊겼던_구간이_있으면_지연_후_보충_예약() {
+        backfiller.onDisconnected(TEN_AM + 10_000);
+        backfiller.onDisconnected(TEN_AM + 20_000);
+        backfiller.onReconnected(TEN_AM + 5 * MINUTE, List.of("005930"));
+
+        verify(taskScheduler)
+                .schedule(
+                        any(Runnable.class), eq(Instant.ofEpochMilli(TEN_AM + 5 * MINUTE + 5_000)));
+    }
+
+    @Test
+    void onReconnected_장_시작_전이거나_끊긴_적이_없으면_보충하지_않음() {
+        long eightAm = TEN_AM - 120 * MINUTE;
+        backfiller.onDisconnected(eightAm);
+        backfiller.onReconnected(eightAm + 30 * MINUTE, List.of("005930"));
+        backfiller.onReconnected(TEN_AM, List.of("005930"));
+
+        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void backfill_30건씩_거슬러_올라가며_구간_안의_분봉만_저장() {
+        long from = TEN_AM;
+        long to = TEN_AM + 45 * MINUTE;
+        when(todayMinuteStockService.fetchCurrentDayMinutePrices("J", "005930", "104400"))
+                .thenReturn(rows(TEN_AM + 15 * MINUTE, 30));
+        when(todayMinuteStockService.fetchCurrentDayMinutePrices("J", "005930", "101400"))
+                .thenReturn(rows(TEN_AM - 15 * MINUTE, 30));
+
+        int filled = backfiller.backfill(List.of("005930"), from, to);
+
+        assertThat(filled).isEqualTo(45);
+        ArgumentCaptor<StocksCandleDto> candles = ArgumentCaptor.forClass(StocksCandleDto.class);
+        verify(minuteCandleWriter, times(45)).enqueue(candles.capture());
+        assertThat(candles.getAllValues())
+                .allSatisfy(
+                        candle ->
+                                assertThat(candle.getTimestamp())
+                                        .isGreaterThanOrEqualTo(from)
+                                        .isLessThan(to));
+        verify(recentCandleStore, times(45)).upsert(any(StocksCandleDto.class));
+    }
+
+    @Test
+    void backfill_조회가_비면_그_종목은_멈추고_다음_종목으로() {
+        when(todayMinuteStockService.fetchCurrentDayMinutePrices(
+                        eq("J"), eq("005930"), any(String.class)))
+                .thenReturn(List.of());
+        when(todayMinuteStockService.fetchCurrentDayMinutePrices("J", "035720", "100400"))
+                .thenReturn(rows(TEN_AM - 25 * MINUTE, 30));
+
+        int filled = backfiller.backfill(List.of("005930", "035720"), TEN_AM, TEN_AM + 5 * MINUTE);
+
+        assertThat(filled).isEqualTo(5);
+        verify(todayMinuteStockService, times(1))
+                .fetchCurrentDayMinutePrices(eq("J"), eq("005930"), any(String.class));
+    }
+}
@@ -0,0 +1,112 @@
+package io.gaboja9.mockstock.global.websocket.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.gaboja9.mockstock.global.websocket.broadcast.StompTopicBroadcaster;
+import io.gaboja9.mockstock.global.websocket.dto.StockPriceDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.MessagingException;
+
+class StockPriceConflatorTest {
+
+    private StompTopicBroadcaster broadcaster;
+    private SimpleMeterRegistry meterRegistry;
+    private StockPriceConflator conflator;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = mock(StompTopicBroadcaster.class);
+        meterRegistry = new SimpleMeterRegistry();
+        conflator = new StockPriceConflator(broadcaster, meterRegistry, true);
+    }
+
+    private static StockPriceDto tick(String stockCode, int price, long tradeVolume) {
+        return StockPriceDto.builder()
+                .stockCode(stockCode)
+                .currentPrice(price)
+                .tradeVolume(tradeVolume)
+                .tradeTime("093000")
+                .build();
+    }
+
+    private double count(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    @Test
+    void publishPending_종목별_최신_시세만_체결량은_합쳐서_발행() {
+        conflator.offer(tick("005930", 71_000, 10));
+        conflator.offer(tick("005930", 71_100, 20));
+        conflator.offer(tick("005930", 71_200, 5));
+        conflator.offer(tick("035720", 50_000, 7));
+
+        conflator.publishPending();
+
+        ArgumentCaptor<Object> samsung = ArgumentCaptor.forClass(Object.class);
+        verify(broadcaster).broadcast(eq("/topic/stock/005930"), samsung.capture());
+        StockPriceDto published = (StockPriceDto) samsung.getValue();
+        assertThat(published.getCurrentPrice()).isEqualTo(71_200);
+        assertThat(published.getTradeVolume()).isEqualTo(35);
+        verify(broadcaster).broadcast(eq("/topic/stock/035720"), any(Object.class));
+
+        assertThat(count("stock.broadcast.published")).isEqualTo(2);
+        assertThat(count("stock.broadcast.conflated")).isEqualTo(2);
+    }
+
+    @Test
+    void publishPending_변경이_없으면_보내지_않음() {
+        conflator.offer(tick("005930", 71_000, 10));
+        conflator.publishPending();
+        conflator.publishPending();
+
+        verify(broadcaster, times(1)).broadcast(eq("/topic/stock/005930"), any(Object.class));
+    }
+
+    @Test
+    void publishPending_발행_후_체결량은_다시_0부터() {
+        conflator.offer(tick("005930", 71_000, 10));
+        conflator.publishPending();
+        conflator.offer(tick("005930", 71_100, 3));
+        conflator.publishPending();
+
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(broadcaster, times(2)).broadcast(eq("/topic/stock/005930"), captor.capture());
+        assertThat(((StockPriceDto) captor.getAllValues().get(1)).getTradeVolume()).isEqualTo(3);
+    }
+
+    @Test
+    void 발행_실패는_dropped_로_집계() {
+        doThrow(new MessagingException("channel full"))
+                .when(broadcaster)
+                .broadcast(eq("/topic/stock/005930"), any(Object.class));
+
+        conflator.offer(tick("005930", 71_000, 10));
+        conflator.publishPending();
+
+        assertThat(count("stock.broadcast.dropped")).isEqualTo(1);
+        assertThat(count("stock.broadcast.published")).isZero();
+    }
+
+    @Test
+    void 비활성화하면_체결마다_바로_발행() {
+        StockPriceConflator direct =
+                new StockPriceConflator(broadcaster, new SimpleMeterRegistry(), false);
+
+        direct.offer(tick("005930", 71_000, 10));
+        direct.offer(tick("005930", 71_100, 20));
+
+        verify(broadcaster, times(2)).broadcast(eq("/topic/stock/005930"), any(Object.class));
+        verify(broadcaster, never()).broadcast(eq("/topic/stock/035720"), any(Object.class));
+    }
+}